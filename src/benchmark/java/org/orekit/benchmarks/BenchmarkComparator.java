@@ -0,0 +1,337 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/** Compare JMH results against a baseline.
+ * <p>
+ * Both files must be in the JSON format produced by JMH with {@code -rf json}.
+ * Benchmarks are matched by name and parameters. A benchmark is considered to
+ * have regressed only if both of the following conditions hold, taking into
+ * account the benchmark mode (lower is better for time modes, higher is better
+ * for throughput):
+ * </p>
+ * <ul>
+ *   <li>its score is worse than the baseline score by more than the relative threshold,</li>
+ *   <li>its confidence interval (score +/- JMH score error) does not overlap the
+ *   baseline confidence interval.</li>
+ * </ul>
+ * <p>
+ * Noisy benchmarks, with large score errors, therefore do not fail the comparison
+ * at random. Benchmarks without a score error estimate (for example with a single
+ * measurement iteration) and benchmarks that are not present in both files are
+ * only reported.
+ * </p>
+ * <p>
+ * By default, the comparison is only a report. As benchmark scores depend on the
+ * host, the baseline must have been generated on the same machine for regressions
+ * to be meaningful. If the optional fourth argument is {@code true}, the program
+ * exits with status 1 when at least one regression is detected, so it can be used
+ * to fail a build against such a host-specific baseline.
+ * </p>
+ * @author agent
+ * @since 11.1
+ */
+public class BenchmarkComparator {
+
+    /** Private constructor for utility class. */
+    private BenchmarkComparator() {
+    }
+
+    /** Program entry point.
+     * @param args baseline file, current results file, optional relative threshold (default 0.10)
+     * and optional indicator for failing on regressions (default false)
+     * @exception IOException if files cannot be read
+     */
+    public static void main(final String[] args) throws IOException {
+
+        if (args.length < 2 || args.length > 4) {
+            System.err.println("usage: java " + BenchmarkComparator.class.getName() +
+                               " baseline.json results.json [threshold [failOnRegression]]");
+            System.exit(2);
+        }
+
+        final Path    baselinePath     = Paths.get(args[0]);
+        final Path    resultsPath      = Paths.get(args[1]);
+        final double  threshold        = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+        final boolean failOnRegression = args.length > 3 && Boolean.parseBoolean(args[3]);
+        if (!Files.exists(baselinePath)) {
+            System.out.println("no baseline found at " + baselinePath + ", nothing to compare");
+            return;
+        }
+
+        final Map<String, Score> baseline = load(baselinePath);
+        final Map<String, Score> results  = load(resultsPath);
+
+        int regressions = 0;
+        System.out.format(Locale.US, "%-96s %24s %24s %9s%n", "benchmark", "baseline", "current", "change");
+        for (final Map.Entry<String, Score> entry : results.entrySet()) {
+            final Score current   = entry.getValue();
+            final Score reference = baseline.get(entry.getKey());
+            if (reference == null) {
+                System.out.format(Locale.US, "%-96s %24s %24s %9s%n",
+                                  entry.getKey(), "-", current, "new");
+            } else {
+                final double change = current.value / reference.value - 1.0;
+                final String status;
+                if (!(current.hasError() && reference.hasError())) {
+                    status = " (no error estimate)";
+                } else if (isRegression(reference, current, threshold)) {
+                    ++regressions;
+                    status = " REGRESSION";
+                } else {
+                    status = "";
+                }
+                System.out.format(Locale.US, "%-96s %24s %24s %+8.1f%%%s%n",
+                                  entry.getKey(), reference, current, 100 * change, status);
+            }
+        }
+        for (final String name : baseline.keySet()) {
+            if (!results.containsKey(name)) {
+                System.out.format(Locale.US, "%-96s %24s %24s %9s%n",
+                                  name, baseline.get(name), "-", "missing");
+            }
+        }
+
+        if (regressions > 0) {
+            System.out.format(Locale.US,
+                              "%d benchmark(s) regressed by more than %.1f%% beyond their score error%n",
+                              regressions, 100 * threshold);
+            if (failOnRegression) {
+                System.exit(1);
+            }
+        }
+
+    }
+
+    /** Check if a score is a significant regression with respect to a reference.
+     * @param reference reference score (must have an error estimate)
+     * @param current current score (must have an error estimate)
+     * @param threshold relative threshold
+     * @return true if current score is worse than reference by more than the
+     * threshold and the confidence intervals do not overlap
+     */
+    static boolean isRegression(final Score reference, final Score current, final double threshold) {
+        final double change = current.value / reference.value - 1.0;
+        if (current.higherIsBetter) {
+            return -change > threshold && current.value + current.error < reference.value - reference.error;
+        } else {
+            return change > threshold && current.value - current.error > reference.value + reference.error;
+        }
+    }
+
+    /** Load JMH results.
+     * @param path path to JSON results file
+     * @return map of scores, indexed by benchmark name and parameters
+     * @exception IOException if file cannot be read
+     */
+    static Map<String, Score> load(final Path path) throws IOException {
+        final String content = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        final Map<String, Score> scores = new TreeMap<>();
+        for (final Object element : (List<?>) new JsonParser(content).parse()) {
+            final Map<?, ?> run     = (Map<?, ?>) element;
+            final Map<?, ?> params  = (Map<?, ?>) run.get("params");
+            final Map<?, ?> primary = (Map<?, ?>) run.get("primaryMetric");
+            final StringBuilder key = new StringBuilder((String) run.get("benchmark"));
+            if (params != null) {
+                key.append(new TreeMap<>(params));
+            }
+            key.append(" (").append(run.get("mode")).append(", ").append(primary.get("scoreUnit")).append(')');
+            final Object error = primary.get("scoreError");
+            scores.put(key.toString(),
+                       new Score(((Number) primary.get("score")).doubleValue(),
+                                 error instanceof Number ? ((Number) error).doubleValue() : Double.NaN,
+                                 "thrpt".equals(run.get("mode"))));
+        }
+        return scores;
+    }
+
+    /** Container for one benchmark score. */
+    static class Score {
+
+        /** Score value. */
+        private final double value;
+
+        /** Score error (half width of the confidence interval, NaN if unknown). */
+        private final double error;
+
+        /** Indicator for throughput scores. */
+        private final boolean higherIsBetter;
+
+        /** Simple constructor.
+         * @param value score value
+         * @param error score error (half width of the confidence interval, NaN if unknown)
+         * @param higherIsBetter if true, higher scores are better
+         */
+        Score(final double value, final double error, final boolean higherIsBetter) {
+            this.value          = value;
+            this.error          = error;
+            this.higherIsBetter = higherIsBetter;
+        }
+
+        /** Check if the score has an error estimate.
+         * @return true if the score has an error estimate
+         */
+        boolean hasError() {
+            return !(Double.isNaN(error) || Double.isInfinite(error));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            return hasError() ?
+                   String.format(Locale.US, "%.3f +/- %.3f", value, error) :
+                   String.format(Locale.US, "%.3f", value);
+        }
+
+    }
+
+    /** Minimal JSON parser, sufficient for JMH results files. */
+    private static class JsonParser {
+
+        /** Content to parse. */
+        private final String content;
+
+        /** Current index. */
+        private int index;
+
+        /** Simple constructor.
+         * @param content content to parse
+         */
+        JsonParser(final String content) {
+            this.content = content;
+            this.index   = 0;
+        }
+
+        /** Parse next value.
+         * @return parsed value (Map, List, String, Double, Boolean or null)
+         */
+        Object parse() {
+            skipSpaces();
+            final char c = content.charAt(index);
+            if (c == '{') {
+                final Map<String, Object> map = new LinkedHashMap<>();
+                ++index;
+                skipSpaces();
+                if (content.charAt(index) == '}') {
+                    ++index;
+                    return map;
+                }
+                do {
+                    skipSpaces();
+                    final String key = (String) parse();
+                    expect(':');
+                    map.put(key, parse());
+                } while (next(','));
+                expect('}');
+                return map;
+            } else if (c == '[') {
+                final List<Object> list = new ArrayList<>();
+                ++index;
+                skipSpaces();
+                if (content.charAt(index) == ']') {
+                    ++index;
+                    return list;
+                }
+                do {
+                    list.add(parse());
+                } while (next(','));
+                expect(']');
+                return list;
+            } else if (c == '"') {
+                final StringBuilder builder = new StringBuilder();
+                for (char d = content.charAt(++index); d != '"'; d = content.charAt(++index)) {
+                    if (d == '\\') {
+                        d = content.charAt(++index);
+                        if (d == 'u') {
+                            d = (char) Integer.parseInt(content.substring(index + 1, index + 5), 16);
+                            index += 4;
+                        } else if (d == 'n') {
+                            d = '\n';
+                        } else if (d == 't') {
+                            d = '\t';
+                        }
+                    }
+                    builder.append(d);
+                }
+                ++index;
+                return builder.toString();
+            } else if (content.startsWith("true", index)) {
+                index += 4;
+                return Boolean.TRUE;
+            } else if (content.startsWith("false", index)) {
+                index += 5;
+                return Boolean.FALSE;
+            } else if (content.startsWith("null", index)) {
+                index += 4;
+                return null;
+            } else if (content.startsWith("NaN", index)) {
+                // JMH may produce NaN for errors on single iterations
+                index += 3;
+                return Double.NaN;
+            } else {
+                final int start = index;
+                while (index < content.length() && "+-0123456789.eE".indexOf(content.charAt(index)) >= 0) {
+                    ++index;
+                }
+                return Double.parseDouble(content.substring(start, index));
+            }
+        }
+
+        /** Skip white spaces. */
+        private void skipSpaces() {
+            while (index < content.length() && Character.isWhitespace(content.charAt(index))) {
+                ++index;
+            }
+        }
+
+        /** Check for an optional character.
+         * @param c expected character
+         * @return true if character was found (and consumed)
+         */
+        private boolean next(final char c) {
+            skipSpaces();
+            if (index < content.length() && content.charAt(index) == c) {
+                ++index;
+                return true;
+            }
+            return false;
+        }
+
+        /** Check for a mandatory character.
+         * @param c expected character
+         */
+        private void expect(final char c) {
+            if (!next(c)) {
+                throw new IllegalArgumentException("expected '" + c + "' at index " + index);
+            }
+        }
+
+    }
+
+}
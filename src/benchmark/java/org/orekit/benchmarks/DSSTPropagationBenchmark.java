@@ -0,0 +1,108 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.Utils;
+import org.orekit.forces.gravity.potential.GRGSFormatReader;
+import org.orekit.forces.gravity.potential.GravityFieldFactory;
+import org.orekit.forces.gravity.potential.UnnormalizedSphericalHarmonicsProvider;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.EquinoctialOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.PropagationType;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.semianalytical.dsst.DSSTPropagator;
+import org.orekit.propagation.semianalytical.dsst.forces.DSSTTesseral;
+import org.orekit.propagation.semianalytical.dsst.forces.DSSTZonal;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+/** Benchmark for semi-analytical propagation.
+ * @author agent
+ * @since 11.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DSSTPropagationBenchmark {
+
+    /** Propagation type. */
+    @Param({ "MEAN", "OSCULATING" })
+    private PropagationType type;
+
+    /** Initial state. */
+    private SpacecraftState initialState;
+
+    /** Gravity field. */
+    private UnnormalizedSphericalHarmonicsProvider gravityField;
+
+    /** Earth frame. */
+    private Frame itrf;
+
+    /** Set up gravity field and initial state.
+     */
+    @Setup
+    public void setUp() {
+        Utils.setDataRoot("regular-data:potential/grgs-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new GRGSFormatReader("grim4s4_gr", true));
+        gravityField = GravityFieldFactory.getUnnormalizedProvider(8, 8);
+        itrf         = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        final Orbit orbit = new EquinoctialOrbit(7204535.84810944, -0.001119677138261611, 5.333650671984143E-4,
+                                                 0.847841707880348, 0.7998014061193262, 3.897842092486239,
+                                                 PositionAngle.TRUE, FramesFactory.getEME2000(),
+                                                 new AbsoluteDate(2007, 4, 16, 0, 46, 42.400, TimeScalesFactory.getUTC()),
+                                                 gravityField.getMu());
+        initialState = new SpacecraftState(orbit);
+    }
+
+    /** Propagate one day.
+     * @return final state
+     */
+    @Benchmark
+    public SpacecraftState propagateOneDay() {
+        final double[][] tolerances = DSSTPropagator.tolerances(1.0, initialState.getOrbit());
+        final DSSTPropagator propagator =
+                        new DSSTPropagator(new DormandPrince853Integrator(60.0, 86400.0, tolerances[0], tolerances[1]),
+                                           type);
+        propagator.addForceModel(new DSSTZonal(gravityField));
+        propagator.addForceModel(new DSSTTesseral(itrf, Constants.WGS84_EARTH_ANGULAR_VELOCITY, gravityField));
+        propagator.setInitialState(initialState, PropagationType.MEAN);
+        return propagator.propagate(initialState.getDate().shiftedBy(Constants.JULIAN_DAY));
+    }
+
+}
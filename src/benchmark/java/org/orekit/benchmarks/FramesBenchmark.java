@@ -0,0 +1,144 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.Utils;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.Transform;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+/** Benchmark for frames transforms and geodetic conversions.
+ * <p>
+ * Dates are advanced by a few seconds at each call, so the time-stamped
+ * caches behave as in a typical propagation, with mostly hits and
+ * regular generation of new entries.
+ * </p>
+ * @author agent
+ * @since 11.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FramesBenchmark {
+
+    /** Number of distinct dates used. */
+    private static final int NB_DATES = 8640;
+
+    /** Inertial frame. */
+    private Frame gcrf;
+
+    /** Earth frame. */
+    private Frame itrf;
+
+    /** Earth shape. */
+    private OneAxisEllipsoid earth;
+
+    /** Dates to use (one day with 10s sampling). */
+    private AbsoluteDate[] dates;
+
+    /** Index of next date to use. */
+    private int index;
+
+    /** Point in Earth frame. */
+    private Vector3D point;
+
+    /** Geodetic point. */
+    private GeodeticPoint geodetic;
+
+    /** Set up frames and dates.
+     */
+    @Setup
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        gcrf  = FramesFactory.getGCRF();
+        itrf  = FramesFactory.getITRF(IERSConventions.IERS_2010, false);
+        earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                     Constants.WGS84_EARTH_FLATTENING,
+                                     itrf);
+        final AbsoluteDate start = new AbsoluteDate(2008, 3, 14, 12, 0, 0.0, TimeScalesFactory.getUTC());
+        dates = new AbsoluteDate[NB_DATES];
+        for (int i = 0; i < dates.length; ++i) {
+            dates[i] = start.shiftedBy(10.0 * i);
+        }
+        index    = 0;
+        point    = new Vector3D(4637885.347, 121344.608, 4362452.869);
+        geodetic = earth.transform(point, itrf, start);
+    }
+
+    /** Get next date.
+     * @return next date
+     */
+    private AbsoluteDate nextDate() {
+        index = (index + 1) % dates.length;
+        return dates[index];
+    }
+
+    /** Compute transform from ITRF to GCRF.
+     * @return transform
+     */
+    @Benchmark
+    public Transform itrfToGcrf() {
+        return itrf.getTransformTo(gcrf, nextDate());
+    }
+
+    /** Compute transform from GCRF to ITRF.
+     * @return transform
+     */
+    @Benchmark
+    public Transform gcrfToItrf() {
+        return gcrf.getTransformTo(itrf, nextDate());
+    }
+
+    /** Convert Cartesian point to geodetic point.
+     * @return geodetic point
+     */
+    @Benchmark
+    public GeodeticPoint cartesianToGeodetic() {
+        return earth.transform(point, itrf, nextDate());
+    }
+
+    /** Convert geodetic point to Cartesian point.
+     * @return Cartesian point
+     */
+    @Benchmark
+    public Vector3D geodeticToCartesian() {
+        return earth.transform(geodetic);
+    }
+
+}
@@ -0,0 +1,107 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.data.DataSource;
+import org.orekit.data.GzipFilter;
+import org.orekit.gnss.HatanakaCompressFilter;
+
+/** Benchmark for Hatanaka decompression.
+ * <p>
+ * Compact RINEX files are gunzipped in memory at set up,
+ * so only Hatanaka decompression is measured, not I/O nor
+ * gzip decompression. Throughput in MB/s is obtained by
+ * dividing the size of the compact RINEX content (printed
+ * at set up) by the average time.
+ * </p>
+ * @author agent
+ * @since 11.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HatanakaBenchmark {
+
+    /** Compact RINEX file. */
+    @Param({ "ZIMM00CHE_R_20190320000_15M_30S_MO.crx.gz", "THTG00PYF_R_20160440000_60S_30S_MO.crx.gz" })
+    private String file;
+
+    /** Mode for reading compressed data. */
+    @Param({ "CHARACTERS", "BYTES" })
+    private HatanakaCompressFilter.InputMode inputMode;
+
+    /** Compact RINEX content. */
+    private byte[] compact;
+
+    /** Load file in memory.
+     * @exception IOException if file cannot be read
+     */
+    @Setup
+    public void setUp() throws IOException {
+        final String name = "/rinex/" + file;
+        final DataSource gzipped = new DataSource(file, () -> HatanakaBenchmark.class.getResourceAsStream(name));
+        final DataSource source  = new GzipFilter().filter(gzipped);
+        try (InputStream is = source.getOpener().openStreamOnce();
+             ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
+            final byte[] buffer = new byte[4096];
+            for (int n = is.read(buffer); n >= 0; n = is.read(buffer)) {
+                bos.write(buffer, 0, n);
+            }
+            compact = bos.toByteArray();
+        }
+        System.out.format("%s: %d bytes of compact RINEX%n", file, compact.length);
+    }
+
+    /** Decompress the whole file.
+     * @return number of bytes in decompressed file
+     * @exception IOException if file cannot be decompressed
+     */
+    @Benchmark
+    public long decompress() throws IOException {
+        final String     name   = file.substring(0, file.length() - 3);
+        final DataSource source = new DataSource(name, () -> new ByteArrayInputStream(compact));
+        long size = 0;
+        try (InputStream is = new HatanakaCompressFilter(inputMode).filter(source).getOpener().openStreamOnce()) {
+            final byte[] buffer = new byte[4096];
+            for (int n = is.read(buffer); n >= 0; n = is.read(buffer)) {
+                size += n;
+            }
+        }
+        return size;
+    }
+
+}
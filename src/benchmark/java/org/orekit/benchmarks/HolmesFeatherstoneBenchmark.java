@@ -0,0 +1,126 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.Utils;
+import org.orekit.forces.gravity.HolmesFeatherstoneAttractionModel;
+import org.orekit.forces.gravity.potential.GRGSFormatReader;
+import org.orekit.forces.gravity.potential.GravityFieldFactory;
+import org.orekit.frames.FramesFactory;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.IERSConventions;
+
+/** Benchmark for Holmes-Featherstone gravity field gradient.
+ * <p>
+ * The allocation rate of both the allocating and the in-place versions
+ * of the gradient can be displayed by adding the JMH GC profiler
+ * ({@code -prof gc}) when running {@code org.openjdk.jmh.Main} directly.
+ * </p>
+ * @author agent
+ * @since 11.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HolmesFeatherstoneBenchmark {
+
+    /** Number of distinct positions used. */
+    private static final int NB_POSITIONS = 1000;
+
+    /** Degree and order of the gravity field. */
+    @Param({ "8", "30", "60" })
+    private int degree;
+
+    /** Gravity field model. */
+    private HolmesFeatherstoneAttractionModel model;
+
+    /** Evaluation date. */
+    private AbsoluteDate date;
+
+    /** Positions to use (along a polar orbit). */
+    private Vector3D[] positions;
+
+    /** Index of next position to use. */
+    private int index;
+
+    /** Array for in-place gradient. */
+    private double[] gradient;
+
+    /** Set up gravity field and positions.
+     */
+    @Setup
+    public void setUp() {
+        Utils.setDataRoot("regular-data:potential/grgs-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new GRGSFormatReader("grim4s4_gr", true));
+        model = new HolmesFeatherstoneAttractionModel(FramesFactory.getITRF(IERSConventions.IERS_2010, true),
+                                                      GravityFieldFactory.getNormalizedProvider(degree, degree));
+        date      = AbsoluteDate.J2000_EPOCH;
+        positions = new Vector3D[NB_POSITIONS];
+        for (int i = 0; i < positions.length; ++i) {
+            final double alpha = 2 * FastMath.PI * i / positions.length;
+            positions[i] = new Vector3D(7.0e6 * FastMath.cos(alpha) * FastMath.cos(0.1 * alpha),
+                                        7.0e6 * FastMath.cos(alpha) * FastMath.sin(0.1 * alpha),
+                                        7.0e6 * FastMath.sin(alpha));
+        }
+        index    = 0;
+        gradient = new double[3];
+    }
+
+    /** Get next position.
+     * @return next position
+     */
+    private Vector3D nextPosition() {
+        index = (index + 1) % positions.length;
+        return positions[index];
+    }
+
+    /** Compute gradient, allocating a new array at each call.
+     * @return gradient
+     */
+    @Benchmark
+    public double[] allocatingGradient() {
+        return model.gradient(date, nextPosition(), model.getMu());
+    }
+
+    /** Compute gradient in place, without any allocation.
+     * @return gradient
+     */
+    @Benchmark
+    public double[] inPlaceGradient() {
+        model.gradient(date, nextPosition(), model.getMu(), gradient);
+        return gradient;
+    }
+
+}
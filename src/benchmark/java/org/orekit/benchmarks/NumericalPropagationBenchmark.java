@@ -0,0 +1,111 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.Utils;
+import org.orekit.forces.gravity.HolmesFeatherstoneAttractionModel;
+import org.orekit.forces.gravity.potential.GRGSFormatReader;
+import org.orekit.forces.gravity.potential.GravityFieldFactory;
+import org.orekit.forces.gravity.potential.NormalizedSphericalHarmonicsProvider;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.CartesianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.OrbitType;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.numerical.NumericalPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.IERSConventions;
+import org.orekit.utils.PVCoordinates;
+
+/** Benchmark for numerical propagation with Holmes-Featherstone gravity field.
+ * @author agent
+ * @since 11.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NumericalPropagationBenchmark {
+
+    /** Gravity field degree and order. */
+    @Param({ "4", "20", "60" })
+    private int degree;
+
+    /** Initial state. */
+    private SpacecraftState initialState;
+
+    /** Gravity field. */
+    private NormalizedSphericalHarmonicsProvider gravityField;
+
+    /** Earth frame. */
+    private Frame itrf;
+
+    /** Set up gravity field and initial state.
+     */
+    @Setup
+    public void setUp() {
+        Utils.setDataRoot("regular-data:potential/grgs-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new GRGSFormatReader("grim4s4_gr", true));
+        gravityField = GravityFieldFactory.getNormalizedProvider(degree, degree);
+        itrf         = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        final Orbit orbit =
+                        new CartesianOrbit(new PVCoordinates(new Vector3D(6.46885878304673824e+06,
+                                                                          -1.88050918456274318e+06,
+                                                                          -1.32931592294715829e+04),
+                                                             new Vector3D(2.14718074509906819e+03,
+                                                                          7.38239351251748485e+03,
+                                                                          -1.14097953925384523e+01)),
+                                           FramesFactory.getGCRF(),
+                                           new AbsoluteDate(2005, 3, 5, 0, 24, 0.0, TimeScalesFactory.getTAI()),
+                                           gravityField.getMu());
+        initialState = new SpacecraftState(orbit);
+    }
+
+    /** Propagate one orbital period.
+     * @return final state
+     */
+    @Benchmark
+    public SpacecraftState propagateOnePeriod() {
+        final double[][] tolerances = NumericalPropagator.tolerances(0.001, initialState.getOrbit(), OrbitType.CARTESIAN);
+        final NumericalPropagator propagator =
+                        new NumericalPropagator(new DormandPrince853Integrator(0.001, 300.0, tolerances[0], tolerances[1]));
+        propagator.setOrbitType(OrbitType.CARTESIAN);
+        propagator.addForceModel(new HolmesFeatherstoneAttractionModel(itrf, gravityField));
+        propagator.setInitialState(initialState);
+        return propagator.propagate(initialState.getDate().shiftedBy(initialState.getKeplerianPeriod()));
+    }
+
+}
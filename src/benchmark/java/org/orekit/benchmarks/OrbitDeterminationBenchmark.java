@@ -0,0 +1,127 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.linear.MatrixUtils;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.optim.nonlinear.vector.leastsquares.LevenbergMarquardtOptimizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.estimation.Context;
+import org.orekit.estimation.EstimationTestUtils;
+import org.orekit.estimation.leastsquares.BatchLSEstimator;
+import org.orekit.estimation.measurements.ObservedMeasurement;
+import org.orekit.estimation.measurements.RangeMeasurementCreator;
+import org.orekit.estimation.sequential.ConstantProcessNoise;
+import org.orekit.estimation.sequential.KalmanEstimator;
+import org.orekit.estimation.sequential.KalmanEstimatorBuilder;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.OrbitType;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.conversion.NumericalPropagatorBuilder;
+
+/** Benchmark for orbit determination.
+ * <p>
+ * Both estimators process the same set of range measurements from
+ * several ground stations, generated once at set up.
+ * </p>
+ * @author agent
+ * @since 11.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrbitDeterminationBenchmark {
+
+    /** Estimation context. */
+    private Context context;
+
+    /** Measurements. */
+    private List<ObservedMeasurement<?>> measurements;
+
+    /** Set up context and measurements.
+     */
+    @Setup
+    public void setUp() {
+        context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+        final Propagator propagator =
+                        EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                             createBuilder(true));
+        measurements = EstimationTestUtils.createMeasurements(propagator,
+                                                              new RangeMeasurementCreator(context),
+                                                              1.0, 3.0, 300.0);
+    }
+
+    /** Create a propagator builder.
+     * @param perfectStart if true, the builder starts from the reference orbit
+     * @return propagator builder
+     */
+    private NumericalPropagatorBuilder createBuilder(final boolean perfectStart) {
+        return context.createBuilder(OrbitType.KEPLERIAN, PositionAngle.TRUE, perfectStart,
+                                     1.0e-6, 60.0, 1.0);
+    }
+
+    /** Estimate orbit with batch least squares, starting from a wrong orbit.
+     * @return estimated orbit
+     */
+    @Benchmark
+    public Orbit batchLeastSquares() {
+        final BatchLSEstimator estimator = new BatchLSEstimator(new LevenbergMarquardtOptimizer(),
+                                                                createBuilder(false));
+        for (final ObservedMeasurement<?> measurement : measurements) {
+            estimator.addMeasurement(measurement);
+        }
+        estimator.setParametersConvergenceThreshold(1.0e-2);
+        estimator.setMaxIterations(20);
+        estimator.setMaxEvaluations(40);
+        return estimator.estimate()[0].getInitialState().getOrbit();
+    }
+
+    /** Estimate orbit with extended Kalman filter.
+     * @return estimated orbit
+     */
+    @Benchmark
+    public Orbit kalman() {
+        final RealMatrix initialP = MatrixUtils.createRealDiagonalMatrix(new double [] {
+            1e-2, 1e-2, 1e-2, 1e-5, 1e-5, 1e-5
+        });
+        final RealMatrix q = MatrixUtils.createRealDiagonalMatrix(new double [] {
+            1.e-8, 1.e-8, 1.e-8, 1.e-8, 1.e-8, 1.e-8
+        });
+        final KalmanEstimator kalman = new KalmanEstimatorBuilder().
+                                       addPropagationConfiguration(createBuilder(true),
+                                                                   new ConstantProcessNoise(initialP, q)).
+                                       build();
+        return kalman.processMeasurements(measurements)[0].getInitialState().getOrbit();
+    }
+
+}
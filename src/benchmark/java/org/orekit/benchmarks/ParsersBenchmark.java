@@ -0,0 +1,145 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.Utils;
+import org.orekit.data.DataSource;
+import org.orekit.data.GzipFilter;
+import org.orekit.data.UnixCompressFilter;
+import org.orekit.files.ccsds.ndm.ParserBuilder;
+import org.orekit.files.ccsds.ndm.odm.oem.Oem;
+import org.orekit.files.sp3.SP3;
+import org.orekit.files.sp3.SP3Parser;
+import org.orekit.gnss.HatanakaCompressFilter;
+import org.orekit.gnss.ObservationDataSet;
+import org.orekit.gnss.RinexObservationLoader;
+
+/** Benchmark for files parsers.
+ * <p>
+ * Files are read and uncompressed in memory at set up,
+ * so only parsing is measured, not I/O nor decompression.
+ * </p>
+ * @author agent
+ * @since 11.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParsersBenchmark {
+
+    /** CCSDS OEM file content. */
+    private byte[] oem;
+
+    /** SP3 file content. */
+    private byte[] sp3;
+
+    /** RINEX observation file content. */
+    private byte[] rinex;
+
+    /** Load files in memory.
+     * @exception IOException if files cannot be read
+     */
+    @Setup
+    public void setUp() throws IOException {
+        Utils.setDataRoot("regular-data");
+        oem   = read(resource("/ccsds/odm/oem/OEMExample5.txt"));
+        sp3   = read(new UnixCompressFilter().filter(resource("/sp3/gbm18432.sp3.Z")));
+        rinex = read(new HatanakaCompressFilter().
+                     filter(new GzipFilter().
+                            filter(resource("/rinex/ZIMM00CHE_R_20190320000_15M_30S_MO.crx.gz"))));
+    }
+
+    /** Parse a CCSDS Orbit Ephemeris Message.
+     * @return parsed file
+     */
+    @Benchmark
+    public Oem parseOEM() {
+        return new ParserBuilder().buildOemParser().parseMessage(source("OEMExample5.txt", oem));
+    }
+
+    /** Parse a SP3 file.
+     * @return parsed file
+     */
+    @Benchmark
+    public SP3 parseSP3() {
+        return new SP3Parser().parse(source("gbm18432.sp3", sp3));
+    }
+
+    /** Parse a RINEX observation file.
+     * @return parsed observations
+     */
+    @Benchmark
+    public List<ObservationDataSet> parseRinex() {
+        return new RinexObservationLoader(source("ZIMM00CHE_R_20190320000_15M_30S_MO.rnx", rinex)).
+               getObservationDataSets();
+    }
+
+    /** Create a data source for a test resource.
+     * @param name resource name
+     * @return data source
+     */
+    private DataSource resource(final String name) {
+        return new DataSource(name.substring(name.lastIndexOf('/') + 1),
+                              () -> ParsersBenchmark.class.getResourceAsStream(name));
+    }
+
+    /** Create a data source for in-memory content.
+     * @param name source name
+     * @param content file content
+     * @return data source
+     */
+    private DataSource source(final String name, final byte[] content) {
+        return new DataSource(name, () -> new ByteArrayInputStream(content));
+    }
+
+    /** Read a data source fully.
+     * @param source data source
+     * @return source content
+     * @exception IOException if source cannot be read
+     */
+    private byte[] read(final DataSource source) throws IOException {
+        try (InputStream is = source.getOpener().openStreamOnce();
+             ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
+            final byte[] buffer = new byte[4096];
+            for (int n = is.read(buffer); n >= 0; n = is.read(buffer)) {
+                bos.write(buffer, 0, n);
+            }
+            return bos.toByteArray();
+        }
+    }
+
+}
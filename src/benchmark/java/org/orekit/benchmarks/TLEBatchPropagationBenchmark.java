@@ -0,0 +1,134 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.frames.FramesFactory;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.propagation.analytical.tle.TLEBatchPropagator;
+import org.orekit.propagation.analytical.tle.TLEPropagator;
+import org.orekit.time.AbsoluteDate;
+
+/** Benchmark for catalog propagation, comparing batch and one-by-one SGP4/SDP4 propagation.
+ * @author agent
+ * @since 11.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TLEBatchPropagationBenchmark {
+
+    /** Number of dates in the propagation grid. */
+    private static final int NB_DATES = 10;
+
+    /** Catalog. */
+    private List<TLE> tles;
+
+    /** Propagators for one-by-one propagation. */
+    private List<TLEPropagator> propagators;
+
+    /** Batch propagator. */
+    private TLEBatchPropagator batch;
+
+    /** Propagation grid. */
+    private AbsoluteDate[] dates;
+
+    /** Positions for batch propagation. */
+    private double[] positions;
+
+    /** Velocities for batch propagation. */
+    private double[] velocities;
+
+    /** Set up catalog.
+     * @exception IOException if catalog cannot be read
+     */
+    @Setup
+    public void setUp() throws IOException {
+        Utils.setDataRoot("regular-data");
+        tles = new ArrayList<>();
+        try (BufferedReader reader =
+                        new BufferedReader(new InputStreamReader(TLEBatchPropagationBenchmark.class.
+                                                                 getResourceAsStream("/tle/extrapolationTest-data/SatCode-entry"),
+                                                                 StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.startsWith("1 ")) {
+                    tles.add(new TLE(line, reader.readLine()));
+                }
+            }
+        }
+        propagators = new ArrayList<>();
+        for (final TLE tle : tles) {
+            propagators.add(TLEPropagator.selectExtrapolator(tle));
+        }
+        batch = new TLEBatchPropagator(tles, FramesFactory.getTEME());
+        dates = new AbsoluteDate[NB_DATES];
+        for (int j = 0; j < dates.length; ++j) {
+            dates[j] = tles.get(0).getDate().shiftedBy(j * 600.0);
+        }
+        positions  = new double[3 * dates.length * tles.size()];
+        velocities = new double[3 * dates.length * tles.size()];
+    }
+
+    /** Propagate the catalog one object at a time.
+     * @param blackhole sink for computed coordinates
+     */
+    @Benchmark
+    public void oneByOne(final Blackhole blackhole) {
+        for (final TLEPropagator propagator : propagators) {
+            for (final AbsoluteDate date : dates) {
+                try {
+                    blackhole.consume(propagator.getPVCoordinates(date));
+                } catch (OrekitException oe) {
+                    blackhole.consume(oe);
+                }
+            }
+        }
+    }
+
+    /** Propagate the catalog using batch propagator.
+     * @return computed positions
+     */
+    @Benchmark
+    public double[] batch() {
+        batch.propagate(dates, positions, velocities);
+        return positions;
+    }
+
+}
@@ -0,0 +1,94 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.orekit.Utils;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.propagation.analytical.tle.TLEPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.Constants;
+
+/** Benchmark for SGP4/SDP4 propagation.
+ * @author agent
+ * @since 11.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TLEPropagationBenchmark {
+
+    /** Object to propagate. */
+    @Param({ "ISS", "GPS" })
+    private String object;
+
+    /** Two-line elements. */
+    private TLE tle;
+
+    /** Set up two-line elements.
+     */
+    @Setup
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        if ("ISS".equals(object)) {
+            // near Earth object, using SGP4
+            tle = new TLE("1 25544U 98067A   21035.14486477  .00001026  00000-0  26816-4 0  9998",
+                          "2 25544  51.6455 280.7636 0002243 335.6496 186.1723 15.48938788267977");
+        } else {
+            // deep space object, using SDP4
+            tle = new TLE("1 37753U 11036A   12090.13205652 -.00000006  00000-0  00000+0 0  2272",
+                          "2 37753  55.0032 176.5796 0004733  13.2285 346.8266  2.00565440  5153");
+        }
+    }
+
+    /** Build a propagator.
+     * @return propagator
+     */
+    @Benchmark
+    public TLEPropagator initialize() {
+        return TLEPropagator.selectExtrapolator(tle);
+    }
+
+    /** Propagate one day with one minute sampling.
+     * @param blackhole sink for computed coordinates
+     */
+    @Benchmark
+    public void propagateOneDay(final Blackhole blackhole) {
+        final TLEPropagator propagator = TLEPropagator.selectExtrapolator(tle);
+        final AbsoluteDate  start      = tle.getDate();
+        for (double dt = 0; dt < Constants.JULIAN_DAY; dt += 60.0) {
+            blackhole.consume(propagator.getPVCoordinates(start.shiftedBy(dt)));
+        }
+    }
+
+}
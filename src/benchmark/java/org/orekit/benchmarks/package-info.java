@@ -0,0 +1,50 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ *
+ * This package provides <a href="https://github.com/openjdk/jmh">JMH</a>
+ * benchmarks for Orekit hot paths.
+ *
+ * <p>
+ * The benchmarks are not part of the library, they are compiled and run only
+ * when the {@code benchmarks} Maven profile is activated:
+ * </p>
+ * <pre>
+ *   mvn -P benchmarks -DskipTests verify
+ * </pre>
+ * <p>
+ * This runs all benchmarks, writes the JMH results in JSON format in
+ * {@code target/jmh-results.json} and compares them with the baseline stored
+ * in {@code src/benchmark/baseline/jmh-baseline.json} using {@link
+ * org.orekit.benchmarks.BenchmarkComparator}. The benchmarks subset, the
+ * baseline and the regression threshold can be changed using the
+ * {@code orekit.jmh.include}, {@code orekit.jmh.baseline} and
+ * {@code orekit.jmh.threshold} properties. As the scores depend on the host,
+ * the comparison is only a report by default. Setting the
+ * {@code orekit.jmh.failOnRegression} property to {@code true} makes the
+ * build fail on regressions, which should be done only with a baseline
+ * generated on the same machine.
+ * </p>
+ * <p>
+ * All benchmarks use the data sets from the test resources, so results are
+ * reproducible across commits.
+ * </p>
+ *
+ * @author agent
+ * @since 11.1
+ */
+package org.orekit.benchmarks;
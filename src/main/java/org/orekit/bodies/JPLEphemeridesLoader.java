@@ -18,17 +18,29 @@ package org.orekit.bodies;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
 
 import org.hipparchus.CalculusFieldElement;
+import org.hipparchus.exception.DummyLocalizable;
+import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.util.FastMath;
 import org.orekit.annotation.DefaultDataContext;
 import org.orekit.data.AbstractSelfFeedingLoader;
@@ -52,7 +64,7 @@ import org.orekit.utils.Constants;
 import org.orekit.utils.FieldPVCoordinates;
 import org.orekit.utils.OrekitConfiguration;
 import org.orekit.utils.PVCoordinates;
-import org.orekit.utils.GenericTimeStampedCache;
+import org.orekit.utils.TimeStampedCache;
 import org.orekit.utils.TimeStampedGenerator;
 import org.orekit.utils.units.UnitsConverter;
 
@@ -72,6 +84,14 @@ import org.orekit.utils.units.UnitsConverter;
  * Usually, big-endian files contain <code>bigendian</code> in their names, while little-endian files
  * contain <code>littleendian</code> in their names.</p>
  * <p>The loader supports files in TDB or TCB time scales.</p>
+ * <p>
+ * Files are normally read as streams through a {@link DataProvidersManager}, and the
+ * Chebyshev polynomials are built in a cache that slides as dates change. For long
+ * spans analyses, the loader can also be built from a list of uncompressed files
+ * paths using {@link #JPLEphemeridesLoader(List, EphemerisType, TimeScales, Frame)}.
+ * In this case, the files are memory-mapped and the polynomials are evaluated
+ * directly from the mapped buffers, without any intermediate object.
+ * </p>
  * @author Luc Maisonobe
  */
 public class JPLEphemeridesLoader extends AbstractSelfFeedingLoader
@@ -199,8 +219,8 @@ public class JPLEphemeridesLoader extends AbstractSelfFeedingLoader
 
     }
 
-    /** Ephemeris for selected body. */
-    private final GenericTimeStampedCache<PosVelChebyshev> ephemerides;
+    /** Ephemeris for selected body (null if files are memory-mapped). */
+    private final TimeStampedCache<PosVelChebyshev> ephemerides;
 
     /** Constants defined in the file. */
     private final AtomicReference<Map<String, Double>> constants;
@@ -250,6 +270,16 @@ public class JPLEphemeridesLoader extends AbstractSelfFeedingLoader
     /** Indicator for binary file endianness. */
     private boolean bigEndian;
 
+    /** Files to memory-map (null if files are read as streams).
+     * @since 11.1
+     */
+    private final List<Path> mappedFiles;
+
+    /** Memory-mapped ephemerides (lazily built).
+     * @since 11.1
+     */
+    private final AtomicReference<List<MappedFile>> mapped;
+
     /** Create a loader for JPL ephemerides binary files. This constructor uses the {@link
      * DataContext#getDefault() default data context}.
      *
@@ -294,13 +324,138 @@ public class JPLEphemeridesLoader extends AbstractSelfFeedingLoader
             loadType = generateType;
         }
 
-        ephemerides = new GenericTimeStampedCache<>(
+        ephemerides = OrekitConfiguration.createTimeStampedCache(
                 2, OrekitConfiguration.getCacheSlotsNumber(),
                 Double.POSITIVE_INFINITY, FIFTY_DAYS,
                 new EphemerisParser());
         maxChunksDuration = Double.NaN;
         chunksDuration    = Double.NaN;
+        mappedFiles       = null;
+        mapped            = new AtomicReference<>();
+
+    }
+
+    /** Create a loader for JPL ephemerides binary files using memory-mapped access.
+     * <p>
+     * The files are accessed directly, without using any {@link DataProvidersManager},
+     * so they must be uncompressed. They are mapped in memory the first time an ephemeris
+     * is needed, and the Chebyshev polynomials are evaluated directly from the mapped
+     * buffers, without creating any intermediate object. The files may be given in any
+     * order, they are sorted according to their start epochs.
+     * </p>
+     * @param files paths to the ephemerides files
+     * @param generateType ephemeris type to generate
+     * @param timeScales used to access the TCB and TDB time scales while loading data.
+     * @param gcrf Earth centered frame aligned with ICRF.
+     * @since 11.1
+     */
+    public JPLEphemeridesLoader(final List<Path> files,
+                                final EphemerisType generateType,
+                                final TimeScales timeScales,
+                                final Frame gcrf) {
+        this(namesPattern(files), generateType, filesManager(files), timeScales, gcrf,
+             Collections.unmodifiableList(new ArrayList<>(files)));
+    }
+
+    /** Create a loader for JPL ephemerides binary files using memory-mapped access.
+     * @param supportedNames regular expression for supported files names
+     * @param generateType ephemeris type to generate
+     * @param dataProvidersManager provides access to the ephemeris files.
+     * @param timeScales used to access the TCB and TDB time scales while loading data.
+     * @param gcrf Earth centered frame aligned with ICRF.
+     * @param mappedFiles files to memory-map
+     * @since 11.1
+     */
+    private JPLEphemeridesLoader(final String supportedNames,
+                                 final EphemerisType generateType,
+                                 final DataProvidersManager dataProvidersManager,
+                                 final TimeScales timeScales,
+                                 final Frame gcrf,
+                                 final List<Path> mappedFiles) {
+        super(supportedNames, dataProvidersManager);
+
+        this.timeScales = timeScales;
+        this.gcrf = gcrf;
+        constants = new AtomicReference<>();
+
+        this.generateType  = generateType;
+        if (generateType == EphemerisType.SOLAR_SYSTEM_BARYCENTER) {
+            loadType = EphemerisType.EARTH_MOON;
+        } else if (generateType == EphemerisType.EARTH_MOON) {
+            loadType = EphemerisType.MOON;
+        } else {
+            loadType = generateType;
+        }
+
+        ephemerides       = null;
+        maxChunksDuration = Double.NaN;
+        chunksDuration    = Double.NaN;
+        this.mappedFiles  = mappedFiles;
+        this.mapped       = new AtomicReference<>();
+
+    }
+
+    /** Build a regular expression matching exactly some files names.
+     * @param files files
+     * @return regular expression matching the files names
+     * @since 11.1
+     */
+    private static String namesPattern(final List<Path> files) {
+        final StringBuilder builder = new StringBuilder("^(?:");
+        for (int i = 0; i < files.size(); ++i) {
+            if (i > 0) {
+                builder.append('|');
+            }
+            builder.append(Pattern.quote(files.get(i).getFileName().toString()));
+        }
+        return builder.append(")$").toString();
+    }
+
+    /** Build a data providers manager feeding exactly some files.
+     * @param files files
+     * @return data providers manager feeding the files
+     * @since 11.1
+     */
+    private static DataProvidersManager filesManager(final List<Path> files) {
+        final DataProvidersManager manager = new DataProvidersManager();
+        manager.addProvider((supported, visitor, m) -> {
+            boolean loaded = false;
+            for (final Path file : files) {
+                if (supported.matcher(file.getFileName().toString()).matches() && visitor.stillAcceptsData()) {
+                    try (InputStream input = Files.newInputStream(file)) {
+                        visitor.loadData(input, file.toString());
+                        loaded = true;
+                    } catch (IOException | ParseException e) {
+                        throw new OrekitException(e, new DummyLocalizable(e.getMessage()));
+                    }
+                }
+            }
+            return loaded;
+        });
+        return manager;
+    }
+
+    /** Create a loader for another ephemeris type, sharing the same files.
+     * @param type ephemeris type to generate
+     * @return loader for the specified type
+     * @since 11.1
+     */
+    private JPLEphemeridesLoader createLoader(final EphemerisType type) {
+        if (mappedFiles == null) {
+            return new JPLEphemeridesLoader(getSupportedNames(), type, getDataProvidersManager(),
+                                            timeScales, gcrf);
+        } else {
+            return new JPLEphemeridesLoader(getSupportedNames(), type, getDataProvidersManager(),
+                                            timeScales, gcrf, mappedFiles);
+        }
+    }
 
+    /** Create a raw position-velocity provider using ephemeris.
+     * @return raw position-velocity provider using ephemeris
+     * @since 11.1
+     */
+    private RawPVProvider createEphemerisRawPVProvider() {
+        return mappedFiles == null ? new EphemerisRawPVProvider() : new MappedRawPVProvider();
     }
 
     /** Load celestial body.
@@ -320,16 +475,11 @@ public class JPLEphemeridesLoader extends AbstractSelfFeedingLoader
         switch (generateType) {
             case SOLAR_SYSTEM_BARYCENTER : {
                 scale = -1.0;
-                final JPLEphemeridesLoader parentLoader = new JPLEphemeridesLoader(
-                        getSupportedNames(),
-                        EphemerisType.EARTH_MOON,
-                        getDataProvidersManager(),
-                        timeScales,
-                        gcrf);
+                final JPLEphemeridesLoader parentLoader = createLoader(EphemerisType.EARTH_MOON);
                 final CelestialBody parentBody =
                         parentLoader.loadCelestialBody(CelestialBodyFactory.EARTH_MOON);
                 definingFrameAlignedWithICRF = parentBody.getInertiallyOrientedFrame();
-                rawPVProvider = new EphemerisRawPVProvider();
+                rawPVProvider = createEphemerisRawPVProvider();
                 inertialFrameName = Predefined.ICRF.getName();
                 bodyOrientedFrameName = null;
                 break;
@@ -337,7 +487,7 @@ public class JPLEphemeridesLoader extends AbstractSelfFeedingLoader
             case EARTH_MOON :
                 scale         = 1.0 / (1.0 + getLoadedEarthMoonMassRatio());
                 definingFrameAlignedWithICRF = gcrf;
-                rawPVProvider = new EphemerisRawPVProvider();
+                rawPVProvider = createEphemerisRawPVProvider();
                 break;
             case EARTH :
                 scale         = 1.0;
@@ -347,20 +497,15 @@ public class JPLEphemeridesLoader extends AbstractSelfFeedingLoader
             case MOON :
                 scale         =  1.0;
                 definingFrameAlignedWithICRF = gcrf;
-                rawPVProvider = new EphemerisRawPVProvider();
+                rawPVProvider = createEphemerisRawPVProvider();
                 break;
             default : {
                 scale = 1.0;
-                final JPLEphemeridesLoader parentLoader = new JPLEphemeridesLoader(
-                        getSupportedNames(),
-                        EphemerisType.SOLAR_SYSTEM_BARYCENTER,
-                        getDataProvidersManager(),
-                        timeScales,
-                        gcrf);
+                final JPLEphemeridesLoader parentLoader = createLoader(EphemerisType.SOLAR_SYSTEM_BARYCENTER);
                 final CelestialBody parentBody =
                         parentLoader.loadCelestialBody(CelestialBodyFactory.SOLAR_SYSTEM_BARYCENTER);
                 definingFrameAlignedWithICRF = parentBody.getInertiallyOrientedFrame();
-                rawPVProvider = new EphemerisRawPVProvider();
+                rawPVProvider = createEphemerisRawPVProvider();
             }
         }
 
@@ -575,6 +720,34 @@ public class JPLEphemeridesLoader extends AbstractSelfFeedingLoader
 
     }
 
+    /** Check header consistency with already loaded constants.
+     * @param first first header record
+     * @param name name of the file (or zip entry)
+     */
+    private void checkConsistency(final byte[] first, final String name) {
+
+        // check astronomical unit consistency
+        final double au = 1000 * extractDouble(first, HEADER_ASTRONOMICAL_UNIT_OFFSET);
+        if (au < 1.4e11 || au > 1.6e11) {
+            throw new OrekitException(OrekitMessages.NOT_A_JPL_EPHEMERIDES_BINARY_FILE, name);
+        }
+        if (FastMath.abs(getLoadedAstronomicalUnit() - au) >= 10.0) {
+            throw new OrekitException(OrekitMessages.INCONSISTENT_ASTRONOMICAL_UNIT_IN_FILES,
+                                      getLoadedAstronomicalUnit(), au);
+        }
+
+        // check Earth-Moon mass ratio consistency
+        final double emRat = extractDouble(first, HEADER_EM_RATIO_OFFSET);
+        if (emRat < 80 || emRat > 82) {
+            throw new OrekitException(OrekitMessages.NOT_A_JPL_EPHEMERIDES_BINARY_FILE, name);
+        }
+        if (FastMath.abs(getLoadedEarthMoonMassRatio() - emRat) >= 1.0e-5) {
+            throw new OrekitException(OrekitMessages.INCONSISTENT_EARTH_MOON_RATIO_IN_FILES,
+                                      getLoadedEarthMoonMassRatio(), emRat);
+        }
+
+    }
+
     /** Read first header record.
      * @param input input stream
      * @param name name of the file (or zip entry)
@@ -943,25 +1116,8 @@ public class JPLEphemeridesLoader extends AbstractSelfFeedingLoader
                 constants.compareAndSet(null, parseConstants(first, second));
             }
 
-            // check astronomical unit consistency
-            final double au = 1000 * extractDouble(first, HEADER_ASTRONOMICAL_UNIT_OFFSET);
-            if (au < 1.4e11 || au > 1.6e11) {
-                throw new OrekitException(OrekitMessages.NOT_A_JPL_EPHEMERIDES_BINARY_FILE, name);
-            }
-            if (FastMath.abs(getLoadedAstronomicalUnit() - au) >= 10.0) {
-                throw new OrekitException(OrekitMessages.INCONSISTENT_ASTRONOMICAL_UNIT_IN_FILES,
-                                          getLoadedAstronomicalUnit(), au);
-            }
-
-            // check Earth-Moon mass ratio consistency
-            final double emRat = extractDouble(first, HEADER_EM_RATIO_OFFSET);
-            if (emRat < 80 || emRat > 82) {
-                throw new OrekitException(OrekitMessages.NOT_A_JPL_EPHEMERIDES_BINARY_FILE, name);
-            }
-            if (FastMath.abs(getLoadedEarthMoonMassRatio() - emRat) >= 1.0e-5) {
-                throw new OrekitException(OrekitMessages.INCONSISTENT_EARTH_MOON_RATIO_IN_FILES,
-                                          getLoadedEarthMoonMassRatio(), emRat);
-            }
+            // check consistency with already loaded files
+            checkConsistency(first, name);
 
             // parse first header record
             parseFirstHeaderRecord(first, name);
@@ -1090,6 +1246,458 @@ public class JPLEphemeridesLoader extends AbstractSelfFeedingLoader
 
     }
 
+    /** Get the memory-mapped files, mapping them if needed.
+     * @return memory-mapped files, sorted by start epoch
+     * @since 11.1
+     */
+    private List<MappedFile> getMappedFiles() {
+        List<MappedFile> list = mapped.get();
+        if (list == null) {
+            synchronized (mapped) {
+                list = mapped.get();
+                if (list == null) {
+                    // header parsing uses the loader fields, so this must be done by one thread only
+                    list = new ArrayList<>(mappedFiles.size());
+                    for (final Path file : mappedFiles) {
+                        list.add(mapFile(file));
+                    }
+                    list.sort(Comparator.comparing(mf -> mf.start));
+                    mapped.set(list);
+                }
+            }
+        }
+        return list;
+    }
+
+    /** Memory-map one file.
+     * @param file file to map
+     * @return mapped file
+     * @since 11.1
+     */
+    private MappedFile mapFile(final Path file) {
+
+        // make sure constants are loaded before parsing header,
+        // as loading them resets the endianness indicator
+        getLoadedConstant(CONSTANT_AU);
+
+        final String name = file.toString();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+            // parse header
+            final byte[] first;
+            try (InputStream input = Files.newInputStream(file)) {
+                first = readFirstRecord(input, name);
+            }
+            checkConsistency(first, name);
+            parseFirstHeaderRecord(first, name);
+
+            // map data records, in segments containing an integer number of records
+            final int  recordSize        = first.length;
+            final long nbRecords         = channel.size() / recordSize - 2;
+            if (nbRecords <= 0) {
+                throw new OrekitException(OrekitMessages.NOT_A_JPL_EPHEMERIDES_BINARY_FILE, name);
+            }
+            final int          recordsPerSegment = Integer.MAX_VALUE / recordSize;
+            final ByteBuffer[] segments          = new ByteBuffer[(int) ((nbRecords + recordsPerSegment - 1) / recordsPerSegment)];
+            for (int i = 0; i < segments.length; ++i) {
+                final long firstRecord = (long) i * recordsPerSegment;
+                final long nb          = FastMath.min(recordsPerSegment, nbRecords - firstRecord);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, (2 + firstRecord) * recordSize, nb * recordSize).
+                              order(bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+            }
+
+            // check data records are contiguous from header start epoch
+            final double recordsSpan = extractDouble(first, HEADER_CHUNK_DURATION_OFFSET);
+            final double startJD     = extractDouble(first, HEADER_START_EPOCH_OFFSET);
+            if (segments[0].getDouble(DATA_START_RANGE_OFFSET) != startJD ||
+                FastMath.abs(segments[0].getDouble(DATE_END_RANGE_OFFSET) - (startJD + recordsSpan)) > 1.0e-9) {
+                throw new OrekitException(OrekitMessages.NOT_A_JPL_EPHEMERIDES_BINARY_FILE, name);
+            }
+
+            return new MappedFile(startEpoch, finalEpoch, timeScale, positionUnit,
+                                  recordsSpan * Constants.JULIAN_DAY, chunksDuration,
+                                  chunks, coeffs, firstIndex, components,
+                                  segments, recordsPerSegment, recordSize, (int) nbRecords);
+
+        } catch (IOException ioe) {
+            throw new OrekitException(ioe, new DummyLocalizable(ioe.getMessage()));
+        }
+
+    }
+
+    /** Memory-mapped ephemerides file.
+     * @since 11.1
+     */
+    private static class MappedFile {
+
+        /** Start epoch. */
+        private final AbsoluteDate start;
+
+        /** Final epoch. */
+        private final AbsoluteDate end;
+
+        /** Time scale of the date coordinates. */
+        private final TimeScale timeScale;
+
+        /** Unit of the position coordinates (as a multiple of meters). */
+        private final double positionUnit;
+
+        /** Records duration (in seconds). */
+        private final double recordsDuration;
+
+        /** Chunks duration (in seconds). */
+        private final double chunksDuration;
+
+        /** Number of chunks per record for the selected body. */
+        private final int chunks;
+
+        /** Number of coefficients for the selected body. */
+        private final int coeffs;
+
+        /** Index of the first data for the selected body. */
+        private final int firstIndex;
+
+        /** Number of components contained in the file. */
+        private final int components;
+
+        /** Mapped segments. */
+        private final ByteBuffer[] segments;
+
+        /** Number of records in each segment. */
+        private final int recordsPerSegment;
+
+        /** Size of one record (in bytes). */
+        private final int recordSize;
+
+        /** Number of data records. */
+        private final int nbRecords;
+
+        /** Duration covered by the file (in seconds). */
+        private final double coverage;
+
+        /** Simple constructor.
+         * @param start start epoch
+         * @param end final epoch
+         * @param timeScale time scale of the date coordinates
+         * @param positionUnit unit of the position coordinates (as a multiple of meters)
+         * @param recordsDuration records duration (in seconds)
+         * @param chunksDuration chunks duration (in seconds)
+         * @param chunks number of chunks per record for the selected body
+         * @param coeffs number of coefficients for the selected body
+         * @param firstIndex index of the first data for the selected body
+         * @param components number of components contained in the file
+         * @param segments mapped segments
+         * @param recordsPerSegment number of records in each segment
+         * @param recordSize size of one record (in bytes)
+         * @param nbRecords number of data records
+         */
+        MappedFile(final AbsoluteDate start, final AbsoluteDate end, final TimeScale timeScale,
+                   final double positionUnit, final double recordsDuration, final double chunksDuration,
+                   final int chunks, final int coeffs, final int firstIndex, final int components,
+                   final ByteBuffer[] segments, final int recordsPerSegment, final int recordSize,
+                   final int nbRecords) {
+            this.start             = start;
+            this.end               = end;
+            this.timeScale         = timeScale;
+            this.positionUnit      = positionUnit;
+            this.recordsDuration   = recordsDuration;
+            this.chunksDuration    = chunksDuration;
+            this.chunks            = chunks;
+            this.coeffs            = coeffs;
+            this.firstIndex        = firstIndex;
+            this.components        = components;
+            this.segments          = segments;
+            this.recordsPerSegment = recordsPerSegment;
+            this.recordSize        = recordSize;
+            this.nbRecords         = nbRecords;
+            this.coverage          = FastMath.min(end.offsetFrom(start, timeScale), nbRecords * recordsDuration);
+        }
+
+        /** Check if a date is covered by the file.
+         * @param date date to check
+         * @return true if date is covered by the file
+         */
+        boolean covers(final AbsoluteDate date) {
+            final double dt = date.offsetFrom(start, timeScale);
+            return dt >= -0.001 && dt <= coverage + 0.001;
+        }
+
+        /** Get the index of the record covering an offset.
+         * @param offset offset from start epoch
+         * @return index of the record covering the offset
+         */
+        int record(final double offset) {
+            return FastMath.max(0, FastMath.min(nbRecords - 1, (int) FastMath.floor(offset / recordsDuration)));
+        }
+
+        /** Get the start date of a record.
+         * <p>
+         * The date is built from the Julian day stored at the beginning of the
+         * record, exactly as the stream parser does, so chunks boundaries are
+         * the same in both modes.
+         * </p>
+         * @param record index of the record
+         * @return start date of the record
+         */
+        AbsoluteDate recordStart(final int record) {
+            final double t       = segment(record).getDouble((record % recordsPerSegment) * recordSize + DATA_START_RANGE_OFFSET);
+            int          jDay    = (int) FastMath.floor(t);
+            double       seconds = (t + 0.5 - jDay) * Constants.JULIAN_DAY;
+            if (seconds >= Constants.JULIAN_DAY) {
+                ++jDay;
+                seconds -= Constants.JULIAN_DAY;
+            }
+            return new AbsoluteDate(new DateComponents(DateComponents.JULIAN_EPOCH, jDay),
+                                    new TimeComponents(seconds), timeScale);
+        }
+
+        /** Get the index of the chunk covering an offset within a record.
+         * @param inRecord offset from record start
+         * @return index of the chunk covering the offset
+         */
+        int chunk(final double inRecord) {
+            return FastMath.max(0, FastMath.min(chunks - 1, (int) FastMath.floor(inRecord / chunksDuration)));
+        }
+
+        /** Get the segment containing a record.
+         * @param record index of the record
+         * @return segment containing the record
+         */
+        ByteBuffer segment(final int record) {
+            return segments[record / recordsPerSegment];
+        }
+
+        /** Get the byte offset of the first x coefficient of a chunk in its segment.
+         * @param record index of the record
+         * @param chunk index of the chunk within the record
+         * @return byte offset of the first x coefficient in the segment
+         */
+        int coefficientsOffset(final int record, final int chunk) {
+            return (record % recordsPerSegment) * recordSize + 8 * (firstIndex + components * chunk * coeffs - 1);
+        }
+
+        /** Evaluate the Chebyshev polynomials.
+         * @param date date at which the position-velocity is desired
+         * @return position-velocity-acceleration at date
+         */
+        PVCoordinates getPositionVelocityAcceleration(final AbsoluteDate date) {
+
+            // locate chunk
+            final int          record     = record(date.offsetFrom(start, timeScale));
+            final AbsoluteDate recordStart = recordStart(record);
+            final int          chunk      = chunk(date.durationFrom(recordStart));
+            final double       inChunk    = date.offsetFrom(recordStart.shiftedBy(chunk * chunksDuration), timeScale);
+            final ByteBuffer   buffer     = segment(record);
+            final int        xOffset  = coefficientsOffset(record, chunk);
+            final int        yOffset  = xOffset + 8 * coeffs;
+            final int        zOffset  = yOffset + 8 * coeffs;
+
+            // normalize date
+            final double t    = (2 * inChunk - chunksDuration) / chunksDuration;
+            final double twoT = 2 * t;
+
+            // initialize Chebyshev polynomials recursion
+            double pKm1 = 1;
+            double pK   = t;
+            double xP   = positionUnit * buffer.getDouble(xOffset);
+            double yP   = positionUnit * buffer.getDouble(yOffset);
+            double zP   = positionUnit * buffer.getDouble(zOffset);
+
+            // initialize Chebyshev polynomials derivatives recursion
+            double qKm1 = 0;
+            double qK   = 1;
+            double xV   = 0;
+            double yV   = 0;
+            double zV   = 0;
+
+            // initialize Chebyshev polynomials second derivatives recursion
+            double rKm1 = 0;
+            double rK   = 0;
+            double xA   = 0;
+            double yA   = 0;
+            double zA   = 0;
+
+            // combine polynomials by applying coefficients read directly from the mapped buffer
+            for (int k = 1; k < coeffs; ++k) {
+
+                final double xC = positionUnit * buffer.getDouble(xOffset + 8 * k);
+                final double yC = positionUnit * buffer.getDouble(yOffset + 8 * k);
+                final double zC = positionUnit * buffer.getDouble(zOffset + 8 * k);
+
+                // consider last computed polynomials on position
+                xP += xC * pK;
+                yP += yC * pK;
+                zP += zC * pK;
+
+                // consider last computed polynomials on velocity
+                xV += xC * qK;
+                yV += yC * qK;
+                zV += zC * qK;
+
+                // consider last computed polynomials on acceleration
+                xA += xC * rK;
+                yA += yC * rK;
+                zA += zC * rK;
+
+                // compute next Chebyshev polynomial value
+                final double pKm2 = pKm1;
+                pKm1 = pK;
+                pK   = twoT * pKm1 - pKm2;
+
+                // compute next Chebyshev polynomial derivative
+                final double qKm2 = qKm1;
+                qKm1 = qK;
+                qK   = twoT * qKm1 + 2 * pKm1 - qKm2;
+
+                // compute next Chebyshev polynomial second derivative
+                final double rKm2 = rKm1;
+                rKm1 = rK;
+                rK   = twoT * rKm1 + 4 * qKm1 - rKm2;
+
+            }
+
+            final double vScale = 2 / chunksDuration;
+            final double aScale = vScale * vScale;
+            return new PVCoordinates(new Vector3D(xP, yP, zP),
+                                     new Vector3D(xV * vScale, yV * vScale, zV * vScale),
+                                     new Vector3D(xA * aScale, yA * aScale, zA * aScale));
+
+        }
+
+        /** Evaluate the Chebyshev polynomials.
+         * @param date date at which the position-velocity is desired
+         * @param <T> type of the field elements
+         * @return position-velocity-acceleration at date
+         */
+        <T extends CalculusFieldElement<T>> FieldPVCoordinates<T> getPositionVelocityAcceleration(final FieldAbsoluteDate<T> date) {
+
+            final T zero = date.getField().getZero();
+            final T one  = date.getField().getOne();
+
+            // locate chunk
+            final int          record      = record(date.toAbsoluteDate().offsetFrom(start, timeScale));
+            final AbsoluteDate recordStart = recordStart(record);
+            final int          chunk       = chunk(date.toAbsoluteDate().durationFrom(recordStart));
+            final AbsoluteDate chunkStart  = recordStart.shiftedBy(chunk * chunksDuration);
+            final T            inChunk     = date.offsetFrom(new FieldAbsoluteDate<>(date.getField(), chunkStart), timeScale);
+            final ByteBuffer   buffer      = segment(record);
+            final int        xOffset  = coefficientsOffset(record, chunk);
+            final int        yOffset  = xOffset + 8 * coeffs;
+            final int        zOffset  = yOffset + 8 * coeffs;
+
+            // normalize date
+            final T t    = inChunk.multiply(2).subtract(chunksDuration).divide(chunksDuration);
+            final T twoT = t.add(t);
+
+            // initialize Chebyshev polynomials recursion
+            T pKm1 = one;
+            T pK   = t;
+            T xP   = zero.add(positionUnit * buffer.getDouble(xOffset));
+            T yP   = zero.add(positionUnit * buffer.getDouble(yOffset));
+            T zP   = zero.add(positionUnit * buffer.getDouble(zOffset));
+
+            // initialize Chebyshev polynomials derivatives recursion
+            T qKm1 = zero;
+            T qK   = one;
+            T xV   = zero;
+            T yV   = zero;
+            T zV   = zero;
+
+            // initialize Chebyshev polynomials second derivatives recursion
+            T rKm1 = zero;
+            T rK   = zero;
+            T xA   = zero;
+            T yA   = zero;
+            T zA   = zero;
+
+            // combine polynomials by applying coefficients read directly from the mapped buffer
+            for (int k = 1; k < coeffs; ++k) {
+
+                final double xC = positionUnit * buffer.getDouble(xOffset + 8 * k);
+                final double yC = positionUnit * buffer.getDouble(yOffset + 8 * k);
+                final double zC = positionUnit * buffer.getDouble(zOffset + 8 * k);
+
+                // consider last computed polynomials on position
+                xP = xP.add(pK.multiply(xC));
+                yP = yP.add(pK.multiply(yC));
+                zP = zP.add(pK.multiply(zC));
+
+                // consider last computed polynomials on velocity
+                xV = xV.add(qK.multiply(xC));
+                yV = yV.add(qK.multiply(yC));
+                zV = zV.add(qK.multiply(zC));
+
+                // consider last computed polynomials on acceleration
+                xA = xA.add(rK.multiply(xC));
+                yA = yA.add(rK.multiply(yC));
+                zA = zA.add(rK.multiply(zC));
+
+                // compute next Chebyshev polynomial value
+                final T pKm2 = pKm1;
+                pKm1 = pK;
+                pK   = twoT.multiply(pKm1).subtract(pKm2);
+
+                // compute next Chebyshev polynomial derivative
+                final T qKm2 = qKm1;
+                qKm1 = qK;
+                qK   = twoT.multiply(qKm1).add(pKm1.multiply(2)).subtract(qKm2);
+
+                // compute next Chebyshev polynomial second derivative
+                final T rKm2 = rKm1;
+                rKm1 = rK;
+                rK   = twoT.multiply(rKm1).add(qKm1.multiply(4)).subtract(rKm2);
+
+            }
+
+            final double vScale = 2 / chunksDuration;
+            final double aScale = vScale * vScale;
+            return new FieldPVCoordinates<>(new FieldVector3D<>(xP, yP, zP),
+                                            new FieldVector3D<>(xV.multiply(vScale), yV.multiply(vScale), zV.multiply(vScale)),
+                                            new FieldVector3D<>(xA.multiply(aScale), yA.multiply(aScale), zA.multiply(aScale)));
+
+        }
+
+    }
+
+    /** Raw position-velocity provider using memory-mapped ephemeris.
+     * @since 11.1
+     */
+    private class MappedRawPVProvider implements RawPVProvider {
+
+        /** Select the file covering a date.
+         * @param date date at which the position-velocity is desired
+         * @return file covering the date
+         */
+        private MappedFile select(final AbsoluteDate date) {
+            final List<MappedFile> files = getMappedFiles();
+            for (final MappedFile file : files) {
+                if (file.covers(date)) {
+                    return file;
+                }
+            }
+            final AbsoluteDate first = files.get(0).start;
+            final AbsoluteDate last  = files.get(files.size() - 1).end;
+            if (date.compareTo(first) < 0) {
+                throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE_BEFORE,
+                                          date, first, last, first.durationFrom(date));
+            } else {
+                throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE_AFTER,
+                                          date, first, last, date.durationFrom(last));
+            }
+        }
+
+        /** {@inheritDoc} */
+        public PVCoordinates getRawPV(final AbsoluteDate date) {
+            return select(date).getPositionVelocityAcceleration(date);
+        }
+
+        /** {@inheritDoc} */
+        public <T extends CalculusFieldElement<T>> FieldPVCoordinates<T> getRawPV(final FieldAbsoluteDate<T> date) {
+            return select(date.toAbsoluteDate()).getPositionVelocityAcceleration(date);
+        }
+
+    }
+
     /** Raw position-velocity provider providing always zero. */
     private static class ZeroRawPVProvider implements RawPVProvider {
 
@@ -0,0 +1,81 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.data;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.ParseException;
+
+/** Interface for loaders that can parse several data files concurrently.
+ * <p>
+ * Loading is split in two steps. The {@link #parse(InputStream, String) parse}
+ * step reads one file and must not modify the loader state, so it can be called
+ * from several threads at once. The {@link #merge(Object, String) merge} step
+ * adds the parsed data to the loader state; it is always called from one thread
+ * at a time, in the same order as the files would have been loaded sequentially.
+ * This ensures results are identical whether files are loaded in parallel or not.
+ * </p>
+ * <p>
+ * Parallel loading is enabled by setting up an {@link
+ * DataProvidersManager#setExecutorService(java.util.concurrent.ExecutorService)
+ * executor service} in the data providers manager. It is only worth for loaders
+ * that merge data from several files (for example Earth Orientation Parameters
+ * or space weather data), so these loaders should {@link #stillAcceptsData()
+ * still accept data} until all files have been crawled.
+ * </p>
+ * @param <T> type of the data parsed from one file
+ * @see DataProvidersManager#setExecutorService(java.util.concurrent.ExecutorService)
+ * @author agent
+ * @since 11.1
+ */
+public interface ConcurrentDataLoader<T> extends DataLoader {
+
+    /** Parse data from a stream.
+     * <p>
+     * This method may be called concurrently by several threads.
+     * </p>
+     * @param input data input stream
+     * @param name name of the file (or zip entry)
+     * @return parsed data
+     * @exception IOException if data can't be read
+     * @exception ParseException if data can't be parsed
+     * or if some loader specific error occurs
+     */
+    T parse(InputStream input, String name) throws IOException, ParseException;
+
+    /** Merge parsed data into the loader.
+     * <p>
+     * This method is called by one thread at a time, in crawling order.
+     * </p>
+     * @param parsed data parsed from one file
+     * @param name name of the file (or zip entry)
+     */
+    void merge(T parsed, String name);
+
+    /** {@inheritDoc}
+     * <p>
+     * The default implementation {@link #parse(InputStream, String) parses}
+     * the data and {@link #merge(Object, String) merges} it immediately.
+     * </p>
+     */
+    @Override
+    default void loadData(final InputStream input, final String name)
+        throws IOException, ParseException {
+        merge(parse(input, name), name);
+    }
+
+}
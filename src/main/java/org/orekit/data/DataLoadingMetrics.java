@@ -0,0 +1,136 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.data;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Timing metrics for one type of {@link DataLoader data loader}.
+ * <p>
+ * Instances of this class are gathered by {@link DataProvidersManager} each
+ * time it {@link DataProvidersManager#feed(String, DataLoader) feeds} a loader.
+ * Metrics are accumulated for all loaders sharing the same class.
+ * </p>
+ * @see DataProvidersManager#getLoadingMetrics()
+ * @author agent
+ * @since 11.1
+ */
+public class DataLoadingMetrics {
+
+    /** Scaling factor from nanoseconds to seconds. */
+    private static final double SECONDS_PER_NANO = 1.0e-9;
+
+    /** Name of the loader class. */
+    private final String loaderName;
+
+    /** Number of feed calls. */
+    private final AtomicLong feeds;
+
+    /** Number of files loaded. */
+    private final AtomicLong files;
+
+    /** Elapsed time spent in feed calls, in nanoseconds. */
+    private final AtomicLong feedTime;
+
+    /** Cumulated time spent loading files, in nanoseconds. */
+    private final AtomicLong loadTime;
+
+    /** Simple constructor.
+     * @param loaderName name of the loader class
+     */
+    DataLoadingMetrics(final String loaderName) {
+        this.loaderName = loaderName;
+        this.feeds      = new AtomicLong();
+        this.files      = new AtomicLong();
+        this.feedTime   = new AtomicLong();
+        this.loadTime   = new AtomicLong();
+    }
+
+    /** Add one feed call.
+     * @param nanos elapsed time for the feed call, in nanoseconds
+     */
+    void addFeed(final long nanos) {
+        feeds.incrementAndGet();
+        feedTime.addAndGet(nanos);
+    }
+
+    /** Add time spent loading one file.
+     * <p>
+     * This method may be called concurrently by several threads.
+     * </p>
+     * @param nanos time spent loading the file, in nanoseconds
+     */
+    void addLoadTime(final long nanos) {
+        loadTime.addAndGet(nanos);
+    }
+
+    /** Add one loaded file.
+     */
+    void addFile() {
+        files.incrementAndGet();
+    }
+
+    /** Get the name of the loader class.
+     * @return name of the loader class
+     */
+    public String getLoaderName() {
+        return loaderName;
+    }
+
+    /** Get the number of feed calls.
+     * @return number of feed calls
+     */
+    public long getFeeds() {
+        return feeds.get();
+    }
+
+    /** Get the number of files loaded.
+     * @return number of files loaded
+     */
+    public long getFiles() {
+        return files.get();
+    }
+
+    /** Get the elapsed time spent in feed calls.
+     * <p>
+     * This is wall clock time, including crawling the data providers.
+     * </p>
+     * @return elapsed time spent in feed calls, in seconds
+     */
+    public double getFeedTime() {
+        return feedTime.get() * SECONDS_PER_NANO;
+    }
+
+    /** Get the cumulated time spent loading files.
+     * <p>
+     * This is the sum of the times spent reading and parsing each file. When
+     * files are loaded in parallel, it may exceed the {@link #getFeedTime()
+     * elapsed time spent in feed calls}.
+     * </p>
+     * @return cumulated time spent loading files, in seconds
+     */
+    public double getLoadTime() {
+        return loadTime.get() * SECONDS_PER_NANO;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return loaderName + ": " + getFeeds() + " feeds, " + getFiles() + " files, " +
+               getFeedTime() + " s elapsed, " + getLoadTime() + " s loading";
+    }
+
+}
@@ -0,0 +1,241 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.data;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.ParseException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.orekit.errors.OrekitException;
+import org.orekit.utils.ParallelTasks;
+
+/** Queue of data sources selected by a crawler for loading.
+ * <p>
+ * If the {@link DataProvidersManager#getExecutorService() manager executor service}
+ * is set and the loader is a {@link ConcurrentDataLoader}, data sources are opened
+ * (including decompression by the {@link DataFilter filters}) and parsed concurrently
+ * by the executor, then merged into the loader in submission order. Otherwise,
+ * each data source is loaded immediately, in the crawler thread.
+ * </p>
+ * <p>
+ * As parsing is asynchronous, the crawler may submit data sources before the
+ * previous ones have been merged, i.e. before the loader could tell it does not
+ * {@link DataLoader#stillAcceptsData() accept data} anymore. The loader is
+ * therefore checked again before each merge, and data sources it does not
+ * accept anymore are discarded.
+ * </p>
+ * @author agent
+ * @since 11.1
+ */
+class DataLoadingQueue {
+
+    /** Loader to feed. */
+    private final DataLoader loader;
+
+    /** Executor service for parallel loading (null for sequential loading). */
+    private final ExecutorService executorService;
+
+    /** Data sources submitted and not merged yet. */
+    private final Deque<Pending<?>> pending;
+
+    /** Indicator for loaded data. */
+    private boolean loaded;
+
+    /** Last error encountered. */
+    private OrekitException delayedException;
+
+    /** Simple constructor.
+     * @param loader loader to feed
+     * @param manager manager providing the executor service
+     */
+    DataLoadingQueue(final DataLoader loader, final DataProvidersManager manager) {
+        this.loader          = loader;
+        this.executorService = loader instanceof ConcurrentDataLoader ? manager.getExecutorService() : null;
+        this.pending         = new ArrayDeque<>();
+        this.loaded          = false;
+    }
+
+    /** Check if data sources are loaded in parallel.
+     * <p>
+     * When data is loaded in parallel, data sources are opened after the crawler
+     * has moved to the next data, so the raw streams must remain valid.
+     * </p>
+     * @return true if data sources are loaded in parallel
+     */
+    public boolean isParallel() {
+        return executorService != null;
+    }
+
+    /** Load a data source.
+     * @param data data source (filters already applied)
+     * @param name name of the data to pass to the loader
+     * @exception IOException if data cannot be read
+     * @exception ParseException if data cannot be parsed
+     */
+    public void load(final DataSource data, final String name)
+        throws IOException, ParseException {
+        if (executorService == null) {
+            try (InputStream input = data.getOpener().openStreamOnce()) {
+                loader.loadData(input, name);
+                loaded = true;
+            }
+        } else {
+            pending.addLast(submit((ConcurrentDataLoader<?>) loader, data, name));
+            // merge already parsed data, keeping order
+            while (!pending.isEmpty() && pending.peekFirst().future.isDone()) {
+                mergeFirst();
+            }
+        }
+    }
+
+    /** Wait for all submitted data sources to be loaded.
+     * @exception IOException if data cannot be read
+     * @exception ParseException if data cannot be parsed
+     */
+    public void flush() throws IOException, ParseException {
+        try {
+            while (!pending.isEmpty()) {
+                mergeFirst();
+            }
+        } finally {
+            // in case of error, we don't need the remaining data anymore
+            for (final Pending<?> p : pending) {
+                p.future.cancel(true);
+            }
+            pending.clear();
+        }
+    }
+
+    /** Delay an error encountered while crawling.
+     * <p>
+     * Errors are delayed until {@link #complete(boolean) completion}, they are
+     * thrown only if nothing at all has been loaded.
+     * </p>
+     * @param oe error encountered
+     */
+    public void delay(final OrekitException oe) {
+        delayedException = oe;
+    }
+
+    /** Wait for all submitted data sources to be loaded and check if something has been loaded.
+     * @param loadedElsewhere if true, some data has already been loaded without using the queue
+     * @return true if something has been loaded
+     * @exception IOException if data cannot be read
+     * @exception ParseException if data cannot be parsed
+     * @exception OrekitException if nothing has been loaded and some error was encountered
+     */
+    public boolean complete(final boolean loadedElsewhere) throws IOException, ParseException {
+        flush();
+        loaded = loaded || loadedElsewhere;
+        if (!loaded && delayedException != null) {
+            throw delayedException;
+        }
+        return loaded;
+    }
+
+    /** Submit a data source for parallel parsing.
+     * @param concurrentLoader loader to use
+     * @param data data source
+     * @param name name of the data to pass to the loader
+     * @param <T> type of the parsed data
+     * @return pending parsing
+     */
+    private <T> Pending<T> submit(final ConcurrentDataLoader<T> concurrentLoader,
+                                  final DataSource data, final String name) {
+        final Future<T> future = executorService.submit(() -> {
+            try (InputStream input = data.getOpener().openStreamOnce()) {
+                return concurrentLoader.parse(input, name);
+            }
+        });
+        return new Pending<>(concurrentLoader, future, name);
+    }
+
+    /** Merge the first pending data source, waiting for it to be parsed if needed.
+     * @exception IOException if data cannot be read
+     * @exception ParseException if data cannot be parsed
+     */
+    private void mergeFirst() throws IOException, ParseException {
+        final Pending<?> first = pending.pollFirst();
+        if (!loader.stillAcceptsData()) {
+            // the loader has been fulfilled by the previous data sources
+            first.future.cancel(true);
+            return;
+        }
+        try {
+            first.merge();
+            loaded = true;
+        } catch (InterruptedException ie) {
+            throw ParallelTasks.interrupted(ie);
+        } catch (ExecutionException ee) {
+            final Throwable cause = ee.getCause();
+            if (cause instanceof OrekitException) {
+                // same behavior as sequential loading, errors are delayed
+                delayedException = (OrekitException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof ParseException) {
+                throw (ParseException) cause;
+            } else {
+                throw ParallelTasks.unwrap(ee);
+            }
+        } catch (OrekitException oe) {
+            // error during merge
+            delayedException = oe;
+        }
+    }
+
+    /** Container for pending parsing.
+     * @param <T> type of the parsed data
+     */
+    private static class Pending<T> {
+
+        /** Loader to use. */
+        private final ConcurrentDataLoader<T> concurrentLoader;
+
+        /** Parsing task. */
+        private final Future<T> future;
+
+        /** Name of the data. */
+        private final String name;
+
+        /** Simple constructor.
+         * @param concurrentLoader loader to use
+         * @param future parsing task
+         * @param name name of the data
+         */
+        Pending(final ConcurrentDataLoader<T> concurrentLoader, final Future<T> future, final String name) {
+            this.concurrentLoader = concurrentLoader;
+            this.future           = future;
+            this.name             = name;
+        }
+
+        /** Wait for parsing completion and merge the parsed data.
+         * @exception InterruptedException if current thread is interrupted while waiting
+         * @exception ExecutionException if parsing failed
+         */
+        void merge() throws InterruptedException, ExecutionException {
+            concurrentLoader.merge(future.get(), name);
+        }
+
+    }
+
+}
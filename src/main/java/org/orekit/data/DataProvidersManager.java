@@ -23,9 +23,12 @@ import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.regex.Pattern;
 
 import org.orekit.errors.OrekitException;
@@ -67,6 +70,14 @@ import org.orekit.gnss.HatanakaCompressFilter;
  * deciphering...).
  * </p>
  *
+ * <p>
+ * By default, data files are loaded sequentially. If an {@link #setExecutorService(ExecutorService)
+ * executor service} is set up, {@link DirectoryCrawler} and {@link ZipJarCrawler} use it to
+ * decompress and parse files concurrently for loaders that implement {@link ConcurrentDataLoader},
+ * which is useful for loaders that merge data from many files like Earth Orientation Parameters.
+ * Timing {@link #getLoadingMetrics() metrics} are gathered for each loader class.
+ * </p>
+ *
  * @author Luc Maisonobe
  * @see DirectoryCrawler
  * @see ClasspathCrawler
@@ -87,11 +98,23 @@ public class DataProvidersManager {
     /** Loaded data. */
     private final Set<String> loaded;
 
+    /** Loading metrics, per loader class.
+     * @since 11.1
+     */
+    private final Map<String, DataLoadingMetrics> metrics;
+
+    /** Executor service for parallel loading (null for sequential loading).
+     * @since 11.1
+     */
+    private ExecutorService executorService;
+
     /** Build an instance with default configuration. */
     public DataProvidersManager() {
-        providers      = new ArrayList<>();
-        filtersManager = new FiltersManager();
-        loaded         = new LinkedHashSet<>();
+        providers       = new ArrayList<>();
+        filtersManager  = new FiltersManager();
+        loaded          = new LinkedHashSet<>();
+        metrics         = new LinkedHashMap<>();
+        executorService = null;
         resetFiltersToDefault();
     }
 
@@ -103,6 +126,30 @@ public class DataProvidersManager {
         return filtersManager;
     }
 
+    /** Set the executor service used for loading data files in parallel.
+     * <p>
+     * The executor service is used only for loaders that implement {@link
+     * ConcurrentDataLoader}, other loaders are always fed sequentially.
+     * </p>
+     * @param executorService executor service for parallel loading
+     * (null for sequential loading, which is the default)
+     * @see #getExecutorService()
+     * @see org.orekit.utils.ParallelTasks
+     * @since 11.1
+     */
+    public void setExecutorService(final ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /** Get the executor service used for loading data files in parallel.
+     * @return executor service for parallel loading (null for sequential loading)
+     * @see #setExecutorService(ExecutorService)
+     * @since 11.1
+     */
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
     /** Reset all filters to default.
      * <p>
      * This method {@link FiltersManager#clearFilters() clears} the
@@ -271,6 +318,27 @@ public class DataProvidersManager {
         loaded.clear();
     }
 
+    /** Get an unmodifiable view of the loading metrics.
+     * <p>
+     * Metrics are accumulated for all loaders sharing the same class,
+     * the map keys are the loaders {@link Class#getName() class names}.
+     * </p>
+     * @return unmodifiable view of the loading metrics, per loader class
+     * @see #clearLoadingMetrics()
+     * @since 11.1
+     */
+    public Map<String, DataLoadingMetrics> getLoadingMetrics() {
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    /** Clear the loading metrics.
+     * @see #getLoadingMetrics()
+     * @since 11.1
+     */
+    public void clearLoadingMetrics() {
+        metrics.clear();
+    }
+
     /** Feed a data file loader by browsing all data providers.
      * <p>
      * If this method is called with an empty list of providers, a default
@@ -301,29 +369,39 @@ public class DataProvidersManager {
         }
 
         // monitor the data that the loader will load
-        final DataLoader monitoredLoader = new MonitoringWrapper(loader);
+        final DataLoadingMetrics loaderMetrics =
+                        metrics.computeIfAbsent(loader.getClass().getName(), DataLoadingMetrics::new);
+        final DataLoader monitoredLoader = (loader instanceof ConcurrentDataLoader) ?
+                                           new ConcurrentMonitoringWrapper<>((ConcurrentDataLoader<?>) loader, loaderMetrics) :
+                                           new MonitoringWrapper(loader, loaderMetrics);
 
         // crawl the data collection
-        OrekitException delayedException = null;
-        for (final DataProvider provider : providers) {
-            try {
+        final long start = System.nanoTime();
+        try {
+            OrekitException delayedException = null;
+            for (final DataProvider provider : providers) {
+                try {
+
+                    // try to feed the visitor using the current provider
+                    if (provider.feed(supported, monitoredLoader, this)) {
+                        return true;
+                    }
 
-                // try to feed the visitor using the current provider
-                if (provider.feed(supported, monitoredLoader, this)) {
-                    return true;
+                } catch (OrekitException oe) {
+                    // remember the last error encountered
+                    delayedException = oe;
                 }
+            }
 
-            } catch (OrekitException oe) {
-                // remember the last error encountered
-                delayedException = oe;
+            if (delayedException != null) {
+                throw delayedException;
             }
-        }
 
-        if (delayedException != null) {
-            throw delayedException;
-        }
+            return false;
 
-        return false;
+        } finally {
+            loaderMetrics.addFeed(System.nanoTime() - start);
+        }
 
     }
 
@@ -333,11 +411,16 @@ public class DataProvidersManager {
         /** Wrapped loader. */
         private final DataLoader loader;
 
+        /** Metrics for the wrapped loader. */
+        private final DataLoadingMetrics loaderMetrics;
+
         /** Simple constructor.
          * @param loader loader to monitor
+         * @param loaderMetrics metrics for the loader
          */
-        MonitoringWrapper(final DataLoader loader) {
-            this.loader = loader;
+        MonitoringWrapper(final DataLoader loader, final DataLoadingMetrics loaderMetrics) {
+            this.loader        = loader;
+            this.loaderMetrics = loaderMetrics;
         }
 
         /** {@inheritDoc} */
@@ -351,10 +434,74 @@ public class DataProvidersManager {
             throws IOException, ParseException, OrekitException {
 
             // delegate to monitored loader
-            loader.loadData(input, name);
+            final long start = System.nanoTime();
+            try {
+                loader.loadData(input, name);
+            } finally {
+                loaderMetrics.addLoadTime(System.nanoTime() - start);
+            }
+
+            // monitor the fact new data has been loaded
+            loaded.add(name);
+            loaderMetrics.addFile();
+
+        }
+
+    }
+
+    /** Data loading monitoring wrapper class for concurrent loaders.
+     * @param <T> type of the data parsed from one file
+     * @since 11.1
+     */
+    private class ConcurrentMonitoringWrapper<T> implements ConcurrentDataLoader<T> {
+
+        /** Wrapped loader. */
+        private final ConcurrentDataLoader<T> loader;
+
+        /** Metrics for the wrapped loader. */
+        private final DataLoadingMetrics loaderMetrics;
+
+        /** Simple constructor.
+         * @param loader loader to monitor
+         * @param loaderMetrics metrics for the loader
+         */
+        ConcurrentMonitoringWrapper(final ConcurrentDataLoader<T> loader, final DataLoadingMetrics loaderMetrics) {
+            this.loader        = loader;
+            this.loaderMetrics = loaderMetrics;
+        }
+
+        /** {@inheritDoc} */
+        public boolean stillAcceptsData() {
+            // delegate to monitored loader
+            return loader.stillAcceptsData();
+        }
+
+        /** {@inheritDoc} */
+        public T parse(final InputStream input, final String name)
+            throws IOException, ParseException {
+            // delegate to monitored loader (this may be called concurrently by several threads)
+            final long start = System.nanoTime();
+            try {
+                return loader.parse(input, name);
+            } finally {
+                loaderMetrics.addLoadTime(System.nanoTime() - start);
+            }
+        }
+
+        /** {@inheritDoc} */
+        public void merge(final T parsed, final String name) {
+
+            // delegate to monitored loader
+            final long start = System.nanoTime();
+            try {
+                loader.merge(parsed, name);
+            } finally {
+                loaderMetrics.addLoadTime(System.nanoTime() - start);
+            }
 
             // monitor the fact new data has been loaded
             loaded.add(name);
+            loaderMetrics.addFile();
 
         }
 
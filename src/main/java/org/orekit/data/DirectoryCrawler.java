@@ -19,9 +19,12 @@ package org.orekit.data;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import org.hipparchus.exception.DummyLocalizable;
@@ -44,6 +47,23 @@ import org.orekit.errors.OrekitMessages;
  * Zip archives entries are supported recursively.
  * </p>
  * <p>
+ * The directories tree is listed only once and the resulting index of files
+ * is reused by all subsequent calls to {@link #feed(Pattern, DataLoader,
+ * DataProvidersManager) feed}. The index is rebuilt automatically when the
+ * last modification time of any directory in the tree changes, i.e. when files
+ * are added, removed or renamed. As some file systems have a coarse resolution
+ * for modification times, directories modified less than two seconds before
+ * the index was built are listed again at each call, until they become older.
+ * The names matching each pattern are also remembered in the index. If a file
+ * disappears before it is loaded, it is skipped and the index will be rebuilt
+ * at next call.
+ * </p>
+ * <p>
+ * If the {@link DataProvidersManager#setExecutorService(java.util.concurrent.ExecutorService)
+ * manager executor service} is set up, files supported by a {@link ConcurrentDataLoader}
+ * are decompressed and parsed in parallel.
+ * </p>
+ * <p>
  * This is a simple application of the <code>visitor</code> design pattern for
  * directory hierarchy crawling.
  * </p>
@@ -52,9 +72,15 @@ import org.orekit.errors.OrekitMessages;
  */
 public class DirectoryCrawler implements DataProvider {
 
+    /** Margin for file systems with coarse modification times resolution (ms). */
+    private static final long MODIFICATION_TIME_MARGIN = 2000L;
+
     /** Root directory. */
     private final File root;
 
+    /** Index of the directories tree (null if not built yet). */
+    private volatile Index index;
+
     /** Build a data files crawler.
      * @param root root of the directories tree (must be a directory)
      */
@@ -62,7 +88,8 @@ public class DirectoryCrawler implements DataProvider {
         if (!root.isDirectory()) {
             throw new OrekitException(OrekitMessages.NOT_A_DIRECTORY, root.getAbsolutePath());
         }
-        this.root = root;
+        this.root  = root;
+        this.index = null;
     }
 
     /** {@inheritDoc} */
@@ -70,17 +97,30 @@ public class DirectoryCrawler implements DataProvider {
                         final DataLoader visitor,
                         final DataProvidersManager manager) {
         try {
-            return feed(supported, visitor, manager, root);
+            return feed(supported, visitor, manager, getIndex());
         } catch (IOException | ParseException ioe) {
             throw new OrekitException(ioe, new DummyLocalizable(ioe.getMessage()));
         }
     }
 
-    /** Feed a data file loader by browsing a directory hierarchy.
+    /** Get an up to date index of the directories tree.
+     * @return up to date index
+     */
+    private Index getIndex() {
+        Index current = index;
+        if (current == null || !current.isUpToDate()) {
+            // this may be done concurrently by several threads, but they will all build the same index
+            current = new Index(root);
+            index   = current;
+        }
+        return current;
+    }
+
+    /** Feed a data file loader by browsing an index of the directory hierarchy.
      * @param supported pattern for file names supported by the visitor
      * @param visitor data file visitor to feed
      * @param manager with the filters to apply.
-     * @param directory current directory
+     * @param tree index of the directories tree
      * @return true if something has been loaded
      * @exception IOException if data cannot be read
      * @exception ParseException if data cannot be read
@@ -88,60 +128,168 @@ public class DirectoryCrawler implements DataProvider {
     private boolean feed(final Pattern supported,
                          final DataLoader visitor,
                          final DataProvidersManager manager,
-                         final File directory)
+                         final Index tree)
         throws IOException, ParseException {
 
-        // search in current directory
-        final File[] list = directory.listFiles();
-        if (list == null) {
-            // notify about race condition if directory is removed by another program
-            throw new OrekitException(OrekitMessages.NOT_A_DIRECTORY, directory.getAbsolutePath());
-        }
-        Arrays.sort(list, File::compareTo);
+        final DataLoadingQueue     queue   = new DataLoadingQueue(visitor, manager);
+        final Map<String, Boolean> matches = tree.getMatches(supported);
 
-        OrekitException delayedException = null;
         boolean loaded = false;
-        for (final File file : list) {
+        for (final Index.Entry entry : tree.entries) {
             try {
                 if (visitor.stillAcceptsData()) {
-                    if (file.isDirectory()) {
-
-                        // recurse in the sub-directory
-                        loaded = feed(supported, visitor, manager, file) || loaded;
+                    if (entry.archive != null) {
 
-                    } else if (ZIP_ARCHIVE_PATTERN.matcher(file.getName()).matches()) {
+                        // preserve loading order: files already selected are loaded before the archive entries
+                        queue.flush();
 
                         // browse inside the zip/jar file
-                        final DataProvider zipProvider = new ZipJarCrawler(file);
-                        loaded = zipProvider.feed(supported, visitor, manager) || loaded;
+                        loaded = entry.archive.feed(supported, visitor, manager) || loaded;
 
                     } else {
 
                         // apply all registered filters
+                        final File file = entry.file;
                         DataSource data = new DataSource(file.getName(), () -> new FileInputStream(file));
                         data = manager.getFiltersManager().applyRelevantFilters(data);
 
-                        if (supported.matcher(data.getName()).matches()) {
-                            // visit the current file
-                            try (InputStream input = data.getOpener().openStreamOnce()) {
-                                visitor.loadData(input, file.getPath());
-                                loaded = true;
+                        if (matches.computeIfAbsent(data.getName(), name -> supported.matcher(name).matches())) {
+                            if (!file.isFile()) {
+                                // the file has been removed after the index was checked
+                                index = null;
+                                continue;
                             }
+                            // visit the current file
+                            queue.load(data, file.getPath());
                         }
 
                     }
                 }
             } catch (OrekitException oe) {
-                delayedException = oe;
+                queue.delay(oe);
             }
 
         }
 
-        if (!loaded && delayedException != null) {
-            throw delayedException;
+        return queue.complete(loaded);
+
+    }
+
+    /** Index of a directories tree. */
+    private static class Index {
+
+        /** Directories in the tree. */
+        private final List<File> directories;
+
+        /** Last modification times of the directories, when they were listed. */
+        private final List<Long> modificationTimes;
+
+        /** Terminal files and archives, in crawling order. */
+        private final List<Entry> entries;
+
+        /** Matching status of (filtered) file names, for each pattern. */
+        private final Map<String, Map<String, Boolean>> matches;
+
+        /** Indicator for directories modified too recently to rely on their modification times. */
+        private final boolean recentlyModified;
+
+        /** Build the index of a directories tree.
+         * @param root root of the directories tree
+         */
+        Index(final File root) {
+            final long start       = System.currentTimeMillis();
+            this.directories       = new ArrayList<>();
+            this.modificationTimes = new ArrayList<>();
+            this.entries           = new ArrayList<>();
+            this.matches           = new ConcurrentHashMap<>();
+            list(root);
+            boolean recent = false;
+            for (final long modificationTime : modificationTimes) {
+                recent = recent || start - modificationTime < MODIFICATION_TIME_MARGIN;
+            }
+            this.recentlyModified = recent;
+        }
+
+        /** List a directory recursively.
+         * @param directory current directory
+         */
+        private void list(final File directory) {
+
+            // search in current directory
+            // (the modification time is retrieved first, so changes during listing are noticed later)
+            final long   modificationTime = directory.lastModified();
+            final File[] list             = directory.listFiles();
+            if (list == null) {
+                // notify about race condition if directory is removed by another program
+                throw new OrekitException(OrekitMessages.NOT_A_DIRECTORY, directory.getAbsolutePath());
+            }
+            Arrays.sort(list, File::compareTo);
+            directories.add(directory);
+            modificationTimes.add(modificationTime);
+
+            for (final File file : list) {
+                if (file.isDirectory()) {
+                    // recurse in the sub-directory
+                    list(file);
+                } else if (ZIP_ARCHIVE_PATTERN.matcher(file.getName()).matches()) {
+                    entries.add(new Entry(file, new ZipJarCrawler(file)));
+                } else {
+                    entries.add(new Entry(file, null));
+                }
+            }
+
+        }
+
+        /** Check if the index is still up to date.
+         * <p>
+         * The index is considered outdated if any directory was modified too
+         * shortly before the index was built, as the resolution of modification
+         * times depends on the file system and may be too coarse to notice quick
+         * successive changes.
+         * </p>
+         * @return true if no directory in the tree has been modified since index was built
+         */
+        boolean isUpToDate() {
+            if (recentlyModified) {
+                return false;
+            }
+            for (int i = 0; i < directories.size(); ++i) {
+                if (directories.get(i).lastModified() != modificationTimes.get(i)) {
+                    // the directory has been modified or removed
+                    return false;
+                }
+            }
+            return true;
         }
 
-        return loaded;
+        /** Get the matching status of file names for a pattern.
+         * @param supported pattern for supported file names
+         * @return map from (filtered) file names to matching status, updated by callers
+         */
+        Map<String, Boolean> getMatches(final Pattern supported) {
+            return matches.computeIfAbsent(supported.flags() + ":" + supported.pattern(),
+                k -> new ConcurrentHashMap<>());
+        }
+
+        /** Entry in the index. */
+        private static class Entry {
+
+            /** File. */
+            private final File file;
+
+            /** Crawler for zip/jar archives (null for regular files). */
+            private final ZipJarCrawler archive;
+
+            /** Simple constructor.
+             * @param file file
+             * @param archive crawler for zip/jar archives (null for regular files)
+             */
+            Entry(final File file, final ZipJarCrawler archive) {
+                this.file    = file;
+                this.archive = archive;
+            }
+
+        }
 
     }
 
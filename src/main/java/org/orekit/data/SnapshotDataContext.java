@@ -0,0 +1,551 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.data;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hipparchus.util.FastMath;
+import org.orekit.bodies.CelestialBodies;
+import org.orekit.bodies.LazyLoadedCelestialBodies;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.forces.gravity.potential.GravityFieldFactory;
+import org.orekit.forces.gravity.potential.GravityFields;
+import org.orekit.forces.gravity.potential.LazyLoadedGravityFields;
+import org.orekit.forces.gravity.potential.NormalizedSphericalHarmonicsProvider;
+import org.orekit.forces.gravity.potential.NormalizedSphericalHarmonicsProvider.NormalizedSphericalHarmonics;
+import org.orekit.forces.gravity.potential.OceanTidesWave;
+import org.orekit.forces.gravity.potential.TideSystem;
+import org.orekit.forces.gravity.potential.UnnormalizedSphericalHarmonicsProvider;
+import org.orekit.forces.gravity.potential.UnnormalizedSphericalHarmonicsProvider.UnnormalizedSphericalHarmonics;
+import org.orekit.frames.EOPEntry;
+import org.orekit.frames.Frame;
+import org.orekit.frames.Frames;
+import org.orekit.frames.ITRFVersion;
+import org.orekit.models.earth.GeoMagneticFields;
+import org.orekit.models.earth.LazyLoadedGeoMagneticFields;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.DateComponents;
+import org.orekit.time.OffsetModel;
+import org.orekit.time.TimeScales;
+import org.orekit.utils.IERSConventions;
+
+/** Data context loaded from a precomputed binary snapshot.
+ * <p>
+ * A snapshot is written once from a fully configured {@link LazyLoadedDataContext}
+ * using {@link #write(LazyLoadedDataContext, int, int, Path)}. It contains the
+ * UTC-TAI offsets, the Earth Orientation Parameters for all {@link IERSConventions
+ * IERS conventions} and the constant gravity field coefficients up to a selected
+ * degree and order. Loading it back only requires memory mapping the file, no
+ * data files are parsed, so startup is much faster than with lazy loading. All
+ * values are stored in binary form, including the dates, so the time scales, frames
+ * and gravity fields built from the snapshot give exactly the same results as the
+ * ones built from the original data context.
+ * </p>
+ * <p>
+ * Celestial bodies ephemerides and geomagnetic fields are large and are not
+ * stored in the snapshot, they are still loaded lazily from the {@link
+ * DataProvidersManager} provided at construction. This is also the case for
+ * time-dependent gravity fields, for gravity fields beyond the snapshot degree
+ * and order, and for ocean tides.
+ * </p>
+ * @author agent
+ * @since 11.1
+ */
+public class SnapshotDataContext implements DataContext {
+
+    /** Magic number at the start of snapshot files ("OKSN"). */
+    private static final int MAGIC = 0x4F4B534E;
+
+    /** Current snapshot format version. */
+    private static final int FORMAT_VERSION = 1;
+
+    /** Size of one EOP entry in the snapshot, in bytes. */
+    private static final int EOP_ENTRY_SIZE = 4 + 16 + 8 * 8 + 1;
+
+    /** Time scales in this data context. */
+    private final TimeScales timeScales;
+
+    /** Frames in this data context. */
+    private final Frames frames;
+
+    /** Celestial bodies in this data context. */
+    private final CelestialBodies celestialBodies;
+
+    /** Gravity fields in this data context. */
+    private final GravityFields gravityFields;
+
+    /** Magnetic fields in this data context. */
+    private final GeoMagneticFields geoMagneticFields;
+
+    /** Create a data context from a snapshot file.
+     * <p>
+     * The sizes of all sections are checked when the snapshot is opened, so a truncated
+     * or corrupted snapshot triggers an {@link OrekitException} with {@link
+     * OrekitMessages#CORRUPTED_FILE} specifier.
+     * </p>
+     * @param snapshot snapshot file, as written by {@link #write(LazyLoadedDataContext, int, int, Path)}
+     * @param dataProvidersManager provider for the data not stored in the snapshot
+     * @exception IOException if snapshot file cannot be read
+     */
+    public SnapshotDataContext(final Path snapshot, final DataProvidersManager dataProvidersManager)
+        throws IOException {
+
+        final ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+            throw new OrekitException(OrekitMessages.UNSUPPORTED_FILE_FORMAT, snapshot);
+        }
+
+        // UTC-TAI offsets
+        checkRemaining(buffer, 4, snapshot);
+        final int nbModels = buffer.getInt();
+        checkRemaining(buffer, nbModels * 24L, snapshot);
+        final List<OffsetModel> models = new ArrayList<>(nbModels);
+        for (int i = 0; i < nbModels; ++i) {
+            final int    mjd    = buffer.getInt();
+            final int    mjdRef = buffer.getInt();
+            final double offset = buffer.getDouble();
+            final double slope  = buffer.getDouble();
+            models.add(new OffsetModel(new DateComponents(DateComponents.MODIFIED_JULIAN_EPOCH, mjd),
+                                       mjdRef, offset, slope));
+        }
+
+        // Earth Orientation Parameters are only decoded when first needed
+        final Map<IERSConventions, ByteBuffer> eopSections = new EnumMap<>(IERSConventions.class);
+        checkRemaining(buffer, 4, snapshot);
+        final int nbConventions = buffer.getInt();
+        for (int i = 0; i < nbConventions; ++i) {
+            final IERSConventions conventions = readEnum(buffer, IERSConventions.class, snapshot);
+            checkRemaining(buffer, 4, snapshot);
+            final int size = buffer.getInt();
+            checkRemaining(buffer, size, snapshot);
+            if (size < 4 || size != 4 + buffer.getInt(buffer.position()) * (long) EOP_ENTRY_SIZE) {
+                // the section size is not consistent with the number of entries it contains
+                throw new OrekitException(OrekitMessages.CORRUPTED_FILE, snapshot);
+            }
+            final ByteBuffer section = buffer.slice();
+            section.limit(size);
+            eopSections.put(conventions, section);
+            buffer.position(buffer.position() + size);
+        }
+
+        this.timeScales        = TimeScales.of(models, (conventions, scales) -> {
+            final ByteBuffer section = eopSections.get(conventions);
+            return section == null ? Collections.<EOPEntry>emptyList() : readEOP(section.duplicate(), snapshot);
+        });
+        final Frame gcrf       = Frame.getRoot();
+        this.celestialBodies   = new LazyLoadedCelestialBodies(dataProvidersManager, timeScales, gcrf);
+        this.frames            = Frames.of(timeScales, celestialBodies);
+        this.gravityFields     = new SnapshotGravityFields(buffer, snapshot,
+                                                           new LazyLoadedGravityFields(dataProvidersManager,
+                                                                                       timeScales.getTT()));
+        this.geoMagneticFields = new LazyLoadedGeoMagneticFields(dataProvidersManager);
+
+    }
+
+    /** Write a snapshot of a data context.
+     * <p>
+     * All Earth Orientation Parameters are loaded from the context
+     * before being written, as well as the constant gravity field
+     * up to the specified degree and order.
+     * </p>
+     * @param context data context to snapshot
+     * @param degree maximal degree of the gravity field to store
+     * @param order maximal order of the gravity field to store
+     * @param snapshot snapshot file to write
+     * @exception IOException if snapshot file cannot be written
+     */
+    public static void write(final LazyLoadedDataContext context,
+                             final int degree, final int order,
+                             final Path snapshot)
+        throws IOException {
+        try (DataOutputStream out =
+                        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(snapshot)))) {
+
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+
+            // UTC-TAI offsets
+            final List<OffsetModel> models = context.getTimeScales().getUTC().getOffsetModels();
+            out.writeInt(models.size());
+            for (final OffsetModel model : models) {
+                out.writeInt(model.getStart().getMJD());
+                out.writeInt(model.getMJDRef());
+                out.writeDouble(model.getOffset());
+                out.writeDouble(model.getSlope());
+            }
+
+            // Earth Orientation Parameters, one section per conventions
+            out.writeInt(IERSConventions.values().length);
+            for (final IERSConventions conventions : IERSConventions.values()) {
+                final List<EOPEntry> entries = context.getFrames().getEOPHistory(conventions, true).getEntries();
+                writeString(out, conventions.name());
+                out.writeInt(4 + entries.size() * EOP_ENTRY_SIZE);
+                out.writeInt(entries.size());
+                for (final EOPEntry entry : entries) {
+                    out.writeInt(entry.getMjd());
+                    writeDate(out, entry.getDate());
+                    out.writeDouble(entry.getUT1MinusUTC());
+                    out.writeDouble(entry.getLOD());
+                    out.writeDouble(entry.getX());
+                    out.writeDouble(entry.getY());
+                    out.writeDouble(entry.getDdPsi());
+                    out.writeDouble(entry.getDdEps());
+                    out.writeDouble(entry.getDx());
+                    out.writeDouble(entry.getDy());
+                    out.writeByte(entry.getITRFType() == null ? -1 : entry.getITRFType().ordinal());
+                }
+            }
+
+            // constant gravity field
+            final NormalizedSphericalHarmonicsProvider normalized =
+                            context.getGravityFields().getConstantNormalizedProvider(degree, order);
+            final UnnormalizedSphericalHarmonicsProvider unnormalized =
+                            context.getGravityFields().getConstantUnnormalizedProvider(degree, order);
+            final NormalizedSphericalHarmonics   nh = normalized.onDate(AbsoluteDate.ARBITRARY_EPOCH);
+            final UnnormalizedSphericalHarmonics uh = unnormalized.onDate(AbsoluteDate.ARBITRARY_EPOCH);
+            out.writeDouble(normalized.getAe());
+            out.writeDouble(normalized.getMu());
+            writeString(out, normalized.getTideSystem().name());
+            out.writeInt(degree);
+            out.writeInt(order);
+            for (int n = 0; n <= degree; ++n) {
+                for (int m = 0; m <= FastMath.min(n, order); ++m) {
+                    out.writeDouble(nh.getNormalizedCnm(n, m));
+                    out.writeDouble(nh.getNormalizedSnm(n, m));
+                    out.writeDouble(uh.getUnnormalizedCnm(n, m));
+                    out.writeDouble(uh.getUnnormalizedSnm(n, m));
+                }
+            }
+
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TimeScales getTimeScales() {
+        return timeScales;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Frames getFrames() {
+        return frames;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CelestialBodies getCelestialBodies() {
+        return celestialBodies;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public GravityFields getGravityFields() {
+        return gravityFields;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public GeoMagneticFields getGeoMagneticFields() {
+        return geoMagneticFields;
+    }
+
+    /** Decode Earth Orientation Parameters.
+     * @param section buffer containing the EOP section for one conventions
+     * (its size has already been checked)
+     * @param snapshot snapshot file (for error messages)
+     * @return decoded entries
+     */
+    private static List<EOPEntry> readEOP(final ByteBuffer section, final Path snapshot) {
+        final ITRFVersion[] versions = ITRFVersion.values();
+        final int nbEntries = section.getInt();
+        final List<EOPEntry> entries = new ArrayList<>(nbEntries);
+        for (int i = 0; i < nbEntries; ++i) {
+            final int          mjd   = section.getInt();
+            final AbsoluteDate date  = readDate(section);
+            final double       dt    = section.getDouble();
+            final double       lod   = section.getDouble();
+            final double       x     = section.getDouble();
+            final double       y     = section.getDouble();
+            final double       ddPsi = section.getDouble();
+            final double       ddEps = section.getDouble();
+            final double       dx    = section.getDouble();
+            final double       dy    = section.getDouble();
+            final int          itrf  = section.get();
+            if (itrf >= versions.length) {
+                throw new OrekitException(OrekitMessages.CORRUPTED_FILE, snapshot);
+            }
+            entries.add(new EOPEntry(mjd, dt, lod, x, y, ddPsi, ddEps, dx, dy,
+                                     itrf < 0 ? null : versions[itrf], date));
+        }
+        return entries;
+    }
+
+    /** Write a date exactly.
+     * <p>
+     * The date is split into a whole number of seconds since {@link
+     * AbsoluteDate#ARBITRARY_EPOCH} and a fractional part in [0, 1),
+     * so it can be rebuilt without any rounding.
+     * </p>
+     * @param out output stream
+     * @param date date to write
+     * @exception IOException if date cannot be written
+     */
+    private static void writeDate(final DataOutputStream out, final AbsoluteDate date)
+        throws IOException {
+        long seconds = (long) FastMath.floor(date.durationFrom(AbsoluteDate.ARBITRARY_EPOCH));
+        double fraction = date.durationFrom(new AbsoluteDate(AbsoluteDate.ARBITRARY_EPOCH, (double) seconds));
+        while (fraction < 0.0) {
+            --seconds;
+            fraction = date.durationFrom(new AbsoluteDate(AbsoluteDate.ARBITRARY_EPOCH, (double) seconds));
+        }
+        while (fraction >= 1.0) {
+            ++seconds;
+            fraction = date.durationFrom(new AbsoluteDate(AbsoluteDate.ARBITRARY_EPOCH, (double) seconds));
+        }
+        out.writeLong(seconds);
+        out.writeDouble(fraction);
+    }
+
+    /** Read a date written by {@link #writeDate(DataOutputStream, AbsoluteDate)}.
+     * @param buffer buffer to read from
+     * @return date
+     */
+    private static AbsoluteDate readDate(final ByteBuffer buffer) {
+        final long   seconds  = buffer.getLong();
+        final double fraction = buffer.getDouble();
+        return new AbsoluteDate(new AbsoluteDate(AbsoluteDate.ARBITRARY_EPOCH, (double) seconds), fraction);
+    }
+
+    /** Write a string.
+     * @param out output stream
+     * @param s string to write
+     * @exception IOException if string cannot be written
+     */
+    private static void writeString(final DataOutputStream out, final String s)
+        throws IOException {
+        final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    /** Read a string written by {@link #writeString(DataOutputStream, String)}.
+     * @param buffer buffer to read from
+     * @param snapshot snapshot file (for error messages)
+     * @return string
+     */
+    private static String readString(final ByteBuffer buffer, final Path snapshot) {
+        checkRemaining(buffer, 2, snapshot);
+        final int length = buffer.getShort();
+        checkRemaining(buffer, length, snapshot);
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Read an enumerate constant written by {@link #writeString(DataOutputStream, String)}.
+     * @param <E> type of the enumerate
+     * @param buffer buffer to read from
+     * @param type class of the enumerate
+     * @param snapshot snapshot file (for error messages)
+     * @return enumerate constant
+     */
+    private static <E extends Enum<E>> E readEnum(final ByteBuffer buffer, final Class<E> type, final Path snapshot) {
+        final String name = readString(buffer, snapshot);
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException iae) {
+            throw new OrekitException(iae, OrekitMessages.CORRUPTED_FILE, snapshot);
+        }
+    }
+
+    /** Check that enough bytes remain available in a buffer.
+     * @param buffer buffer to check
+     * @param size number of bytes needed (negative values correspond to corrupted sizes)
+     * @param snapshot snapshot file (for error messages)
+     */
+    private static void checkRemaining(final ByteBuffer buffer, final long size, final Path snapshot) {
+        if (size < 0 || buffer.remaining() < size) {
+            throw new OrekitException(OrekitMessages.CORRUPTED_FILE, snapshot);
+        }
+    }
+
+    /** Gravity fields with constant coefficients read from the snapshot. */
+    private static class SnapshotGravityFields implements GravityFields {
+
+        /** Central body reference radius. */
+        private final double ae;
+
+        /** Central body attraction coefficient. */
+        private final double mu;
+
+        /** Tide system. */
+        private final TideSystem tideSystem;
+
+        /** Maximal degree stored. */
+        private final int degree;
+
+        /** Maximal order stored. */
+        private final int order;
+
+        /** Normalized cosine coefficients. */
+        private final double[][] normalizedC;
+
+        /** Normalized sine coefficients. */
+        private final double[][] normalizedS;
+
+        /** Un-normalized cosine coefficients. */
+        private final double[][] unnormalizedC;
+
+        /** Un-normalized sine coefficients. */
+        private final double[][] unnormalizedS;
+
+        /** Fallback for fields not stored in the snapshot. */
+        private final LazyLoadedGravityFields fallback;
+
+        /** Simple constructor.
+         * @param buffer buffer positioned at the start of the gravity field section
+         * @param snapshot snapshot file (for error messages)
+         * @param fallback fallback for fields not stored in the snapshot
+         */
+        SnapshotGravityFields(final ByteBuffer buffer, final Path snapshot,
+                              final LazyLoadedGravityFields fallback) {
+            checkRemaining(buffer, 16, snapshot);
+            this.ae            = buffer.getDouble();
+            this.mu            = buffer.getDouble();
+            this.tideSystem    = readEnum(buffer, TideSystem.class, snapshot);
+            checkRemaining(buffer, 8, snapshot);
+            this.degree        = buffer.getInt();
+            this.order         = buffer.getInt();
+            if (degree < 0 || order < 0) {
+                throw new OrekitException(OrekitMessages.CORRUPTED_FILE, snapshot);
+            }
+            long nbBytes = 0;
+            for (int n = 0; n <= degree; ++n) {
+                nbBytes += 32L * (FastMath.min(n, order) + 1);
+            }
+            checkRemaining(buffer, nbBytes, snapshot);
+            this.normalizedC   = new double[degree + 1][];
+            this.normalizedS   = new double[degree + 1][];
+            this.unnormalizedC = new double[degree + 1][];
+            this.unnormalizedS = new double[degree + 1][];
+            for (int n = 0; n <= degree; ++n) {
+                final int size = FastMath.min(n, order) + 1;
+                normalizedC[n]   = new double[size];
+                normalizedS[n]   = new double[size];
+                unnormalizedC[n] = new double[size];
+                unnormalizedS[n] = new double[size];
+                for (int m = 0; m < size; ++m) {
+                    normalizedC[n][m]   = buffer.getDouble();
+                    normalizedS[n][m]   = buffer.getDouble();
+                    unnormalizedC[n][m] = buffer.getDouble();
+                    unnormalizedS[n][m] = buffer.getDouble();
+                }
+            }
+            this.fallback = fallback;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public NormalizedSphericalHarmonicsProvider getConstantNormalizedProvider(final int maxDegree,
+                                                                                  final int maxOrder) {
+            checkLimits(maxDegree, maxOrder);
+            return GravityFieldFactory.getNormalizedProvider(ae, mu, tideSystem,
+                                                             truncate(normalizedC, maxDegree, maxOrder),
+                                                             truncate(normalizedS, maxDegree, maxOrder));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public NormalizedSphericalHarmonicsProvider getNormalizedProvider(final int maxDegree,
+                                                                          final int maxOrder) {
+            return fallback.getNormalizedProvider(maxDegree, maxOrder);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public UnnormalizedSphericalHarmonicsProvider getConstantUnnormalizedProvider(final int maxDegree,
+                                                                                      final int maxOrder) {
+            checkLimits(maxDegree, maxOrder);
+            return GravityFieldFactory.getUnnormalizedProvider(ae, mu, tideSystem,
+                                                               truncate(unnormalizedC, maxDegree, maxOrder),
+                                                               truncate(unnormalizedS, maxDegree, maxOrder));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public UnnormalizedSphericalHarmonicsProvider getUnnormalizedProvider(final int maxDegree,
+                                                                              final int maxOrder) {
+            return fallback.getUnnormalizedProvider(maxDegree, maxOrder);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public List<OceanTidesWave> getOceanTidesWaves(final int maxDegree, final int maxOrder) {
+            return fallback.getOceanTidesWaves(maxDegree, maxOrder);
+        }
+
+        /** Check requested degree and order are available in the snapshot.
+         * @param maxDegree requested maximal degree
+         * @param maxOrder requested maximal order
+         */
+        private void checkLimits(final int maxDegree, final int maxOrder) {
+            if (maxDegree > degree) {
+                throw new OrekitException(OrekitMessages.TOO_LARGE_DEGREE_FOR_GRAVITY_FIELD, maxDegree, degree);
+            }
+            if (maxOrder > order) {
+                throw new OrekitException(OrekitMessages.TOO_LARGE_ORDER_FOR_GRAVITY_FIELD, maxOrder, order);
+            }
+        }
+
+        /** Truncate a triangular coefficients array.
+         * @param coefficients coefficients array
+         * @param maxDegree maximal degree to keep
+         * @param maxOrder maximal order to keep
+         * @return truncated copy
+         */
+        private static double[][] truncate(final double[][] coefficients,
+                                           final int maxDegree, final int maxOrder) {
+            final double[][] truncated = new double[maxDegree + 1][];
+            for (int n = 0; n <= maxDegree; ++n) {
+                truncated[n] = new double[FastMath.min(n, maxOrder) + 1];
+                System.arraycopy(coefficients[n], 0, truncated[n], 0, truncated[n].length);
+            }
+            return truncated;
+        }
+
+    }
+
+}
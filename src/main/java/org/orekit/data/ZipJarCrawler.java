@@ -16,18 +16,21 @@
  */
 package org.orekit.data;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.text.ParseException;
+import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.regex.Pattern;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 import org.hipparchus.exception.DummyLocalizable;
@@ -52,6 +55,16 @@ import org.orekit.errors.OrekitException;
  * Zip archives entries are supported recursively.
  * </p>
  * <p>
+ * For archives on filesystem, entries are accessed randomly, so entries that
+ * are not supported by the data loader are not decompressed at all. Archives
+ * in classpath or on network are read sequentially.
+ * </p>
+ * <p>
+ * If the {@link DataProvidersManager#setExecutorService(java.util.concurrent.ExecutorService)
+ * manager executor service} is set up, entries supported by a {@link ConcurrentDataLoader}
+ * are parsed in parallel.
+ * </p>
+ * <p>
  * This is a simple application of the <code>visitor</code> design pattern for
  * zip entries browsing.
  * </p>
@@ -60,6 +73,9 @@ import org.orekit.errors.OrekitException;
  */
 public class ZipJarCrawler implements DataProvider {
 
+    /** Separator between archive name and entry name. */
+    private static final String ENTRY_SEPARATOR = "!/";
+
     /** Zip archive on the filesystem. */
     private final File file;
 
@@ -137,10 +153,19 @@ public class ZipJarCrawler implements DataProvider {
 
         try {
 
+            if (file != null) {
+                // random access to the archive entries
+                try (ZipFile zipFile = new ZipFile(file)) {
+                    return feed(supported, visitor, manager, zipFile);
+                }
+            }
+
             // open the raw data stream
             try (InputStream in = openStream();
                  Archive archive = new Archive(in)) {
-                return feed(name, supported, visitor, manager, archive);
+                final DataLoadingQueue queue = new DataLoadingQueue(visitor, manager);
+                feed(name, supported, visitor, manager, archive, queue);
+                return queue.complete(false);
             }
 
         } catch (IOException | ParseException e) {
@@ -156,34 +181,93 @@ public class ZipJarCrawler implements DataProvider {
      * @throws IOException if the stream could not be opened.
      */
     private InputStream openStream() throws IOException {
-        if (file != null) {
-            return new FileInputStream(file);
-        } else if (resource != null) {
+        if (resource != null) {
             return classLoader.getResourceAsStream(resource);
         } else {
             return url.openConnection().getInputStream();
         }
     }
 
-    /** Feed a data file loader by browsing the entries in a zip/jar.
-     * @param prefix prefix to use for name
+    /** Feed a data file loader by accessing randomly the entries in a zip/jar file.
      * @param supported pattern for file names supported by the visitor
      * @param visitor data file visitor to use
      * @param manager used for filtering data.
-     * @param archive archive to read
+     * @param zipFile archive to read
      * @return true if something has been loaded
      * @exception IOException if data cannot be read
      * @exception ParseException if data cannot be read
+     * @since 11.1
      */
-    private boolean feed(final String prefix,
-                         final Pattern supported,
+    private boolean feed(final Pattern supported,
                          final DataLoader visitor,
                          final DataProvidersManager manager,
-                         final Archive archive)
+                         final ZipFile zipFile)
         throws IOException, ParseException {
 
-        OrekitException delayedException = null;
-        boolean loaded = false;
+        final DataLoadingQueue queue = new DataLoadingQueue(visitor, manager);
+
+        // loop over all entries
+        for (final Enumeration<? extends ZipEntry> enumeration = zipFile.entries(); enumeration.hasMoreElements();) {
+
+            final ZipEntry zipEntry = enumeration.nextElement();
+
+            try {
+
+                if (visitor.stillAcceptsData() && !zipEntry.isDirectory()) {
+
+                    final String fullName = name + ENTRY_SEPARATOR + zipEntry.getName();
+
+                    if (ZIP_ARCHIVE_PATTERN.matcher(zipEntry.getName()).matches()) {
+
+                        // recurse inside the archive entry
+                        try (Archive archive = new Archive(zipFile.getInputStream(zipEntry))) {
+                            feed(fullName, supported, visitor, manager, archive, queue);
+                        }
+
+                    } else {
+
+                        // apply all registered filters
+                        DataSource data = new DataSource(removeLeadingDirectories(zipEntry.getName()),
+                            () -> zipFile.getInputStream(zipEntry));
+                        data = manager.getFiltersManager().applyRelevantFilters(data);
+
+                        if (supported.matcher(data.getName()).matches()) {
+                            // visit the current entry (it is decompressed only now)
+                            queue.load(data, fullName);
+                        }
+
+                    }
+
+                }
+
+            } catch (OrekitException oe) {
+                queue.delay(oe);
+            }
+
+        }
+
+        // the zip file must not be closed before all entries have been loaded
+        return queue.complete(false);
+
+    }
+
+    /** Feed a data file loader by browsing sequentially the entries in a zip/jar.
+     * @param prefix prefix to use for name
+     * @param supported pattern for file names supported by the visitor
+     * @param visitor data file visitor to use
+     * @param manager used for filtering data.
+     * @param archive archive to read
+     * @param queue queue for data loading
+     * @exception IOException if data cannot be read
+     * @exception ParseException if data cannot be read
+     */
+    private void feed(final String prefix,
+                      final Pattern supported,
+                      final DataLoader visitor,
+                      final DataProvidersManager manager,
+                      final Archive archive,
+                      final DataLoadingQueue queue)
+        throws IOException, ParseException {
 
         // loop over all entries
         for (final Archive.EntryStream entry : archive) {
@@ -192,32 +276,27 @@ public class ZipJarCrawler implements DataProvider {
 
                 if (visitor.stillAcceptsData() && !entry.isDirectory()) {
 
-                    final String fullName = prefix + "!/" + entry.getName();
+                    final String fullName = prefix + ENTRY_SEPARATOR + entry.getName();
 
                     if (ZIP_ARCHIVE_PATTERN.matcher(entry.getName()).matches()) {
 
                         // recurse inside the archive entry
-                        loaded = feed(fullName, supported, visitor, manager, new Archive(entry)) || loaded;
+                        feed(fullName, supported, visitor, manager, new Archive(entry), queue);
 
                     } else {
 
-                        // remove leading directories
-                        String entryName = entry.getName();
-                        final int lastSlash = entryName.lastIndexOf('/');
-                        if (lastSlash >= 0) {
-                            entryName = entryName.substring(lastSlash + 1);
-                        }
-
                         // apply all registered filters
-                        DataSource data = new DataSource(entryName, () -> entry);
+                        final EntryOpener opener = new EntryOpener(entry);
+                        DataSource data = new DataSource(removeLeadingDirectories(entry.getName()), opener);
                         data = manager.getFiltersManager().applyRelevantFilters(data);
 
                         if (supported.matcher(data.getName()).matches()) {
-                            // visit the current file
-                            try (InputStream input = data.getOpener().openStreamOnce()) {
-                                visitor.loadData(input, fullName);
-                                loaded = true;
+                            if (queue.isParallel()) {
+                                // the entry stream will not be available anymore when the data is loaded
+                                opener.buffer();
                             }
+                            // visit the current file
+                            queue.load(data, fullName);
                         }
 
                     }
@@ -225,17 +304,61 @@ public class ZipJarCrawler implements DataProvider {
                 }
 
             } catch (OrekitException oe) {
-                delayedException = oe;
+                queue.delay(oe);
             }
 
             entry.close();
 
         }
 
-        if (!loaded && delayedException != null) {
-            throw delayedException;
+    }
+
+    /** Remove leading directories from an entry name.
+     * @param entryName entry name
+     * @return entry name without leading directories
+     * @since 11.1
+     */
+    private static String removeLeadingDirectories(final String entryName) {
+        final int lastSlash = entryName.lastIndexOf('/');
+        return lastSlash >= 0 ? entryName.substring(lastSlash + 1) : entryName;
+    }
+
+    /** Opener for sequentially read archive entries, with optional buffering.
+     * @since 11.1
+     */
+    private static class EntryOpener implements DataSource.StreamOpener {
+
+        /** Entry stream. */
+        private final InputStream entry;
+
+        /** Buffered entry content (null if entry is not buffered). */
+        private byte[] content;
+
+        /** Simple constructor.
+         * @param entry entry stream
+         */
+        EntryOpener(final InputStream entry) {
+            this.entry   = entry;
+            this.content = null;
+        }
+
+        /** Buffer the entry content, so it remains available after the archive has moved to next entry.
+         * @exception IOException if entry cannot be read
+         */
+        void buffer() throws IOException {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            for (int n = entry.read(buffer); n >= 0; n = entry.read(buffer)) {
+                output.write(buffer, 0, n);
+            }
+            content = output.toByteArray();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public InputStream openOnce() {
+            return content == null ? entry : new ByteArrayInputStream(content);
         }
-        return loaded;
 
     }
 
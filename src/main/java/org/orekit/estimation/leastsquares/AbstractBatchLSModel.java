@@ -23,6 +23,7 @@ import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import org.hipparchus.linear.Array2DRowRealMatrix;
 import org.hipparchus.linear.ArrayRealVector;
@@ -120,6 +121,11 @@ public abstract class AbstractBatchLSModel implements MultivariateJacobianFuncti
     /** Model function Jacobian. */
     private RealMatrix jacobian;
 
+    /** Executor service for evaluating measurements in parallel (null for sequential evaluation).
+     * @since 11.1
+     */
+    private ExecutorService measurementsExecutorService;
+
     /**
      * Constructor.
      * @param propagatorBuilders builders to use for propagation
@@ -244,6 +250,39 @@ public abstract class AbstractBatchLSModel implements MultivariateJacobianFuncti
         this.iterationsCounter = iterationsCounter;
     }
 
+    /** Set the executor service used for evaluating measurements in parallel.
+     * <p>
+     * The states are always interpolated sequentially at measurements dates, but if
+     * an executor service is set, the measurements falling within each propagation
+     * step are then {@link ObservedMeasurement#estimate(int, int, SpacecraftState[])
+     * estimated} concurrently, including their modifiers. The residuals and Jacobian
+     * rows are still assembled in chronological order, so the model value is exactly
+     * the same as with sequential evaluation.
+     * </p>
+     * <p>
+     * This setting should only be used if measurements and their modifiers can be
+     * estimated by several threads at once, i.e. if they do not update any shared
+     * state during estimation.
+     * </p>
+     * @param measurementsExecutorService executor service for parallel evaluation
+     * (null for sequential evaluation, which is the default)
+     * @see #getMeasurementsExecutorService()
+     * @see org.orekit.utils.ParallelTasks
+     * @since 11.1
+     */
+    public void setMeasurementsExecutorService(final ExecutorService measurementsExecutorService) {
+        this.measurementsExecutorService = measurementsExecutorService;
+    }
+
+    /** Get the executor service used for evaluating measurements in parallel.
+     * @return executor service for parallel evaluation (null for sequential evaluation)
+     * @see #setMeasurementsExecutorService(ExecutorService)
+     * @since 11.1
+     */
+    public ExecutorService getMeasurementsExecutorService() {
+        return measurementsExecutorService;
+    }
+
     /** Return the forward propagation flag.
      * @return the forward propagation flag
      */
@@ -524,7 +563,7 @@ public abstract class AbstractBatchLSModel implements MultivariateJacobianFuncti
             Collections.reverse(precompensated);
         }
 
-        return new MeasurementHandler(this, precompensated);
+        return new MeasurementHandler(this, precompensated, measurementsExecutorService);
 
     }
 
@@ -22,6 +22,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
@@ -96,6 +97,11 @@ public class BatchLSEstimator {
     /** Counter for the iterations. */
     private Incrementor iterationsCounter;
 
+    /** Executor service for evaluating measurements in parallel (null for sequential evaluation).
+     * @since 11.1
+     */
+    private ExecutorService measurementsExecutorService;
+
     /** Simple constructor.
      * <p>
      * If multiple {@link PropagatorBuilder propagator builders} are set up,
@@ -125,6 +131,7 @@ public class BatchLSEstimator {
         this.observer                       = null;
         this.estimations                    = null;
         this.orbits                         = new Orbit[builders.length];
+        this.measurementsExecutorService    = null;
 
         setParametersConvergenceThreshold(Double.NaN);
 
@@ -153,6 +160,36 @@ public class BatchLSEstimator {
         measurements.add(measurement);
     }
 
+    /** Set the executor service used for evaluating measurements in parallel.
+     * <p>
+     * If an executor service is set, the measurements falling within each propagation
+     * step are estimated concurrently, and the residuals and Jacobian rows are then
+     * assembled in chronological order, so the estimation results are exactly the
+     * same as with sequential evaluation. This is worth doing when there are many
+     * measurements with costly models (light time iterations, modifiers...).
+     * Measurements and their modifiers must support being estimated by several
+     * threads at once.
+     * </p>
+     * @param measurementsExecutorService executor service for parallel evaluation
+     * (null for sequential evaluation, which is the default)
+     * @see #getMeasurementsExecutorService()
+     * @see org.orekit.utils.ParallelTasks
+     * @see AbstractBatchLSModel#setMeasurementsExecutorService(ExecutorService)
+     * @since 11.1
+     */
+    public void setMeasurementsExecutorService(final ExecutorService measurementsExecutorService) {
+        this.measurementsExecutorService = measurementsExecutorService;
+    }
+
+    /** Get the executor service used for evaluating measurements in parallel.
+     * @return executor service for parallel evaluation (null for sequential evaluation)
+     * @see #setMeasurementsExecutorService(ExecutorService)
+     * @since 11.1
+     */
+    public ExecutorService getMeasurementsExecutorService() {
+        return measurementsExecutorService;
+    }
+
     /** Set the maximum number of iterations.
      * <p>
      * The iterations correspond to the top level iterations of
@@ -412,6 +449,7 @@ public class BatchLSEstimator {
             }
         };
         final AbstractBatchLSModel model = builders[0].buildLSModel(builders, measurements, estimatedMeasurementsParameters, modelObserver);
+        model.setMeasurementsExecutorService(measurementsExecutorService);
 
         lsBuilder.model(model);
 
@@ -16,7 +16,10 @@
  */
 package org.orekit.estimation.leastsquares;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.orekit.estimation.measurements.EstimatedMeasurement;
 import org.orekit.estimation.measurements.ObservableSatellite;
@@ -25,6 +28,7 @@ import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.sampling.MultiSatStepHandler;
 import org.orekit.propagation.sampling.OrekitStepInterpolator;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.ParallelTasks;
 
 /** {@link org.orekit.propagation.sampling.OrekitStepHandler Step handler} picking up
  * {@link ObservedMeasurement measurements}.
@@ -39,6 +43,11 @@ class MeasurementHandler implements MultiSatStepHandler {
     /** Underlying measurements. */
     private final List<PreCompensation> precompensated;
 
+    /** Executor service for evaluating measurements in parallel (null for sequential evaluation).
+     * @since 11.1
+     */
+    private final ExecutorService executorService;
+
     /** Number of the next measurement. */
     private int number;
 
@@ -50,8 +59,21 @@ class MeasurementHandler implements MultiSatStepHandler {
      * @param precompensated underlying measurements
      */
     MeasurementHandler(final AbstractBatchLSModel model, final List<PreCompensation> precompensated) {
-        this.model          = model;
-        this.precompensated = precompensated;
+        this(model, precompensated, null);
+    }
+
+    /** Simple constructor.
+     * @param model least squares model
+     * @param precompensated underlying measurements
+     * @param executorService executor service for evaluating measurements in parallel
+     * (null for sequential evaluation)
+     * @since 11.1
+     */
+    MeasurementHandler(final AbstractBatchLSModel model, final List<PreCompensation> precompensated,
+                       final ExecutorService executorService) {
+        this.model           = model;
+        this.precompensated  = precompensated;
+        this.executorService = executorService;
     }
 
     /** {@inheritDoc} */
@@ -64,6 +86,17 @@ class MeasurementHandler implements MultiSatStepHandler {
     /** {@inheritDoc} */
     @Override
     public void handleStep(final List<OrekitStepInterpolator> interpolators) {
+        if (executorService == null) {
+            handleStepSequentially(interpolators);
+        } else {
+            handleStepInParallel(interpolators);
+        }
+    }
+
+    /** Evaluate the measurements of one step sequentially.
+     * @param interpolators interpolators set up for the current step
+     */
+    private void handleStepSequentially(final List<OrekitStepInterpolator> interpolators) {
 
         while (number < precompensated.size()) {
 
@@ -101,4 +134,57 @@ class MeasurementHandler implements MultiSatStepHandler {
 
     }
 
+    /** Evaluate the measurements of one step in parallel.
+     * <p>
+     * The states are interpolated sequentially, as interpolators are not
+     * guaranteed to be thread-safe, then the measurements (including their
+     * modifiers) are evaluated concurrently. The evaluations are finally fetched
+     * to the model in chronological order, so residuals and Jacobian are
+     * exactly the same as with sequential evaluation.
+     * </p>
+     * @param interpolators interpolators set up for the current step
+     */
+    private void handleStepInParallel(final List<OrekitStepInterpolator> interpolators) {
+
+        final int iteration  = model.getIterationsCount();
+        final int evaluation = model.getEvaluationsCount();
+
+        // Current state date for interpolator 0
+        final AbsoluteDate currentDate = interpolators.get(0).getCurrentState().getDate();
+
+        // submit evaluation of all measurements that belong to the current step
+        final List<Future<EstimatedMeasurement<?>>> futures = new ArrayList<>();
+        while (number + futures.size() < precompensated.size()) {
+
+            // Consider the next measurement to handle
+            final PreCompensation next = precompensated.get(number + futures.size());
+            if (model.isForwardPropagation()  && next.getDate().compareTo(currentDate) > 0 ||
+                !model.isForwardPropagation() && next.getDate().compareTo(currentDate) < 0) {
+                break;
+            }
+
+            // get the observed measurement
+            final ObservedMeasurement<?> observed = next.getMeasurement();
+
+            // interpolate the states
+            final SpacecraftState[] states = new SpacecraftState[observed.getSatellites().size()];
+            for (int i = 0; i < states.length; ++i) {
+                final ObservableSatellite satellite = observed.getSatellites().get(i);
+                states[i] = interpolators.get(satellite.getPropagatorIndex()).getInterpolatedState(next.getDate());
+            }
+
+            // estimate the theoretical measurement
+            futures.add(executorService.submit(() -> observed.estimate(iteration, evaluation, states)));
+
+        }
+
+        // fetch the evaluated measurements to the estimator, in chronological order
+        for (final EstimatedMeasurement<?> estimated : ParallelTasks.getAll(futures)) {
+            model.fetchEvaluatedMeasurement(index, estimated);
+            ++number;
+            index += estimated.getObservedMeasurement().getDimension();
+        }
+
+    }
+
 }
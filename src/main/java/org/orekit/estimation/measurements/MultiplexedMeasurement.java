@@ -21,9 +21,12 @@ import java.util.Arrays;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 
 import org.orekit.propagation.SpacecraftState;
+import org.orekit.utils.ParallelTasks;
 import org.orekit.utils.ParameterDriver;
 import org.orekit.utils.ParameterDriversList;
 import org.orekit.utils.TimeStampedPVCoordinates;
@@ -56,6 +59,11 @@ public class MultiplexedMeasurement extends AbstractMeasurement<MultiplexedMeasu
     /** States mapping. */
     private final int[][] mapping;
 
+    /** Executor service for evaluating underlying measurements in parallel (null for sequential evaluation).
+     * @since 11.1
+     */
+    private ExecutorService executorService;
+
     /** Simple constructor.
      * @param measurements measurements to multiplex
      * @since 10.1
@@ -70,6 +78,7 @@ public class MultiplexedMeasurement extends AbstractMeasurement<MultiplexedMeasu
         this.observedMeasurements  = measurements;
         this.estimatedMeasurements = new ArrayList<>();
         this.parametersDrivers     = new ParameterDriversList();
+        this.executorService       = null;
 
         // gather parameters drivers
         int dim = 0;
@@ -105,6 +114,34 @@ public class MultiplexedMeasurement extends AbstractMeasurement<MultiplexedMeasu
 
     }
 
+    /** Set the executor service used for evaluating underlying measurements in parallel.
+     * <p>
+     * If an executor service is set, all underlying measurements are evaluated
+     * concurrently, and the results are gathered in measurements order once all
+     * evaluations are done, so the multiplexed estimation is exactly the same as
+     * with sequential evaluation. This setting should only be used with underlying
+     * measurements (including their modifiers) that can be evaluated by several
+     * threads at once.
+     * </p>
+     * @param executorService executor service for parallel evaluation
+     * (null for sequential evaluation, which is the default)
+     * @see #getExecutorService()
+     * @see ParallelTasks
+     * @since 11.1
+     */
+    public void setExecutorService(final ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /** Get the executor service used for evaluating underlying measurements in parallel.
+     * @return executor service for parallel evaluation (null for sequential evaluation)
+     * @see #setExecutorService(ExecutorService)
+     * @since 11.1
+     */
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
     /** Get the underlying measurements.
      * @return underlying measurements
      */
@@ -128,20 +165,22 @@ public class MultiplexedMeasurement extends AbstractMeasurement<MultiplexedMeasu
         final List<TimeStampedPVCoordinates> participants     = new ArrayList<>();
         final double[]                       value            = new double[dimension];
 
-        // loop over all multiplexed measurements
+        // evaluate all multiplexed measurements
         estimatedMeasurements.clear();
+        if (executorService == null || observedMeasurements.size() < 2) {
+            for (int i = 0; i < observedMeasurements.size(); ++i) {
+                estimatedMeasurements.add(observedMeasurements.get(i).estimate(iteration, evaluation,
+                                                                               filterStates(i, states)));
+            }
+        } else {
+            estimatedMeasurements.addAll(estimateInParallel(iteration, evaluation, states));
+        }
+
+        // gather results
         int index = 0;
         for (int i = 0; i < observedMeasurements.size(); ++i) {
 
-            // filter states involved in the current measurement
-            final SpacecraftState[] filteredStates = new SpacecraftState[mapping[i].length];
-            for (int j = 0; j < mapping[i].length; ++j) {
-                filteredStates[j] = states[mapping[i][j]];
-            }
-
-            // perform evaluation
-            final EstimatedMeasurement<?> eI = observedMeasurements.get(i).estimate(iteration, evaluation, filteredStates);
-            estimatedMeasurements.add(eI);
+            final EstimatedMeasurement<?> eI = estimatedMeasurements.get(i);
 
             // extract results
             final double[] valueI = eI.getEstimatedValue();
@@ -218,6 +257,43 @@ public class MultiplexedMeasurement extends AbstractMeasurement<MultiplexedMeasu
 
     }
 
+    /** Filter the states involved in one underlying measurement.
+     * @param i index of the underlying measurement
+     * @param states states of all satellites involved in the multiplexed measurement
+     * @return states involved in the underlying measurement
+     * @since 11.1
+     */
+    private SpacecraftState[] filterStates(final int i, final SpacecraftState[] states) {
+        final SpacecraftState[] filteredStates = new SpacecraftState[mapping[i].length];
+        for (int j = 0; j < mapping[i].length; ++j) {
+            filteredStates[j] = states[mapping[i][j]];
+        }
+        return filteredStates;
+    }
+
+    /** Evaluate all underlying measurements in parallel.
+     * @param iteration iteration number
+     * @param evaluation evaluation number
+     * @param states states of all satellites involved in the multiplexed measurement
+     * @return underlying estimated measurements, in measurements order
+     * @since 11.1
+     */
+    private List<EstimatedMeasurement<?>> estimateInParallel(final int iteration, final int evaluation,
+                                                             final SpacecraftState[] states) {
+
+        // submit all evaluations
+        final List<Future<EstimatedMeasurement<?>>> futures = new ArrayList<>(observedMeasurements.size());
+        for (int i = 0; i < observedMeasurements.size(); ++i) {
+            final ObservedMeasurement<?> observed       = observedMeasurements.get(i);
+            final SpacecraftState[]      filteredStates = filterStates(i, states);
+            futures.add(executorService.submit(() -> observed.estimate(iteration, evaluation, filteredStates)));
+        }
+
+        // gather the results in measurements order
+        return ParallelTasks.getAll(futures);
+
+    }
+
     /** Multiplex measurements data.
      * @param measurements measurements to multiplex
      * @param extractor data extraction function
@@ -16,12 +16,26 @@
  */
 package org.orekit.estimation.measurements.generation;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
 import org.orekit.estimation.measurements.ObservedMeasurement;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.sampling.OrekitStepInterpolator;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.DatesSelector;
 
 
 /** Base implementation of {@link Scheduler} managing {@link DatesSelector dates selection}.
+ * <p>
+ * Measurements generation is split in two phases: {@link #selectStates(List) selecting
+ * and interpolating} the spacecraft states in the current step, and {@link #build(List)
+ * building} the measurements from these states. Only the second phase may be run in
+ * parallel by {@link Generator}, so subclasses should customize generation by overriding
+ * {@link #measurementIsFeasible(AbsoluteDate)} rather than {@link #generate(List)}.
+ * </p>
  * @param <T> the type of the measurement
  * @author Luc Maisonobe
  * @since 9.3
@@ -54,6 +68,80 @@ public abstract class AbstractScheduler<T extends ObservedMeasurement<T>> implem
         builder.init(start, end);
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * This implementation {@link #build(List) builds} measurements from the
+     * {@link #selectStates(List) selected states}.
+     * </p>
+     */
+    @Override
+    public SortedSet<T> generate(final List<OrekitStepInterpolator> interpolators) {
+        return build(selectStates(interpolators));
+    }
+
+    /** Select the spacecraft states at which measurements should be generated in the current step.
+     * <p>
+     * This method uses the step interpolators, so it is always called by the thread
+     * running the propagation.
+     * </p>
+     * @param interpolators interpolators for spacecraft states
+     * @return states of all spacecraft at each selected date where a measurement is feasible
+     * @since 11.1
+     */
+    public List<SpacecraftState[]> selectStates(final List<OrekitStepInterpolator> interpolators) {
+
+        // select dates in the current step, using arbitrarily interpolator 0
+        // as all interpolators cover the same range
+        final List<AbsoluteDate> dates = getSelector().selectDates(interpolators.get(0).getPreviousState().getDate(),
+                                                                   interpolators.get(0).getCurrentState().getDate());
+
+        // interpolate states at measurement dates when feasible
+        final List<SpacecraftState[]> selected = new ArrayList<>(dates.size());
+        for (final AbsoluteDate date : dates) {
+            if (measurementIsFeasible(date)) {
+                final SpacecraftState[] states = new SpacecraftState[interpolators.size()];
+                for (int i = 0; i < states.length; ++i) {
+                    states[i] = interpolators.get(i).getInterpolatedState(date);
+                }
+                selected.add(states);
+            }
+        }
+
+        return selected;
+
+    }
+
+    /** Build measurements from selected spacecraft states.
+     * <p>
+     * This method does not use the step interpolators, so it may be called by
+     * another thread than the one running the propagation, but it must not be
+     * called concurrently for the same scheduler.
+     * </p>
+     * @param selected states of all spacecraft at each selected date
+     * (as returned by {@link #selectStates(List)})
+     * @return generated measurements
+     * @since 11.1
+     */
+    public SortedSet<T> build(final List<SpacecraftState[]> selected) {
+        final SortedSet<T> measurements = new TreeSet<>();
+        for (final SpacecraftState[] states : selected) {
+            measurements.add(builder.build(states));
+        }
+        return measurements;
+    }
+
+    /** Check if a measurement is feasible at some date.
+     * <p>
+     * This implementation always returns true.
+     * </p>
+     * @param date date to check
+     * @return true if a measurement is feasible at this date
+     * @since 11.1
+     */
+    protected boolean measurementIsFeasible(final AbsoluteDate date) {
+        return true;
+    }
+
     /** Get the measurements builder.
      * @return measurements builder
      */
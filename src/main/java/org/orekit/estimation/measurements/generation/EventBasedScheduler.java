@@ -16,17 +16,12 @@
  */
 package org.orekit.estimation.measurements.generation;
 
-import java.util.List;
-import java.util.SortedSet;
-import java.util.TreeSet;
-
 import org.hipparchus.ode.events.Action;
 import org.orekit.estimation.measurements.ObservedMeasurement;
 import org.orekit.propagation.Propagator;
 import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.events.AdapterDetector;
 import org.orekit.propagation.events.EventDetector;
-import org.orekit.propagation.sampling.OrekitStepInterpolator;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.DatesSelector;
 import org.orekit.utils.TimeSpanMap;
@@ -99,35 +94,15 @@ public class EventBasedScheduler<T extends ObservedMeasurement<T>> extends Abstr
         propagator.addEventDetector(new FeasibilityAdapter(detector));
     }
 
-    /** {@inheritDoc} */
+    /** {@inheritDoc}
+     * <p>
+     * Measurements are feasible according to the detector sign changes
+     * encountered during propagation.
+     * </p>
+     */
     @Override
-    public SortedSet<T> generate(final List<OrekitStepInterpolator> interpolators) {
-
-        // select dates in the current step, using arbitrarily interpolator 0
-        // as all interpolators cover the same range
-        final List<AbsoluteDate> dates = getSelector().selectDates(interpolators.get(0).getPreviousState().getDate(),
-                                                                   interpolators.get(0).getCurrentState().getDate());
-
-        // generate measurements when feasible
-        final SortedSet<T> measurements = new TreeSet<>();
-        for (final AbsoluteDate date : dates) {
-            if (feasibility.get(date)) {
-                // a measurement is feasible at this date
-
-                // interpolate states at measurement date
-                final SpacecraftState[] states = new SpacecraftState[interpolators.size()];
-                for (int i = 0; i < states.length; ++i) {
-                    states[i] = interpolators.get(i).getInterpolatedState(date);
-                }
-
-                // generate measurement
-                measurements.add(getBuilder().build(states));
-
-            }
-        }
-
-        return measurements;
-
+    protected boolean measurementIsFeasible(final AbsoluteDate date) {
+        return feasibility.get(date);
     }
 
     /** Adapter for managing feasibility status changes. */
@@ -20,6 +20,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.orekit.estimation.measurements.ObservableSatellite;
 import org.orekit.estimation.measurements.ObservedMeasurement;
@@ -29,6 +32,7 @@ import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.sampling.MultiSatStepHandler;
 import org.orekit.propagation.sampling.OrekitStepInterpolator;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.ParallelTasks;
 
 
 /** Main generator for {@link ObservedMeasurement observed measurements}.
@@ -43,11 +47,53 @@ public class Generator {
     /** Sequences generators. */
     private final List<Scheduler<?>> schedulers;
 
+    /** Executor service for building measurements in parallel (null for sequential run).
+     * @since 11.1
+     */
+    private ExecutorService executorService;
+
     /** Build a generator with no sequences generator.
      */
     public Generator() {
-        this.propagators = new ArrayList<>();
-        this.schedulers  = new ArrayList<>();
+        this.propagators     = new ArrayList<>();
+        this.schedulers      = new ArrayList<>();
+        this.executorService = null;
+    }
+
+    /** Set the executor service used for building measurements in parallel.
+     * <p>
+     * At each propagation step, the spacecraft states needed by all schedulers are
+     * first {@link AbstractScheduler#selectStates(List) selected and interpolated}
+     * sequentially by the propagation thread, as step interpolators are not designed
+     * for concurrent use. If an executor service is set, the measurements are then
+     * {@link AbstractScheduler#build(List) built} concurrently from these states, each
+     * scheduler (and hence each measurement builder) remaining run by a single task at
+     * a time. The measurements are merged in schedulers order once all schedulers are
+     * done, so the generated measurements are exactly the same as with sequential run,
+     * including noise which is drawn from each builder own random generator. Schedulers
+     * that do not extend {@link AbstractScheduler} are always run sequentially.
+     * </p>
+     * <p>
+     * This setting should only be used with schedulers that do not share builders
+     * or noise sources.
+     * </p>
+     * @param executorService executor service for parallel run
+     * (null for sequential run, which is the default)
+     * @see #getExecutorService()
+     * @see ParallelTasks
+     * @since 11.1
+     */
+    public void setExecutorService(final ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /** Get the executor service used for building measurements in parallel.
+     * @return executor service for parallel run (null for sequential run)
+     * @see #setExecutorService(ExecutorService)
+     * @since 11.1
+     */
+    public ExecutorService getExecutorService() {
+        return executorService;
     }
 
     /** Add a propagator.
@@ -88,7 +134,7 @@ public class Generator {
         }
 
         // set up parallelized propagators
-        final GeneratorHandler handler = new GeneratorHandler(schedulers);
+        final GeneratorHandler handler = new GeneratorHandler(schedulers, executorService);
         final PropagatorsParallelizer parallelizer = new PropagatorsParallelizer(propagators, handler);
 
         // generate the measurements
@@ -104,15 +150,21 @@ public class Generator {
         /** Sequences generators. */
         private final List<Scheduler<?>> schedulers;
 
+        /** Executor service for building measurements in parallel (null for sequential run). */
+        private final ExecutorService executorService;
+
         /** Set for holding measurements. */
         private final SortedSet<ObservedMeasurement<?>> measurements;
 
         /** Simple constructor.
          * @param schedulers sequences generators
+         * @param executorService executor service for building measurements in parallel
+         * (null for sequential run)
          */
-        GeneratorHandler(final List<Scheduler<?>> schedulers) {
-            this.schedulers   = schedulers;
-            this.measurements = new TreeSet<>();
+        GeneratorHandler(final List<Scheduler<?>> schedulers, final ExecutorService executorService) {
+            this.schedulers      = schedulers;
+            this.executorService = executorService;
+            this.measurements    = new TreeSet<>();
         }
 
         /** {@inheritDoc} */
@@ -126,8 +178,30 @@ public class Generator {
         /** {@inheritDoc} */
         @Override
         public void handleStep(final List<OrekitStepInterpolator> interpolators) {
-            for (final Scheduler<?> scheduler : schedulers) {
-                measurements.addAll(scheduler.generate(interpolators));
+            if (executorService == null || schedulers.size() < 2) {
+                for (final Scheduler<?> scheduler : schedulers) {
+                    measurements.addAll(scheduler.generate(interpolators));
+                }
+            } else {
+
+                // interpolate states sequentially, and build measurements concurrently
+                final List<Future<? extends SortedSet<? extends ObservedMeasurement<?>>>> futures =
+                                new ArrayList<>(schedulers.size());
+                for (final Scheduler<?> scheduler : schedulers) {
+                    if (scheduler instanceof AbstractScheduler) {
+                        final AbstractScheduler<?>    abstractScheduler = (AbstractScheduler<?>) scheduler;
+                        final List<SpacecraftState[]> selected          = abstractScheduler.selectStates(interpolators);
+                        futures.add(executorService.submit(() -> abstractScheduler.build(selected)));
+                    } else {
+                        futures.add(CompletableFuture.completedFuture(scheduler.generate(interpolators)));
+                    }
+                }
+
+                // merge the measurements in schedulers order
+                for (final SortedSet<? extends ObservedMeasurement<?>> generated : ParallelTasks.getAll(futures)) {
+                    measurements.addAll(generated);
+                }
+
             }
         }
 
@@ -16,9 +16,12 @@
  */
 package org.orekit.estimation.sequential;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import org.hipparchus.exception.MathRuntimeException;
+import org.hipparchus.filtering.kalman.KalmanFilter;
 import org.hipparchus.filtering.kalman.ProcessEstimate;
 import org.hipparchus.filtering.kalman.extended.ExtendedKalmanFilter;
 import org.hipparchus.linear.MatrixDecomposer;
@@ -26,6 +29,7 @@ import org.hipparchus.linear.MatrixUtils;
 import org.hipparchus.linear.RealMatrix;
 import org.hipparchus.linear.RealVector;
 import org.orekit.errors.OrekitException;
+import org.orekit.estimation.measurements.MultiplexedMeasurement;
 import org.orekit.estimation.measurements.ObservedMeasurement;
 import org.orekit.estimation.measurements.PV;
 import org.orekit.estimation.measurements.Position;
@@ -84,28 +88,36 @@ public class KalmanEstimator {
     private final AbstractKalmanModel processModel;
 
     /** Filter. */
-    private final ExtendedKalmanFilter<MeasurementDecorator> filter;
+    private final KalmanFilter<MeasurementDecorator> filter;
 
     /** Observer to retrieve current estimation info. */
     private KalmanObserver observer;
 
+    /** Executor service for evaluating simultaneous measurements in parallel (null for sequential evaluation).
+     * @since 11.1
+     */
+    private ExecutorService measurementsExecutorService;
+
     /** Kalman filter estimator constructor (package private).
      * @param decomposer decomposer to use for the correction phase
      * @param propagatorBuilders propagators builders used to evaluate the orbit.
      * @param processNoiseMatricesProviders providers for process noise matrices
      * @param estimatedMeasurementParameters measurement parameters to estimate
      * @param measurementProcessNoiseMatrix provider for measurement process noise matrix
+     * @param sparse if true, use a filter exploiting the sparsity of orbit determination matrices
      * @since 10.3
      */
     KalmanEstimator(final MatrixDecomposer decomposer,
                     final List<OrbitDeterminationPropagatorBuilder> propagatorBuilders,
                     final List<CovarianceMatrixProvider> processNoiseMatricesProviders,
                     final ParameterDriversList estimatedMeasurementParameters,
-                    final CovarianceMatrixProvider measurementProcessNoiseMatrix) {
+                    final CovarianceMatrixProvider measurementProcessNoiseMatrix,
+                    final boolean sparse) {
 
         this.propagatorBuilders = propagatorBuilders;
         this.referenceDate      = propagatorBuilders.get(0).getInitialOrbitDate();
         this.observer           = null;
+        this.measurementsExecutorService = null;
 
         // Build the process model and measurement model
         this.processModel = propagatorBuilders.get(0).buildKalmanModel(propagatorBuilders,
@@ -113,7 +125,11 @@ public class KalmanEstimator {
                                                                        estimatedMeasurementParameters,
                                                                        measurementProcessNoiseMatrix);
 
-        this.filter = new ExtendedKalmanFilter<>(decomposer, processModel, processModel.getEstimate());
+        if (sparse) {
+            this.filter = new SparseExtendedKalmanFilter<>(decomposer, processModel, processModel.getEstimate());
+        } else {
+            this.filter = new ExtendedKalmanFilter<>(decomposer, processModel, processModel.getEstimate());
+        }
 
     }
 
@@ -124,6 +140,32 @@ public class KalmanEstimator {
         this.observer = observer;
     }
 
+    /** Set the executor service used for evaluating simultaneous measurements in parallel.
+     * <p>
+     * This setting is used only by {@link #processMultiplexedMeasurements(Iterable)},
+     * it is forwarded to the {@link MultiplexedMeasurement multiplexed measurements}
+     * built from simultaneous measurements, see {@link
+     * MultiplexedMeasurement#setExecutorService(ExecutorService)}.
+     * </p>
+     * @param measurementsExecutorService executor service for parallel evaluation
+     * (null for sequential evaluation, which is the default)
+     * @see #getMeasurementsExecutorService()
+     * @see org.orekit.utils.ParallelTasks
+     * @since 11.1
+     */
+    public void setMeasurementsExecutorService(final ExecutorService measurementsExecutorService) {
+        this.measurementsExecutorService = measurementsExecutorService;
+    }
+
+    /** Get the executor service used for evaluating simultaneous measurements in parallel.
+     * @return executor service for parallel evaluation (null for sequential evaluation)
+     * @see #setMeasurementsExecutorService(ExecutorService)
+     * @since 11.1
+     */
+    public ExecutorService getMeasurementsExecutorService() {
+        return measurementsExecutorService;
+    }
+
     /** Get the current measurement number.
      * @return current measurement number
      */
@@ -241,6 +283,55 @@ public class KalmanEstimator {
         return propagators;
     }
 
+    /** Process several measurements, fusing simultaneous ones in a single correction.
+     * <p>
+     * Consecutive measurements sharing the same date are gathered in a {@link
+     * MultiplexedMeasurement}, so the propagators are reset and the filter is
+     * corrected only once for all of them. If a {@link
+     * #setMeasurementsExecutorService(ExecutorService) measurements executor service}
+     * is set, the gathered measurements are evaluated in parallel. Measurements with
+     * unique dates are processed as with {@link #processMeasurements(Iterable)}.
+     * </p>
+     * <p>
+     * The {@link KalmanObserver observer} is called once per correction, so for
+     * gathered measurements it sees the multiplexed measurement, whose underlying
+     * estimations are available from {@link MultiplexedMeasurement#getEstimatedMeasurements()}.
+     * </p>
+     * @param observedMeasurements the measurements to process in <em>chronologically sorted</em> order
+     * @return estimated propagators
+     * @since 11.1
+     */
+    public Propagator[] processMultiplexedMeasurements(final Iterable<ObservedMeasurement<?>> observedMeasurements) {
+        Propagator[] propagators = null;
+        final List<ObservedMeasurement<?>> simultaneous = new ArrayList<>();
+        for (ObservedMeasurement<?> observedMeasurement : observedMeasurements) {
+            if (!simultaneous.isEmpty() &&
+                observedMeasurement.getDate().durationFrom(simultaneous.get(0).getDate()) != 0.0) {
+                propagators = estimationStep(multiplex(simultaneous));
+                simultaneous.clear();
+            }
+            simultaneous.add(observedMeasurement);
+        }
+        if (!simultaneous.isEmpty()) {
+            propagators = estimationStep(multiplex(simultaneous));
+        }
+        return propagators;
+    }
+
+    /** Gather simultaneous measurements.
+     * @param simultaneous measurements sharing the same date
+     * @return multiplexed measurement, or single measurement if there is only one
+     * @since 11.1
+     */
+    private ObservedMeasurement<?> multiplex(final List<ObservedMeasurement<?>> simultaneous) {
+        if (simultaneous.size() == 1) {
+            return simultaneous.get(0);
+        }
+        final MultiplexedMeasurement multiplexed = new MultiplexedMeasurement(new ArrayList<>(simultaneous));
+        multiplexed.setExecutorService(measurementsExecutorService);
+        return multiplexed;
+    }
+
     /** Decorate an observed measurement.
      * <p>
      * The "physical" measurement noise matrix is the covariance matrix of the measurement.
@@ -252,6 +343,15 @@ public class KalmanEstimator {
      * @return decorated measurement
      */
     private MeasurementDecorator decorate(final ObservedMeasurement<?> observedMeasurement) {
+        return new MeasurementDecorator(observedMeasurement, correlation(observedMeasurement), referenceDate);
+    }
+
+    /** Get the correlation coefficients matrix of an observed measurement.
+     * @param observedMeasurement the measurement
+     * @return correlation coefficients matrix
+     * @since 11.1
+     */
+    private RealMatrix correlation(final ObservedMeasurement<?> observedMeasurement) {
 
         // Normalized measurement noise matrix contains 1 on its diagonal and correlation coefficients
         // of the measurement on its non-diagonal elements.
@@ -266,13 +366,22 @@ public class KalmanEstimator {
             // For Position measurements we do have a covariance matrix and thus a correlation coefficients matrix
             final Position position = (Position) observedMeasurement;
             covariance = MatrixUtils.createRealMatrix(position.getCorrelationCoefficientsMatrix());
+        } else if (observedMeasurement instanceof MultiplexedMeasurement) {
+            // Underlying measurements are independent, the correlation coefficients matrix is block diagonal
+            covariance = MatrixUtils.createRealMatrix(observedMeasurement.getDimension(),
+                                                      observedMeasurement.getDimension());
+            int index = 0;
+            for (final ObservedMeasurement<?> m : ((MultiplexedMeasurement) observedMeasurement).getMeasurements()) {
+                covariance.setSubMatrix(correlation(m).getData(), index, index);
+                index += m.getDimension();
+            }
         } else {
             // For other measurements we do not have a covariance matrix.
             // Thus the correlation coefficients matrix is an identity matrix.
             covariance = MatrixUtils.createRealIdentityMatrix(observedMeasurement.getDimension());
         }
 
-        return new MeasurementDecorator(observedMeasurement, covariance, referenceDate);
+        return covariance;
 
     }
 
@@ -48,6 +48,11 @@ public class KalmanEstimatorBuilder {
     /** Process noise matrix provider for measurement parameters. */
     private CovarianceMatrixProvider measurementProcessNoiseMatrix;
 
+    /** Indicator for using a filter exploiting matrices sparsity.
+     * @since 11.1
+     */
+    private boolean sparse;
+
     /** Default constructor.
      *  Set an extended Kalman filter, with linearized covariance prediction.
      */
@@ -57,6 +62,7 @@ public class KalmanEstimatorBuilder {
         this.estimatedMeasurementsParameters = new ParameterDriversList();
         this.processNoiseMatricesProviders   = new ArrayList<>();
         this.measurementProcessNoiseMatrix   = null;
+        this.sparse                          = false;
     }
 
     /** Construct a {@link KalmanEstimator} from the data in this builder.
@@ -73,7 +79,8 @@ public class KalmanEstimatorBuilder {
             throw new OrekitException(OrekitMessages.NO_PROPAGATOR_CONFIGURED);
         }
         return new KalmanEstimator(decomposer, propagatorBuilders, processNoiseMatricesProviders,
-                                   estimatedMeasurementsParameters, measurementProcessNoiseMatrix);
+                                   estimatedMeasurementsParameters, measurementProcessNoiseMatrix,
+                                   sparse);
     }
 
     /** Configure the matrix decomposer.
@@ -85,6 +92,25 @@ public class KalmanEstimatorBuilder {
         return this;
     }
 
+    /** Configure the use of a filter exploiting matrices sparsity.
+     * <p>
+     * The default filter is Hipparchus extended Kalman filter, which performs dense
+     * O(n³) covariance updates for n estimated parameters. When sparse updates are
+     * selected, the filter takes advantage of the fact the state transition matrix
+     * is identity outside of the orbital parameters and that each measurement Jacobian
+     * involves only a few estimated parameters, and it corrects the covariance using
+     * a Joseph form update in O(n² m) for measurements of dimension m. The results
+     * are the same up to numerical round-off.
+     * </p>
+     * @param sparseUpdates if true, use sparse covariance updates
+     * @return this object.
+     * @since 11.1
+     */
+    public KalmanEstimatorBuilder sparseUpdates(final boolean sparseUpdates) {
+        sparse = sparseUpdates;
+        return this;
+    }
+
     /** Add a propagation configuration.
      * <p>
      * This method must be called once for each propagator to managed with the
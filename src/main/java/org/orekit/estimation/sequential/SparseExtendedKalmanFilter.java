@@ -0,0 +1,278 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.sequential;
+
+import org.hipparchus.filtering.kalman.KalmanFilter;
+import org.hipparchus.filtering.kalman.Measurement;
+import org.hipparchus.filtering.kalman.ProcessEstimate;
+import org.hipparchus.filtering.kalman.extended.NonLinearEvolution;
+import org.hipparchus.filtering.kalman.extended.NonLinearProcess;
+import org.hipparchus.linear.Array2DRowRealMatrix;
+import org.hipparchus.linear.MatrixDecomposer;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.linear.RealVector;
+
+/** Extended Kalman filter exploiting the sparsity of orbit determination matrices.
+ * <p>
+ * This filter is mathematically equivalent to Hipparchus {@link
+ * org.hipparchus.filtering.kalman.extended.ExtendedKalmanFilter ExtendedKalmanFilter},
+ * but it takes advantage of the structure of the matrices built by {@link AbstractKalmanModel}:
+ * </p>
+ * <ul>
+ *   <li>the state transition matrix is identity for all rows except the ones
+ *   related to orbital parameters, so the covariance prediction F.P.F<sup>T</sup>
+ *   is computed only for these rows and columns,</li>
+ *   <li>the measurement Jacobian has non-zero columns only for the orbital and
+ *   propagation parameters of the involved satellites and for the parameters of
+ *   the measurement itself, so P.H<sup>T</sup> is computed only from these columns,</li>
+ *   <li>the covariance correction is a rank m update (m being the measurement
+ *   dimension) of the predicted covariance.</li>
+ * </ul>
+ * <p>
+ * The covariance correction uses the Joseph form (I - K.H).P.(I - K.H)<sup>T</sup> + K.R.K<sup>T</sup>,
+ * expanded as P - K.U<sup>T</sup> - U.K<sup>T</sup> + K.S.K<sup>T</sup> with U = P.H<sup>T</sup>,
+ * so it costs O(n² m) instead of O(n³) for n estimated parameters. Only one triangle
+ * is computed and mirrored, so the corrected covariance is exactly symmetric.
+ * </p>
+ * @param <T> the type of the measurements
+ * @author agent
+ * @since 11.1
+ */
+class SparseExtendedKalmanFilter<T extends Measurement> implements KalmanFilter<T> {
+
+    /** Process to be estimated. */
+    private final NonLinearProcess<T> process;
+
+    /** Decomposer to use for the innovation covariance matrix. */
+    private final MatrixDecomposer decomposer;
+
+    /** Predicted state. */
+    private ProcessEstimate predicted;
+
+    /** Corrected state. */
+    private ProcessEstimate corrected;
+
+    /** Simple constructor.
+     * @param decomposer decomposer to use for the innovation covariance matrix
+     * @param process process to be estimated
+     * @param initialState initial state
+     */
+    SparseExtendedKalmanFilter(final MatrixDecomposer decomposer,
+                               final NonLinearProcess<T> process,
+                               final ProcessEstimate initialState) {
+        this.decomposer = decomposer;
+        this.process    = process;
+        this.predicted  = null;
+        this.corrected  = initialState;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ProcessEstimate estimationStep(final T measurement) {
+
+        final NonLinearEvolution evolution = process.getEvolution(corrected.getTime(), corrected.getState(), measurement);
+
+        // prediction
+        final RealMatrix stm = evolution.getStateTransitionMatrix();
+        predicted = new ProcessEstimate(evolution.getCurrentTime(), evolution.getCurrentState(),
+                                        predictCovariance(corrected.getCovariance().getData(), stm.getData(),
+                                                          evolution.getProcessNoiseMatrix()));
+
+        final RealMatrix h = evolution.getMeasurementJacobian();
+        if (h == null) {
+            // no measurement, prediction only
+            corrected = predicted;
+            return corrected;
+        }
+
+        // innovation covariance, using only the non-zero columns of the measurement Jacobian
+        final double[][] p       = predicted.getCovariance().getData();
+        final double[][] hData   = h.getData();
+        final int[]      columns = nonZeroColumns(hData);
+        final double[][] u       = new double[p.length][hData.length];
+        for (int i = 0; i < p.length; ++i) {
+            for (int k = 0; k < hData.length; ++k) {
+                double sum = 0;
+                for (final int j : columns) {
+                    sum += p[i][j] * hData[k][j];
+                }
+                u[i][k] = sum;
+            }
+        }
+        final double[][] s = measurement.getCovariance().getData();
+        for (int k = 0; k < hData.length; ++k) {
+            for (int l = 0; l < hData.length; ++l) {
+                double sum = 0;
+                for (final int j : columns) {
+                    sum += hData[k][j] * u[j][l];
+                }
+                s[k][l] += sum;
+            }
+        }
+        final RealMatrix sMatrix = new Array2DRowRealMatrix(s, false);
+
+        final RealVector innovation = process.getInnovation(measurement, evolution, sMatrix);
+        if (innovation == null) {
+            // measurement has been rejected
+            corrected = new ProcessEstimate(measurement.getTime(), predicted.getState(), predicted.getCovariance(),
+                                            stm, h, sMatrix, null);
+            return corrected;
+        }
+
+        // Kalman gain K = U.S⁻¹
+        final RealMatrix uMatrix = new Array2DRowRealMatrix(u, false);
+        final RealMatrix k       = decomposer.decompose(sMatrix).solve(uMatrix.transpose()).transpose();
+
+        // corrected state and covariance
+        final RealVector correctedState = predicted.getState().add(k.operate(innovation));
+        corrected = new ProcessEstimate(measurement.getTime(), correctedState,
+                                        correctCovariance(p, u, k.getData(), k.multiply(sMatrix).getData()),
+                                        stm, h, sMatrix, k);
+        return corrected;
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ProcessEstimate getPredicted() {
+        return predicted;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ProcessEstimate getCorrected() {
+        return corrected;
+    }
+
+    /** Predict covariance.
+     * @param p previous covariance
+     * @param f state transition matrix
+     * @param q process noise matrix
+     * @return predicted covariance F.P.F<sup>T</sup> + Q
+     */
+    private static RealMatrix predictCovariance(final double[][] p, final double[][] f, final RealMatrix q) {
+
+        final int n = p.length;
+
+        // identify the rows of the state transition matrix that are not identity
+        final boolean[] identity = new boolean[n];
+        final int[][]   nonZero  = new int[n][];
+        for (int i = 0; i < n; ++i) {
+            int count = 0;
+            boolean isIdentity = f[i][i] == 1.0;
+            for (int j = 0; j < n; ++j) {
+                if (f[i][j] != 0.0) {
+                    ++count;
+                    isIdentity = isIdentity && i == j;
+                }
+            }
+            identity[i] = isIdentity;
+            nonZero[i]  = new int[count];
+            count = 0;
+            for (int j = 0; j < n; ++j) {
+                if (f[i][j] != 0.0) {
+                    nonZero[i][count++] = j;
+                }
+            }
+        }
+
+        // A = F.P, only non-identity rows need computation
+        final double[][] a = new double[n][];
+        for (int i = 0; i < n; ++i) {
+            if (identity[i]) {
+                a[i] = p[i];
+            } else {
+                a[i] = new double[n];
+                for (int c = 0; c < n; ++c) {
+                    double sum = 0;
+                    for (final int j : nonZero[i]) {
+                        sum += f[i][j] * p[j][c];
+                    }
+                    a[i][c] = sum;
+                }
+            }
+        }
+
+        // B = A.F^T + Q, computing only the upper triangle and mirroring it
+        final double[][] b = q.getData();
+        for (int r = 0; r < n; ++r) {
+            for (int c = r; c < n; ++c) {
+                double fpft;
+                if (identity[c]) {
+                    fpft = a[r][c];
+                } else {
+                    fpft = 0;
+                    for (final int j : nonZero[c]) {
+                        fpft += a[r][j] * f[c][j];
+                    }
+                }
+                b[r][c] += fpft;
+                b[c][r]  = b[r][c];
+            }
+        }
+
+        return new Array2DRowRealMatrix(b, false);
+
+    }
+
+    /** Correct covariance.
+     * @param p predicted covariance
+     * @param u product P.H<sup>T</sup>
+     * @param k Kalman gain
+     * @param ks product K.S
+     * @return corrected covariance P - K.U<sup>T</sup> - U.K<sup>T</sup> + K.S.K<sup>T</sup>
+     */
+    private static RealMatrix correctCovariance(final double[][] p, final double[][] u,
+                                                final double[][] k, final double[][] ks) {
+        final int n = p.length;
+        final int m = u[0].length;
+        final double[][] corrected = new double[n][n];
+        for (int i = 0; i < n; ++i) {
+            for (int j = i; j < n; ++j) {
+                double sum = p[i][j];
+                for (int l = 0; l < m; ++l) {
+                    sum += (ks[i][l] - u[i][l]) * k[j][l] - k[i][l] * u[j][l];
+                }
+                corrected[i][j] = sum;
+                corrected[j][i] = sum;
+            }
+        }
+        return new Array2DRowRealMatrix(corrected, false);
+    }
+
+    /** Find the non-zero columns of a matrix.
+     * @param matrix matrix to analyze
+     * @return indices of columns containing at least one non-zero element
+     */
+    private static int[] nonZeroColumns(final double[][] matrix) {
+        final int   nbCols  = matrix[0].length;
+        final int[] columns = new int[nbCols];
+        int count = 0;
+        for (int j = 0; j < nbCols; ++j) {
+            for (final double[] row : matrix) {
+                if (row[j] != 0.0) {
+                    columns[count++] = j;
+                    break;
+                }
+            }
+        }
+        final int[] nonZero = new int[count];
+        System.arraycopy(columns, 0, nonZero, 0, count);
+        return nonZero;
+    }
+
+}
@@ -18,6 +18,7 @@ package org.orekit.files.ccsds.ndm.adm.aem;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiConsumer;
 import java.util.regex.Pattern;
 
 import org.orekit.data.DataContext;
@@ -40,6 +41,7 @@ import org.orekit.files.ccsds.utils.parsing.ProcessingState;
 import org.orekit.files.general.AttitudeEphemerisFileParser;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.utils.IERSConventions;
+import org.orekit.utils.TimeStampedAngularCoordinates;
 
 /**
  * A parser for the CCSDS AEM (Attitude Ephemeris Message).
@@ -84,6 +86,9 @@ public class AemParser extends AdmParser<Aem, AemParser> implements AttitudeEphe
     /** Current attitude entry. */
     private AttitudeEntry currentEntry;
 
+    /** Consumer for streamed data lines (null if data lines are stored in segments). */
+    private BiConsumer<AemMetadata, TimeStampedAngularCoordinates> dataLinesConsumer;
+
     /**Complete constructor.
      * <p>
      * Calling this constructor directly is not recommended. Users should rather use
@@ -219,6 +224,33 @@ public class AemParser extends AdmParser<Aem, AemParser> implements AttitudeEphe
         return file;
     }
 
+    /** Set a consumer for streamed data lines.
+     * <p>
+     * When a consumer is set, attitude data lines are not stored
+     * in the segments but passed to the consumer as they are parsed.
+     * </p>
+     * @param dataLinesConsumer consumer for data lines (null to store data lines in segments)
+     * @since 11.1
+     */
+    void setDataLinesConsumer(final BiConsumer<AemMetadata, TimeStampedAngularCoordinates> dataLinesConsumer) {
+        this.dataLinesConsumer = dataLinesConsumer;
+    }
+
+    /** Add an attitude data line.
+     * @param data data line
+     * @return always return true
+     * @since 11.1
+     */
+    private boolean addData(final TimeStampedAngularCoordinates data) {
+        if (dataLinesConsumer == null) {
+            return currentBlock.addData(data);
+        } else {
+            currentBlock.refuseFurtherComments();
+            dataLinesConsumer.accept(metadata, data);
+            return true;
+        }
+    }
+
     /** Manage attitude state section in a XML message.
      * @param starting if true, parser is entering the section
      * otherwise it is leaving the section
@@ -229,7 +261,7 @@ public class AemParser extends AdmParser<Aem, AemParser> implements AttitudeEphe
             currentEntry = new AttitudeEntry(metadata);
             anticipateNext(this::processXmlDataToken);
         } else {
-            currentBlock.addData(currentEntry.getCoordinates());
+            addData(currentEntry.getCoordinates());
             currentEntry = null;
             anticipateNext(structureProcessor);
         }
@@ -296,11 +328,11 @@ public class AemParser extends AdmParser<Aem, AemParser> implements AttitudeEphe
                     throw new OrekitException(OrekitMessages.CCSDS_MISSING_KEYWORD,
                                               AemMetadataKey.ATTITUDE_TYPE.name(), token.getFileName());
                 }
-                return currentBlock.addData(metadata.getAttitudeType().parse(metadata.isFirst(),
-                                                                             metadata.getEndpoints().isExternal2SpacecraftBody(),
-                                                                             metadata.getEulerRotSeq(),
-                                                                             metadata.isSpacecraftBodyRate(),
-                                                                             context, SPLIT_AT_BLANKS.split(token.getRawContent().trim())));
+                return addData(metadata.getAttitudeType().parse(metadata.isFirst(),
+                                                                metadata.getEndpoints().isExternal2SpacecraftBody(),
+                                                                metadata.getEulerRotSeq(),
+                                                                metadata.isSpacecraftBodyRate(),
+                                                                context, SPLIT_AT_BLANKS.split(token.getRawContent().trim())));
             } catch (NumberFormatException nfe) {
                 throw new OrekitException(nfe, OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
                                           token.getLineNumber(), token.getFileName(), token.getRawContent());
@@ -0,0 +1,184 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.ccsds.ndm.adm.aem;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.data.DataSource;
+import org.orekit.errors.OrekitException;
+import org.orekit.files.ccsds.section.Header;
+import org.orekit.files.ccsds.utils.lexical.IncrementalAnalysis;
+import org.orekit.files.ccsds.utils.lexical.LexicalAnalyzerSelector;
+import org.orekit.utils.TimeStampedAngularCoordinates;
+
+/**
+ * A reader for AEM files, providing attitude data lines on demand.
+ *
+ * <p> Contrary to {@link AemParser#parse(DataSource)} which builds the complete
+ * {@link Aem} in memory, this class reads the message incrementally and
+ * provides the attitude data lines one at a time, so memory consumption
+ * does not depend on the message size. Both Key-Value Notation and XML
+ * messages are supported. The {@link #getMetadata() metadata} of the segment
+ * to which the last returned data line belongs is available, a change
+ * of metadata instance indicates a new segment has been started.
+ *
+ * <p> Comments are still parsed and stored in the segments. Once all data lines have been read, the message without its
+ * attitude data lines is available with {@link #getMessageWithoutDataLines()}.
+ *
+ * <pre>{@code
+ * AemParser parser = new ParserBuilder().buildAemParser();
+ * try (StreamingAemReader reader = new StreamingAemReader(parser, source)) {
+ *     reader.stream().forEach(ac -> ...);
+ * }
+ * }</pre>
+ *
+ * <p> As the underlying parser is used during the whole reading, it must not
+ * be used for anything else until the reader has been closed.
+ *
+ * @author agent
+ * @see StreamingAemWriter
+ * @since 11.1
+ */
+public class StreamingAemReader implements Iterator<TimeStampedAngularCoordinates>, AutoCloseable {
+
+    /** Parser for the AEM message. */
+    private final AemParser parser;
+
+    /** Incremental analysis of the message. */
+    private final IncrementalAnalysis analysis;
+
+    /** Data lines already parsed but not returned yet. */
+    private final Deque<TimeStampedAngularCoordinates> pendingData;
+
+    /** Metadata associated with the pending data lines. */
+    private final Deque<AemMetadata> pendingMetadata;
+
+    /** Metadata associated with the last returned data line. */
+    private AemMetadata metadata;
+
+    /** Message without data lines (available only once the end of the message has been reached). */
+    private Aem message;
+
+    /** Indicator for closed reader. */
+    private boolean closed;
+
+    /** Simple constructor.
+     * @param parser parser for the AEM message (it will be reset)
+     * @param source data source containing the message
+     */
+    public StreamingAemReader(final AemParser parser, final DataSource source) {
+        this.parser          = parser;
+        this.pendingData     = new ArrayDeque<>();
+        this.pendingMetadata = new ArrayDeque<>();
+        this.metadata        = null;
+        this.message         = null;
+        this.closed          = false;
+        parser.setDataLinesConsumer((m, ac) -> {
+            pendingMetadata.addLast(m);
+            pendingData.addLast(ac);
+        });
+        try {
+            this.analysis = LexicalAnalyzerSelector.select(source).start(parser);
+        } catch (IOException ioe) {
+            parser.setDataLinesConsumer(null);
+            throw new OrekitException(ioe, LocalizedCoreFormats.SIMPLE_MESSAGE,
+                                      ioe.getLocalizedMessage());
+        }
+    }
+
+    /** Get the message header.
+     * <p>
+     * The header is complete as soon as the first data line has been read.
+     * </p>
+     * @return message header
+     */
+    public Header getHeader() {
+        return parser.getHeader();
+    }
+
+    /** Get the metadata of the segment containing the last returned data line.
+     * @return metadata of the segment containing the last returned data line
+     * (null if no data lines have been returned yet)
+     */
+    public AemMetadata getMetadata() {
+        return metadata;
+    }
+
+    /** Get the message without its attitude data lines.
+     * @return message without its attitude data lines, null if the end
+     * of the message has not been reached yet
+     */
+    public Aem getMessageWithoutDataLines() {
+        return message;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasNext() {
+        while (pendingData.isEmpty() && message == null && !closed) {
+            if (!analysis.feedNext()) {
+                // we have reached the end of the message
+                message = parser.build();
+            }
+        }
+        return !pendingData.isEmpty();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TimeStampedAngularCoordinates next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        metadata = pendingMetadata.removeFirst();
+        return pendingData.removeFirst();
+    }
+
+    /** Get a sequential stream of the attitude data lines.
+     * <p>
+     * Closing the stream closes the reader.
+     * </p>
+     * @return sequential stream of the attitude data lines
+     */
+    public Stream<TimeStampedAngularCoordinates> stream() {
+        final Spliterator<TimeStampedAngularCoordinates> spliterator =
+                        Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            pendingData.clear();
+            pendingMetadata.clear();
+            parser.setDataLinesConsumer(null);
+            analysis.close();
+        }
+    }
+
+}
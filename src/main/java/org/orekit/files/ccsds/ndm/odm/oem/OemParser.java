@@ -18,6 +18,7 @@ package org.orekit.files.ccsds.ndm.odm.oem;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiConsumer;
 import java.util.regex.Pattern;
 
 import org.orekit.data.DataContext;
@@ -47,6 +48,7 @@ import org.orekit.files.ccsds.utils.parsing.ProcessingState;
 import org.orekit.files.general.EphemerisFileParser;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.utils.IERSConventions;
+import org.orekit.utils.TimeStampedPVCoordinates;
 import org.orekit.utils.units.Unit;
 
 /**
@@ -104,6 +106,9 @@ public class OemParser extends OdmParser<Oem, OemParser> implements EphemerisFil
     /** State vector logical block being read. */
     private StateVector stateVectorBlock;
 
+    /** Consumer for streamed data lines (null if data lines are stored in segments). */
+    private BiConsumer<OemMetadata, TimeStampedPVCoordinates> dataLinesConsumer;
+
     /**
      * Complete constructor.
      * <p>
@@ -259,6 +264,33 @@ public class OemParser extends OdmParser<Oem, OemParser> implements EphemerisFil
         return file;
     }
 
+    /** Set a consumer for streamed data lines.
+     * <p>
+     * When a consumer is set, ephemeris data lines are not stored
+     * in the segments but passed to the consumer as they are parsed.
+     * </p>
+     * @param dataLinesConsumer consumer for data lines (null to store data lines in segments)
+     * @since 11.1
+     */
+    void setDataLinesConsumer(final BiConsumer<OemMetadata, TimeStampedPVCoordinates> dataLinesConsumer) {
+        this.dataLinesConsumer = dataLinesConsumer;
+    }
+
+    /** Add an ephemeris data line.
+     * @param data data line
+     * @param hasAcceleration true if the data line contains acceleration
+     * @return always return true
+     * @since 11.1
+     */
+    private boolean addData(final TimeStampedPVCoordinates data, final boolean hasAcceleration) {
+        if (dataLinesConsumer == null) {
+            return currentBlock.addData(data, hasAcceleration);
+        } else {
+            dataLinesConsumer.accept(metadata, data);
+            return true;
+        }
+    }
+
     /** Manage state vector section in a XML message.
      * @param starting if true, parser is entering the section
      * otherwise it is leaving the section
@@ -269,8 +301,7 @@ public class OemParser extends OdmParser<Oem, OemParser> implements EphemerisFil
             stateVectorBlock = new StateVector();
             anticipateNext(this::processXmlStateVectorToken);
         } else {
-            currentBlock.addData(stateVectorBlock.toTimeStampedPVCoordinates(),
-                                 stateVectorBlock.hasAcceleration());
+            addData(stateVectorBlock.toTimeStampedPVCoordinates(), stateVectorBlock.hasAcceleration());
             stateVectorBlock = null;
             anticipateNext(structureProcessor);
         }
@@ -376,8 +407,8 @@ public class OemParser extends OdmParser<Oem, OemParser> implements EphemerisFil
                     stateVectorBlock.setA(1, Units.KM_PER_S2.toSI(Double.parseDouble(fields[8])));
                     stateVectorBlock.setA(2, Units.KM_PER_S2.toSI(Double.parseDouble(fields[9])));
                 }
-                return currentBlock.addData(stateVectorBlock.toTimeStampedPVCoordinates(),
-                                            stateVectorBlock.hasAcceleration());
+                return addData(stateVectorBlock.toTimeStampedPVCoordinates(),
+                               stateVectorBlock.hasAcceleration());
             } catch (NumberFormatException nfe) {
                 throw new OrekitException(nfe, OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
                                           token.getLineNumber(), token.getFileName(), token.getRawContent());
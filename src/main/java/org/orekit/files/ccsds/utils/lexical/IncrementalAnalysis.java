@@ -0,0 +1,50 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.ccsds.utils.lexical;
+
+/** Incremental lexical analysis of a CCSDS message.
+ * <p>
+ * Instances of this interface are created by {@link
+ * LexicalAnalyzer#start(MessageParser)} and allow to control
+ * the pace at which tokens are fed to the {@link MessageParser
+ * message parser}. This is intended for messages that are
+ * too large to be held in memory in one piece: the caller
+ * processes the data extracted by the parser as they arrive.
+ * </p>
+ * @author agent
+ * @since 11.1
+ */
+public interface IncrementalAnalysis extends AutoCloseable {
+
+    /** Feed the next tokens to the message parser.
+     * <p>
+     * Depending on the message format, one call may correspond to
+     * one line (for Key-Value Notation) or one XML event (for XML).
+     * Calls with no effect (for example when reading blank lines)
+     * still return true as long as the end of the message has not
+     * been reached.
+     * </p>
+     * @return false if the end of the message has been reached
+     */
+    boolean feedNext();
+
+    /** Release the underlying resources.
+     */
+    @Override
+    void close();
+
+}
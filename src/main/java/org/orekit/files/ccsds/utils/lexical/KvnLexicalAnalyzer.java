@@ -110,68 +110,127 @@ public class KvnLexicalAnalyzer implements LexicalAnalyzer {
     /** {@inheritDoc} */
     @Override
     public <T> T accept(final MessageParser<T> messageParser) {
+        try (IncrementalAnalysis analysis = start(messageParser)) {
+            while (analysis.feedNext()) {
+                // nothing to do, the tokens are fed to the parser
+            }
+            return messageParser.build();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public IncrementalAnalysis start(final MessageParser<?> messageParser) {
 
         messageParser.reset(FileFormat.KVN);
 
-        try (Reader         reader = source.getOpener().openReaderOnce();
-             BufferedReader br     = (reader == null) ? null : new BufferedReader(reader)) {
+        final Reader reader;
+        try {
+            reader = source.getOpener().openReaderOnce();
+        } catch (IOException ioe) {
+            throw new OrekitException(ioe, new DummyLocalizable(ioe.getMessage()));
+        }
+        if (reader == null) {
+            throw new OrekitException(OrekitMessages.UNABLE_TO_FIND_FILE, source.getName());
+        }
+
+        return new KvnAnalysis(new BufferedReader(reader), messageParser);
+
+    }
+
+    /** Incremental analysis, processing one line at a time. */
+    private class KvnAnalysis implements IncrementalAnalysis {
+
+        /** Reader for the message. */
+        private final BufferedReader br;
+
+        /** Parser to which tokens are fed. */
+        private final MessageParser<?> messageParser;
 
-            if (br == null) {
-                throw new OrekitException(OrekitMessages.UNABLE_TO_FIND_FILE, source.getName());
+        /** Current line number. */
+        private int lineNumber;
+
+        /** Simple constructor.
+         * @param br reader for the message
+         * @param messageParser parser to which tokens are fed
+         */
+        KvnAnalysis(final BufferedReader br, final MessageParser<?> messageParser) {
+            this.br            = br;
+            this.messageParser = messageParser;
+            this.lineNumber    = 0;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean feedNext() {
+
+            final String line;
+            try {
+                line = br.readLine();
+            } catch (IOException ioe) {
+                throw new OrekitException(ioe, new DummyLocalizable(ioe.getMessage()));
+            }
+            if (line == null) {
+                return false;
             }
 
-            int lineNumber = 0;
-            for (String line = br.readLine(); line != null; line = br.readLine()) {
-                ++lineNumber;
-                if (line.trim().length() == 0) {
-                    continue;
-                }
+            ++lineNumber;
+            if (line.trim().length() == 0) {
+                return true;
+            }
 
-                final Matcher nonComment = NON_COMMENT_ENTRY.matcher(line);
-                if (nonComment.matches()) {
-                    // regular key=value line
-                    final Unit units = cache.getUnits(nonComment.groupCount() > 2 ? nonComment.group(3) : null);
+            final Matcher nonComment = NON_COMMENT_ENTRY.matcher(line);
+            if (nonComment.matches()) {
+                // regular key=value line
+                final Unit units = cache.getUnits(nonComment.groupCount() > 2 ? nonComment.group(3) : null);
+                messageParser.process(new ParseToken(TokenType.ENTRY,
+                                                     nonComment.group(1), nonComment.group(2),
+                                                     units, lineNumber, source.getName()));
+            } else {
+                final Matcher comment = COMMENT_ENTRY.matcher(line);
+                if (comment.matches()) {
+                    // comment line
                     messageParser.process(new ParseToken(TokenType.ENTRY,
-                                                         nonComment.group(1), nonComment.group(2),
-                                                         units, lineNumber, source.getName()));
+                                                         comment.group(1), comment.group(2), null,
+                                                         lineNumber, source.getName()));
                 } else {
-                    final Matcher comment = COMMENT_ENTRY.matcher(line);
-                    if (comment.matches()) {
-                        // comment line
-                        messageParser.process(new ParseToken(TokenType.ENTRY,
-                                                             comment.group(1), comment.group(2), null,
+                    final Matcher start = START_ENTRY.matcher(line);
+                    if (start.matches()) {
+                        // block start
+                        messageParser.process(new ParseToken(TokenType.START,
+                                                             start.group(1), null, null,
                                                              lineNumber, source.getName()));
                     } else {
-                        final Matcher start = START_ENTRY.matcher(line);
-                        if (start.matches()) {
-                            // block start
-                            messageParser.process(new ParseToken(TokenType.START,
-                                                                 start.group(1), null, null,
+                        final Matcher stop = STOP_ENTRY.matcher(line);
+                        if (stop.matches()) {
+                            // block end
+                            messageParser.process(new ParseToken(TokenType.STOP,
+                                                                 stop.group(1), null, null,
                                                                  lineNumber, source.getName()));
                         } else {
-                            final Matcher stop = STOP_ENTRY.matcher(line);
-                            if (stop.matches()) {
-                                // block end
-                                messageParser.process(new ParseToken(TokenType.STOP,
-                                                                     stop.group(1), null, null,
-                                                                     lineNumber, source.getName()));
-                            } else {
-                                // raw data line
-                                messageParser.process(new ParseToken(TokenType.RAW_LINE,
-                                                                     null, line, null,
-                                                                     lineNumber, source.getName()));
-                            }
+                            // raw data line
+                            messageParser.process(new ParseToken(TokenType.RAW_LINE,
+                                                                 null, line, null,
+                                                                 lineNumber, source.getName()));
                         }
                     }
                 }
-
             }
 
-            return messageParser.build();
+            return true;
 
-        } catch (IOException ioe) {
-            throw new OrekitException(ioe, new DummyLocalizable(ioe.getMessage()));
         }
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() {
+            try {
+                br.close();
+            } catch (IOException ioe) {
+                throw new OrekitException(ioe, new DummyLocalizable(ioe.getMessage()));
+            }
+        }
+
     }
 
 }
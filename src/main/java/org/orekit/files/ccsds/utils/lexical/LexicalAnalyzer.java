@@ -40,4 +40,46 @@ public interface LexicalAnalyzer {
      */
     <T> T accept(MessageParser<T> messageParser);
 
+    /** Start an incremental analysis of a CCSDS Message.
+     * <p>
+     * The message parser is {@link MessageParser#reset(org.orekit.files.ccsds.utils.FileFormat)
+     * reset} by this method, and then tokens are fed to it only when {@link
+     * IncrementalAnalysis#feedNext()} is called. Callers are responsible for calling
+     * {@link MessageParser#build()} once the end of the message has been reached,
+     * and for closing the analysis.
+     * </p>
+     * <p>
+     * The default implementation is not really incremental: it parses the
+     * whole message at the first call to {@link IncrementalAnalysis#feedNext()}.
+     * </p>
+     * @param messageParser CCSDS Message parser to use
+     * @return incremental analysis
+     * @since 11.1
+     */
+    default IncrementalAnalysis start(final MessageParser<?> messageParser) {
+        return new IncrementalAnalysis() {
+
+            /** Indicator for already parsed message. */
+            private boolean parsed;
+
+            /** {@inheritDoc} */
+            @Override
+            public boolean feedNext() {
+                if (parsed) {
+                    return false;
+                }
+                accept(messageParser);
+                parsed = true;
+                return true;
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public void close() {
+                // nothing to do
+            }
+
+        };
+    }
+
 }
@@ -16,14 +16,21 @@
  */
 package org.orekit.files.ccsds.utils.lexical;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Map;
 
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.hipparchus.exception.DummyLocalizable;
 import org.orekit.data.DataSource;
@@ -34,6 +41,7 @@ import org.xml.sax.Attributes;
 import org.xml.sax.InputSource;
 import org.xml.sax.Locator;
 import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
 import org.xml.sax.helpers.DefaultHandler;
 
 /** Lexical analyzer for XML CCSDS messages.
@@ -94,6 +102,201 @@ public class XmlLexicalAnalyzer implements LexicalAnalyzer {
         }
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * Incremental analysis relies on a StAX pull parser, with
+     * external entities and DTD support disabled.
+     * </p>
+     */
+    @Override
+    public IncrementalAnalysis start(final MessageParser<?> messageParser) {
+        try {
+
+            // set up a pull parser with external entities disabled
+            final XMLInputFactory factory = XMLInputFactory.newInstance();
+            factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+            messageParser.reset(FileFormat.XML);
+            final DataSource.Opener opener = source.getOpener();
+            if (opener.rawDataIsBinary()) {
+                final InputStream is = opener.openStreamOnce();
+                if (is == null) {
+                    throw new OrekitException(OrekitMessages.UNABLE_TO_FIND_FILE, source.getName());
+                }
+                return new XmlAnalysis(factory.createXMLStreamReader(is), is, messageParser);
+            } else {
+                final Reader reader = opener.openReaderOnce();
+                if (reader == null) {
+                    throw new OrekitException(OrekitMessages.UNABLE_TO_FIND_FILE, source.getName());
+                }
+                return new XmlAnalysis(factory.createXMLStreamReader(reader), reader, messageParser);
+            }
+
+        } catch (XMLStreamException | IOException e) {
+            // throw caught exception as an OrekitException
+            throw new OrekitException(e, new DummyLocalizable(e.getMessage()));
+        }
+    }
+
+    /** Incremental analysis, processing one XML event at a time.
+     * <p>
+     * Tokens are built in the same way as in {@link XMLHandler}.
+     * </p>
+     */
+    private class XmlAnalysis implements IncrementalAnalysis {
+
+        /** Pull parser. */
+        private final XMLStreamReader xmlReader;
+
+        /** Underlying stream or reader. */
+        private final Closeable underlying;
+
+        /** CCSDS Message parser to use. */
+        private final MessageParser<?> messageParser;
+
+        /** Builder for regular elements. */
+        private final XmlTokenBuilder regularBuilder;
+
+        /** Builders for special elements. */
+        private final Map<String, XmlTokenBuilder> specialElements;
+
+        /** Names of the open elements. */
+        private final Deque<String> openElements;
+
+        /** Attributes of the open elements. */
+        private final Deque<Attributes> openAttributes;
+
+        /** Indicator for a leaf element candidate (no nested element seen after the last start tag). */
+        private boolean afterStart;
+
+        /** Line number of the current entry. */
+        private int currentLineNumber;
+
+        /** Content of the current entry. */
+        private String currentContent;
+
+        /** Simple constructor.
+         * @param xmlReader pull parser
+         * @param underlying underlying stream or reader
+         * @param messageParser CCSDS Message parser to use
+         */
+        XmlAnalysis(final XMLStreamReader xmlReader, final Closeable underlying,
+                    final MessageParser<?> messageParser) {
+            this.xmlReader       = xmlReader;
+            this.underlying      = underlying;
+            this.messageParser   = messageParser;
+            this.regularBuilder  = new RegularXmlTokenBuilder();
+            this.specialElements = messageParser.getSpecialXmlElementsBuilders();
+            this.openElements    = new ArrayDeque<>();
+            this.openAttributes  = new ArrayDeque<>();
+        }
+
+        /** Get a builder for the current element.
+         * @param qName XML element qualified name
+         * @return builder for this element
+         */
+        private XmlTokenBuilder getBuilder(final String qName) {
+            final XmlTokenBuilder specialBuilder = specialElements.get(qName);
+            return (specialBuilder != null) ? specialBuilder : regularBuilder;
+        }
+
+        /** Build a qualified name.
+         * @param prefix name prefix (may be null or empty)
+         * @param localName local name
+         * @return qualified name
+         */
+        private String qualifiedName(final String prefix, final String localName) {
+            return (prefix == null || prefix.isEmpty()) ? localName : prefix + ':' + localName;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean feedNext() {
+            try {
+
+                if (!xmlReader.hasNext()) {
+                    return false;
+                }
+
+                switch (xmlReader.next()) {
+                    case XMLStreamConstants.START_ELEMENT : {
+                        final String qName = qualifiedName(xmlReader.getPrefix(), xmlReader.getLocalName());
+                        final AttributesImpl attributes = new AttributesImpl();
+                        for (int i = 0; i < xmlReader.getAttributeCount(); ++i) {
+                            attributes.addAttribute(xmlReader.getAttributeNamespace(i),
+                                                    xmlReader.getAttributeLocalName(i),
+                                                    qualifiedName(xmlReader.getAttributePrefix(i),
+                                                                  xmlReader.getAttributeLocalName(i)),
+                                                    xmlReader.getAttributeType(i),
+                                                    xmlReader.getAttributeValue(i));
+                        }
+                        openElements.push(qName);
+                        openAttributes.push(attributes);
+                        afterStart        = true;
+                        currentLineNumber = xmlReader.getLocation().getLineNumber();
+                        currentContent    = null;
+                        for (final ParseToken token : getBuilder(qName).
+                                                      buildTokens(true, qName, currentContent, attributes,
+                                                                  currentLineNumber, source.getName())) {
+                            messageParser.process(token);
+                        }
+                        break;
+                    }
+                    case XMLStreamConstants.CHARACTERS :
+                    case XMLStreamConstants.CDATA :
+                        if (afterStart) {
+                            // we don't know yet if this is a leaf element content
+                            // or spurious whitespace before a nested element
+                            currentLineNumber = xmlReader.getLocation().getLineNumber();
+                            currentContent    = xmlReader.getText();
+                        }
+                        break;
+                    case XMLStreamConstants.END_ELEMENT : {
+                        final String     qName      = openElements.pop();
+                        final Attributes attributes = openAttributes.pop();
+                        if (currentContent == null) {
+                            // for an end tag without content, we keep the line number of the end tag itself
+                            currentLineNumber = xmlReader.getLocation().getLineNumber();
+                        }
+                        for (final ParseToken token : getBuilder(qName).
+                                                      buildTokens(false, qName, currentContent, attributes,
+                                                                  currentLineNumber, source.getName())) {
+                            messageParser.process(token);
+                        }
+                        afterStart        = false;
+                        currentLineNumber = -1;
+                        currentContent    = null;
+                        break;
+                    }
+                    default :
+                        // other events (comments, processing instructions, ...) are ignored
+                        break;
+                }
+
+                return true;
+
+            } catch (XMLStreamException e) {
+                // throw caught exception as an OrekitException
+                throw new OrekitException(e, new DummyLocalizable(e.getMessage()));
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() {
+            try {
+                xmlReader.close();
+                underlying.close();
+            } catch (XMLStreamException | IOException e) {
+                // throw caught exception as an OrekitException
+                throw new OrekitException(e, new DummyLocalizable(e.getMessage()));
+            }
+        }
+
+    }
+
     /** Handler for parsing XML file formats.
      */
     private class XMLHandler extends DefaultHandler {
@@ -0,0 +1,573 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.sp3;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.orekit.attitudes.InertialProvider;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.errors.TimeStampedCacheException;
+import org.orekit.files.sp3.SP3.SP3Coordinate;
+import org.orekit.files.sp3.SP3.SP3Ephemeris;
+import org.orekit.frames.Frame;
+import org.orekit.orbits.CartesianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.analytical.AbstractAnalyticalPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/**
+ * Random access to SP3 files, loading coordinates on demand.
+ *
+ * <p> Contrary to {@link SP3Parser#parse(org.orekit.data.DataSource)} which builds
+ * the coordinates of all satellites for all epochs in memory, this class scans the
+ * file once when opened and keeps only the header, the epochs dates and the byte
+ * offsets of the epochs records. Coordinates are loaded only when needed, by chunks
+ * of consecutive epochs around the interpolation window of the requested date, so
+ * memory consumption and time to first query do not depend on the file size.
+ *
+ * <p> Data records are checked only when they are loaded, so format errors in the
+ * records are reported by the propagators, not when the file is opened.
+ *
+ * <p> The file must be an uncompressed SP3 file, as random access is needed. It
+ * remains open until {@link #close()} is called. This class is thread-safe.
+ *
+ * <pre>{@code
+ * try (IndexedSP3 indexed = new IndexedSP3(new SP3Parser(), path)) {
+ *     BoundedPropagator propagator = indexed.getPropagator("G01");
+ *     ...
+ * }
+ * }</pre>
+ *
+ * @author agent
+ * @since 11.1
+ */
+public class IndexedSP3 implements AutoCloseable {
+
+    /** Default number of epochs loaded at once. */
+    public static final int DEFAULT_CHUNK_SIZE = 64;
+
+    /** Size of the buffer used when scanning the file. */
+    private static final int BUFFER_SIZE = 65536;
+
+    /** Parser for the file. */
+    private final SP3Parser parser;
+
+    /** File name. */
+    private final String name;
+
+    /** Channel for random access. */
+    private final FileChannel channel;
+
+    /** Number of epochs loaded at once. */
+    private final int chunkSize;
+
+    /** File header (without coordinates). */
+    private final SP3 header;
+
+    /** Dates of the epochs. */
+    private final AbsoluteDate[] epochs;
+
+    /** Byte offsets of the epochs records (the last one is the offset of the End Of File marker). */
+    private final long[] offsets;
+
+    /** Line numbers of the epochs lines. */
+    private final int[] lineNumbers;
+
+    /** Last loaded chunk. */
+    private Chunk chunk;
+
+    /** Open and index an SP3 file, using {@link #DEFAULT_CHUNK_SIZE default chunk size}.
+     * @param parser parser for the file
+     * @param path path of the file
+     */
+    public IndexedSP3(final SP3Parser parser, final Path path) {
+        this(parser, path, DEFAULT_CHUNK_SIZE);
+    }
+
+    /** Open and index an SP3 file.
+     * @param parser parser for the file
+     * @param path path of the file
+     * @param chunkSize number of epochs loaded at once (it is automatically
+     * increased if smaller than the number of interpolation samples)
+     */
+    public IndexedSP3(final SP3Parser parser, final Path path, final int chunkSize) {
+
+        this.parser    = parser;
+        this.name      = path.toString();
+        this.chunkSize = chunkSize;
+        this.chunk     = null;
+
+        try {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (IOException ioe) {
+            throw new OrekitException(ioe, LocalizedCoreFormats.SIMPLE_MESSAGE, ioe.getLocalizedMessage());
+        }
+
+        try {
+            // scan the whole file once (the input stream is not closed as it would close the channel)
+            final Index index = new Index(Channels.newInputStream(channel));
+            this.header      = index.header;
+            this.epochs      = index.epochs.toArray(new AbsoluteDate[index.epochs.size()]);
+            this.offsets     = Arrays.copyOf(index.offsets, epochs.length + 1);
+            this.lineNumbers = Arrays.copyOf(index.lineNumbers, epochs.length);
+        } catch (IOException ioe) {
+            closeQuietly();
+            throw new OrekitException(ioe, LocalizedCoreFormats.SIMPLE_MESSAGE, ioe.getLocalizedMessage());
+        } catch (OrekitException oe) {
+            closeQuietly();
+            throw oe;
+        }
+
+    }
+
+    /** Get the file header.
+     * <p>
+     * The header contains all the metadata and the satellites list, but the
+     * satellites ephemerides do not contain any coordinates.
+     * </p>
+     * @return file header
+     */
+    public SP3 getHeader() {
+        return header;
+    }
+
+    /** Get the number of epochs in the file.
+     * @return number of epochs in the file
+     */
+    public int getNumberOfEpochs() {
+        return epochs.length;
+    }
+
+    /** Get the date of an epoch.
+     * @param index index of the epoch
+     * @return date of the epoch
+     */
+    public AbsoluteDate getEpoch(final int index) {
+        return epochs[index];
+    }
+
+    /** Get a propagator for one satellite.
+     * <p>
+     * The propagator loads the coordinates it needs for interpolation when they
+     * are not already available, using the file channel. It must therefore not
+     * be used after this instance has been closed.
+     * </p>
+     * @param satId satellite identifier
+     * @return propagator for the satellite, or null if the satellite is not in the file
+     */
+    public BoundedPropagator getPropagator(final String satId) {
+        final SP3Ephemeris ephemeris = header.getSatellites().get(satId);
+        return ephemeris == null ? null : new SatellitePropagator(ephemeris);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ioe) {
+            throw new OrekitException(ioe, LocalizedCoreFormats.SIMPLE_MESSAGE, ioe.getLocalizedMessage());
+        }
+    }
+
+    /** Close the channel, ignoring errors.
+     */
+    private void closeQuietly() {
+        try {
+            channel.close();
+        } catch (IOException ioe) {
+            // ignored, we are already handling another error
+        }
+    }
+
+    /** Get the coordinates of a satellite in the interpolation window around a date.
+     * @param satId satellite identifier
+     * @param samples number of interpolation samples
+     * @param date central date
+     * @return coordinates in the interpolation window
+     */
+    private List<SP3Coordinate> getNeighbors(final String satId, final int samples, final AbsoluteDate date) {
+
+        // find the index of the last epoch before central date
+        int inf = -1;
+        int sup = epochs.length;
+        while (sup - inf > 1) {
+            final int middle = (inf + sup) >>> 1;
+            if (epochs[middle].compareTo(date) > 0) {
+                sup = middle;
+            } else {
+                inf = middle;
+            }
+        }
+        if (inf < 0) {
+            throw new TimeStampedCacheException(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_BEFORE,
+                                                epochs[0], date, epochs[0].durationFrom(date));
+        }
+        final AbsoluteDate last = epochs[epochs.length - 1];
+        if (date.compareTo(last) > 0) {
+            throw new TimeStampedCacheException(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_AFTER,
+                                                last, date, date.durationFrom(last));
+        }
+
+        // select the epochs of the interpolation window, forcing unbalanced range if necessary
+        final int n     = FastMath.min(samples, epochs.length);
+        int       start = FastMath.max(0, inf - (n - 1) / 2);
+        final int end   = FastMath.min(epochs.length, start + n);
+        start = end - n;
+
+        // extract the satellite coordinates within the window
+        final AbsoluteDate        windowStart = epochs[start];
+        final AbsoluteDate        windowEnd   = epochs[end - 1];
+        final List<SP3Coordinate> neighbors   = new ArrayList<>(n);
+        for (final SP3Coordinate coordinate : getChunk(start, end).records.getSatellites().get(satId).getCoordinates()) {
+            if (coordinate.getDate().compareTo(windowStart) >= 0 &&
+                coordinate.getDate().compareTo(windowEnd)   <= 0) {
+                neighbors.add(coordinate);
+            }
+        }
+        if (neighbors.isEmpty()) {
+            throw new OrekitException(OrekitMessages.NOT_ENOUGH_CACHED_NEIGHBORS, 0, n);
+        }
+
+        return neighbors;
+
+    }
+
+    /** Get a chunk covering some epochs, loading it if needed.
+     * @param start index of the first needed epoch
+     * @param end index after the last needed epoch
+     * @return chunk covering the needed epochs
+     */
+    private synchronized Chunk getChunk(final int start, final int end) {
+        if (chunk == null || start < chunk.start || end > chunk.end) {
+            // center the new chunk on the needed epochs, so both forward
+            // and backward propagation benefit from it
+            final int size       = FastMath.max(chunkSize, end - start);
+            final int chunkStart = FastMath.max(0, start - (size - (end - start)) / 2);
+            final int chunkEnd   = FastMath.min(epochs.length, FastMath.max(end, chunkStart + size));
+            chunk = new Chunk(chunkStart, chunkEnd);
+        }
+        return chunk;
+    }
+
+    /** Index built by scanning the file. */
+    private class Index {
+
+        /** File header. */
+        private SP3 header;
+
+        /** Dates of the epochs. */
+        private final List<AbsoluteDate> epochs;
+
+        /** Byte offsets of the epochs records. */
+        private long[] offsets;
+
+        /** Line numbers of the epochs lines. */
+        private int[] lineNumbers;
+
+        /** Simple constructor.
+         * @param input input stream for the whole file
+         * @exception IOException if file cannot be read
+         */
+        Index(final InputStream input) throws IOException {
+
+            this.header      = null;
+            this.epochs      = new ArrayList<>();
+            this.offsets     = new long[DEFAULT_CHUNK_SIZE];
+            this.lineNumbers = new int[DEFAULT_CHUNK_SIZE];
+
+            final LineScanner   scanner     = new LineScanner(input);
+            final StringBuilder headerLines = new StringBuilder();
+            int lineNumber = 0;
+            while (scanner.next()) {
+                ++lineNumber;
+                final int first = scanner.getFirst();
+                if (first == '*') {
+                    // epoch line
+                    parseHeaderIfNeeded(headerLines);
+                    final int n = epochs.size();
+                    if (n + 1 >= offsets.length) {
+                        offsets     = Arrays.copyOf(offsets,     2 * offsets.length);
+                        lineNumbers = Arrays.copyOf(lineNumbers, 2 * lineNumbers.length);
+                    }
+                    epochs.add(parser.parseEpoch(header, name, lineNumber, scanner.getLine()));
+                    offsets[n]     = scanner.getStart();
+                    lineNumbers[n] = lineNumber;
+                } else if ((first == 'E' || first == 'e') && "EOF".equalsIgnoreCase(scanner.getLine().trim())) {
+                    // End Of File marker
+                    parseHeaderIfNeeded(headerLines);
+                    offsets[epochs.size()] = scanner.getStart();
+                    if (epochs.size() != header.getNumberOfEpochs()) {
+                        throw new OrekitException(OrekitMessages.SP3_NUMBER_OF_EPOCH_MISMATCH,
+                                                  epochs.size(), name, header.getNumberOfEpochs());
+                    }
+                    return;
+                } else if (header == null) {
+                    // header line
+                    headerLines.append(scanner.getLine()).append('\n');
+                }
+                // data lines are just skipped
+            }
+
+            // we never reached the EOF marker
+            throw new OrekitException(OrekitMessages.SP3_UNEXPECTED_END_OF_FILE, lineNumber);
+
+        }
+
+        /** Parse header if it has not been parsed yet.
+         * @param headerLines header lines
+         * @exception IOException if header cannot be parsed
+         */
+        private void parseHeaderIfNeeded(final CharSequence headerLines) throws IOException {
+            if (header == null) {
+                header = parser.parseHeader(name, new BufferedReader(new StringReader(headerLines.toString())));
+            }
+        }
+
+    }
+
+    /** Line-oriented scanner keeping track of byte offsets. */
+    private static class LineScanner {
+
+        /** Underlying input. */
+        private final InputStream input;
+
+        /** Input buffer. */
+        private final byte[] buffer;
+
+        /** Number of bytes available in the input buffer. */
+        private int bufferLength;
+
+        /** Index of next byte to consume in the input buffer. */
+        private int bufferIndex;
+
+        /** Offset of the input buffer start in the file. */
+        private long bufferStart;
+
+        /** Current line bytes. */
+        private byte[] line;
+
+        /** Number of bytes in current line. */
+        private int lineLength;
+
+        /** Offset of the current line start in the file. */
+        private long lineStart;
+
+        /** Simple constructor.
+         * @param input underlying input
+         */
+        LineScanner(final InputStream input) {
+            this.input        = input;
+            this.buffer       = new byte[BUFFER_SIZE];
+            this.bufferLength = 0;
+            this.bufferIndex  = 0;
+            this.bufferStart  = 0;
+            this.line         = new byte[128];
+            this.lineLength   = 0;
+            this.lineStart    = 0;
+        }
+
+        /** Move to next line.
+         * @return true if a line is available
+         * @exception IOException if input cannot be read
+         */
+        public boolean next() throws IOException {
+            lineStart  = bufferStart + bufferIndex;
+            lineLength = 0;
+            while (true) {
+                if (bufferIndex >= bufferLength) {
+                    // refill buffer
+                    bufferStart += bufferLength;
+                    bufferIndex  = 0;
+                    bufferLength = FastMath.max(0, input.read(buffer));
+                    if (bufferLength == 0) {
+                        // end of input
+                        return lineLength > 0;
+                    }
+                }
+                final byte b = buffer[bufferIndex++];
+                if (b == '\n') {
+                    return true;
+                }
+                if (lineLength == line.length) {
+                    line = Arrays.copyOf(line, 2 * line.length);
+                }
+                line[lineLength++] = b;
+            }
+        }
+
+        /** Get the offset of current line start.
+         * @return offset of current line start
+         */
+        public long getStart() {
+            return lineStart;
+        }
+
+        /** Get the first character of current line.
+         * @return first character of current line, or -1 if line is empty
+         */
+        public int getFirst() {
+            return lineLength > 0 ? line[0] : -1;
+        }
+
+        /** Get the current line.
+         * @return current line, without end of line characters
+         */
+        public String getLine() {
+            final int length = (lineLength > 0 && line[lineLength - 1] == '\r') ? lineLength - 1 : lineLength;
+            return new String(line, 0, length, StandardCharsets.US_ASCII);
+        }
+
+    }
+
+    /** Chunk of consecutive epochs records. */
+    private class Chunk {
+
+        /** Index of the first epoch in the chunk. */
+        private final int start;
+
+        /** Index after the last epoch in the chunk. */
+        private final int end;
+
+        /** Records parsed from the chunk. */
+        private final SP3 records;
+
+        /** Load a chunk from the file.
+         * @param start index of the first epoch in the chunk
+         * @param end index after the last epoch in the chunk
+         */
+        Chunk(final int start, final int end) {
+            this.start = start;
+            this.end   = end;
+            try {
+                final long       first  = offsets[start];
+                final ByteBuffer buffer = ByteBuffer.allocate((int) (offsets[end] - first));
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, first + buffer.position()) < 0) {
+                        throw new OrekitException(OrekitMessages.SP3_UNEXPECTED_END_OF_FILE, lineNumbers[start]);
+                    }
+                }
+                final String text = new String(buffer.array(), 0, buffer.capacity(), StandardCharsets.US_ASCII);
+                this.records = parser.parseRecords(header, name, lineNumbers[start],
+                                                   new BufferedReader(new StringReader(text)));
+            } catch (IOException ioe) {
+                throw new OrekitException(ioe, LocalizedCoreFormats.SIMPLE_MESSAGE, ioe.getLocalizedMessage());
+            }
+        }
+
+    }
+
+    /** Propagator for one satellite, loading coordinates on demand. */
+    private class SatellitePropagator extends AbstractAnalyticalPropagator implements BoundedPropagator {
+
+        /** Satellite ephemeris from header (without coordinates). */
+        private final SP3Ephemeris ephemeris;
+
+        /** Inertial frame used for creating orbits. */
+        private final Frame inertialFrame;
+
+        /** Frame of the ephemeris data. */
+        private final Frame ephemerisFrame;
+
+        /** Simple constructor.
+         * @param ephemeris satellite ephemeris from header (without coordinates)
+         */
+        SatellitePropagator(final SP3Ephemeris ephemeris) {
+            super(new InertialProvider(ephemeris.getInertialFrame()));
+            this.ephemeris      = ephemeris;
+            this.ephemerisFrame = ephemeris.getFrame();
+            this.inertialFrame  = ephemeris.getInertialFrame();
+            // set the initial state so getFrame() works
+            final TimeStampedPVCoordinates ic         = getPVCoordinates(getMinDate(), inertialFrame);
+            super.resetInitialState(new SpacecraftState(new CartesianOrbit(ic, inertialFrame, ephemeris.getMu()),
+                                                        getAttitudeProvider().getAttitude(ic.toTaylorProvider(inertialFrame),
+                                                                                          ic.getDate(), inertialFrame),
+                                                        DEFAULT_MASS));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public TimeStampedPVCoordinates getPVCoordinates(final AbsoluteDate date, final Frame frame) {
+            final List<SP3Coordinate> neighbors = getNeighbors(ephemeris.getId(), ephemeris.getInterpolationSamples(), date);
+            final TimeStampedPVCoordinates point =
+                            TimeStampedPVCoordinates.interpolate(date, ephemeris.getAvailableDerivatives(), neighbors);
+            return ephemerisFrame.getTransformTo(frame, date).transformPVCoordinates(point);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected Orbit propagateOrbit(final AbsoluteDate date) {
+            return new CartesianOrbit(getPVCoordinates(date, inertialFrame), inertialFrame, ephemeris.getMu());
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public AbsoluteDate getMinDate() {
+            return epochs[0];
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public AbsoluteDate getMaxDate() {
+            return epochs[epochs.length - 1];
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected double getMass(final AbsoluteDate date) {
+            return DEFAULT_MASS;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public SpacecraftState getInitialState() {
+            return basicPropagate(getMinDate());
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void resetIntermediateState(final SpacecraftState state, final boolean forward) {
+            throw new OrekitException(OrekitMessages.NON_RESETABLE_STATE);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void resetInitialState(final SpacecraftState state) {
+            throw new OrekitException(OrekitMessages.NON_RESETABLE_STATE);
+        }
+
+    }
+
+}
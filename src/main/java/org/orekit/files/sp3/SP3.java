@@ -194,6 +194,16 @@ public class SP3
         this.filter = filter;
     }
 
+    /**
+     * Get the derivatives filter.
+     *
+     * @return filter that indicates which derivatives of position are available.
+     * @since 11.1
+     */
+    public CartesianDerivativesFilter getFilter() {
+        return filter;
+    }
+
     /** Returns the {@link SP3FileType} associated with this SP3 file.
      * @return the file type for this SP3 file
      */
@@ -164,36 +164,16 @@ public class SP3Parser implements EphemerisFileParser<SP3> {
             // initialize internal data structures
             final ParseInfo pi = new ParseInfo();
 
-            int lineNumber = 0;
-            Stream<LineParser> candidateParsers = Stream.of(LineParser.HEADER_VERSION);
-            for (String line = br.readLine(); line != null; line = br.readLine()) {
-                ++lineNumber;
-                final String l = line;
-                final Optional<LineParser> selected = candidateParsers.filter(p -> p.canHandle(l)).findFirst();
-                if (selected.isPresent()) {
-                    try {
-                        selected.get().parse(line, pi);
-                    } catch (StringIndexOutOfBoundsException | NumberFormatException e) {
-                        throw new OrekitException(e,
-                                                  OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
-                                                  lineNumber, source.getName(), line);
-                    }
-                    candidateParsers = selected.get().allowedNext();
-                } else {
-                    throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
-                                              lineNumber, source.getName(), line);
-                }
-                if (pi.done) {
-                    if (pi.nbEpochs != pi.file.getNumberOfEpochs()) {
-                        throw new OrekitException(OrekitMessages.SP3_NUMBER_OF_EPOCH_MISMATCH,
-                                                  pi.nbEpochs, source.getName(), pi.file.getNumberOfEpochs());
-                    }
-                    return pi.file;
+            if (parseLines(br, source.getName(), pi, Stream.of(LineParser.HEADER_VERSION))) {
+                if (pi.nbEpochs != pi.file.getNumberOfEpochs()) {
+                    throw new OrekitException(OrekitMessages.SP3_NUMBER_OF_EPOCH_MISMATCH,
+                                              pi.nbEpochs, source.getName(), pi.file.getNumberOfEpochs());
                 }
+                return pi.file;
             }
 
             // we never reached the EOF marker
-            throw new OrekitException(OrekitMessages.SP3_UNEXPECTED_END_OF_FILE, lineNumber);
+            throw new OrekitException(OrekitMessages.SP3_UNEXPECTED_END_OF_FILE, pi.lineNumber);
 
         } catch (IOException ioe) {
             throw new OrekitException(ioe, LocalizedCoreFormats.SIMPLE_MESSAGE, ioe.getLocalizedMessage());
@@ -201,6 +181,108 @@ public class SP3Parser implements EphemerisFileParser<SP3> {
 
     }
 
+    /** Parse the header of an SP3 file.
+     * <p>
+     * This method is used by {@link IndexedSP3} when indexing a file.
+     * </p>
+     * @param name file name
+     * @param br reader for the header lines (first epoch line excluded)
+     * @return SP3 file with header data and satellites, but without coordinates
+     * @exception IOException if header lines cannot be read
+     * @since 11.1
+     */
+    SP3 parseHeader(final String name, final BufferedReader br) throws IOException {
+        final ParseInfo pi = new ParseInfo();
+        parseLines(br, name, pi, Stream.of(LineParser.HEADER_VERSION));
+        return pi.file;
+    }
+
+    /** Parse the date of an epoch line.
+     * <p>
+     * This method is used by {@link IndexedSP3} when indexing a file.
+     * </p>
+     * @param header file header
+     * @param name file name
+     * @param lineNumber line number
+     * @param line epoch line
+     * @return epoch date
+     * @since 11.1
+     */
+    AbsoluteDate parseEpoch(final SP3 header, final String name, final int lineNumber, final String line) {
+        final ParseInfo pi = new ParseInfo(header);
+        try {
+            LineParser.DATA_EPOCH.parse(line, pi);
+        } catch (StringIndexOutOfBoundsException | NumberFormatException e) {
+            throw new OrekitException(e, OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                      lineNumber, name, line);
+        }
+        return pi.latestEpoch;
+    }
+
+    /** Parse some epochs records.
+     * <p>
+     * This method is used by {@link IndexedSP3} when loading parts of a file.
+     * </p>
+     * @param header file header
+     * @param name file name
+     * @param lineNumber line number of the first epoch line
+     * @param br reader for the epochs records (starting with an epoch line)
+     * @return SP3 file containing only the coordinates from the read records
+     * @exception IOException if records cannot be read
+     * @since 11.1
+     */
+    SP3 parseRecords(final SP3 header, final String name, final int lineNumber, final BufferedReader br)
+        throws IOException {
+        final SP3 records = new SP3(mu, interpolationSamples, frameBuilder);
+        records.setFilter(header.getFilter());
+        records.setTimeSystem(header.getTimeSystem());
+        records.setEpoch(header.getEpoch());
+        for (final String satId : header.getSatellites().keySet()) {
+            records.addSatellite(satId);
+        }
+        final ParseInfo pi = new ParseInfo(records);
+        pi.lineNumber = lineNumber - 1;
+        parseLines(br, name, pi, Stream.of(LineParser.DATA_EPOCH));
+        return records;
+    }
+
+    /** Parse lines.
+     * @param br reader for the lines
+     * @param name file name
+     * @param pi holder for transient data
+     * @param first allowed parsers for the first line
+     * @return true if the End Of File marker has been reached
+     * @exception IOException if lines cannot be read
+     * @since 11.1
+     */
+    private boolean parseLines(final BufferedReader br, final String name, final ParseInfo pi,
+                               final Stream<LineParser> first)
+        throws IOException {
+        Stream<LineParser> candidateParsers = first;
+        for (String line = br.readLine(); line != null; line = br.readLine()) {
+            ++pi.lineNumber;
+            final String l = line;
+            final Optional<LineParser> selected = candidateParsers.filter(p -> p.canHandle(l)).findFirst();
+            if (selected.isPresent()) {
+                try {
+                    selected.get().parse(line, pi);
+                } catch (StringIndexOutOfBoundsException | NumberFormatException e) {
+                    throw new OrekitException(e,
+                                              OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                              pi.lineNumber, name, line);
+                }
+                candidateParsers = selected.get().allowedNext();
+            } else {
+                throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                          pi.lineNumber, name, line);
+            }
+            if (pi.done) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /** Returns the {@link SP3FileType} that corresponds to a given string in a SP3 file.
      * @param fileType file type as string
      * @return file type as enum
@@ -272,6 +354,9 @@ public class SP3Parser implements EphemerisFileParser<SP3> {
         /** End Of File reached indicator. */
         private boolean done;
 
+        /** Current line number. */
+        private int lineNumber;
+
         /** The base for pos/vel. */
         //private double posVelBase;
 
@@ -292,9 +377,30 @@ public class SP3Parser implements EphemerisFileParser<SP3> {
             nbAccuracies       = 0;
             nbEpochs           = 0;
             done               = false;
+            lineNumber         = 0;
             //posVelBase = 2d;
             //clockBase = 2d;
         }
+
+        /** Create a new {@link ParseInfo} object for reading data records only.
+         * @param file file already set up with header data and satellites
+         * @since 11.1
+         */
+        protected ParseInfo(final SP3 file) {
+            this.timeScales    = SP3Parser.this.timeScales;
+            this.file          = file;
+            latestEpoch        = null;
+            latestPosition     = null;
+            latestClock        = 0.0;
+            hasVelocityEntries = file.getFilter() == CartesianDerivativesFilter.USE_PV;
+            epoch              = DateTimeComponents.JULIAN_EPOCH;
+            timeScale          = file.getTimeSystem().getTimeScale(timeScales);
+            maxSatellites      = file.getSatelliteCount();
+            nbAccuracies       = 0;
+            nbEpochs           = 0;
+            done               = false;
+            lineNumber         = 0;
+        }
     }
 
     /** Parsers for specific lines. */
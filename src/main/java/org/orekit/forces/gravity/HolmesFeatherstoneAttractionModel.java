@@ -16,7 +16,7 @@
  */
 package org.orekit.forces.gravity;
 
-
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Stream;
@@ -112,6 +112,11 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
     /** Scaled sectorial Pbar<sub>m,m</sub>/u<sup>m</sup> &times; 2<sup>-SCALING</sup>. */
     private final double[] sectorial;
 
+    /** Per-thread workspaces.
+     * @since 11.1
+     */
+    private final ThreadLocal<Workspace> workspaces;
+
     /** Creates a new instance.
      * @param centralBodyFrame rotating body frame
      * @param provider provider for spherical harmonics
@@ -158,6 +163,10 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
             sectorial[m] = FastMath.sqrt((2 * m + 1) / (2.0 * m)) * sectorial[m - 1];
         }
 
+        // the supplier captures only the sizes, not the model
+        final int order = provider.getMaxOrder();
+        workspaces = ThreadLocal.withInitial(() -> new Workspace(degree, order));
+
     }
 
     /** {@inheritDoc} */
@@ -199,12 +208,13 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
 
         final int degree = provider.getMaxDegree();
         final int order  = provider.getMaxOrder();
-        final NormalizedSphericalHarmonics harmonics = provider.onDate(date);
+        final Workspace workspace = workspaces.get().reset();
+        final NormalizedSphericalHarmonics harmonics = workspace.harmonics(provider, date);
 
-        // allocate the columns for recursion
-        double[] pnm0Plus2 = new double[degree + 1];
-        double[] pnm0Plus1 = new double[degree + 1];
-        double[] pnm0      = new double[degree + 1];
+        // get the columns for recursion
+        double[] pnm0Plus2 = workspace.pnm0Plus2;
+        double[] pnm0Plus1 = workspace.pnm0Plus1;
+        double[] pnm0      = workspace.pnm0;
 
         // compute polar coordinates
         final double x   = position.getX();
@@ -221,10 +231,11 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         final double tOu = z / rho;
 
         // compute distance powers
-        final double[] aOrN = createDistancePowersArray(provider.getAe() / r);
+        final double[] aOrN = fillDistancePowersArray(provider.getAe() / r, workspace.aOrN);
 
         // compute longitude cosines/sines
-        final double[][] cosSinLambda = createCosSinArrays(position.getX() / rho, position.getY() / rho);
+        final double[][] cosSinLambda = fillCosSinArrays(position.getX() / rho, position.getY() / rho,
+                                                         workspace.cosSin);
 
         // outer summation over order
         int    index = 0;
@@ -274,16 +285,41 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
      * @return gradient of the non-central part of the gravity field
      */
     public double[] gradient(final AbsoluteDate date, final Vector3D position, final double mu) {
+        final double[] cartesianGradient = new double[3];
+        gradient(date, position, mu, cartesianGradient);
+        return cartesianGradient;
+    }
+
+    /** Compute the gradient of the non-central part of the gravity field.
+     * <p>
+     * This method does not allocate any array: all intermediate results are
+     * stored in a per-thread workspace reused from one call to the next and
+     * the result is stored in a caller-supplied array. The spherical harmonics
+     * coefficients are also reused as long as the date does not change, so
+     * repeated evaluations at the same date do not allocate memory at all,
+     * regardless of the {@link NormalizedSphericalHarmonicsProvider provider}
+     * implementation.
+     * </p>
+     * @param date current date
+     * @param position position at which gravity field is desired in body frame
+     * @param mu central attraction coefficient to use
+     * @param cartesianGradient array where to store the gradient of the non-central
+     * part of the gravity field (must have at least 3 elements)
+     * @since 11.1
+     */
+    public void gradient(final AbsoluteDate date, final Vector3D position, final double mu,
+                         final double[] cartesianGradient) {
 
         final int degree = provider.getMaxDegree();
         final int order  = provider.getMaxOrder();
-        final NormalizedSphericalHarmonics harmonics = provider.onDate(date);
+        final Workspace workspace = workspaces.get().reset();
+        final NormalizedSphericalHarmonics harmonics = workspace.harmonics(provider, date);
 
-        // allocate the columns for recursion
-        double[] pnm0Plus2  = new double[degree + 1];
-        double[] pnm0Plus1  = new double[degree + 1];
-        double[] pnm0       = new double[degree + 1];
-        final double[] pnm1 = new double[degree + 1];
+        // get the columns for recursion
+        double[] pnm0Plus2  = workspace.pnm0Plus2;
+        double[] pnm0Plus1  = workspace.pnm0Plus1;
+        double[] pnm0       = workspace.pnm0;
+        final double[] pnm1 = workspace.pnm1;
 
         // compute polar coordinates
         final double x    = position.getX();
@@ -301,15 +337,19 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         final double tOu  = z / rho;
 
         // compute distance powers
-        final double[] aOrN = createDistancePowersArray(provider.getAe() / r);
+        final double[] aOrN = fillDistancePowersArray(provider.getAe() / r, workspace.aOrN);
 
         // compute longitude cosines/sines
-        final double[][] cosSinLambda = createCosSinArrays(position.getX() / rho, position.getY() / rho);
+        final double[][] cosSinLambda = fillCosSinArrays(position.getX() / rho, position.getY() / rho,
+                                                         workspace.cosSin);
 
         // outer summation over order
         int    index = 0;
         double value = 0;
-        final double[] gradient = new double[3];
+        final double[] gradient = workspace.sphericalGradient;
+        gradient[0] = 0;
+        gradient[1] = 0;
+        gradient[2] = 0;
         for (int m = degree; m >= 0; --m) {
 
             // compute tesseral terms with derivatives
@@ -377,7 +417,19 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         gradient[2]      *= muOr;
 
         // convert gradient from spherical to Cartesian
-        return new SphericalCoordinates(position).toCartesianGradient(gradient);
+        // (same computation as SphericalCoordinates.toCartesianGradient, without allocation)
+        final double r2Rho = rho * r2;
+        final double j00   = x / r;
+        final double j01   = y / r;
+        final double j02   = z / r;
+        final double j10   = -y / rho2;
+        final double j11   = x / rho2;
+        final double j20   = x * z / r2Rho;
+        final double j21   = y * z / r2Rho;
+        final double j22   = -rho / r2;
+        cartesianGradient[0] = gradient[0] * j00 + gradient[1] * j10 + gradient[2] * j20;
+        cartesianGradient[1] = gradient[0] * j01 + gradient[1] * j11 + gradient[2] * j21;
+        cartesianGradient[2] = gradient[0] * j02                     + gradient[2] * j22;
 
     }
 
@@ -533,15 +585,16 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
 
         final int degree = provider.getMaxDegree();
         final int order  = provider.getMaxOrder();
-        final NormalizedSphericalHarmonics harmonics = provider.onDate(date);
+        final Workspace workspace = workspaces.get().reset();
+        final NormalizedSphericalHarmonics harmonics = workspace.harmonics(provider, date);
 
-        // allocate the columns for recursion
-        double[] pnm0Plus2  = new double[degree + 1];
-        double[] pnm0Plus1  = new double[degree + 1];
-        double[] pnm0       = new double[degree + 1];
-        double[] pnm1Plus1  = new double[degree + 1];
-        double[] pnm1       = new double[degree + 1];
-        final double[] pnm2 = new double[degree + 1];
+        // get the columns for recursion
+        double[] pnm0Plus2  = workspace.pnm0Plus2;
+        double[] pnm0Plus1  = workspace.pnm0Plus1;
+        double[] pnm0       = workspace.pnm0;
+        double[] pnm1Plus1  = workspace.pnm1Plus1;
+        double[] pnm1       = workspace.pnm1;
+        final double[] pnm2 = workspace.pnm2;
 
         // compute polar coordinates
         final double x    = position.getX();
@@ -559,10 +612,11 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         final double tOu  = z / rho;
 
         // compute distance powers
-        final double[] aOrN = createDistancePowersArray(provider.getAe() / r);
+        final double[] aOrN = fillDistancePowersArray(provider.getAe() / r, workspace.aOrN);
 
         // compute longitude cosines/sines
-        final double[][] cosSinLambda = createCosSinArrays(position.getX() / rho, position.getY() / rho);
+        final double[][] cosSinLambda = fillCosSinArrays(position.getX() / rho, position.getY() / rho,
+                                                         workspace.cosSin);
 
         // outer summation over order
         int    index = 0;
@@ -674,6 +728,104 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
 
     }
 
+    /** Reusable per-thread workspace for non-field computations.
+     * <p>
+     * This class is static so the values stored in the thread-local map
+     * do not reference the model, and hence not the thread-local key either,
+     * which would prevent models used in pooled threads from being collected.
+     * </p>
+     * @since 11.1
+     */
+    private static class Workspace {
+
+        /** Column for scaled P<sub>n,m+2</sub>/u<sup>m+2</sup>. */
+        private final double[] pnm0Plus2;
+
+        /** Column for scaled P<sub>n,m+1</sub>/u<sup>m+1</sup>. */
+        private final double[] pnm0Plus1;
+
+        /** Column for scaled P<sub>n,m</sub>/u<sup>m</sup>. */
+        private final double[] pnm0;
+
+        /** Column for scaled dP<sub>n,m+1</sub>/u<sup>m+1</sup>. */
+        private final double[] pnm1Plus1;
+
+        /** Column for scaled dP<sub>n,m</sub>/u<sup>m</sup>. */
+        private final double[] pnm1;
+
+        /** Column for scaled d²P<sub>n,m</sub>/u<sup>m</sup>. */
+        private final double[] pnm2;
+
+        /** Distance powers (a/r)<sup>n</sup>. */
+        private final double[] aOrN;
+
+        /** Longitude cosines (row 0) and sines (row 1). */
+        private final double[][] cosSin;
+
+        /** Gradient in spherical coordinates. */
+        private final double[] sphericalGradient;
+
+        /** Gradient in Cartesian coordinates. */
+        private final double[] cartesianGradient;
+
+        /** Date of last retrieved harmonics. */
+        private AbsoluteDate harmonicsDate;
+
+        /** Last retrieved harmonics. */
+        private NormalizedSphericalHarmonics harmonics;
+
+        /** Simple constructor.
+         * @param degree max degree
+         * @param order max order
+         */
+        Workspace(final int degree, final int order) {
+            pnm0Plus2         = new double[degree + 1];
+            pnm0Plus1         = new double[degree + 1];
+            pnm0              = new double[degree + 1];
+            pnm1Plus1         = new double[degree + 1];
+            pnm1              = new double[degree + 1];
+            pnm2              = new double[degree + 1];
+            aOrN              = new double[degree + 1];
+            cosSin            = new double[2][order + 1];
+            sphericalGradient = new double[3];
+            cartesianGradient = new double[3];
+        }
+
+        /** Reset the recursion columns to zero.
+         * <p>
+         * Some recursion terms are read before being written in a column,
+         * (they are multiplied by zero coefficients), so stale values from
+         * a previous call must be cleared to avoid NaN or infinite values
+         * leaking from one evaluation to the next.
+         * </p>
+         * @return the workspace itself
+         */
+        Workspace reset() {
+            Arrays.fill(pnm0Plus2, 0.0);
+            Arrays.fill(pnm0Plus1, 0.0);
+            Arrays.fill(pnm0,      0.0);
+            Arrays.fill(pnm1Plus1, 0.0);
+            Arrays.fill(pnm1,      0.0);
+            Arrays.fill(pnm2,      0.0);
+            return this;
+        }
+
+        /** Get the spherical harmonics at a date.
+         * @param provider provider for spherical harmonics
+         * @param date current date
+         * @return spherical harmonics at date
+         */
+        NormalizedSphericalHarmonics harmonics(final NormalizedSphericalHarmonicsProvider provider,
+                                               final AbsoluteDate date) {
+            if (date == null || harmonics == null || !date.equals(harmonicsDate)) {
+                harmonicsDate = date;
+                harmonics     = provider.onDate(date);
+            }
+            return harmonics;
+        }
+
+    }
+
     /** Container for gradient and Hessian. */
     private static class GradientHessian {
 
@@ -711,14 +863,14 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
 
     }
 
-    /** Compute a/r powers array.
+    /** Fill a/r powers array.
      * @param aOr a/r
-     * @return array containing (a/r)<sup>n</sup>
+     * @param aOrN array to fill with (a/r)<sup>n</sup>
+     * @return filled array (the same reference as the aOrN parameter)
      */
-    private double[] createDistancePowersArray(final double aOr) {
+    private double[] fillDistancePowersArray(final double aOr, final double[] aOrN) {
 
         // initialize array
-        final double[] aOrN = new double[provider.getMaxDegree() + 1];
         aOrN[0] = 1;
         aOrN[1] = aOr;
 
@@ -755,16 +907,17 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
 
     }
 
-    /** Compute longitude cosines and sines.
+    /** Fill longitude cosines and sines.
      * @param cosLambda cos(λ)
      * @param sinLambda sin(λ)
-     * @return array containing cos(m &times; λ) in row 0
+     * @param cosSin array to fill with cos(m &times; λ) in row 0
      * and sin(m &times; λ) in row 1
+     * @return filled array (the same reference as the cosSin parameter)
      */
-    private double[][] createCosSinArrays(final double cosLambda, final double sinLambda) {
+    private double[][] fillCosSinArrays(final double cosLambda, final double sinLambda,
+                                        final double[][] cosSin) {
 
         // initialize arrays
-        final double[][] cosSin = new double[2][provider.getMaxOrder() + 1];
         cosSin[0][0] = 1;
         cosSin[1][0] = 0;
         if (provider.getMaxOrder() > 0) {
@@ -1035,7 +1188,11 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         final Vector3D position       = toBodyFrame.transformPosition(s.getPVCoordinates().getPosition());
 
         // gradient of the non-central part of the gravity field
-        return fromBodyFrame.transformVector(new Vector3D(gradient(date, position, mu)));
+        final double[] cartesianGradient = workspaces.get().cartesianGradient;
+        gradient(date, position, mu, cartesianGradient);
+        return fromBodyFrame.transformVector(new Vector3D(cartesianGradient[0],
+                                                          cartesianGradient[1],
+                                                          cartesianGradient[2]));
 
     }
 
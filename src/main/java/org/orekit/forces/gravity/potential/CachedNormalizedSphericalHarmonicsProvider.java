@@ -27,7 +27,7 @@ import org.orekit.errors.OrekitException;
 import org.orekit.errors.TimeStampedCacheException;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.TimeStamped;
-import org.orekit.utils.GenericTimeStampedCache;
+import org.orekit.utils.OrekitConfiguration;
 import org.orekit.utils.TimeStampedCache;
 import org.orekit.utils.TimeStampedGenerator;
 
@@ -74,8 +74,8 @@ public class CachedNormalizedSphericalHarmonicsProvider implements NormalizedSph
         final int k       = rawProvider.getMaxDegree() + 1;
         this.size         = (k * (k + 1)) / 2;
 
-        cache = new GenericTimeStampedCache<TimeStampedSphericalHarmonics>(nbPoints, maxSlots, maxSpan,
-                                                                           newSlotInterval, new Generator(step));
+        cache = OrekitConfiguration.createTimeStampedCache(nbPoints, maxSlots, maxSpan,
+                                                           newSlotInterval, new Generator(step));
     }
 
     /** {@inheritDoc} */
@@ -235,8 +235,9 @@ class BulletinBFilesLoader extends AbstractEopLoader implements EOPHistoryLoader
         final ItrfVersionProvider itrfVersionProvider = new ITRFVersionLoader(
                 ITRFVersionLoader.SUPPORTED_NAMES,
                 getDataProvidersManager());
-        final Parser parser = new Parser(converter, itrfVersionProvider, getUtc());
-        final EopParserLoader loader = new EopParserLoader(parser);
+        final TimeScale utc = getUtc();
+        final EopParserLoader loader =
+                new EopParserLoader(() -> new Parser(converter, itrfVersionProvider, utc));
         this.feed(loader);
         history.addAll(loader.getEop());
     }
@@ -22,20 +22,26 @@ import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Supplier;
 
+import org.orekit.data.ConcurrentDataLoader;
 import org.orekit.data.DataLoader;
 
 /**
  * Implementation of {@link DataLoader} based on {@link EOPHistoryLoader.Parser} that
  * loads all files and compiles the results into one data structure.
+ * <p>
+ * As parsers are stateful, a new parser is created for each file, so
+ * several files can be parsed concurrently.
+ * </p>
  *
  * @author Evan Ward
  * @since 10.1
  */
-class EopParserLoader implements DataLoader {
+class EopParserLoader implements ConcurrentDataLoader<Collection<EOPEntry>> {
 
-    /** Parser for EOP data files. */
-    private final EOPHistoryLoader.Parser parser;
+    /** Supplier for parsers for EOP data files. */
+    private final Supplier<EOPHistoryLoader.Parser> parserSupplier;
 
     /** History entries. */
     private final List<EOPEntry> history;
@@ -44,11 +50,12 @@ class EopParserLoader implements DataLoader {
      * Create a {@link DataLoader} based on a {@link EOPHistoryLoader.Parser}. Loads
      * all EOP data into a single collection.
      *
-     * @param parser for the EOP data files.
+     * @param parserSupplier supplier for parsers for the EOP data files.
+     * @since 11.1
      */
-    EopParserLoader(final EOPHistoryLoader.Parser parser) {
-        this.parser = parser;
-        this.history = new ArrayList<>();
+    EopParserLoader(final Supplier<EOPHistoryLoader.Parser> parserSupplier) {
+        this.parserSupplier = parserSupplier;
+        this.history        = new ArrayList<>();
     }
 
     /**
@@ -66,10 +73,17 @@ class EopParserLoader implements DataLoader {
         return true;
     }
 
+    /** {@inheritDoc} */
     @Override
-    public void loadData(final InputStream input, final String name)
+    public Collection<EOPEntry> parse(final InputStream input, final String name)
             throws IOException, ParseException {
-        history.addAll(parser.parse(input, name));
+        return parserSupplier.get().parse(input, name);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void merge(final Collection<EOPEntry> parsed, final String name) {
+        history.addAll(parsed);
     }
 
 }
@@ -235,6 +235,11 @@ public class Frame implements Serializable {
     }
 
     /** Get the transform from the instance to another frame.
+     * <p>
+     * If {@link org.orekit.utils.OrekitConfiguration#setTransformCacheSize(int)
+     * transforms caching} is enabled, the transform may be retrieved from a
+     * {@link TransformCache} instead of being recomputed.
+     * </p>
      * @param destination destination frame to which we want to transform vectors
      * @param date the date (can be null if it is sure than no date dependent frame is used)
      * @return transform from the instance to the destination frame
@@ -246,6 +251,29 @@ public class Frame implements Serializable {
             return Transform.IDENTITY;
         }
 
+        final TransformCache cache = date == null ? null : TransformCache.getCache();
+        if (cache == null) {
+            // no caching
+            return computeTransformTo(destination, date);
+        }
+
+        Transform transform = cache.get(this, destination, date);
+        if (transform == null) {
+            // the transform was not computed yet at this date
+            transform = computeTransformTo(destination, date);
+            cache.put(this, destination, date, transform);
+        }
+        return transform;
+
+    }
+
+    /** Compute the transform from the instance to another frame.
+     * @param destination destination frame to which we want to transform vectors
+     * @param date the date (can be null if it is sure than no date dependent frame is used)
+     * @return transform from the instance to the destination frame
+     */
+    private Transform computeTransformTo(final Frame destination, final AbsoluteDate date) {
+
         // common ancestor to both frames in the frames tree
         final Frame common = findCommon(this, destination);
 
@@ -149,9 +149,9 @@ class RapidDataAndPredictionColumnsLoader extends AbstractEopLoader
         final ItrfVersionProvider itrfVersionProvider = new ITRFVersionLoader(
                 ITRFVersionLoader.SUPPORTED_NAMES,
                 getDataProvidersManager());
-        final Parser parser =
-                new Parser(converter, itrfVersionProvider, getUtc(), isNonRotatingOrigin);
-        final EopParserLoader loader = new EopParserLoader(parser);
+        final TimeScale utc = getUtc();
+        final EopParserLoader loader =
+                new EopParserLoader(() -> new Parser(converter, itrfVersionProvider, utc, isNonRotatingOrigin));
         this.feed(loader);
         history.addAll(loader.getEop());
     }
@@ -0,0 +1,233 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.frames;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.OrekitConfiguration;
+
+/** Memoizing cache for {@link Frame#getTransformTo(Frame, AbsoluteDate)}.
+ * <p>
+ * In a typical propagation, the same transforms (say GCRF to ITRF) are
+ * requested several times at the same date by different models (gravity
+ * field, drag, attitude, measurements...). This cache allows to compute
+ * such transforms only once. It is keyed by source frame, destination frame
+ * and date, and keeps the most recently used entries up to a configured size.
+ * </p>
+ * <p>
+ * The cache is disabled by default and is enabled by setting a strictly positive
+ * size using {@link OrekitConfiguration#setTransformCacheSize(int)}. Storage is
+ * thread-local, so there is no contention between threads, each thread having
+ * its own least recently used entries.
+ * </p>
+ * <p>
+ * The cache assumes the transforms depend only on the date. This is true for all
+ * frames built by {@link FramesFactory} and for most user frames, but not for
+ * frames whose transform provider depends on some mutable state, like {@link
+ * LocalOrbitalFrame local orbital frames} built on top of a propagator that is
+ * reset between calls. Updates of {@link UpdatableFrame updatable frames} are
+ * handled automatically, but for other frames, users must call {@link #invalidate()}
+ * whenever the state changes, or they should not enable the cache at all.
+ * </p>
+ * @author agent
+ * @since 11.1
+ */
+public class TransformCache {
+
+    /** Global generation, incremented at each invalidation. */
+    private static final AtomicLong GENERATION = new AtomicLong();
+
+    /** Number of cache hits. */
+    private static final LongAdder HITS = new LongAdder();
+
+    /** Number of cache misses. */
+    private static final LongAdder MISSES = new LongAdder();
+
+    /** Thread-local caches. */
+    private static final ThreadLocal<TransformCache> CACHES = new ThreadLocal<>();
+
+    /** Maximum number of entries. */
+    private final int maxSize;
+
+    /** Generation for which the entries are valid. */
+    private long generation;
+
+    /** Entries, in access order. */
+    private final Map<Key, Transform> entries;
+
+    /** Reusable key for look-ups. */
+    private final Key probe;
+
+    /** Simple constructor.
+     * @param maxSize maximum number of entries
+     * @param generation generation for which the entries are valid
+     */
+    private TransformCache(final int maxSize, final long generation) {
+        this.maxSize    = maxSize;
+        this.generation = generation;
+        this.entries    = new LinkedHashMap<Key, Transform>(16, 0.75f, true) {
+
+            /** Serializable UID. */
+            private static final long serialVersionUID = 20220301L;
+
+            /** {@inheritDoc} */
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, Transform> eldest) {
+                return size() > TransformCache.this.maxSize;
+            }
+
+        };
+        this.probe = new Key(null, null, null);
+    }
+
+    /** Get the cache for current thread.
+     * @return cache for current thread, or null if caching is disabled
+     */
+    static TransformCache getCache() {
+
+        final int size = OrekitConfiguration.getTransformCacheSize();
+        if (size <= 0) {
+            return null;
+        }
+
+        final long     current = GENERATION.get();
+        TransformCache cache   = CACHES.get();
+        if (cache == null || cache.maxSize != size) {
+            // first use in this thread or configuration change
+            cache = new TransformCache(size, current);
+            CACHES.set(cache);
+        } else if (cache.generation != current) {
+            // some frame has been updated since last use
+            cache.entries.clear();
+            cache.generation = current;
+        }
+
+        return cache;
+
+    }
+
+    /** Get a transform from the cache.
+     * @param source source frame
+     * @param destination destination frame
+     * @param date date
+     * @return cached transform, or null if transform is not in the cache
+     */
+    Transform get(final Frame source, final Frame destination, final AbsoluteDate date) {
+        probe.source      = source;
+        probe.destination = destination;
+        probe.date        = date;
+        final Transform transform = entries.get(probe);
+        probe.date        = null;
+        if (transform == null) {
+            MISSES.increment();
+        } else {
+            HITS.increment();
+        }
+        return transform;
+    }
+
+    /** Put a transform in the cache.
+     * @param source source frame
+     * @param destination destination frame
+     * @param date date
+     * @param transform transform to store
+     */
+    void put(final Frame source, final Frame destination, final AbsoluteDate date,
+             final Transform transform) {
+        entries.put(new Key(source, destination, date), transform);
+    }
+
+    /** Invalidate all cached transforms, in all threads.
+     * <p>
+     * This method must be called when some transform provider that
+     * does not depend only on date changes its internal state.
+     * </p>
+     */
+    public static void invalidate() {
+        GENERATION.incrementAndGet();
+    }
+
+    /** Get the number of cache hits since last reset.
+     * @return number of cache hits, for all threads
+     * @see #resetStatistics()
+     */
+    public static long getHits() {
+        return HITS.sum();
+    }
+
+    /** Get the number of cache misses since last reset.
+     * @return number of cache misses, for all threads
+     * @see #resetStatistics()
+     */
+    public static long getMisses() {
+        return MISSES.sum();
+    }
+
+    /** Reset hits and misses statistics.
+     */
+    public static void resetStatistics() {
+        HITS.reset();
+        MISSES.reset();
+    }
+
+    /** Key for cached transforms. */
+    private static class Key {
+
+        /** Source frame. */
+        private Frame source;
+
+        /** Destination frame. */
+        private Frame destination;
+
+        /** Date. */
+        private AbsoluteDate date;
+
+        /** Simple constructor.
+         * @param source source frame
+         * @param destination destination frame
+         * @param date date
+         */
+        Key(final Frame source, final Frame destination, final AbsoluteDate date) {
+            this.source      = source;
+            this.destination = destination;
+            this.date        = date;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(source) + System.identityHashCode(destination)) +
+                   date.hashCode();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(final Object other) {
+            if (other instanceof Key) {
+                final Key key = (Key) other;
+                return source == key.source && destination == key.destination && date.equals(key.date);
+            }
+            return false;
+        }
+
+    }
+
+}
@@ -174,6 +174,9 @@ public class UpdatableFrame extends Frame {
         // update the existing provider from parent to self
         ((UpdatableProvider) getTransformProvider()).setTransform(parentToSelf);
 
+        // transforms involving this frame may have been cached
+        TransformCache.invalidate();
+
     }
 
     /** Local provider for transforms. */
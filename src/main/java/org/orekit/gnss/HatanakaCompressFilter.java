@@ -16,9 +16,13 @@
  */
 package org.orekit.gnss;
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -33,6 +37,14 @@ import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitMessages;
 
 /** Decompression filter for Hatanaka compressed RINEX files.
+ * <p>
+ * By default, compressed data is read through a characters reader, hence
+ * it is decoded according to the data source. As compact RINEX files are
+ * pure ASCII files, the filter can also be set up to read the raw bytes
+ * directly through a byte buffer, without characters decoding, using
+ * {@link InputMode#BYTES}. This only applies to data sources that provide
+ * binary streams, other sources are still read through their characters reader.
+ * </p>
  * @see <a href="http://cedadocs.ceda.ac.uk/1254/1/Hatanaka%5C_compressed%5C_format%5C_help.pdf">A
  * Compression Format and Tools for GNSS Observation Data</a>
  * @since 10.1
@@ -45,6 +57,45 @@ public class HatanakaCompressFilter implements DataFilter {
     /** Pattern for rinex 3 observation files. */
     private static final Pattern RINEX_3_PATTERN = Pattern.compile("^(\\w{9}_\\w{1}_\\d{11}_\\d{2}\\w_\\d{2}\\w{1}_\\w{2})\\.crx$");
 
+    /** Modes for reading compressed data.
+     * @since 11.1
+     */
+    public enum InputMode {
+
+        /** Read compressed data through a characters reader, decoded according to the data source. */
+        CHARACTERS,
+
+        /** Read compressed data from binary sources as single byte characters, without decoding.
+         * <p>
+         * Non-ASCII characters that may appear in header comments are not decoded properly
+         * in this mode. Data sources that do not provide binary streams are still read
+         * through their characters reader.
+         * </p>
+         */
+        BYTES
+
+    }
+
+    /** Mode for reading compressed data. */
+    private final InputMode inputMode;
+
+    /** Simple constructor.
+     * <p>
+     * Compressed data is read through a characters reader.
+     * </p>
+     */
+    public HatanakaCompressFilter() {
+        this(InputMode.CHARACTERS);
+    }
+
+    /** Constructor allowing to select how compressed data is read.
+     * @param inputMode mode for reading compressed data
+     * @since 11.1
+     */
+    public HatanakaCompressFilter(final InputMode inputMode) {
+        this.inputMode = inputMode;
+    }
+
     /** {@inheritDoc} */
     @Override
     public DataSource filter(final DataSource original) {
@@ -56,7 +107,7 @@ public class HatanakaCompressFilter implements DataFilter {
         if (rinex2Matcher.matches()) {
             // this is a rinex 2 file compressed with Hatanaka method
             final String                  fName   = rinex2Matcher.group(1) + "o";
-            final DataSource.ReaderOpener fOpener = () -> new HatanakaReader(oName, oOpener.openReaderOnce());
+            final DataSource.ReaderOpener fOpener = () -> new HatanakaReader(oName, openLines(oOpener));
             return new DataSource(fName, fOpener);
         }
 
@@ -64,7 +115,7 @@ public class HatanakaCompressFilter implements DataFilter {
         if (rinex3Matcher.matches()) {
             // this is a rinex 3 file compressed with Hatanaka method
             final String                  fName   = rinex3Matcher.group(1) + ".rnx";
-            final DataSource.ReaderOpener fOpener = () -> new HatanakaReader(oName, oOpener.openReaderOnce());
+            final DataSource.ReaderOpener fOpener = () -> new HatanakaReader(oName, openLines(oOpener));
             return new DataSource(fName, fOpener);
         }
 
@@ -73,6 +124,179 @@ public class HatanakaCompressFilter implements DataFilter {
 
     }
 
+    /** Open line-oriented input on compressed data.
+     * @param opener opener for compressed data
+     * @return line-oriented input
+     * @exception IOException if data cannot be opened
+     */
+    private LineInput openLines(final DataSource.Opener opener) throws IOException {
+        if (inputMode == InputMode.BYTES && opener.rawDataIsBinary()) {
+            return new ByteLineInput(opener.openStreamOnce());
+        } else {
+            return new ReaderLineInput(opener.openReaderOnce());
+        }
+    }
+
+    /** Line-oriented input for compressed data. */
+    private interface LineInput extends Closeable {
+
+        /** Read one line.
+         * <p>
+         * Lines may be terminated by either '\n', '\r' or "\r\n", as in
+         * {@link BufferedReader#readLine()}.
+         * </p>
+         * @return line read, without line terminator (null if end of data has been reached)
+         * @exception IOException if data cannot be read
+         */
+        String readLine() throws IOException;
+
+    }
+
+    /** Line-oriented input reading characters. */
+    private static class ReaderLineInput implements LineInput {
+
+        /** Underlying reader. */
+        private final BufferedReader reader;
+
+        /** Simple constructor.
+         * @param input underlying characters input
+         */
+        ReaderLineInput(final Reader input) {
+            this.reader = new BufferedReader(input);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String readLine() throws IOException {
+            return reader.readLine();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+
+    }
+
+    /** Line-oriented input reading single byte characters through a byte buffer. */
+    private static class ByteLineInput implements LineInput {
+
+        /** Size of the byte buffer. */
+        private static final int BUFFER_SIZE = 65536;
+
+        /** Initial size of the array for lines split between two buffer fills. */
+        private static final int INITIAL_LINE_SIZE = 128;
+
+        /** Underlying bytes input. */
+        private final InputStream input;
+
+        /** Buffer for bytes read but not yet consumed. */
+        private final ByteBuffer buffer;
+
+        /** Start of a line split between two buffer fills. */
+        private byte[] split;
+
+        /** Indicator for a '\n' to be skipped at start of next line (when previous line ended with '\r'). */
+        private boolean skipLF;
+
+        /** Simple constructor.
+         * @param input underlying bytes input
+         */
+        ByteLineInput(final InputStream input) {
+            this.input  = input;
+            this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            this.split  = new byte[INITIAL_LINE_SIZE];
+            this.skipLF = false;
+            buffer.limit(0);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String readLine() throws IOException {
+
+            final byte[] array  = buffer.array();
+            int          length = 0;
+            boolean      read   = false;
+            while (buffer.hasRemaining() || fill()) {
+
+                final int start = buffer.position();
+                if (skipLF) {
+                    skipLF = false;
+                    if (array[start] == '\n') {
+                        // this is the second character of a "\r\n" line terminator
+                        buffer.position(start + 1);
+                        continue;
+                    }
+                }
+
+                read = true;
+                final int limit = buffer.limit();
+                for (int i = start; i < limit; ++i) {
+                    final byte b = array[i];
+                    if (b == '\n' || b == '\r') {
+                        // we have found the end of the line
+                        buffer.position(i + 1);
+                        skipLF = b == '\r';
+                        if (length == 0) {
+                            // the line is entirely in the buffer
+                            return new String(array, start, i - start, StandardCharsets.ISO_8859_1);
+                        } else {
+                            append(array, start, i - start, length);
+                            return new String(split, 0, length + i - start, StandardCharsets.ISO_8859_1);
+                        }
+                    }
+                }
+
+                // the line continues after the current buffer content
+                append(array, start, limit - start, length);
+                length += limit - start;
+                buffer.position(limit);
+
+            }
+
+            // we have reached end of data
+            return read ? new String(split, 0, length, StandardCharsets.ISO_8859_1) : null;
+
+        }
+
+        /** Fill the buffer with new bytes.
+         * @return true if some bytes were read, false if end of data has been reached
+         * @exception IOException if data cannot be read
+         */
+        private boolean fill() throws IOException {
+            final int n = input.read(buffer.array(), 0, buffer.capacity());
+            if (n < 0) {
+                return false;
+            }
+            buffer.position(0);
+            buffer.limit(n);
+            return true;
+        }
+
+        /** Append bytes at the end of a split line.
+         * @param bytes array containing the bytes to append
+         * @param offset offset of the first byte to append
+         * @param count number of bytes to append
+         * @param length current length of the split line
+         */
+        private void append(final byte[] bytes, final int offset, final int count, final int length) {
+            if (length + count > split.length) {
+                final byte[] enlarged = new byte[FastMath.max(2 * split.length, length + count)];
+                System.arraycopy(split, 0, enlarged, 0, length);
+                split = enlarged;
+            }
+            System.arraycopy(bytes, offset, split, length, count);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+
+    }
+
     /** Filtering of Hatanaka compressed characters stream. */
     private static class HatanakaReader extends Reader {
 
@@ -80,7 +304,7 @@ public class HatanakaCompressFilter implements DataFilter {
         private final CompactRinexFormat format;
 
         /** Line-oriented input. */
-        private final BufferedReader reader;
+        private final LineInput reader;
 
         /** Pending uncompressed output lines. */
         private CharSequence pending;
@@ -90,13 +314,13 @@ public class HatanakaCompressFilter implements DataFilter {
 
         /** Simple constructor.
          * @param name file name
-         * @param input underlying compressed stream
+         * @param input underlying compressed lines
          * @exception IOException if first lines cannot be read
          */
-        HatanakaReader(final String name, final Reader input)
+        HatanakaReader(final String name, final LineInput input)
             throws IOException {
 
-            reader = new BufferedReader(input);
+            reader = input;
 
             // check header
             format = CompactRinexFormat.getFormat(name, reader);
@@ -152,6 +376,12 @@ public class HatanakaCompressFilter implements DataFilter {
     /** Processor handling differential compression for one numerical data field. */
     private static class NumericDifferential {
 
+        /** Maximum number of characters for an uncompressed value (19 digits, sign and decimal point). */
+        private static final int MAX_CHARACTERS = 21;
+
+        /** Maximum number of digits that can be parsed without overflow checks. */
+        private static final int MAX_SAFE_DIGITS = 18;
+
         /** Length of the uncompressed text field. */
         private final int fieldLength;
 
@@ -164,8 +394,11 @@ public class HatanakaCompressFilter implements DataFilter {
         /** Number of components in the state vector. */
         private int nbComponents;
 
-        /** Uncompressed value. */
-        private CharSequence uncompressed;
+        /** Buffer holding the uncompressed value, right aligned. */
+        private final char[] buffer;
+
+        /** Index of the first character of uncompressed value in the buffer. */
+        private int first;
 
         /** Simple constructor.
          * @param fieldLength length of the uncompressed text field
@@ -177,15 +410,26 @@ public class HatanakaCompressFilter implements DataFilter {
             this.decimalPlaces = decimalPlaces;
             this.state         = new long[order + 1];
             this.nbComponents  = 0;
+            this.buffer        = new char[FastMath.max(fieldLength, MAX_CHARACTERS)];
+            this.first         = buffer.length;
         }
 
         /** Handle a new compressed value.
          * @param sequence sequence containing the value to consider
          */
         public void accept(final CharSequence sequence) {
+            accept(sequence, 0, sequence.length());
+        }
+
+        /** Handle a new compressed value.
+         * @param sequence sequence containing the value to consider
+         * @param start index of the first character of the value
+         * @param end index after the last character of the value
+         */
+        public void accept(final CharSequence sequence, final int start, final int end) {
 
             // store the value as the last component of state vector
-            state[nbComponents] = Long.parseLong(sequence.toString());
+            state[nbComponents] = parseLong(sequence, start, end);
 
             // update state vector
             for (int i = nbComponents; i > 0; --i) {
@@ -197,27 +441,28 @@ public class HatanakaCompressFilter implements DataFilter {
                 --nbComponents;
             }
 
-            // output uncompressed value
-            final String unscaled = Long.toString(FastMath.abs(state[0]));
-            final int    length   = unscaled.length();
-            final int    digits   = FastMath.max(length, decimalPlaces);
-            final int    padding  = fieldLength - (digits + (state[0] < 0 ? 2 : 1));
-            final StringBuilder builder = new StringBuilder();
-            for (int i = 0; i < padding; ++i) {
-                builder.append(' ');
+            // format uncompressed value, from right to left
+            long unscaled = FastMath.abs(state[0]);
+            int  index    = buffer.length;
+            for (int i = 0; i < decimalPlaces; ++i) {
+                buffer[--index] = (char) ('0' + unscaled % 10);
+                unscaled /= 10;
             }
-            if (state[0] < 0) {
-                builder.append('-');
+            buffer[--index] = '.';
+            if (unscaled > 0 || decimalPlaces == 0) {
+                // integer part (a single 0 is output only if there are no decimal places)
+                do {
+                    buffer[--index] = (char) ('0' + unscaled % 10);
+                    unscaled /= 10;
+                } while (unscaled > 0);
             }
-            if (length > decimalPlaces) {
-                builder.append(unscaled, 0, length - decimalPlaces);
+            if (state[0] < 0) {
+                buffer[--index] = '-';
             }
-            builder.append('.');
-            for (int i = decimalPlaces; i > 0; --i) {
-                builder.append(i > length ? '0' : unscaled.charAt(length - i));
+            while (buffer.length - index < fieldLength) {
+                buffer[--index] = ' ';
             }
-
-            uncompressed = builder;
+            first = index;
 
         }
 
@@ -225,7 +470,48 @@ public class HatanakaCompressFilter implements DataFilter {
          * @return string representation of the uncompressed value
          */
         public CharSequence getUncompressed() {
-            return uncompressed;
+            return CharBuffer.wrap(buffer, first, buffer.length - first);
+        }
+
+        /** Append the uncompressed value to a builder.
+         * @param builder builder to which uncompressed value should be appended
+         */
+        public void appendTo(final StringBuilder builder) {
+            builder.append(buffer, first, buffer.length - first);
+        }
+
+        /** Parse a long integer without creating intermediate strings.
+         * @param sequence sequence containing the value
+         * @param start index of the first character of the value
+         * @param end index after the last character of the value
+         * @return parsed value
+         * @exception NumberFormatException if the sequence does not represent an integer
+         */
+        private static long parseLong(final CharSequence sequence, final int start, final int end)
+            throws NumberFormatException {
+
+            int index = start;
+            final boolean negative = index < end && sequence.charAt(index) == '-';
+            if (index < end && (negative || sequence.charAt(index) == '+')) {
+                ++index;
+            }
+
+            if (index >= end || end - index > MAX_SAFE_DIGITS) {
+                // either invalid or too many digits to ignore overflow, let the general parser handle it
+                return Long.parseLong(sequence.subSequence(start, end).toString());
+            }
+
+            long value = 0;
+            while (index < end) {
+                final int digit = Character.digit(sequence.charAt(index++), 10);
+                if (digit < 0) {
+                    throw new NumberFormatException(sequence.subSequence(start, end).toString());
+                }
+                value = 10 * value + digit;
+            }
+
+            return negative ? -value : value;
+
         }
 
     }
@@ -250,11 +536,20 @@ public class HatanakaCompressFilter implements DataFilter {
          * @param sequence sequence containing the value to consider
          */
         public void accept(final CharSequence sequence) {
+            accept(sequence, 0, sequence.length());
+        }
+
+        /** Handle a new compressed value.
+         * @param sequence sequence containing the value to consider
+         * @param start index of the first character of the value
+         * @param end index after the last character of the value
+         */
+        public void accept(final CharSequence sequence, final int start, final int end) {
 
             // update state
-            final int length = FastMath.min(state.capacity(), sequence.length());
+            final int length = FastMath.min(state.capacity(), end - start);
             for (int i = 0; i < length; ++i) {
-                final char c = sequence.charAt(i);
+                final char c = sequence.charAt(start + i);
                 if (c == '&') {
                     // update state with disappearing character
                     state.put(i, ' ');
@@ -320,7 +615,7 @@ public class HatanakaCompressFilter implements DataFilter {
         private final String name;
 
         /** Line-oriented input. */
-        private final BufferedReader reader;
+        private final LineInput reader;
 
         /** Current line number. */
         private int lineNumber;
@@ -353,7 +648,7 @@ public class HatanakaCompressFilter implements DataFilter {
          * @param name file name
          * @param reader line-oriented input
          */
-        protected CompactRinexFormat(final String name, final BufferedReader reader) {
+        protected CompactRinexFormat(final String name, final LineInput reader) {
             this.name    = name;
             this.reader  = reader;
             this.maxObs  = new HashMap<>();
@@ -481,8 +776,8 @@ public class HatanakaCompressFilter implements DataFilter {
                 }
 
                 // check for special events
-                epochDifferential.accept(loopEpochLine.subSequence(epochStart,
-                                                                   FastMath.min(loopEpochLine.length(), epochStart + epochLength)));
+                epochDifferential.accept(loopEpochLine, epochStart,
+                                         FastMath.min(loopEpochLine.length(), epochStart + epochLength));
                 if (parseInt(epochDifferential.getUncompressed(), eventStart, 1) > 1) {
                     // this was not really the epoch, but rather a special event
                     // we just copy the lines and skip to real epoch and clock lines
@@ -507,7 +802,7 @@ public class HatanakaCompressFilter implements DataFilter {
                     final int n = parseInt(epochDifferential.getUncompressed(), nbSatStart, 3);
                     satellites = new ArrayList<>(n);
                     if (satListStart < loopEpochLine.length()) {
-                        satListDifferential.accept(loopEpochLine.subSequence(satListStart, loopEpochLine.length()));
+                        satListDifferential.accept(loopEpochLine, satListStart, loopEpochLine.length());
                     }
                     final CharSequence satListPart = satListDifferential.getUncompressed();
                     for (int i = 0; i < n; ++i) {
@@ -518,7 +813,7 @@ public class HatanakaCompressFilter implements DataFilter {
                     if (!loopClockLine.isEmpty()) {
                         if (loopClockLine.length() > 2 && loopClockLine.charAt(1) == '&') {
                             clockDifferential = new NumericDifferential(clockLength, clockDecimalPlaces, parseInt(loopClockLine, 0, 1));
-                            clockDifferential.accept(loopClockLine.subSequence(2, loopClockLine.length()));
+                            clockDifferential.accept(loopClockLine, 2, loopClockLine.length());
                         } else if (clockDifferential == null) {
                             throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
                                                       lineNumber, name, loopClockLine);
@@ -612,7 +907,7 @@ public class HatanakaCompressFilter implements DataFilter {
                             ++k;
                         }
                         try {
-                            satDiffs.observations[j].accept(line.subSequence(start, k));
+                            satDiffs.observations[j].accept(line, start, k);
                         } catch (NumberFormatException nfe) {
                             throw new OrekitException(nfe,
                                                       OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
@@ -628,7 +923,7 @@ public class HatanakaCompressFilter implements DataFilter {
                 }
 
                 if (k < line.length()) {
-                    satDiffs.flags.accept(line.subSequence(k, line.length()));
+                    satDiffs.flags.accept(line, k, line.length());
                 }
 
             }
@@ -672,7 +967,7 @@ public class HatanakaCompressFilter implements DataFilter {
          * @return rinex format associated with this compact rinex format
          * @exception IOException if first lines cannot be read
          */
-        public static CompactRinexFormat getFormat(final String name, final BufferedReader reader)
+        public static CompactRinexFormat getFormat(final String name, final LineInput reader)
             throws IOException {
 
             // read the first two lines of the file
@@ -812,7 +1107,7 @@ public class HatanakaCompressFilter implements DataFilter {
          * @param name file name
          * @param reader line-oriented input
          */
-        CompactRinex1(final String name, final BufferedReader reader) {
+        CompactRinex1(final String name, final LineInput reader) {
             super(name, reader);
         }
 
@@ -899,7 +1194,7 @@ public class HatanakaCompressFilter implements DataFilter {
                             builder.append(' ');
                         }
                     } else {
-                        builder.append(cd.observations[i].getUncompressed());
+                        cd.observations[i].appendTo(builder);
                         if (2 * i < flags.length()) {
                             builder.append(flags.charAt(2 * i));
                         }
@@ -956,7 +1251,7 @@ public class HatanakaCompressFilter implements DataFilter {
          * @param name file name
          * @param reader line-oriented input
          */
-        CompactRinex3(final String name, final BufferedReader reader) {
+        CompactRinex3(final String name, final LineInput reader) {
             super(name, reader);
         }
 
@@ -1025,7 +1320,7 @@ public class HatanakaCompressFilter implements DataFilter {
                             builder.append(' ');
                         }
                     } else {
-                        builder.append(cd.observations[i].getUncompressed());
+                        cd.observations[i].appendTo(builder);
                         if (2 * i < flags.length()) {
                             builder.append(flags.charAt(2 * i));
                         }
@@ -15,17 +15,18 @@
  * limitations under the License.
  */
 package org.orekit.gnss;
-import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.hipparchus.exception.DummyLocalizable;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
@@ -47,6 +48,21 @@ import org.orekit.time.TimeScales;
  * Supported versions are: 2.00, 2.10, 2.11, 2.12 (unofficial), 2.20 (unofficial),
  * 3.00, 3.01, 3.02, 3.03, and 3.04.
  * </p>
+ * <p>
+ * By default, all observations are stored and retrieved at the end using
+ * {@link #getObservationDataSets()}. For large files or archives (high rate
+ * multi-GNSS data from many stations), the constructors with an observations
+ * consumer allow to process observations as they are parsed, epoch after epoch,
+ * without storing them, so memory consumption does not depend on the data size.
+ * Hatanaka compressed files can be read by applying {@link HatanakaCompressFilter}
+ * to the data source, they are decompressed on the fly.
+ * </p>
+ * <pre>{@code
+ * DataSource source = new HatanakaCompressFilter().filter(new UnixCompressFilter().filter(raw));
+ * new RinexObservationLoader(source, timeScales, observationDataSet -> {
+ *     // build measurements from the observation data set
+ * });
+ * }</pre>
  * @see <a href="ftp://igs.org/pub/data/format/rinex2.txt">rinex 2.0</a>
  * @see <a href="ftp://igs.org/pub/data/format/rinex210.txt">rinex 2.10</a>
  * @see <a href="ftp://igs.org/pub/data/format/rinex211.txt">rinex 2.11</a>
@@ -117,6 +133,11 @@ public class RinexObservationLoader {
     /** Rinex Observations. */
     private final List<ObservationDataSet> observationDataSets;
 
+    /** Consumer for parsed observations.
+     * @since 11.1
+     */
+    private final Consumer<ObservationDataSet> observationDataSetsConsumer;
+
     /** Set of time scales. */
     private final TimeScales timeScales;
 
@@ -149,7 +170,33 @@ public class RinexObservationLoader {
     public RinexObservationLoader(final String supportedNames,
                        final DataProvidersManager dataProvidersManager,
                        final TimeScales timeScales) {
-        observationDataSets = new ArrayList<>();
+        observationDataSets         = new ArrayList<>();
+        observationDataSetsConsumer = observationDataSets::add;
+        this.timeScales = timeScales;
+        dataProvidersManager.feed(supportedNames, new Parser());
+    }
+
+    /**
+     * Create a RINEX loader/parser providing observations to a consumer.
+     *
+     * <p>
+     * This constructor is used when the rinex files are managed by the given
+     * {@code dataProvidersManager}. Observations are not stored, they are
+     * provided to the consumer as soon as they are parsed, in file order,
+     * so {@link #getObservationDataSets()} always returns an empty list.
+     * </p>
+     * @param supportedNames regular expression for supported files names
+     * @param dataProvidersManager provides access to auxiliary data.
+     * @param timeScales the set of time scales to use when parsing dates.
+     * @param consumer consumer for parsed observations
+     * @since 11.1
+     */
+    public RinexObservationLoader(final String supportedNames,
+                                  final DataProvidersManager dataProvidersManager,
+                                  final TimeScales timeScales,
+                                  final Consumer<ObservationDataSet> consumer) {
+        observationDataSets         = Collections.emptyList();
+        observationDataSetsConsumer = consumer;
         this.timeScales = timeScales;
         dataProvidersManager.feed(supportedNames, new Parser());
     }
@@ -173,12 +220,45 @@ public class RinexObservationLoader {
      * @since 10.1
      */
     public RinexObservationLoader(final DataSource source, final TimeScales timeScales) {
+        this.timeScales             = timeScales;
+        observationDataSets         = new ArrayList<>();
+        observationDataSetsConsumer = observationDataSets::add;
+        load(source);
+    }
+
+    /**
+     * Loads RINEX from the given source, providing observations to a consumer.
+     * <p>
+     * Observations are not stored, they are provided to the consumer as soon
+     * as they are parsed, in file order, so {@link #getObservationDataSets()}
+     * always returns an empty list. If the source has been filtered by
+     * {@link HatanakaCompressFilter}, decompression is performed on the fly
+     * while parsing.
+     * </p>
+     *
+     * @param source source for the RINEX data
+     * @param timeScales the set of time scales to use when parsing dates.
+     * @param consumer consumer for parsed observations
+     * @since 11.1
+     */
+    public RinexObservationLoader(final DataSource source, final TimeScales timeScales,
+                                  final Consumer<ObservationDataSet> consumer) {
+        this.timeScales             = timeScales;
+        observationDataSets         = Collections.emptyList();
+        observationDataSetsConsumer = consumer;
+        load(source);
+    }
+
+    /** Load RINEX data from a source.
+     * @param source source for the RINEX data
+     * @since 11.1
+     */
+    private void load(final DataSource source) {
         try {
-            this.timeScales = timeScales;
-            observationDataSets = new ArrayList<>();
-            try (InputStream         is  = source.getOpener().openStreamOnce();
-                 BufferedInputStream bis = new BufferedInputStream(is)) {
-                new Parser().loadData(bis, source.getName());
+            // we use a characters stream so filtered sources are not converted back to bytes
+            try (Reader         r  = source.getOpener().openReaderOnce();
+                 BufferedReader br = new BufferedReader(r)) {
+                new Parser().loadData(br, source.getName());
             }
         } catch (IOException ioe) {
             throw new OrekitException(ioe, new DummyLocalizable(ioe.getMessage()));
@@ -186,6 +266,9 @@ public class RinexObservationLoader {
     }
 
     /** Get parsed rinex observations data sets.
+     * <p>
+     * The list is always empty if observations have been provided to a consumer.
+     * </p>
      * @return unmodifiable view of parsed rinex observations
      * @since 9.3
      */
@@ -225,6 +308,20 @@ public class RinexObservationLoader {
             throws IOException, OrekitException {
 
             try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+                loadData(reader, fileName);
+            }
+        }
+
+        /** Load data from a characters stream.
+         * @param input reader for the data (will be closed at the end)
+         * @param fileName name of the file (or zip entry)
+         * @exception IOException if data can't be read
+         * @since 11.1
+         */
+        private void loadData(final BufferedReader input, final String fileName)
+            throws IOException {
+
+            try (BufferedReader reader = input) {
 
                 this.name       = fileName;
                 this.line       = null;
@@ -640,8 +737,8 @@ public class RinexObservationLoader {
                                                                           lineNumber, name, line);
                                         }
 
-                                        observationDataSets.add(new ObservationDataSet(rinexHeader, satelliteSystemSat, prnNumber,
-                                                                                       tObs, rcvrClkOffset, observationData));
+                                        observationDataSetsConsumer.accept(new ObservationDataSet(rinexHeader, satelliteSystemSat, prnNumber,
+                                                                                                  tObs, rcvrClkOffset, observationData));
 
                                     }
                                 }
@@ -1070,8 +1167,8 @@ public class RinexObservationLoader {
                                                                                         parseInt(17 + j * 16, 1),
                                                                                         parseInt(18 + j * 16, 1)));
                                             }
-                                            observationDataSets.add(new ObservationDataSet(rinexHeader, satelliteSystemSat, prnNumber,
-                                                                                           tObs, rcvrClkOffset, observationData));
+                                            observationDataSetsConsumer.accept(new ObservationDataSet(rinexHeader, satelliteSystemSat, prnNumber,
+                                                                                                      tObs, rcvrClkOffset, observationData));
 
                                         }
                                     }
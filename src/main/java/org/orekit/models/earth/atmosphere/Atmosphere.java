@@ -19,8 +19,10 @@ package org.orekit.models.earth.atmosphere;
 import java.io.Serializable;
 
 import org.hipparchus.CalculusFieldElement;
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.frames.Frame;
 import org.orekit.frames.Transform;
 import org.orekit.time.AbsoluteDate;
@@ -48,6 +50,33 @@ public interface Atmosphere extends Serializable {
      */
     double getDensity(AbsoluteDate date, Vector3D position, Frame frame);
 
+    /** Get the local densities for a batch of positions.
+     * <p>
+     * Positions are evaluated in the order given. Models that memoize
+     * their date-dependent inputs (solar activity, Sun position...) compute
+     * them only once for consecutive entries sharing the exact same date,
+     * so grouping positions by date (for example a fleet of spacecraft
+     * at the same epoch) avoids computing these inputs again. Entries at
+     * different dates, even close ones, do not share any computation.
+     * </p>
+     * @param dates dates of the positions
+     * @param positions positions in frame
+     * @param frame the frame in which are defined the positions
+     * @return local densities (kg/m³)
+     * @since 11.1
+     */
+    default double[] getDensity(final AbsoluteDate[] dates, final Vector3D[] positions, final Frame frame) {
+        if (dates.length != positions.length) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     dates.length, positions.length);
+        }
+        final double[] densities = new double[dates.length];
+        for (int i = 0; i < dates.length; ++i) {
+            densities[i] = getDensity(dates[i], positions[i], frame);
+        }
+        return densities;
+    }
+
     /** Get the local density.
      * @param date current date
      * @param position current position in frame
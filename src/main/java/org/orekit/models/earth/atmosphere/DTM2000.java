@@ -178,6 +178,11 @@ public class DTM2000 implements Atmosphere {
     /** UTC time scale. */
     private final TimeScale utc;
 
+    /** Last computed date-dependent inputs.
+     * @since 11.1
+     */
+    private transient volatile DateInputs lastInputs;
+
     /** Simple constructor for independent computation.
      *
      * <p>This constructor uses the {@link DataContext#getDefault() default data context}.
@@ -352,8 +357,9 @@ public class DTM2000 implements Atmosphere {
                                       date, inputParams.getMinDate(), inputParams.getMaxDate());
         }
 
-        // compute day number in current year
-        final int day = date.getComponents(utc).getDate().getDayOfYear();
+        // get the inputs that depend only on date
+        final DateInputs inputs = getDateInputs(date);
+
         //position in ECEF so we only have to do the transform once
         final Frame ecef = earth.getBodyFrame();
         final Vector3D pEcef = frame.getTransformTo(ecef, date)
@@ -365,15 +371,14 @@ public class DTM2000 implements Atmosphere {
         final double lat = inBody.getLatitude();
 
         // compute local solar time
-        final Vector3D sunPos = sun.getPVCoordinates(date, ecef).getPosition();
+        final Vector3D sunPos = inputs.sunPos;
         final double hl = FastMath.PI + FastMath.atan2(
                 sunPos.getX() * pEcef.getY() - sunPos.getY() * pEcef.getX(),
                 sunPos.getX() * pEcef.getX() + sunPos.getY() * pEcef.getY());
 
         // get current solar activity data and compute
-        return getDensity(day, alti, lon, lat, hl, inputParams.getInstantFlux(date),
-                          inputParams.getMeanFlux(date), inputParams.getThreeHourlyKP(date),
-                          inputParams.get24HoursKp(date));
+        return getDensity(inputs.day, alti, lon, lat, hl,
+                          inputs.f, inputs.fbar, inputs.akp3, inputs.akp24);
 
     }
 
@@ -390,8 +395,9 @@ public class DTM2000 implements Atmosphere {
                                       dateD, inputParams.getMinDate(), inputParams.getMaxDate());
         }
 
-        // compute day number in current year
-        final int day = date.getComponents(utc).getDate().getDayOfYear();
+        // get the inputs that depend only on date
+        final DateInputs inputs = getDateInputs(dateD);
+
         // position in ECEF so we only have to do the transform once
         final Frame ecef = earth.getBodyFrame();
         final FieldVector3D<T> pEcef = frame.getTransformTo(ecef, date).transformPosition(position);
@@ -402,15 +408,33 @@ public class DTM2000 implements Atmosphere {
         final T lat = inBody.getLatitude();
 
         // compute local solar time
-        final Vector3D sunPos = sun.getPVCoordinates(dateD, ecef).getPosition();
+        final Vector3D sunPos = inputs.sunPos;
         final T y  = pEcef.getY().multiply(sunPos.getX()).subtract(pEcef.getX().multiply(sunPos.getY()));
         final T x  = pEcef.getX().multiply(sunPos.getX()).add(pEcef.getY().multiply(sunPos.getY()));
         final T hl = y.atan2(x).add(y.getPi());
 
         // get current solar activity data and compute
-        return getDensity(day, alti, lon, lat, hl, inputParams.getInstantFlux(dateD),
-                          inputParams.getMeanFlux(dateD), inputParams.getThreeHourlyKP(dateD),
-                          inputParams.get24HoursKp(dateD));
+        return getDensity(inputs.day, alti, lon, lat, hl,
+                          inputs.f, inputs.fbar, inputs.akp3, inputs.akp24);
+    }
+
+    /** Get the inputs that depend only on date.
+     * <p>
+     * The inputs computed at the last date are memoized, so several
+     * evaluations at the same date (for example for several positions)
+     * compute Sun position and solar activity only once.
+     * </p>
+     * @param date current date
+     * @return inputs at date
+     */
+    private DateInputs getDateInputs(final AbsoluteDate date) {
+        final DateInputs cached = lastInputs;
+        if (cached != null && cached.date.equals(date)) {
+            return cached;
+        }
+        final DateInputs computed = new DateInputs(date);
+        lastInputs = computed;
+        return computed;
     }
 
     /**
@@ -427,6 +451,45 @@ public class DTM2000 implements Atmosphere {
         return stream;
     }
 
+    /** Holder for the inputs that depend only on date. */
+    private class DateInputs {
+
+        /** Date. */
+        private final AbsoluteDate date;
+
+        /** Day of year. */
+        private final int day;
+
+        /** Sun position in Earth frame. */
+        private final Vector3D sunPos;
+
+        /** Instantaneous solar flux. */
+        private final double f;
+
+        /** Mean solar flux. */
+        private final double fbar;
+
+        /** 3 hours geomagnetic activity index. */
+        private final double akp3;
+
+        /** Mean of last 24 hours geomagnetic activity index. */
+        private final double akp24;
+
+        /** Simple constructor.
+         * @param date current date
+         */
+        DateInputs(final AbsoluteDate date) {
+            this.date   = date;
+            this.day    = date.getComponents(utc).getDate().getDayOfYear();
+            this.sunPos = sun.getPVCoordinates(date, earth.getBodyFrame()).getPosition();
+            this.f      = inputParams.getInstantFlux(date);
+            this.fbar   = inputParams.getMeanFlux(date);
+            this.akp3   = inputParams.getThreeHourlyKP(date);
+            this.akp24  = inputParams.get24HoursKp(date);
+        }
+
+    }
+
     /** Local holder for intermediate results ensuring the model is reentrant. */
     private static class Computation {
 
@@ -180,6 +180,11 @@ public class JB2008 implements Atmosphere {
     /** UTC time scale. */
     private final TimeScale utc;
 
+    /** Last computed date-dependent inputs.
+     * @since 11.1
+     */
+    private transient volatile DateInputs lastInputs;
+
     /** Constructor with space environment information for internal computation.
      *
      * <p>This method uses the {@link DataContext#getDefault() default data context}.
@@ -1210,27 +1215,18 @@ public class JB2008 implements Atmosphere {
                                       date, inputParams.getMinDate(), inputParams.getMaxDate());
         }
 
-        // compute MJD date
-        final DateTimeComponents dt = date.getComponents(utc);
-        final double dateMJD = dt.getDate().getMJD() +
-                dt.getTime().getSecondsInLocalDay() / Constants.JULIAN_DAY;
+        // get the inputs that depend only on date (MJD date, sun position, solar activity)
+        final DateInputs inputs = getDateInputs(date);
 
         // compute geodetic position
         final GeodeticPoint inBody = earth.transform(position, frame, date);
 
-        // compute sun position
-        final Frame ecef = earth.getBodyFrame();
-        final Vector3D sunPos = sun.getPVCoordinates(date, ecef).getPosition();
-        final GeodeticPoint sunInBody = earth.transform(sunPos, ecef, date);
-
-        return getDensity(dateMJD,
-                          sunInBody.getLongitude(), sunInBody.getLatitude(),
+        return getDensity(inputs.dateMJD,
+                          inputs.sunInBody.getLongitude(), inputs.sunInBody.getLatitude(),
                           inBody.getLongitude(), inBody.getLatitude(), inBody.getAltitude(),
-                          inputParams.getF10(date), inputParams.getF10B(date),
-                          inputParams.getS10(date), inputParams.getS10B(date),
-                          inputParams.getXM10(date), inputParams.getXM10B(date),
-                          inputParams.getY10(date), inputParams.getY10B(date),
-                          inputParams.getDSTDTC(date));
+                          inputs.f10, inputs.f10B, inputs.s10, inputs.s10B,
+                          inputs.xm10, inputs.xm10B, inputs.y10, inputs.y10B,
+                          inputs.dstdtc);
 
     }
 
@@ -1259,20 +1255,104 @@ public class JB2008 implements Atmosphere {
         // compute geodetic position (km and °)
         final FieldGeodeticPoint<T> inBody = earth.transform(position, frame, date);
 
+        // get the inputs that depend only on date (sun position, solar activity)
+        final DateInputs inputs = getDateInputs(dateD);
+
         // compute sun position
         final Frame ecef = earth.getBodyFrame();
-        final FieldVector3D<T> sunPos = new FieldVector3D<>(date.getField(),
-                        sun.getPVCoordinates(dateD, ecef).getPosition());
+        final FieldVector3D<T> sunPos = new FieldVector3D<>(date.getField(), inputs.sunPos);
         final FieldGeodeticPoint<T> sunInBody = earth.transform(sunPos, ecef, date);
 
         return getDensity(dateMJD,
                           sunInBody.getLongitude(), sunInBody.getLatitude(),
                           inBody.getLongitude(), inBody.getLatitude(), inBody.getAltitude(),
-                          inputParams.getF10(dateD), inputParams.getF10B(dateD),
-                          inputParams.getS10(dateD), inputParams.getS10B(dateD),
-                          inputParams.getXM10(dateD), inputParams.getXM10B(dateD),
-                          inputParams.getY10(dateD), inputParams.getY10B(dateD),
-                          inputParams.getDSTDTC(dateD));
+                          inputs.f10, inputs.f10B, inputs.s10, inputs.s10B,
+                          inputs.xm10, inputs.xm10B, inputs.y10, inputs.y10B,
+                          inputs.dstdtc);
+
+    }
+
+    /** Get the inputs that depend only on date.
+     * <p>
+     * The inputs computed at the last date are memoized, so several
+     * evaluations at the same date (for example for several positions)
+     * compute Sun position and solar activity only once.
+     * </p>
+     * @param date current date
+     * @return inputs at date
+     */
+    private DateInputs getDateInputs(final AbsoluteDate date) {
+        final DateInputs cached = lastInputs;
+        if (cached != null && cached.date.equals(date)) {
+            return cached;
+        }
+        final DateInputs computed = new DateInputs(date);
+        lastInputs = computed;
+        return computed;
+    }
+
+    /** Holder for the inputs that depend only on date. */
+    private class DateInputs {
+
+        /** Date. */
+        private final AbsoluteDate date;
+
+        /** Date as Modified Julian Date. */
+        private final double dateMJD;
+
+        /** Sun position in Earth frame. */
+        private final Vector3D sunPos;
+
+        /** Sun geodetic point. */
+        private final GeodeticPoint sunInBody;
+
+        /** 10.7-cm Solar flux. */
+        private final double f10;
+
+        /** 10.7-cm Solar Flux, averaged 81-day centered on the input time. */
+        private final double f10B;
+
+        /** EUV index. */
+        private final double s10;
+
+        /** EUV 81-day averaged centered index. */
+        private final double s10B;
+
+        /** MG2 index scaled to F10. */
+        private final double xm10;
+
+        /** MG2 81-day average centered index. */
+        private final double xm10B;
+
+        /** Solar X-Ray &amp; Lya index scaled to F10. */
+        private final double y10;
+
+        /** Solar X-Ray &amp; Lya 81-day average centered index. */
+        private final double y10B;
+
+        /** Temperature change computed from Dst index. */
+        private final double dstdtc;
+
+        /** Simple constructor.
+         * @param date current date
+         */
+        DateInputs(final AbsoluteDate date) {
+            final DateTimeComponents dt = date.getComponents(utc);
+            final Frame ecef = earth.getBodyFrame();
+            this.date      = date;
+            this.dateMJD   = dt.getDate().getMJD() + dt.getTime().getSecondsInLocalDay() / Constants.JULIAN_DAY;
+            this.sunPos    = sun.getPVCoordinates(date, ecef).getPosition();
+            this.sunInBody = earth.transform(sunPos, ecef, date);
+            this.f10       = inputParams.getF10(date);
+            this.f10B      = inputParams.getF10B(date);
+            this.s10       = inputParams.getS10(date);
+            this.s10B      = inputParams.getS10B(date);
+            this.xm10      = inputParams.getXM10(date);
+            this.xm10B     = inputParams.getXM10B(date);
+            this.y10       = inputParams.getY10(date);
+            this.y10B      = inputParams.getY10B(date);
+            this.dstdtc    = inputParams.getDSTDTC(date);
+        }
 
     }
 
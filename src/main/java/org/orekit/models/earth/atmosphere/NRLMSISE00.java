@@ -1018,6 +1018,11 @@ public class NRLMSISE00 implements Atmosphere {
     /** UT time scale. */
     private final TimeScale ut;
 
+    /** Last computed date-dependent inputs.
+     * @since 11.1
+     */
+    private transient volatile DateInputs lastInputs;
+
     /** Constructor.
      * <p>
      * The model is constructed with all switches set to 1.
@@ -1158,10 +1163,8 @@ public class NRLMSISE00 implements Atmosphere {
                                       date, inputParams.getMinDate(), inputParams.getMaxDate());
         }
 
-        // compute day number in current year and the seconds within the day
-        final DateTimeComponents dtc = date.getComponents(ut);
-        final int    doy = dtc.getDate().getDayOfYear();
-        final double sec = dtc.getTime().getSecondsInLocalDay();
+        // get the inputs that depend only on date
+        final DateInputs inputs = getDateInputs(date, frame);
 
         // compute geodetic position (km and °)
         final GeodeticPoint inBody = earth.transform(position, frame, date);
@@ -1170,11 +1173,11 @@ public class NRLMSISE00 implements Atmosphere {
         final double lat = FastMath.toDegrees(inBody.getLatitude());
 
         // compute local solar time
-        final double lst = localSolarTime(date, position, frame);
+        final double lst = localSolarTime(inputs.sunPos, position);
 
         // get solar activity data and compute
-        final Output out = new Output(doy, sec, lat, lon, lst, inputParams.getAverageFlux(date),
-                                      inputParams.getDailyFlux(date), inputParams.getAp(date));
+        final Output out = new Output(inputs.doy, inputs.sec, lat, lon, lst,
+                                      inputs.averageFlux, inputs.dailyFlux, inputs.ap);
         out.gtd7d(alt);
 
         // return the local density
@@ -1194,10 +1197,11 @@ public class NRLMSISE00 implements Atmosphere {
                                       dateD, inputParams.getMinDate(), inputParams.getMaxDate());
         }
 
-        // compute day number in current year and the seconds within the day
-        final DateTimeComponents dtc = dateD.getComponents(ut);
-        final int    doy = dtc.getDate().getDayOfYear();
-        final T sec = date.durationFrom(new AbsoluteDate(dtc.getDate(), TimeComponents.H00, ut));
+        // get the inputs that depend only on date
+        final DateInputs inputs = getDateInputs(dateD, frame);
+
+        // compute the seconds within the day
+        final T sec = date.durationFrom(inputs.dayStart);
 
         // compute geodetic position (km and °)
         final FieldGeodeticPoint<T> inBody = earth.transform(position, frame, date);
@@ -1206,12 +1210,11 @@ public class NRLMSISE00 implements Atmosphere {
         final T lat = FastMath.toDegrees(inBody.getLatitude());
 
         // compute local solar time
-        final T lst = localSolarTime(dateD, position, frame);
+        final T lst = localSolarTime(inputs.sunPos, position);
 
         // get solar activity data and compute
-        final FieldOutput<T> out = new FieldOutput<>(doy, sec, lat, lon, lst,
-                                                     inputParams.getAverageFlux(dateD),
-                                                     inputParams.getDailyFlux(dateD), inputParams.getAp(dateD));
+        final FieldOutput<T> out = new FieldOutput<>(inputs.doy, sec, lat, lon, lst,
+                                                     inputs.averageFlux, inputs.dailyFlux, inputs.ap);
         out.gtd7d(alt);
 
         // return the local density
@@ -1219,16 +1222,39 @@ public class NRLMSISE00 implements Atmosphere {
 
     }
 
-    /** Get local solar time.
+    /** Get the inputs that depend only on date.
+     * <p>
+     * The inputs computed at the last date are memoized, so several
+     * evaluations at the same date (for example for several positions)
+     * compute Sun position and solar activity only once. If only the
+     * frame changes, solar activity is reused and only Sun position
+     * is computed again.
+     * </p>
      * @param date current date
-     * @param position current position in frame
      * @param frame the frame in which is defined the position
+     * @return inputs at date
+     */
+    private DateInputs getDateInputs(final AbsoluteDate date, final Frame frame) {
+        final DateInputs cached = lastInputs;
+        final DateInputs computed;
+        if (cached != null && cached.date.equals(date)) {
+            if (cached.frame == frame) {
+                return cached;
+            }
+            computed = new DateInputs(cached, frame);
+        } else {
+            computed = new DateInputs(date, frame);
+        }
+        lastInputs = computed;
+        return computed;
+    }
+
+    /** Get local solar time.
+     * @param sunPos Sun position in the same frame as position
+     * @param position current position in frame
      * @return the local solar time (hour in [0, 24[)
      */
-    private double localSolarTime(final AbsoluteDate date,
-                                  final Vector3D position,
-                                  final Frame frame) {
-        final Vector3D sunPos = sun.getPVCoordinates(date, frame).getPosition();
+    private double localSolarTime(final Vector3D sunPos, final Vector3D position) {
         final double lst = FastMath.PI + FastMath.atan2(
                 sunPos.getX() * position.getY() - sunPos.getY() * position.getX(),
                 sunPos.getX() * position.getX() + sunPos.getY() * position.getY());
@@ -1236,16 +1262,13 @@ public class NRLMSISE00 implements Atmosphere {
     }
 
     /** Get local solar time.
-     * @param date current date
+     * @param sunPos Sun position in the same frame as position
      * @param position current position in frame
-     * @param frame the frame in which is defined the position
      * @param <T> type of the filed elements
      * @return the local solar time (hour in [0, 24[)
      */
-    private <T extends CalculusFieldElement<T>> T localSolarTime(final AbsoluteDate date,
-                                                             final FieldVector3D<T> position,
-                                                             final Frame frame) {
-        final Vector3D sunPos = sun.getPVCoordinates(date, frame).getPosition();
+    private <T extends CalculusFieldElement<T>> T localSolarTime(final Vector3D sunPos,
+                                                             final FieldVector3D<T> position) {
         final T y  = position.getY().multiply(sunPos.getX()).subtract(position.getX().multiply(sunPos.getY()));
         final T x  = position.getX().multiply(sunPos.getX()).add(position.getY().multiply(sunPos.getY()));
         final T hl = y.atan2(x).add(y.getPi());
@@ -1254,6 +1277,71 @@ public class NRLMSISE00 implements Atmosphere {
 
     }
 
+    /** Holder for the inputs that depend only on date. */
+    private class DateInputs {
+
+        /** Date. */
+        private final AbsoluteDate date;
+
+        /** Frame in which Sun position is computed. */
+        private final Frame frame;
+
+        /** Start of the day. */
+        private final AbsoluteDate dayStart;
+
+        /** Day of year. */
+        private final int doy;
+
+        /** Seconds within the day. */
+        private final double sec;
+
+        /** Sun position in frame. */
+        private final Vector3D sunPos;
+
+        /** 81 day average of F10.7 flux. */
+        private final double averageFlux;
+
+        /** Daily F10.7 flux for previous day. */
+        private final double dailyFlux;
+
+        /** Magnetic index array. */
+        private final double[] ap;
+
+        /** Simple constructor.
+         * @param date current date
+         * @param frame frame in which Sun position is computed
+         */
+        DateInputs(final AbsoluteDate date, final Frame frame) {
+            final DateTimeComponents dtc = date.getComponents(ut);
+            this.date        = date;
+            this.frame       = frame;
+            this.dayStart    = new AbsoluteDate(dtc.getDate(), TimeComponents.H00, ut);
+            this.doy         = dtc.getDate().getDayOfYear();
+            this.sec         = dtc.getTime().getSecondsInLocalDay();
+            this.sunPos      = sun.getPVCoordinates(date, frame).getPosition();
+            this.averageFlux = inputParams.getAverageFlux(date);
+            this.dailyFlux   = inputParams.getDailyFlux(date);
+            this.ap          = inputParams.getAp(date);
+        }
+
+        /** Constructor reusing the inputs computed in another frame.
+         * @param other inputs computed at the same date in another frame
+         * @param frame frame in which Sun position is computed
+         */
+        DateInputs(final DateInputs other, final Frame frame) {
+            this.date        = other.date;
+            this.frame       = frame;
+            this.dayStart    = other.dayStart;
+            this.doy         = other.doy;
+            this.sec         = other.sec;
+            this.sunPos      = sun.getPVCoordinates(date, frame).getPosition();
+            this.averageFlux = other.averageFlux;
+            this.dailyFlux   = other.dailyFlux;
+            this.ap          = other.ap;
+        }
+
+    }
+
     /**
      * This class is a placeholder for the computed densities and temperatures.
      * <p>
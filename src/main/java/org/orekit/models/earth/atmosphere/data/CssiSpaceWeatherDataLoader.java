@@ -29,7 +29,7 @@ import java.util.SortedSet;
 import java.util.TreeSet;
 
 import org.hipparchus.exception.Localizable;
-import org.orekit.data.DataLoader;
+import org.orekit.data.ConcurrentDataLoader;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.time.AbsoluteDate;
@@ -48,11 +48,16 @@ import org.orekit.time.TimeStamped;
  * mentioned in the <a href="http://celestrak.com/SpaceData/SpaceWx-format.php">
  * Celestrak space weather data documentation</a>.
  * </p>
+ * <p>
+ * Several files can be parsed concurrently, if an {@link
+ * org.orekit.data.DataProvidersManager#setExecutorService(java.util.concurrent.ExecutorService)
+ * executor service} is set up in the data providers manager.
+ * </p>
  *
  * @author Clément Jonglez
  * @since 10.2
  */
-public class CssiSpaceWeatherDataLoader implements DataLoader {
+public class CssiSpaceWeatherDataLoader implements ConcurrentDataLoader<CssiSpaceWeatherDataLoader.ParsedFile> {
 
     /** Helper class to parse line data and to raise exceptions if needed. */
     public static class LineReader {
@@ -429,9 +434,12 @@ public class CssiSpaceWeatherDataLoader implements DataLoader {
     }
 
     /** {@inheritDoc} */
-    public void loadData(final InputStream input, final String name)
+    @Override
+    public ParsedFile parse(final InputStream input, final String name)
             throws IOException, ParseException, OrekitException {
 
+        final ParsedFile parsed = new ParsedFile();
+
         // read the data
         int lineNumber = 0;
         String line = null;
@@ -447,11 +455,13 @@ public class CssiSpaceWeatherDataLoader implements DataLoader {
                 if (line.length() > 0) {
 
                     if (line.equals("BEGIN DAILY_PREDICTED")) {
-                        lastObservedDate = set.last().getDate();
+                        parsed.observedMarker = true;
+                        parsed.lastObservedDate = parsed.set.isEmpty() ? null : parsed.set.last().getDate();
                     }
 
                     if (line.equals("BEGIN MONTHLY_FIT")) {
-                        lastDailyPredictedDate = set.last().getDate();
+                        parsed.dailyPredictedMarker = true;
+                        parsed.lastDailyPredictedDate = parsed.set.isEmpty() ? null : parsed.set.last().getDate();
                     }
 
                     if (line.length() == 130 && isNumeric(line.substring(0, 4))) {
@@ -461,7 +471,7 @@ public class CssiSpaceWeatherDataLoader implements DataLoader {
                         final int day = Integer.parseInt(line.substring(8, 10));
                         final AbsoluteDate date = new AbsoluteDate(year, month, day, this.utc);
 
-                        if (!set.contains(date)) { // Checking if entry doesn't exist yet
+                        if (!parsed.set.contains(date)) { // Checking if entry doesn't exist yet
                             final double[] threeHourlyKp = new double[8];
                             /**
                              * Kp is written as an integer where a unit equals 0.1, the conversion is
@@ -492,7 +502,7 @@ public class CssiSpaceWeatherDataLoader implements DataLoader {
 
                             final double lst81Obs = Double.parseDouble(line.substring(125, 130));
 
-                            set.add(new LineParameters(date, threeHourlyKp, kpSum, threeHourlyAp, apAvg, f107Adj,
+                            parsed.set.add(new LineParameters(date, threeHourlyKp, kpSum, threeHourlyAp, apAvg, f107Adj,
                                     fluxQualifier, ctr81Adj, lst81Adj, f107Obs, ctr81Obs, lst81Obs));
                         }
                     }
@@ -502,6 +512,25 @@ public class CssiSpaceWeatherDataLoader implements DataLoader {
             throw new OrekitException(nfe, OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE, lineNumber, name, line);
         }
 
+        return parsed;
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void merge(final ParsedFile parsed, final String name) {
+
+        // markers dates depend on data loaded from previous files
+        if (parsed.observedMarker) {
+            lastObservedDate = latest(parsed.lastObservedDate);
+        }
+        if (parsed.dailyPredictedMarker) {
+            lastDailyPredictedDate = latest(parsed.lastDailyPredictedDate);
+        }
+
+        // entries already loaded from previous files are preserved, as adding does not replace
+        set.addAll(parsed.set);
+
         try {
             firstDate = set.first().getDate();
             lastDate = set.last().getDate();
@@ -511,8 +540,52 @@ public class CssiSpaceWeatherDataLoader implements DataLoader {
 
     }
 
+    /** Get the latest date between the last loaded entry and a parsed date.
+     * @param parsedDate date parsed in current file (may be null)
+     * @return latest date
+     */
+    private AbsoluteDate latest(final AbsoluteDate parsedDate) {
+        if (parsedDate == null) {
+            // this throws NoSuchElementException if set is empty, as in sequential parsing
+            return set.last().getDate();
+        } else if (set.isEmpty() || parsedDate.compareTo(set.last().getDate()) > 0) {
+            return parsedDate;
+        } else {
+            return set.last().getDate();
+        }
+    }
+
     /** {@inheritDoc} */
     public boolean stillAcceptsData() {
         return true;
     }
+
+    /** Container for data parsed from one file.
+     * @since 11.1
+     */
+    static class ParsedFile {
+
+        /** Data set. */
+        private final SortedSet<TimeStamped> set;
+
+        /** Indicator for daily predicted data start marker. */
+        private boolean observedMarker;
+
+        /** Date of last data in file before the prediction starts (null if none). */
+        private AbsoluteDate lastObservedDate;
+
+        /** Indicator for monthly fit data start marker. */
+        private boolean dailyPredictedMarker;
+
+        /** Date of last daily prediction in file before the monthly prediction starts (null if none). */
+        private AbsoluteDate lastDailyPredictedDate;
+
+        /** Simple constructor.
+         */
+        ParsedFile() {
+            this.set = new TreeSet<>(new ChronologicalComparator());
+        }
+
+    }
+
 }
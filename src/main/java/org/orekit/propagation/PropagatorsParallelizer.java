@@ -19,16 +19,23 @@ package org.orekit.propagation;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.util.FastMath;
 import org.orekit.errors.OrekitException;
+import org.orekit.propagation.numerical.NumericalPropagator;
 import org.orekit.propagation.sampling.MultiSatStepHandler;
 import org.orekit.propagation.sampling.OrekitStepHandler;
 import org.orekit.propagation.sampling.OrekitStepInterpolator;
@@ -53,6 +60,24 @@ import org.orekit.time.AbsoluteDate;
  * handlers that are preserved.
  * </p>
  * <p>
+ * By default, a new fixed thread pool with one thread per propagator is created
+ * at each call to {@link #propagate(AbsoluteDate, AbsoluteDate) propagate} and
+ * each step is handed off to the global handler through a rendezvous. When
+ * thousands of propagators are run, a caller-supplied {@link ExecutorService}
+ * can be used instead (for example a cached thread pool, or on recent Java
+ * versions an executor creating one virtual thread per task), and steps can be
+ * buffered so that propagators are allowed to compute a few steps ahead of the
+ * global handler. Buffering is only used for {@link NumericalPropagator numerical
+ * propagators}, whose step interpolators are independent of the propagator once
+ * handed off. The interpolators of analytical and semi-analytical propagators rely
+ * on the mutable state of their propagator, so these propagators are always held at
+ * the end of each step until the global handler has finished using their interpolator,
+ * regardless of the configured capacity. As all propagators block waiting for the global handler, the
+ * executor <em>must</em> be able to run all propagators concurrently, so fixed
+ * thread pools with fewer threads than propagators cannot be used. The caller
+ * remains responsible for shutting down the executors it provides.
+ * </p>
+ * <p>
  * All propagators remain independent of each other (they don't even know
  * they are managed by the parallelizer) and advance their simulation
  * time following their own algorithm. The parallelizer will block them
@@ -109,15 +134,53 @@ public class PropagatorsParallelizer {
     /** Global step handler. */
     private final MultiSatStepHandler globalHandler;
 
+    /** Executor service for running propagators (null if a new one should be created for each propagation). */
+    private final ExecutorService executorService;
+
+    /** Number of steps each propagator may hand off before waiting for the global handler. */
+    private final int handOffCapacity;
+
     /** Simple constructor.
+     * <p>
+     * This constructor creates a new fixed thread pool for each propagation
+     * and hands off steps without buffering.
+     * </p>
      * @param propagators list of propagators to use
      * @param globalHandler global handler for managing all spacecrafts
      * simultaneously
      */
     public PropagatorsParallelizer(final List<Propagator> propagators,
                                    final MultiSatStepHandler globalHandler) {
-        this.propagators = propagators;
-        this.globalHandler = globalHandler;
+        this(propagators, globalHandler, null, 0);
+    }
+
+    /** Constructor with user-supplied executor service.
+     * <p>
+     * The executor service must be able to run all propagators concurrently.
+     * As for all executor services provided to Orekit, it is not shut down
+     * by the parallelizer, see {@link org.orekit.utils.ParallelTasks}.
+     * </p>
+     * @param propagators list of propagators to use
+     * @param globalHandler global handler for managing all spacecrafts
+     * simultaneously
+     * @param executorService executor service for running the propagators
+     * (if null, a new fixed thread pool will be created for each propagation)
+     * @param handOffCapacity number of steps each propagator may compute ahead
+     * of the global handler (0 means each step is handed off through a rendezvous),
+     * only used for {@link NumericalPropagator numerical propagators}
+     * @since 11.1
+     */
+    public PropagatorsParallelizer(final List<Propagator> propagators,
+                                   final MultiSatStepHandler globalHandler,
+                                   final ExecutorService executorService,
+                                   final int handOffCapacity) {
+        if (handOffCapacity < 0) {
+            throw new OrekitException(LocalizedCoreFormats.NUMBER_TOO_SMALL, handOffCapacity, 0);
+        }
+        this.propagators     = propagators;
+        this.globalHandler   = globalHandler;
+        this.executorService = executorService;
+        this.handOffCapacity = handOffCapacity;
     }
 
     /** Get an unmodifiable list of the underlying mono-satellite propagators.
@@ -143,70 +206,88 @@ public class PropagatorsParallelizer {
         final double sign = FastMath.copySign(1.0, target.durationFrom(start));
 
         // start all propagators in concurrent threads
-        final ExecutorService            executorService = Executors.newFixedThreadPool(propagators.size());
-        final List<PropagatorMonitoring> monitors        = new ArrayList<>(propagators.size());
+        final ExecutorService            executor = executorService == null ?
+                                                    Executors.newFixedThreadPool(propagators.size()) :
+                                                    executorService;
+        final List<PropagatorMonitoring> monitors = new ArrayList<>(propagators.size());
         for (final Propagator propagator : propagators) {
-            final PropagatorMonitoring monitor = new PropagatorMonitoring(propagator, start, target, executorService);
-            monitor.waitFirstStepCompletion();
-            monitors.add(monitor);
+            monitors.add(new PropagatorMonitoring(propagator, start, target, executor, handOffCapacity));
         }
 
-        // main loop
         AbsoluteDate previousDate = start;
-        final List<SpacecraftState> initialStates = new ArrayList<>(monitors.size());
-        for (final PropagatorMonitoring monitor : monitors) {
-            initialStates.add(monitor.parameters.initialState);
-        }
-        globalHandler.init(initialStates, target);
-        for (boolean isLast = false; !isLast;) {
-
-            // select the earliest ending propagator, according to propagation direction
-            PropagatorMonitoring selected = null;
-            AbsoluteDate selectedStepEnd  = null;
-            for (PropagatorMonitoring monitor : monitors) {
-                final AbsoluteDate stepEnd = monitor.parameters.interpolator.getCurrentState().getDate();
-                if (selected == null || sign * selectedStepEnd.durationFrom(stepEnd) > 0) {
-                    selected        = monitor;
-                    selectedStepEnd = stepEnd;
-                }
-            }
+        try {
 
-            // restrict steps to a common time range
-            for (PropagatorMonitoring monitor : monitors) {
-                final OrekitStepInterpolator interpolator  = monitor.parameters.interpolator;
-                final SpacecraftState        previousState = interpolator.getInterpolatedState(previousDate);
-                final SpacecraftState        currentState  = interpolator.getInterpolatedState(selectedStepEnd);
-                monitor.restricted                         = interpolator.restrictStep(previousState, currentState);
+            for (final PropagatorMonitoring monitor : monitors) {
+                monitor.waitFirstStepCompletion();
             }
 
-            // handle all states at once
-            final List<OrekitStepInterpolator> interpolators = new ArrayList<>(monitors.size());
+            // main loop
+            final List<SpacecraftState> initialStates = new ArrayList<>(monitors.size());
             for (final PropagatorMonitoring monitor : monitors) {
-                interpolators.add(monitor.restricted);
+                initialStates.add(monitor.parameters.initialState);
             }
-            globalHandler.handleStep(interpolators);
+            globalHandler.init(initialStates, target);
+            for (boolean isLast = false; !isLast;) {
+
+                // select the earliest ending propagator, according to propagation direction
+                PropagatorMonitoring selected = null;
+                AbsoluteDate selectedStepEnd  = null;
+                for (PropagatorMonitoring monitor : monitors) {
+                    final AbsoluteDate stepEnd = monitor.parameters.interpolator.getCurrentState().getDate();
+                    if (selected == null || sign * selectedStepEnd.durationFrom(stepEnd) > 0) {
+                        selected        = monitor;
+                        selectedStepEnd = stepEnd;
+                    }
+                }
 
-            if (selected.parameters.finalState == null) {
-                // step handler can still provide new results
-                // this will wait until either handleStep or finish are called
-                selected.retrieveNextParameters();
-            } else {
-                // this was the last step
-                isLast = true;
-            }
+                // restrict steps to a common time range
+                for (PropagatorMonitoring monitor : monitors) {
+                    final OrekitStepInterpolator interpolator  = monitor.parameters.interpolator;
+                    final SpacecraftState        previousState = interpolator.getInterpolatedState(previousDate);
+                    final SpacecraftState        currentState  = interpolator.getInterpolatedState(selectedStepEnd);
+                    monitor.restricted                         = interpolator.restrictStep(previousState, currentState);
+                }
 
-            previousDate = selectedStepEnd;
+                // handle all states at once
+                final List<OrekitStepInterpolator> interpolators = new ArrayList<>(monitors.size());
+                for (final PropagatorMonitoring monitor : monitors) {
+                    interpolators.add(monitor.restricted);
+                }
+                globalHandler.handleStep(interpolators);
+
+                if (selected.parameters.finalState == null) {
+                    // step handler can still provide new results
+                    // this will wait until either handleStep or finish are called
+                    selected.retrieveNextParameters();
+                } else {
+                    // this was the last step
+                    isLast = true;
+                }
 
-        }
+                previousDate = selectedStepEnd;
 
-        // stop all remaining propagators
-        executorService.shutdownNow();
+            }
+
+        } finally {
+            // stop all remaining propagators, waiting until they
+            // do not use their interpolators anymore
+            for (final PropagatorMonitoring monitor : monitors) {
+                monitor.stop();
+            }
+            if (executorService == null) {
+                executor.shutdownNow();
+            }
+        }
 
         // extract the final states
         final List<SpacecraftState> finalStates = new ArrayList<>(monitors.size());
         for (PropagatorMonitoring monitor : monitors) {
             try {
                 finalStates.add(monitor.future.get());
+            } catch (CancellationException ce) {
+                // this propagator was intentionally stopped,
+                // we retrieve the final state from the last available interpolator
+                finalStates.add(monitor.parameters.interpolator.getInterpolatedState(previousDate));
             } catch (InterruptedException | ExecutionException e) {
 
                 // sort out if exception was intentional or not
@@ -281,14 +362,20 @@ public class PropagatorsParallelizer {
         private ParametersContainer previous;
 
         /** Queue for passing step handling parameters. */
-        private final SynchronousQueue<ParametersContainer> queue;
+        private final BlockingQueue<ParametersContainer> queue;
+
+        /** Permits for continuing propagation (null if propagator can run ahead). */
+        private final Semaphore release;
 
         /** Simple constructor.
          * @param queue queue for passing step handling parameters
+         * @param release permits for continuing propagation once the parallelizer
+         * has finished using a step interpolator (null if propagator can run ahead)
          */
-        MultiplePropagatorsHandler(final SynchronousQueue<ParametersContainer> queue) {
+        MultiplePropagatorsHandler(final BlockingQueue<ParametersContainer> queue, final Semaphore release) {
             this.previous = new ParametersContainer(null, null, null);
             this.queue    = queue;
+            this.release  = release;
         }
 
         /** Hand off container to parallelizer.
@@ -298,6 +385,10 @@ public class PropagatorsParallelizer {
             try {
                 previous = container;
                 queue.put(previous);
+                if (release != null && container.interpolator != null && container.finalState == null) {
+                    // wait until the parallelizer does not use the interpolator anymore
+                    release.acquire();
+                }
             } catch (InterruptedException ie) {
                 // use a dedicated exception to stop thread almost gracefully
                 throw new PropagatorStoppingException(ie);
@@ -355,7 +446,16 @@ public class PropagatorsParallelizer {
     private static class PropagatorMonitoring {
 
         /** Queue for handing off step handler parameters. */
-        private final SynchronousQueue<ParametersContainer> queue;
+        private final BlockingQueue<ParametersContainer> queue;
+
+        /** Permits for letting propagator continue (null if propagator can run ahead). */
+        private final Semaphore release;
+
+        /** Indicator set when the propagation task starts, or when it is abandoned before starting. */
+        private final AtomicBoolean claimed;
+
+        /** Latch released when a started propagation task ends. */
+        private final CountDownLatch ended;
 
         /** Future for retrieving propagation return value. */
         private final Future<SpacecraftState> future;
@@ -371,19 +471,72 @@ public class PropagatorsParallelizer {
          * @param start start date from which orbit state should be propagated
          * @param target target date to which orbit state should be propagated
          * @param executorService service for running propagator
+         * @param handOffCapacity number of steps the propagator may compute ahead
+         * of the global handler (0 means each step is handed off through a rendezvous),
+         * ignored if the propagator interpolators depend on the propagator state
          */
         PropagatorMonitoring(final Propagator propagator, final AbsoluteDate start, final AbsoluteDate target,
-                             final ExecutorService executorService) {
+                             final ExecutorService executorService, final int handOffCapacity) {
 
             // set up queue for handing off step handler parameters synchronization
             // the main thread will let underlying propagators go forward
             // by consuming the step handling parameters they will put at each step
-            queue = new SynchronousQueue<>();
-            propagator.getMultiplexer().add(new MultiplePropagatorsHandler(queue));
+            // only numerical propagators interpolators are independent of their
+            // propagator, the other ones must not be used while the propagator runs
+            if (propagator instanceof NumericalPropagator) {
+                queue   = handOffCapacity == 0 ?
+                          new SynchronousQueue<>() :
+                          new ArrayBlockingQueue<>(handOffCapacity);
+                release = null;
+            } else {
+                queue   = new SynchronousQueue<>();
+                release = new Semaphore(0);
+            }
+            propagator.getMultiplexer().add(new MultiplePropagatorsHandler(queue, release));
 
             // start the propagator
-            future = executorService.submit(() -> propagator.propagate(start, target));
+            claimed = new AtomicBoolean(false);
+            ended   = new CountDownLatch(1);
+            future  = executorService.submit(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    // the parallelizer was stopped before this task started
+                    return null;
+                }
+                try {
+                    return propagator.propagate(start, target);
+                } finally {
+                    ended.countDown();
+                }
+            });
+
+        }
 
+        /** Stop the propagation task and wait until it has really ended.
+         * <p>
+         * Cancelling the future is not sufficient, as {@link Future#get()} throws
+         * {@link CancellationException} as soon as the future is cancelled, while
+         * the propagator may still be running and updating its interpolator.
+         * </p>
+         */
+        public void stop() {
+            if (claimed.compareAndSet(false, true)) {
+                // the task has not started yet, it will never run the propagator
+                future.cancel(false);
+            } else {
+                future.cancel(true);
+                boolean interrupted = false;
+                while (ended.getCount() > 0) {
+                    try {
+                        ended.await();
+                    } catch (InterruptedException ie) {
+                        // we must wait anyway, the interrupted status will be restored afterwards
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
         }
 
         /** Wait completion of first step.
@@ -403,11 +556,20 @@ public class PropagatorsParallelizer {
         /** Retrieve next step handling parameters.
          */
         public void retrieveNextParameters() {
+            if (release != null && parameters != null &&
+                parameters.interpolator != null && parameters.finalState == null) {
+                // we don't use the previous interpolator anymore, the propagator can continue
+                release.release();
+            }
             try {
                 ParametersContainer params = null;
                 while (params == null && !future.isDone()) {
                     params = queue.poll(MAX_WAIT, TimeUnit.MILLISECONDS);
                 }
+                if (params == null) {
+                    // the propagator may have completed after having buffered its last steps
+                    params = queue.poll();
+                }
                 if (params == null) {
                     // call Future.get just for the side effect of retrieving the exception
                     // in case the propagator ended due to an exception
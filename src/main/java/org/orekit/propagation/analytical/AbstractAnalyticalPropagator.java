@@ -20,8 +20,10 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.PriorityQueue;
+import java.util.Map;
 import java.util.Queue;
 
 import org.hipparchus.exception.MathRuntimeException;
@@ -58,6 +60,11 @@ import org.orekit.utils.TimeStampedPVCoordinates;
  */
 public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
 
+    /** Maximum number of states cached in one step.
+     * @since 11.1
+     */
+    private static final int MAX_CACHED_STATES = 4096;
+
     /** Provider for attitude computation. */
     private PVCoordinatesProvider pvProvider;
 
@@ -248,6 +255,10 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
 
                     // acknowledge event occurrence
                     final EventOccurrence occurrence = currentEvent.doEvent(eventState);
+
+                    // the event may have changed the model (for example attitude switches),
+                    // so states already computed in this step cannot be reused anymore
+                    clearCachedStates(interpolator);
                     final Action action = occurrence.getAction();
                     isLastStep = action == Action.STOP;
 
@@ -326,6 +337,16 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
 
     }
 
+    /** Clear the states cached in an interpolator.
+     * @param interpolator interpolator to clear
+     * @since 11.1
+     */
+    private void clearCachedStates(final OrekitStepInterpolator interpolator) {
+        if (interpolator instanceof BasicStepInterpolator) {
+            ((BasicStepInterpolator) interpolator).cache.clear();
+        }
+    }
+
     /** Get the mass.
      * @param date target date for the orbit
      * @return mass mass
@@ -473,7 +494,14 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
 
     }
 
-    /** Internal class for local propagation. */
+    /** Internal class for local propagation.
+     * <p>
+     * The interpolated states are cached, so when several event detectors
+     * sample the step at the same dates (which is the case for all detectors
+     * sharing the same max check interval, and for all detectors at step end),
+     * the underlying model is evaluated only once per date.
+     * </p>
+     */
     private class BasicStepInterpolator implements OrekitStepInterpolator {
 
         /** Previous state. */
@@ -485,6 +513,11 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
         /** Forward propagation indicator. */
         private final boolean forward;
 
+        /** Interpolated states cache, shared with restricted interpolators.
+         * @since 11.1
+         */
+        private final Map<AbsoluteDate, SpacecraftState> cache;
+
         /** Simple constructor.
          * @param isForward integration direction indicator
          * @param previousState start of the step
@@ -493,9 +526,24 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
         BasicStepInterpolator(final boolean isForward,
                               final SpacecraftState previousState,
                               final SpacecraftState currentState) {
+            this(isForward, previousState, currentState, new HashMap<>());
+        }
+
+        /** Simple constructor.
+         * @param isForward integration direction indicator
+         * @param previousState start of the step
+         * @param currentState end of the step
+         * @param cache interpolated states cache
+         * @since 11.1
+         */
+        private BasicStepInterpolator(final boolean isForward,
+                                      final SpacecraftState previousState,
+                                      final SpacecraftState currentState,
+                                      final Map<AbsoluteDate, SpacecraftState> cache) {
             this.forward         = isForward;
             this.previousState   = previousState;
             this.currentState    = currentState;
+            this.cache           = cache;
         }
 
         /** {@inheritDoc} */
@@ -528,11 +576,24 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
         @Override
         public SpacecraftState getInterpolatedState(final AbsoluteDate date) {
 
+            final SpacecraftState cached = cache.get(date);
+            if (cached != null) {
+                // the state has already been computed, typically by another event detector
+                return cached;
+            }
+
             // compute the basic spacecraft state
             final SpacecraftState basicState = basicPropagate(date);
 
             // add the additional states
-            return updateAdditionalStates(basicState);
+            final SpacecraftState state = updateAdditionalStates(basicState);
+
+            if (cache.size() >= MAX_CACHED_STATES) {
+                cache.clear();
+            }
+            cache.put(date, state);
+
+            return state;
 
         }
 
@@ -546,7 +607,7 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
         @Override
         public BasicStepInterpolator restrictStep(final SpacecraftState newPreviousState,
                                                   final SpacecraftState newCurrentState) {
-            return new BasicStepInterpolator(forward, newPreviousState, newCurrentState);
+            return new BasicStepInterpolator(forward, newPreviousState, newCurrentState, cache);
         }
 
     }
@@ -0,0 +1,331 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical.tle;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.annotation.DefaultDataContext;
+import org.orekit.attitudes.AttitudeProvider;
+import org.orekit.attitudes.InertialProvider;
+import org.orekit.data.DataContext;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.Frame;
+import org.orekit.propagation.Propagator;
+import org.orekit.time.AbsoluteDate;
+
+/** Batch propagator for large sets of TLE.
+ * <p>
+ * This class is intended for whole-catalog propagation, where thousands of TLE
+ * must be propagated to a common date or to a common grid of dates. It does not
+ * build any {@link org.orekit.propagation.SpacecraftState SpacecraftState},
+ * {@link org.orekit.orbits.Orbit Orbit} or {@link org.orekit.attitudes.Attitude Attitude}
+ * and writes position-velocity coordinates in TEME frame directly into caller-provided
+ * arrays.
+ * </p>
+ * <p>
+ * Each object is propagated using one underlying {@link SGP4} or {@link DeepSDP4}
+ * instance, selected as in {@link TLEPropagator#selectExtrapolator(TLE, org.orekit.frames.Frames)},
+ * and sharing its computation with {@link TLEPropagator#getPVCoordinates(AbsoluteDate)}.
+ * Results are therefore the same as the ones that would be obtained using
+ * {@link TLEPropagator#selectExtrapolator(TLE, org.orekit.frames.Frames)}.
+ * </p>
+ * <p>
+ * Coordinates are stored in arrays in object order, with position (resp. velocity)
+ * of object {@code k} at indices {@code 3k}, {@code 3k+1} and {@code 3k+2}. Positions
+ * are in meters and velocities in meters per second. If the model fails for some object
+ * (for example because eccentricity has become too large after decay), its coordinates
+ * are set to {@code NaN}, the other objects are still propagated.
+ * </p>
+ * <p>
+ * Propagation to one date can be done either sequentially or in parallel in a
+ * {@link ForkJoinPool}, splitting the catalog in chunks of objects. As the underlying
+ * propagators have an internal state, instances of this class are <em>not</em>
+ * thread-safe, i.e. different calls to the {@code propagate} methods should not be
+ * performed concurrently.
+ * </p>
+ * @see TLEPropagator
+ * @author agent
+ * @since 11.1
+ */
+public class TLEBatchPropagator {
+
+    /** Default number of objects below which a batch is not split for parallel propagation. */
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+
+    /** Underlying TLE. */
+    private final TLE[] tles;
+
+    /** TEME frame. */
+    private final Frame teme;
+
+    /** Underlying propagators. */
+    private final TLEPropagator[] propagators;
+
+    /** Number of objects below which a batch is not split for parallel propagation. */
+    private int chunkSize;
+
+    /** Simple constructor.
+     *
+     * <p>This constructor uses the {@link DataContext#getDefault() default data context}.
+     *
+     * @param tles TLE to propagate
+     * @see #TLEBatchPropagator(List, Frame)
+     */
+    @DefaultDataContext
+    public TLEBatchPropagator(final List<TLE> tles) {
+        this(tles, DataContext.getDefault().getFrames().getTEME());
+    }
+
+    /** Simple constructor.
+     * @param tles TLE to propagate
+     * @param teme the TEME frame to use for propagation
+     */
+    public TLEBatchPropagator(final List<TLE> tles, final Frame teme) {
+
+        final int n = tles.size();
+        this.tles        = tles.toArray(new TLE[n]);
+        this.teme        = teme;
+        this.propagators = new TLEPropagator[n];
+        this.chunkSize   = DEFAULT_CHUNK_SIZE;
+
+        final AttitudeProvider attitudeProvider = InertialProvider.of(teme);
+        for (int k = 0; k < n; ++k) {
+            propagators[k] = TLEPropagator.selectExtrapolator(this.tles[k], attitudeProvider,
+                                                              Propagator.DEFAULT_MASS, teme);
+        }
+
+    }
+
+    /** Get the number of objects.
+     * @return number of objects
+     */
+    public int getSize() {
+        return tles.length;
+    }
+
+    /** Get one of the underlying TLE.
+     * @param index index of the object
+     * @return TLE at specified index
+     */
+    public TLE getTLE(final int index) {
+        return tles[index];
+    }
+
+    /** Check if an object is propagated using the deep space model.
+     * @param index index of the object
+     * @return true if object is propagated using the SDP4 model
+     */
+    public boolean isDeepSpace(final int index) {
+        return propagators[index] instanceof DeepSDP4;
+    }
+
+    /** Get the TEME frame in which coordinates are computed.
+     * @return TEME frame
+     */
+    public Frame getFrame() {
+        return teme;
+    }
+
+    /** Set the number of objects below which a batch is not split for parallel propagation.
+     * @param chunkSize number of objects below which a batch is not split
+     * (default value is {@link #DEFAULT_CHUNK_SIZE})
+     */
+    public void setChunkSize(final int chunkSize) {
+        if (chunkSize < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, chunkSize, 1);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /** Get the number of objects below which a batch is not split for parallel propagation.
+     * @return number of objects below which a batch is not split
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /** Propagate all objects sequentially to a common date.
+     * @param date target date
+     * @param positions array where to store positions (m), must have at least 3 {@link #getSize()} elements
+     * @param velocities array where to store velocities (m/s), must have at least 3 {@link #getSize()}
+     * elements (may be null if velocities are not desired)
+     */
+    public void propagate(final AbsoluteDate date, final double[] positions, final double[] velocities) {
+        checkDimension(1, positions, velocities);
+        propagate(new AbsoluteDate[] { date }, 0, tles.length, positions, velocities);
+    }
+
+    /** Propagate all objects to a common grid of dates.
+     * <p>
+     * Coordinates for date index {@code j} and object index {@code k} are stored at indices
+     * {@code 3 (j n + k)}, {@code 3 (j n + k) + 1} and {@code 3 (j n + k) + 2}, where {@code n}
+     * is the number of objects.
+     * </p>
+     * @param dates target dates
+     * @param positions array where to store positions (m), must have at least
+     * 3 {@link #getSize()} {@code dates.length} elements
+     * @param velocities array where to store velocities (m/s), must have at least
+     * 3 {@link #getSize()} {@code dates.length} elements (may be null if velocities are not desired)
+     */
+    public void propagate(final AbsoluteDate[] dates, final double[] positions, final double[] velocities) {
+        checkDimension(dates.length, positions, velocities);
+        propagate(dates, 0, tles.length, positions, velocities);
+    }
+
+    /** Propagate all objects in parallel to a common date.
+     * @param date target date
+     * @param positions array where to store positions (m), must have at least 3 {@link #getSize()} elements
+     * @param velocities array where to store velocities (m/s), must have at least 3 {@link #getSize()}
+     * elements (may be null if velocities are not desired)
+     * @param pool pool in which propagation should be run
+     */
+    public void propagate(final AbsoluteDate date, final double[] positions, final double[] velocities,
+                          final ForkJoinPool pool) {
+        propagate(new AbsoluteDate[] { date }, positions, velocities, pool);
+    }
+
+    /** Propagate all objects in parallel to a common grid of dates.
+     * <p>
+     * Parallelism is applied across objects, each task propagating its own chunk
+     * of objects to all dates. The layout of the arrays is the same as in
+     * {@link #propagate(AbsoluteDate[], double[], double[])}.
+     * </p>
+     * @param dates target dates
+     * @param positions array where to store positions (m), must have at least
+     * 3 {@link #getSize()} {@code dates.length} elements
+     * @param velocities array where to store velocities (m/s), must have at least
+     * 3 {@link #getSize()} {@code dates.length} elements (may be null if velocities are not desired)
+     * @param pool pool in which propagation should be run
+     */
+    public void propagate(final AbsoluteDate[] dates, final double[] positions, final double[] velocities,
+                          final ForkJoinPool pool) {
+        checkDimension(dates.length, positions, velocities);
+        pool.invoke(new BatchTask(dates, 0, tles.length, positions, velocities));
+    }
+
+    /** Check arrays dimensions.
+     * @param nbDates number of dates
+     * @param positions array where to store positions
+     * @param velocities array where to store velocities (may be null)
+     */
+    private void checkDimension(final int nbDates, final double[] positions, final double[] velocities) {
+        final int required = 3 * nbDates * tles.length;
+        if (positions.length < required) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     positions.length, required);
+        }
+        if (velocities != null && velocities.length < required) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     velocities.length, required);
+        }
+    }
+
+    /** Propagate a range of objects to a grid of dates.
+     * @param dates target dates
+     * @param start index of first object (included)
+     * @param end index of last object (excluded)
+     * @param positions array where to store positions (m)
+     * @param velocities array where to store velocities (m/s), may be null
+     */
+    private void propagate(final AbsoluteDate[] dates, final int start, final int end,
+                           final double[] positions, final double[] velocities) {
+        for (int k = start; k < end; ++k) {
+            for (int j = 0; j < dates.length; ++j) {
+                final int offset = 3 * (j * tles.length + k);
+                try {
+                    propagators[k].getPVCoordinates(dates[j], positions, velocities, offset);
+                } catch (OrekitException oe) {
+                    // the model cannot be used for this object at this date
+                    store(Double.NaN, Double.NaN, Double.NaN, positions, offset);
+                    if (velocities != null) {
+                        store(Double.NaN, Double.NaN, Double.NaN, velocities, offset);
+                    }
+                }
+            }
+        }
+    }
+
+    /** Store a triplet in an array.
+     * @param x first component
+     * @param y second component
+     * @param z third component
+     * @param array array where to store the triplet
+     * @param offset index of first component
+     */
+    private static void store(final double x, final double y, final double z,
+                              final double[] array, final int offset) {
+        array[offset]     = x;
+        array[offset + 1] = y;
+        array[offset + 2] = z;
+    }
+
+    /** Task for parallel propagation of a range of objects. */
+    private class BatchTask extends RecursiveAction {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20220126L;
+
+        /** Target dates. */
+        private final AbsoluteDate[] dates;
+
+        /** Index of first object (included). */
+        private final int start;
+
+        /** Index of last object (excluded). */
+        private final int end;
+
+        /** Array where to store positions. */
+        private final double[] positions;
+
+        /** Array where to store velocities (may be null). */
+        private final double[] velocities;
+
+        /** Simple constructor.
+         * @param dates target dates
+         * @param start index of first object (included)
+         * @param end index of last object (excluded)
+         * @param positions array where to store positions (m)
+         * @param velocities array where to store velocities (m/s), may be null
+         */
+        BatchTask(final AbsoluteDate[] dates, final int start, final int end,
+                  final double[] positions, final double[] velocities) {
+            this.dates      = dates;
+            this.start      = start;
+            this.end        = end;
+            this.positions  = positions;
+            this.velocities = velocities;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (end - start <= chunkSize) {
+                propagate(dates, start, end, positions, velocities);
+            } else {
+                final int middle = (start + end) >>> 1;
+                invokeAll(new BatchTask(dates, start, middle, positions, velocities),
+                          new BatchTask(dates, middle, end, positions, velocities));
+            }
+        }
+
+    }
+
+}
@@ -268,6 +268,19 @@ public abstract class TLEPropagator extends AbstractAnalyticalPropagator {
                                                    final AttitudeProvider attitudeProvider,
                                                    final double mass,
                                                    final Frame teme) {
+        if (isDeepSpace(tle)) {
+            return new DeepSDP4(tle, attitudeProvider, mass, teme);
+        } else {
+            return new SGP4(tle, attitudeProvider, mass, teme);
+        }
+    }
+
+    /** Check if a TLE should be propagated using the deep space model.
+     * @param tle the TLE to propagate.
+     * @return true if the period is larger than 225 minutes
+     * @since 11.1
+     */
+    static boolean isDeepSpace(final TLE tle) {
 
         final double a1 = FastMath.pow( TLEConstants.XKE / (tle.getMeanMotion() * 60.0), TLEConstants.TWO_THIRD);
         final double cosi0 = FastMath.cos(tle.getI());
@@ -281,11 +294,8 @@ public abstract class TLEPropagator extends AbstractAnalyticalPropagator {
         final double xn0dp = tle.getMeanMotion() * 60.0 / (delta0 + 1.0);
 
         // Period >= 225 minutes is deep space
-        if (MathUtils.TWO_PI / (xn0dp * TLEConstants.MINUTES_PER_DAY) >= (1.0 / 6.4)) {
-            return new DeepSDP4(tle, attitudeProvider, mass, teme);
-        } else {
-            return new SGP4(tle, attitudeProvider, mass, teme);
-        }
+        return MathUtils.TWO_PI / (xn0dp * TLEConstants.MINUTES_PER_DAY) >= (1.0 / 6.4);
+
     }
 
     /** Get the Earth gravity coefficient used for TLE propagation.
@@ -300,11 +310,27 @@ public abstract class TLEPropagator extends AbstractAnalyticalPropagator {
      * @return the final PVCoordinates
      */
     public PVCoordinates getPVCoordinates(final AbsoluteDate date) {
+        final double[] position = new double[3];
+        final double[] velocity = new double[3];
+        getPVCoordinates(date, position, velocity, 0);
+        return new PVCoordinates(new Vector3D(position), new Vector3D(velocity));
+    }
+
+    /** Get the extrapolated position and velocity from an initial TLE, storing them in arrays.
+     * @param date the final date
+     * @param positions array where to store position (m)
+     * @param velocities array where to store velocity (m/s), may be null if velocity is not desired
+     * @param offset index of the first component in the arrays
+     * @since 11.1
+     */
+    void getPVCoordinates(final AbsoluteDate date, final double[] positions, final double[] velocities,
+                          final int offset) {
 
         sxpPropagate(date.durationFrom(tle.getDate()) / 60.0);
 
         // Compute PV with previous calculated parameters
-        return computePVCoordinates();
+        computePVCoordinates(a, e, i, omega, xl, xnode, cosi0, sini0, positions, velocities, offset);
+
     }
 
     /** Computation of the first commons parameters.
@@ -401,9 +427,23 @@ public abstract class TLEPropagator extends AbstractAnalyticalPropagator {
     }
 
     /** Retrieves the position and velocity.
-     * @return the computed PVCoordinates.
+     * @param a final semi major axis
+     * @param e final eccentricity
+     * @param i final inclination
+     * @param omega final perigee argument
+     * @param xl L from SPTRCK #3
+     * @param xnode final RAAN
+     * @param cosi0 cosinus original inclination
+     * @param sini0 sinus original inclination
+     * @param positions array where to store position (m)
+     * @param velocities array where to store velocity (m/s), may be null if velocity is not desired
+     * @param offset index of the first component in the arrays
      */
-    private PVCoordinates computePVCoordinates() {
+    private static void computePVCoordinates(final double a, final double e, final double i,
+                                             final double omega, final double xl, final double xnode,
+                                             final double cosi0, final double sini0,
+                                             final double[] positions, final double[] velocities,
+                                             final int offset) {
 
         // Sine and cosine of final perigee argument
         final SinCos scOmega = FastMath.sinCos(omega);
@@ -506,10 +546,17 @@ public abstract class TLEPropagator extends AbstractAnalyticalPropagator {
         final double uy  = xmy * sinuk + sinnok * cosuk;
         final double uz  = sinik * sinuk;
 
-        // Position and velocity
+        // Position
         final double cr = 1000 * rk * TLEConstants.EARTH_RADIUS;
-        final Vector3D pos = new Vector3D(cr * ux, cr * uy, cr * uz);
+        positions[offset]     = cr * ux;
+        positions[offset + 1] = cr * uy;
+        positions[offset + 2] = cr * uz;
 
+        if (velocities == null) {
+            return;
+        }
+
+        // Velocity
         final double rdot   = TLEConstants.XKE * FastMath.sqrt(a) * esinE / r;
         final double rfdot  = TLEConstants.XKE * FastMath.sqrt(pl) / r;
         final double xn     = TLEConstants.XKE / (a * FastMath.sqrt(a));
@@ -520,11 +567,9 @@ public abstract class TLEPropagator extends AbstractAnalyticalPropagator {
         final double vz     = sinik * cosuk;
 
         final double cv = 1000.0 * TLEConstants.EARTH_RADIUS / 60.0;
-        final Vector3D vel = new Vector3D(cv * (rdotk * ux + rfdotk * vx),
-                                          cv * (rdotk * uy + rfdotk * vy),
-                                          cv * (rdotk * uz + rfdotk * vz));
-
-        return new PVCoordinates(pos, vel);
+        velocities[offset]     = cv * (rdotk * ux + rfdotk * vx);
+        velocities[offset + 1] = cv * (rdotk * uy + rfdotk * vy);
+        velocities[offset + 2] = cv * (rdotk * uz + rfdotk * vz);
 
     }
 
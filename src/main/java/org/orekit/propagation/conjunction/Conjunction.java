@@ -0,0 +1,99 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.conjunction;
+
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeStamped;
+import org.orekit.utils.PVCoordinates;
+
+/** Container for a close approach between a primary and a secondary object.
+ * @see ConjunctionScreener
+ * @author agent
+ * @since 11.1
+ */
+public class Conjunction implements TimeStamped {
+
+    /** Index of the secondary object in the screened list. */
+    private final int secondaryIndex;
+
+    /** Time of closest approach. */
+    private final AbsoluteDate tca;
+
+    /** Primary coordinates at time of closest approach. */
+    private final PVCoordinates primary;
+
+    /** Secondary coordinates at time of closest approach. */
+    private final PVCoordinates secondary;
+
+    /** Simple constructor.
+     * @param secondaryIndex index of the secondary object in the screened list
+     * @param tca time of closest approach
+     * @param primary primary coordinates at time of closest approach
+     * @param secondary secondary coordinates at time of closest approach
+     */
+    public Conjunction(final int secondaryIndex, final AbsoluteDate tca,
+                       final PVCoordinates primary, final PVCoordinates secondary) {
+        this.secondaryIndex = secondaryIndex;
+        this.tca            = tca;
+        this.primary        = primary;
+        this.secondary      = secondary;
+    }
+
+    /** Get the index of the secondary object in the screened list.
+     * @return index of the secondary object in the screened list
+     */
+    public int getSecondaryIndex() {
+        return secondaryIndex;
+    }
+
+    /** Get the time of closest approach.
+     * @return time of closest approach
+     */
+    @Override
+    public AbsoluteDate getDate() {
+        return tca;
+    }
+
+    /** Get the primary coordinates at time of closest approach.
+     * @return primary coordinates at time of closest approach (in screening frame)
+     */
+    public PVCoordinates getPrimary() {
+        return primary;
+    }
+
+    /** Get the secondary coordinates at time of closest approach.
+     * @return secondary coordinates at time of closest approach (in screening frame)
+     */
+    public PVCoordinates getSecondary() {
+        return secondary;
+    }
+
+    /** Get the miss distance.
+     * @return distance between primary and secondary at time of closest approach (m)
+     */
+    public double getMissDistance() {
+        return secondary.getPosition().distance(primary.getPosition());
+    }
+
+    /** Get the relative velocity.
+     * @return norm of secondary velocity with respect to primary at time of closest approach (m/s)
+     */
+    public double getRelativeVelocity() {
+        return secondary.getVelocity().distance(primary.getVelocity());
+    }
+
+}
@@ -0,0 +1,793 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.conjunction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.AllowedSolution;
+import org.hipparchus.analysis.solvers.BracketingNthOrderBrentSolver;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathRuntimeException;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinates;
+import org.orekit.utils.PVCoordinatesProvider;
+
+/** Screening of conjunctions between one primary object and many secondary objects.
+ * <p>
+ * Secondary objects are provided as {@link PVCoordinatesProvider} instances, so
+ * any {@link org.orekit.propagation.Propagator Propagator} can be used, in particular
+ * {@link org.orekit.propagation.BoundedPropagator BoundedPropagator} built from
+ * ephemerides (for example OEM files) or {@link
+ * org.orekit.propagation.analytical.tle.TLEPropagator TLEPropagator}.
+ * </p>
+ * <p>
+ * Each secondary goes through filters of increasing cost, and is discarded as
+ * soon as one filter proves it cannot come closer to the primary than the screening
+ * distance threshold:
+ * </p>
+ * <ol>
+ *   <li>apogee/perigee filter: the radial shells spanned by both orbits
+ *   must overlap,</li>
+ *   <li>orbit path filter: the radial ranges spanned by both orbits within
+ *   angular windows around their mutual nodes line must overlap (this filter
+ *   is not applied to nearly coplanar orbits),</li>
+ *   <li>time grid filter: the secondary is propagated on a regular time grid, and
+ *   the distance at grid points together with a bound on relative velocity must
+ *   allow close approach within at least one grid interval,</li>
+ *   <li>refinement: in candidate grid intervals, the time of closest approach is
+ *   computed as the root of range rate using a bracketing solver, and the
+ *   {@link Conjunction conjunction} is kept if the miss distance is below threshold.</li>
+ * </ol>
+ * <p>
+ * The first two filters rely on osculating Keplerian elements. They are applied
+ * independently on each {@link #setFilterSegment(double) filter segment} of the
+ * screening span, using the shapes of both orbits at segment start, and the distance
+ * threshold is enlarged by the displacement of the orbits paths between segment start
+ * and segment end. This displacement covers the secular evolution of the orbits within
+ * the segment (nodes and periapsis drift due to J2, decay due to drag), as long as
+ * segments are short with respect to the periods of these evolutions. The threshold
+ * is also enlarged by a {@link #setFilterMargin(double) filter margin} that must cover
+ * the short period variations of osculating elements within the segment. The
+ * {@link #setGridStep(double) grid step} must be small with respect
+ * to the orbital periods, as at most one closest approach is searched for in each grid
+ * interval. Only closest approaches strictly inside the screening span are reported.
+ * </p>
+ * <p>
+ * Screening of different secondaries is performed in parallel in a {@link ForkJoinPool},
+ * splitting the list of secondaries in chunks. Each secondary is used by only one thread.
+ * The primary is sampled on the time grid before parallel screening starts, and accesses
+ * to the primary during refinement are synchronized on the primary instance, so
+ * providers that are not thread-safe (like propagators) can be used for both primary
+ * and secondaries.
+ * </p>
+ * @author agent
+ * @since 11.1
+ */
+public class ConjunctionScreener {
+
+    /** Default time grid step (s). */
+    public static final double DEFAULT_GRID_STEP = 60.0;
+
+    /** Default margin for Keplerian filters (m). */
+    public static final double DEFAULT_FILTER_MARGIN = 20000.0;
+
+    /** Default duration of segments for Keplerian filters (s). */
+    public static final double DEFAULT_FILTER_SEGMENT = 3600.0;
+
+    /** Default accuracy of time of closest approach (s). */
+    public static final double DEFAULT_TCA_ACCURACY = 1.0e-6;
+
+    /** Default number of secondaries below which a screening task is not split. */
+    public static final int DEFAULT_CHUNK_SIZE = 16;
+
+    /** Maximum number of evaluations for time of closest approach refinement. */
+    private static final int MAX_EVALUATIONS = 100;
+
+    /** Maximum sine of node windows half-width for orbit path filter to be applied. */
+    private static final double MAX_WINDOW_SINE = 0.5;
+
+    /** Eccentricity below which orbit is considered circular for reference axes. */
+    private static final double CIRCULAR_ECCENTRICITY = 1.0e-10;
+
+    /** Status for secondaries that reached refinement. */
+    private static final int REFINED = 0;
+
+    /** Status for secondaries rejected by apogee/perigee filter. */
+    private static final int APSIDES = 1;
+
+    /** Status for secondaries rejected by orbit path filter. */
+    private static final int PATH = 2;
+
+    /** Status for secondaries rejected by time grid filter. */
+    private static final int GRID = 3;
+
+    /** Status for secondaries that could not be screened. */
+    private static final int FAILED = 4;
+
+    /** Primary object. */
+    private final PVCoordinatesProvider primary;
+
+    /** Inertial frame in which screening is performed. */
+    private final Frame frame;
+
+    /** Central attraction coefficient. */
+    private final double mu;
+
+    /** Screening distance threshold. */
+    private final double threshold;
+
+    /** Time grid step. */
+    private double gridStep;
+
+    /** Margin for Keplerian filters. */
+    private double filterMargin;
+
+    /** Duration of segments for Keplerian filters. */
+    private double filterSegment;
+
+    /** Accuracy of time of closest approach. */
+    private double tcaAccuracy;
+
+    /** Number of secondaries below which a screening task is not split. */
+    private int chunkSize;
+
+    /** Simple constructor.
+     * @param primary primary object
+     * @param frame pseudo-inertial frame in which screening is performed
+     * @param mu central attraction coefficient (m³/s²)
+     * @param threshold screening distance threshold (m)
+     */
+    public ConjunctionScreener(final PVCoordinatesProvider primary, final Frame frame,
+                               final double mu, final double threshold) {
+        if (!frame.isPseudoInertial()) {
+            throw new OrekitIllegalArgumentException(OrekitMessages.NON_PSEUDO_INERTIAL_FRAME, frame.getName());
+        }
+        if (threshold <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     threshold, 0.0);
+        }
+        this.primary       = primary;
+        this.frame         = frame;
+        this.mu            = mu;
+        this.threshold     = threshold;
+        this.gridStep      = DEFAULT_GRID_STEP;
+        this.filterMargin  = DEFAULT_FILTER_MARGIN;
+        this.filterSegment = DEFAULT_FILTER_SEGMENT;
+        this.tcaAccuracy   = DEFAULT_TCA_ACCURACY;
+        this.chunkSize     = DEFAULT_CHUNK_SIZE;
+    }
+
+    /** Get the screening frame.
+     * @return screening frame
+     */
+    public Frame getFrame() {
+        return frame;
+    }
+
+    /** Get the screening distance threshold.
+     * @return screening distance threshold (m)
+     */
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /** Set the time grid step.
+     * @param gridStep time grid step (s)
+     */
+    public void setGridStep(final double gridStep) {
+        if (gridStep <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     gridStep, 0.0);
+        }
+        this.gridStep = gridStep;
+    }
+
+    /** Get the time grid step.
+     * @return time grid step (s)
+     */
+    public double getGridStep() {
+        return gridStep;
+    }
+
+    /** Set the margin for Keplerian filters.
+     * @param filterMargin margin for apogee/perigee and orbit path filters (m)
+     */
+    public void setFilterMargin(final double filterMargin) {
+        if (filterMargin < 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     filterMargin, 0.0);
+        }
+        this.filterMargin = filterMargin;
+    }
+
+    /** Get the margin for Keplerian filters.
+     * @return margin for apogee/perigee and orbit path filters (m)
+     */
+    public double getFilterMargin() {
+        return filterMargin;
+    }
+
+    /** Set the duration of segments for Keplerian filters.
+     * <p>
+     * The duration is rounded down to a multiple of the {@link #getGridStep() grid step},
+     * with at least one grid step per segment.
+     * </p>
+     * @param filterSegment duration of segments for apogee/perigee and orbit path filters (s)
+     */
+    public void setFilterSegment(final double filterSegment) {
+        if (filterSegment <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     filterSegment, 0.0);
+        }
+        this.filterSegment = filterSegment;
+    }
+
+    /** Get the duration of segments for Keplerian filters.
+     * @return duration of segments for apogee/perigee and orbit path filters (s)
+     */
+    public double getFilterSegment() {
+        return filterSegment;
+    }
+
+    /** Set the accuracy of time of closest approach.
+     * @param tcaAccuracy accuracy of time of closest approach (s)
+     */
+    public void setTcaAccuracy(final double tcaAccuracy) {
+        if (tcaAccuracy <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     tcaAccuracy, 0.0);
+        }
+        this.tcaAccuracy = tcaAccuracy;
+    }
+
+    /** Get the accuracy of time of closest approach.
+     * @return accuracy of time of closest approach (s)
+     */
+    public double getTcaAccuracy() {
+        return tcaAccuracy;
+    }
+
+    /** Set the number of secondaries below which a screening task is not split.
+     * @param chunkSize number of secondaries below which a screening task is not split
+     */
+    public void setChunkSize(final int chunkSize) {
+        if (chunkSize < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, chunkSize, 1);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /** Get the number of secondaries below which a screening task is not split.
+     * @return number of secondaries below which a screening task is not split
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /** Screen secondaries in the {@link ForkJoinPool#commonPool() common pool}.
+     * @param secondaries secondary objects
+     * @param start start of screening span
+     * @param end end of screening span
+     * @return screening results
+     */
+    public ConjunctionScreeningResults screen(final List<? extends PVCoordinatesProvider> secondaries,
+                                              final AbsoluteDate start, final AbsoluteDate end) {
+        return screen(secondaries, start, end, ForkJoinPool.commonPool());
+    }
+
+    /** Screen secondaries.
+     * @param secondaries secondary objects
+     * @param start start of screening span
+     * @param end end of screening span
+     * @param pool pool in which screening tasks should be run
+     * @return screening results
+     */
+    public ConjunctionScreeningResults screen(final List<? extends PVCoordinatesProvider> secondaries,
+                                              final AbsoluteDate start, final AbsoluteDate end,
+                                              final ForkJoinPool pool) {
+
+        final double duration = end.durationFrom(start);
+        if (duration <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.ENDPOINTS_NOT_AN_INTERVAL, start, end);
+        }
+
+        // set up time grid
+        final int nbIntervals = (int) FastMath.ceil(duration / gridStep);
+        final AbsoluteDate[] grid = new AbsoluteDate[nbIntervals + 1];
+        for (int i = 0; i < nbIntervals; ++i) {
+            grid[i] = start.shiftedBy(i * gridStep);
+        }
+        grid[nbIntervals] = end;
+
+        // sample primary on the grid
+        final PVCoordinates[] primaryGrid = new PVCoordinates[grid.length];
+        for (int i = 0; i < grid.length; ++i) {
+            primaryGrid[i] = primary.getPVCoordinates(grid[i], frame);
+        }
+
+        // screen all secondaries
+        final Screening screening = new Screening(secondaries, grid, primaryGrid);
+        pool.invoke(new ScreeningTask(screening, 0, secondaries.size()));
+
+        return screening.getResults();
+
+    }
+
+    /** Get primary coordinates, with synchronized access.
+     * @param date date
+     * @return primary coordinates in screening frame
+     */
+    private PVCoordinates getPrimary(final AbsoluteDate date) {
+        synchronized (primary) {
+            return primary.getPVCoordinates(date, frame);
+        }
+    }
+
+    /** Compute range rate (scaled by range).
+     * @param p primary coordinates
+     * @param s secondary coordinates
+     * @return dot product of relative position and relative velocity
+     */
+    private static double rangeRate(final PVCoordinates p, final PVCoordinates s) {
+        final Vector3D pP = p.getPosition();
+        final Vector3D pV = p.getVelocity();
+        final Vector3D sP = s.getPosition();
+        final Vector3D sV = s.getVelocity();
+        return (sP.getX() - pP.getX()) * (sV.getX() - pV.getX()) +
+               (sP.getY() - pP.getY()) * (sV.getY() - pV.getY()) +
+               (sP.getZ() - pP.getZ()) * (sV.getZ() - pV.getZ());
+    }
+
+    /** Holder for one screening run. */
+    private class Screening {
+
+        /** Secondary objects. */
+        private final List<? extends PVCoordinatesProvider> secondaries;
+
+        /** Time grid. */
+        private final AbsoluteDate[] grid;
+
+        /** Primary coordinates on time grid. */
+        private final PVCoordinates[] primaryGrid;
+
+        /** Grid indices of filter segments boundaries. */
+        private final int[] boundaries;
+
+        /** Primary Keplerian shapes at filter segments boundaries. */
+        private final Shape[] primaryShapes;
+
+        /** Status of each secondary. */
+        private final int[] status;
+
+        /** Conjunctions found for each secondary. */
+        private final List<List<Conjunction>> found;
+
+        /** Errors for each secondary. */
+        private final OrekitException[] errors;
+
+        /** Simple constructor.
+         * @param secondaries secondary objects
+         * @param grid time grid
+         * @param primaryGrid primary coordinates on time grid
+         */
+        Screening(final List<? extends PVCoordinatesProvider> secondaries,
+                  final AbsoluteDate[] grid, final PVCoordinates[] primaryGrid) {
+            this.secondaries  = secondaries;
+            this.grid         = grid;
+            this.primaryGrid  = primaryGrid;
+            this.status       = new int[secondaries.size()];
+            this.found        = new ArrayList<>(Collections.nCopies(secondaries.size(), (List<Conjunction>) null));
+            this.errors       = new OrekitException[secondaries.size()];
+
+            // split the grid in filter segments
+            final int last       = grid.length - 1;
+            final int perSegment = FastMath.max(1, (int) FastMath.floor(filterSegment / gridStep));
+            final int nbSegments = (last + perSegment - 1) / perSegment;
+            this.boundaries    = new int[nbSegments + 1];
+            this.primaryShapes = new Shape[nbSegments + 1];
+            for (int k = 0; k <= nbSegments; ++k) {
+                boundaries[k]    = FastMath.min(k * perSegment, last);
+                primaryShapes[k] = new Shape(primaryGrid[boundaries[k]], mu);
+            }
+
+        }
+
+        /** Screen one secondary.
+         * @param index index of the secondary
+         */
+        void screen(final int index) {
+            try {
+
+                final PVCoordinatesProvider secondary = secondaries.get(index);
+                final double                enlarged  = threshold + filterMargin;
+
+                boolean       pathReached = false;
+                boolean       gridReached = false;
+                boolean       candidate   = false;
+                PVCoordinates first       = secondary.getPVCoordinates(grid[0], frame);
+                Shape         firstShape  = new Shape(first, mu);
+                for (int k = 0; k + 1 < boundaries.length; ++k) {
+
+                    final PVCoordinates last      = secondary.getPVCoordinates(grid[boundaries[k + 1]], frame);
+                    final Shape         lastShape = new Shape(last, mu);
+
+                    // Keplerian filters, enlarged by the displacement of both paths throughout the segment
+                    final double segmentThreshold = enlarged +
+                                                    primaryShapes[k].displacement(primaryShapes[k + 1]) +
+                                                    firstShape.displacement(lastShape);
+                    if (!primaryShapes[k].rejectedByApsides(firstShape, segmentThreshold)) {
+                        pathReached = true;
+                        if (!primaryShapes[k].rejectedByPath(firstShape, segmentThreshold)) {
+                            // time grid filter and refinement
+                            gridReached = true;
+                            final double vMax = FastMath.max(primaryShapes[k].getMaxVelocity(),
+                                                             primaryShapes[k + 1].getMaxVelocity()) +
+                                                FastMath.max(firstShape.getMaxVelocity(), lastShape.getMaxVelocity());
+                            if (scan(index, secondary, k, first, last, vMax)) {
+                                candidate = true;
+                            }
+                        }
+                    }
+
+                    first      = last;
+                    firstShape = lastShape;
+
+                }
+
+                if (candidate) {
+                    status[index] = REFINED;
+                } else if (gridReached) {
+                    status[index] = GRID;
+                } else if (pathReached) {
+                    status[index] = PATH;
+                } else {
+                    status[index] = APSIDES;
+                }
+
+            } catch (OrekitException oe) {
+                status[index] = FAILED;
+                errors[index] = oe;
+            } catch (MathRuntimeException mre) {
+                status[index] = FAILED;
+                errors[index] = new OrekitException(mre);
+            }
+        }
+
+        /** Apply time grid filter and refinement on one filter segment.
+         * @param index index of the secondary
+         * @param secondary secondary object
+         * @param k index of the filter segment
+         * @param first secondary coordinates at segment start
+         * @param last secondary coordinates at segment end
+         * @param vMax bound on relative velocity throughout the segment
+         * @return true if a close approach may occur in at least one grid interval
+         */
+        private boolean scan(final int index, final PVCoordinatesProvider secondary, final int k,
+                             final PVCoordinates first, final PVCoordinates last, final double vMax) {
+            final double enlarged  = threshold + filterMargin;
+            final int    i0        = boundaries[k];
+            final int    i1        = boundaries[k + 1];
+            boolean      candidate = false;
+            PVCoordinates previous = first;
+            double previousDistance = previous.getPosition().distance(primaryGrid[i0].getPosition());
+            for (int i = i0 + 1; i <= i1; ++i) {
+                final PVCoordinates current         = i == i1 ? last : secondary.getPVCoordinates(grid[i], frame);
+                final double        currentDistance = current.getPosition().distance(primaryGrid[i].getPosition());
+                final double        dt              = grid[i].durationFrom(grid[i - 1]);
+                if (0.5 * (previousDistance + currentDistance - vMax * dt) <= enlarged) {
+                    // a close approach may occur in this interval
+                    candidate = true;
+                    if (rangeRate(primaryGrid[i - 1], previous) < 0 &&
+                        rangeRate(primaryGrid[i], current) >= 0) {
+                        final Conjunction conjunction = refine(index, secondary, grid[i - 1], dt);
+                        if (conjunction.getMissDistance() <= threshold) {
+                            if (found.get(index) == null) {
+                                found.set(index, new ArrayList<>());
+                            }
+                            found.get(index).add(conjunction);
+                        }
+                    }
+                }
+                previous         = current;
+                previousDistance = currentDistance;
+            }
+            return candidate;
+        }
+
+        /** Refine time of closest approach.
+         * @param index index of the secondary
+         * @param secondary secondary object
+         * @param t0 start of grid interval
+         * @param dt duration of grid interval
+         * @return conjunction at time of closest approach
+         */
+        private Conjunction refine(final int index, final PVCoordinatesProvider secondary,
+                                   final AbsoluteDate t0, final double dt) {
+            final UnivariateFunction g =
+                x -> {
+                    final AbsoluteDate t = t0.shiftedBy(x);
+                    return rangeRate(getPrimary(t), secondary.getPVCoordinates(t, frame));
+                };
+            final BracketingNthOrderBrentSolver solver = new BracketingNthOrderBrentSolver(tcaAccuracy, 5);
+            final double       x   = solver.solve(MAX_EVALUATIONS, g, 0, dt, AllowedSolution.ANY_SIDE);
+            final AbsoluteDate tca = t0.shiftedBy(x);
+            return new Conjunction(index, tca, getPrimary(tca), secondary.getPVCoordinates(tca, frame));
+        }
+
+        /** Build the results.
+         * @return screening results
+         */
+        ConjunctionScreeningResults getResults() {
+            final List<Conjunction>             conjunctions = new ArrayList<>();
+            final Map<Integer, OrekitException> failures     = new HashMap<>();
+            final int[] count = new int[FAILED + 1];
+            for (int i = 0; i < status.length; ++i) {
+                ++count[status[i]];
+                if (found.get(i) != null) {
+                    conjunctions.addAll(found.get(i));
+                }
+                if (errors[i] != null) {
+                    failures.put(i, errors[i]);
+                }
+            }
+            conjunctions.sort(Comparator.comparing(Conjunction::getDate).
+                              thenComparingInt(Conjunction::getSecondaryIndex));
+            return new ConjunctionScreeningResults(conjunctions, failures,
+                                                   count[APSIDES], count[PATH], count[GRID], count[REFINED]);
+        }
+
+    }
+
+    /** Task screening a range of secondaries. */
+    private class ScreeningTask extends RecursiveAction {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20220301L;
+
+        /** Screening run. */
+        private final transient Screening screening;
+
+        /** Index of first secondary (included). */
+        private final int start;
+
+        /** Index of last secondary (excluded). */
+        private final int end;
+
+        /** Simple constructor.
+         * @param screening screening run
+         * @param start index of first secondary (included)
+         * @param end index of last secondary (excluded)
+         */
+        ScreeningTask(final Screening screening, final int start, final int end) {
+            this.screening = screening;
+            this.start     = start;
+            this.end       = end;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (end - start <= chunkSize) {
+                for (int i = start; i < end; ++i) {
+                    screening.screen(i);
+                }
+            } else {
+                final int middle = (start + end) / 2;
+                invokeAll(new ScreeningTask(screening, start, middle),
+                          new ScreeningTask(screening, middle, end));
+            }
+        }
+
+    }
+
+    /** Keplerian shape of an orbit. */
+    private static class Shape {
+
+        /** Unit vector along angular momentum. */
+        private final Vector3D w;
+
+        /** Unit vector towards periapsis (or towards initial position for circular orbits). */
+        private final Vector3D u;
+
+        /** Unit vector completing the in-plane frame. */
+        private final Vector3D v;
+
+        /** Eccentricity. */
+        private final double e;
+
+        /** Semi-latus rectum. */
+        private final double p;
+
+        /** Periapsis radius. */
+        private final double periapsis;
+
+        /** Apoapsis radius (infinite for non-elliptic orbits). */
+        private final double apoapsis;
+
+        /** Velocity at periapsis. */
+        private final double maxVelocity;
+
+        /** Simple constructor.
+         * @param pv position-velocity in inertial frame
+         * @param mu central attraction coefficient
+         */
+        Shape(final PVCoordinates pv, final double mu) {
+            final Vector3D position = pv.getPosition();
+            final Vector3D momentum = pv.getMomentum();
+            final Vector3D eVector  = new Vector3D(1.0 / mu, Vector3D.crossProduct(pv.getVelocity(), momentum),
+                                                   -1.0 / position.getNorm(), position);
+            final double   h        = momentum.getNorm();
+            this.e           = eVector.getNorm();
+            this.p           = h * h / mu;
+            this.periapsis   = p / (1 + e);
+            this.apoapsis    = e < 1 ? p / (1 - e) : Double.POSITIVE_INFINITY;
+            this.maxVelocity = h / periapsis;
+            this.w           = momentum.normalize();
+            this.u           = e < CIRCULAR_ECCENTRICITY ? position.normalize() : eVector.normalize();
+            this.v           = Vector3D.crossProduct(w, u);
+        }
+
+        /** Get the maximum velocity.
+         * @return maximum velocity (i.e. velocity at periapsis)
+         */
+        double getMaxVelocity() {
+            return maxVelocity;
+        }
+
+        /** Get a bound on the distance between the paths of two shapes of the same orbit.
+         * <p>
+         * The bound is the sum of the radius change at fixed true anomaly (which is
+         * extremal at periapsis or apoapsis since 1/r is affine in cos ν), of the
+         * displacement due to orbit plane rotation (by angle β) and of the displacement
+         * due to periapsis rotation within the plane (by at most angle β plus the angle
+         * between periapsis directions), which is bounded by the maximum of |dr/dν|.
+         * </p>
+         * @param other other shape of the same orbit
+         * @return bound on the distance from any point of one path to the other path
+         */
+        double displacement(final Shape other) {
+
+            if (apoapsis == Double.POSITIVE_INFINITY || other.apoapsis == Double.POSITIVE_INFINITY) {
+                return Double.POSITIVE_INFINITY;
+            }
+
+            final double maxApoapsis = FastMath.max(apoapsis, other.apoapsis);
+            final double maxE        = FastMath.max(e, other.e);
+
+            final double radial   = apoapsis * other.apoapsis *
+                                    FastMath.max(FastMath.abs(1.0 / periapsis - 1.0 / other.periapsis),
+                                                 FastMath.abs(1.0 / apoapsis  - 1.0 / other.apoapsis));
+            final double beta     = Vector3D.angle(w, other.w);
+            final double plane    = maxApoapsis * beta;
+            final double gamma    = beta + Vector3D.angle(u, other.u);
+            final double apsides  = FastMath.min(maxApoapsis - FastMath.min(periapsis, other.periapsis),
+                                                 maxApoapsis * maxE / (1 - maxE) * gamma);
+
+            return radial + plane + apsides;
+
+        }
+
+        /** Check if two orbits radial shells are too far apart.
+         * @param other other orbit shape
+         * @param distance distance threshold
+         * @return true if the orbits cannot come closer than distance
+         */
+        boolean rejectedByApsides(final Shape other, final double distance) {
+            return FastMath.max(periapsis, other.periapsis) - FastMath.min(apoapsis, other.apoapsis) > distance;
+        }
+
+        /** Check if two orbits paths are too far apart.
+         * <p>
+         * A point at angle δ from the mutual nodes line in one orbit plane is at
+         * distance r |sin δ| sin I from the other orbit plane, where I is the mutual
+         * inclination, so close approaches can only occur within angular windows
+         * around the mutual nodes. Within these windows, the radial ranges of both
+         * orbits must overlap.
+         * </p>
+         * @param other other orbit shape
+         * @param distance distance threshold
+         * @return true if the orbits cannot come closer than distance
+         */
+        boolean rejectedByPath(final Shape other, final double distance) {
+
+            if (apoapsis == Double.POSITIVE_INFINITY || other.apoapsis == Double.POSITIVE_INFINITY) {
+                // the filter is applied only to elliptic orbits
+                return false;
+            }
+
+            final Vector3D nodes = Vector3D.crossProduct(w, other.w);
+            final double   sinI  = nodes.getNorm();
+            final double   s1    = distance / (periapsis * sinI);
+            final double   s2    = distance / (other.periapsis * sinI);
+            if (!(s1 < MAX_WINDOW_SINE && s2 < MAX_WINDOW_SINE)) {
+                // orbits are too close to coplanar for the filter to be meaningful
+                return false;
+            }
+            final double halfWidth1 = FastMath.asin(s1);
+            final double halfWidth2 = FastMath.asin(s2);
+
+            final Vector3D node = nodes.normalize();
+            for (final Vector3D direction : new Vector3D[] { node, node.negate() }) {
+                final double[] range1 = radialRange(trueAnomaly(direction), halfWidth1);
+                final double[] range2 = other.radialRange(other.trueAnomaly(direction), halfWidth2);
+                if (range1[0] - range2[1] <= distance && range2[0] - range1[1] <= distance) {
+                    // the orbits may come close to each other near this node
+                    return false;
+                }
+            }
+
+            return true;
+
+        }
+
+        /** Get the true anomaly of a direction in orbit plane.
+         * @param direction direction in orbit plane
+         * @return true anomaly
+         */
+        private double trueAnomaly(final Vector3D direction) {
+            return FastMath.atan2(Vector3D.dotProduct(direction, v), Vector3D.dotProduct(direction, u));
+        }
+
+        /** Get the radial range within an angular window.
+         * @param center true anomaly at window center
+         * @param halfWidth window half width
+         * @return minimum and maximum radius within the window
+         */
+        private double[] radialRange(final double center, final double halfWidth) {
+            final double r1  = radius(center - halfWidth);
+            final double r2  = radius(center + halfWidth);
+            double       min = FastMath.min(r1, r2);
+            double       max = FastMath.max(r1, r2);
+            if (FastMath.abs(MathUtils.normalizeAngle(center, 0.0)) <= halfWidth) {
+                // periapsis is within the window
+                min = periapsis;
+            }
+            if (FastMath.abs(MathUtils.normalizeAngle(center, FastMath.PI) - FastMath.PI) <= halfWidth) {
+                // apoapsis is within the window
+                max = apoapsis;
+            }
+            return new double[] {
+                min, max
+            };
+        }
+
+        /** Get the radius at some true anomaly.
+         * @param nu true anomaly
+         * @return radius
+         */
+        private double radius(final double nu) {
+            return p / (1 + e * FastMath.cos(nu));
+        }
+
+    }
+
+}
@@ -0,0 +1,116 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.conjunction;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.orekit.errors.OrekitException;
+
+/** Results of a conjunction screening.
+ * @see ConjunctionScreener
+ * @author agent
+ * @since 11.1
+ */
+public class ConjunctionScreeningResults {
+
+    /** Conjunctions found, sorted by time of closest approach. */
+    private final List<Conjunction> conjunctions;
+
+    /** Errors that prevented some secondaries to be screened, indexed by secondary index. */
+    private final Map<Integer, OrekitException> failures;
+
+    /** Number of secondaries rejected by apogee/perigee filter. */
+    private final int rejectedByApsides;
+
+    /** Number of secondaries rejected by orbit path filter. */
+    private final int rejectedByPath;
+
+    /** Number of secondaries rejected by time grid filter. */
+    private final int rejectedByGrid;
+
+    /** Number of secondaries for which closest approaches were refined. */
+    private final int refined;
+
+    /** Simple constructor.
+     * @param conjunctions conjunctions found, sorted by time of closest approach
+     * @param failures errors that prevented some secondaries to be screened, indexed by secondary index
+     * @param rejectedByApsides number of secondaries rejected by apogee/perigee filter
+     * @param rejectedByPath number of secondaries rejected by orbit path filter
+     * @param rejectedByGrid number of secondaries rejected by time grid filter
+     * @param refined number of secondaries for which closest approaches were refined
+     */
+    public ConjunctionScreeningResults(final List<Conjunction> conjunctions,
+                                       final Map<Integer, OrekitException> failures,
+                                       final int rejectedByApsides, final int rejectedByPath,
+                                       final int rejectedByGrid, final int refined) {
+        this.conjunctions      = Collections.unmodifiableList(conjunctions);
+        this.failures          = Collections.unmodifiableMap(failures);
+        this.rejectedByApsides = rejectedByApsides;
+        this.rejectedByPath    = rejectedByPath;
+        this.rejectedByGrid    = rejectedByGrid;
+        this.refined           = refined;
+    }
+
+    /** Get the conjunctions found.
+     * @return unmodifiable list of conjunctions, sorted by time of closest approach
+     */
+    public List<Conjunction> getConjunctions() {
+        return conjunctions;
+    }
+
+    /** Get the errors that prevented some secondaries to be screened.
+     * <p>
+     * Secondaries that appear in this map have <em>not</em> been screened,
+     * typically because their propagator failed during the screening span.
+     * </p>
+     * @return unmodifiable map of errors, indexed by secondary index
+     */
+    public Map<Integer, OrekitException> getFailures() {
+        return failures;
+    }
+
+    /** Get the number of secondaries rejected by apogee/perigee filter.
+     * @return number of secondaries rejected by apogee/perigee filter
+     */
+    public int getRejectedByApsides() {
+        return rejectedByApsides;
+    }
+
+    /** Get the number of secondaries rejected by orbit path filter.
+     * @return number of secondaries rejected by orbit path filter
+     */
+    public int getRejectedByPath() {
+        return rejectedByPath;
+    }
+
+    /** Get the number of secondaries rejected by time grid filter.
+     * @return number of secondaries rejected by time grid filter
+     */
+    public int getRejectedByGrid() {
+        return rejectedByGrid;
+    }
+
+    /** Get the number of secondaries for which closest approaches were refined.
+     * @return number of secondaries for which closest approaches were refined
+     */
+    public int getRefined() {
+        return refined;
+    }
+
+}
@@ -0,0 +1,35 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ *
+ * This package provides tools for screening conjunctions between one primary
+ * object and a large number of secondary objects.
+ *
+ * <p>
+ * The {@link org.orekit.propagation.conjunction.ConjunctionScreener ConjunctionScreener}
+ * applies successive filters of increasing cost (apogee/perigee filter, orbit path
+ * filter, time grid filter) to discard secondaries that cannot come close to the
+ * primary, and then refines the time of closest approach and miss distance of the
+ * remaining candidates using root finding. Screening of different secondaries is
+ * performed in parallel.
+ * </p>
+ *
+ * @author agent
+ * @since 11.1
+ *
+ */
+package org.orekit.propagation.conjunction;
@@ -57,7 +57,7 @@ import org.orekit.time.AbsoluteDate;
  * @see EventEnablingPredicateFilter
  * @see EventSlopeFilter
  */
-public class BooleanDetector extends AbstractDetector<BooleanDetector> {
+public class BooleanDetector extends AbstractDetector<BooleanDetector> implements RateBoundedDetector {
 
     /** Original detectors: the operands. */
     private final List<EventDetector> detectors;
@@ -229,6 +229,42 @@ public class BooleanDetector extends AbstractDetector<BooleanDetector> {
         return ret;
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * Adaptive check intervals are enabled only if they are enabled
+     * for all operands.
+     * </p>
+     * @since 11.1
+     */
+    @Override
+    public boolean isAdaptiveMaxCheck() {
+        for (final EventDetector detector : detectors) {
+            if (!(detector instanceof RateBoundedDetector && ((RateBoundedDetector) detector).isAdaptiveMaxCheck())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The combined g function is the smallest or largest of the operands g
+     * functions, so its bound is the largest of the operands bounds.
+     * </p>
+     * @since 11.1
+     */
+    @Override
+    public double getGRateBound(final SpacecraftState s) {
+        double bound = 0;
+        for (final EventDetector detector : detectors) {
+            if (!(detector instanceof RateBoundedDetector)) {
+                return Double.NaN;
+            }
+            bound = FastMath.max(bound, ((RateBoundedDetector) detector).getGRateBound(s));
+        }
+        return bound;
+    }
+
     @Override
     protected BooleanDetector create(final double newMaxCheck,
                                      final double newThreshold,
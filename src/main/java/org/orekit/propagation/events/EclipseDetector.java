@@ -23,6 +23,7 @@ import org.orekit.bodies.OneAxisEllipsoid;
 import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.events.handlers.EventHandler;
 import org.orekit.propagation.events.handlers.StopOnIncreasing;
+import org.orekit.utils.PVCoordinates;
 import org.orekit.utils.PVCoordinatesProvider;
 
 /** Finder for satellite eclipse related events.
@@ -48,7 +49,7 @@ import org.orekit.utils.PVCoordinatesProvider;
  * @author Pascal Parraud
  * @author Luc Maisonobe
  */
-public class EclipseDetector extends AbstractDetector<EclipseDetector> {
+public class EclipseDetector extends AbstractDetector<EclipseDetector> implements RateBoundedDetector {
 
     /** Occulting body. */
     private final OneAxisEllipsoid occulting;
@@ -62,6 +63,11 @@ public class EclipseDetector extends AbstractDetector<EclipseDetector> {
     /** Umbra, if true, or penumbra, if false, detection flag. */
     private final boolean totalEclipse;
 
+    /** Indicator for adaptive check intervals.
+     * @since 11.1
+     */
+    private final boolean adaptiveMaxCheck;
+
     /** Build a new eclipse detector.
      * <p>The new instance is a total eclipse (umbra) detector with default
      * values for maximal checking interval ({@link #DEFAULT_MAXCHECK})
@@ -75,7 +81,7 @@ public class EclipseDetector extends AbstractDetector<EclipseDetector> {
                            final OneAxisEllipsoid occulting) {
         this(DEFAULT_MAXCHECK, DEFAULT_THRESHOLD, DEFAULT_MAX_ITER,
              new StopOnIncreasing<EclipseDetector>(),
-             occulted, occultedRadius, occulting, true);
+             occulted, occultedRadius, occulting, true, false);
     }
 
     /** Private constructor with full parameters.
@@ -92,17 +98,20 @@ public class EclipseDetector extends AbstractDetector<EclipseDetector> {
      * @param occultedRadius the radius of the body to be occulted in meters
      * @param occulting the occulting body
      * @param totalEclipse umbra (true) or penumbra (false) detection flag
+     * @param adaptiveMaxCheck if true, adaptive check intervals are enabled
      * @since 10.0
      */
     private EclipseDetector(final double maxCheck, final double threshold,
                             final int maxIter, final EventHandler<? super EclipseDetector> handler,
                             final PVCoordinatesProvider occulted,  final double occultedRadius,
-                            final OneAxisEllipsoid occulting, final boolean totalEclipse) {
+                            final OneAxisEllipsoid occulting, final boolean totalEclipse,
+                            final boolean adaptiveMaxCheck) {
         super(maxCheck, threshold, maxIter, handler);
-        this.occulted       = occulted;
-        this.occultedRadius = FastMath.abs(occultedRadius);
-        this.occulting      = occulting;
-        this.totalEclipse   = totalEclipse;
+        this.occulted         = occulted;
+        this.occultedRadius   = FastMath.abs(occultedRadius);
+        this.occulting        = occulting;
+        this.totalEclipse     = totalEclipse;
+        this.adaptiveMaxCheck = adaptiveMaxCheck;
     }
 
     /** {@inheritDoc} */
@@ -110,7 +119,7 @@ public class EclipseDetector extends AbstractDetector<EclipseDetector> {
     protected EclipseDetector create(final double newMaxCheck, final double newThreshold,
                                      final int nawMaxIter, final EventHandler<? super EclipseDetector> newHandler) {
         return new EclipseDetector(newMaxCheck, newThreshold, nawMaxIter, newHandler,
-                                   occulted, occultedRadius, occulting, totalEclipse);
+                                   occulted, occultedRadius, occulting, totalEclipse, adaptiveMaxCheck);
     }
 
     /**
@@ -124,7 +133,7 @@ public class EclipseDetector extends AbstractDetector<EclipseDetector> {
      */
     public EclipseDetector withUmbra() {
         return new EclipseDetector(getMaxCheckInterval(), getThreshold(), getMaxIterationCount(), getHandler(),
-                                   occulted, occultedRadius, occulting, true);
+                                   occulted, occultedRadius, occulting, true, adaptiveMaxCheck);
     }
 
     /**
@@ -138,7 +147,23 @@ public class EclipseDetector extends AbstractDetector<EclipseDetector> {
      */
     public EclipseDetector withPenumbra() {
         return new EclipseDetector(getMaxCheckInterval(), getThreshold(), getMaxIterationCount(), getHandler(),
-                                   occulted, occultedRadius, occulting, false);
+                                   occulted, occultedRadius, occulting, false, adaptiveMaxCheck);
+    }
+
+    /**
+     * Setup adaptive check intervals.
+     * <p>
+     * Adaptive check intervals are disabled by default.
+     * </p>
+     * @param newAdaptiveMaxCheck if true, adaptive check intervals are enabled
+     * @return a new detector with updated configuration (the instance is not changed)
+     * @see RateBoundedDetector
+     * @see #isAdaptiveMaxCheck()
+     * @since 11.1
+     */
+    public EclipseDetector withAdaptiveMaxCheck(final boolean newAdaptiveMaxCheck) {
+        return new EclipseDetector(getMaxCheckInterval(), getThreshold(), getMaxIterationCount(), getHandler(),
+                                   occulted, occultedRadius, occulting, totalEclipse, newAdaptiveMaxCheck);
     }
 
     /** Getter for the occulting body.
@@ -190,4 +215,48 @@ public class EclipseDetector extends AbstractDetector<EclipseDetector> {
         final double ro = Vector3D.angle(pi, psat);
         return totalEclipse ? (angle - ro + rs) : (angle - ro - rs);
     }
+
+    /** {@inheritDoc}
+     * @see #withAdaptiveMaxCheck(boolean)
+     * @since 11.1
+     */
+    @Override
+    public boolean isAdaptiveMaxCheck() {
+        return adaptiveMaxCheck;
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The rate is bounded by the sum of the rotation rates of the directions from
+     * satellite to occulting and occulted bodies centers, and of the change rates
+     * of the apparent radii of both bodies, all computed from the velocities relative
+     * to the occulting body frame (angles between vectors do not depend on the frame).
+     * </p>
+     * @since 11.1
+     */
+    @Override
+    public double getGRateBound(final SpacecraftState s) {
+
+        final PVCoordinates pvSat = s.getPVCoordinates(occulting.getBodyFrame());
+        final PVCoordinates pvRel = new PVCoordinates(occulted.getPVCoordinates(s.getDate(), occulting.getBodyFrame()),
+                                                      pvSat);
+        final double r          = pvSat.getPosition().getNorm();
+        final double v          = pvSat.getVelocity().getNorm();
+        final double d          = pvRel.getPosition().getNorm();
+        final double w          = pvRel.getVelocity().getNorm();
+        final double rOcculting = occulting.getEquatorialRadius();
+        if (r <= rOcculting || d <= occultedRadius) {
+            return Double.NaN;
+        }
+
+        // rotation rates of the directions to bodies centers
+        final double directionsRate = v / r + w / d;
+
+        // change rates of the apparent radii, from d(asin(R/r))/dt
+        final double radiiRate = rOcculting     * v / (r * FastMath.sqrt((r - rOcculting) * (r + rOcculting))) +
+                                 occultedRadius * w / (d * FastMath.sqrt((d - occultedRadius) * (d + occultedRadius)));
+
+        return directionsRate + radiiRate;
+
+    }
 }
@@ -17,12 +17,14 @@
 package org.orekit.propagation.events;
 
 import org.hipparchus.ode.events.Action;
+import org.hipparchus.util.FastMath;
 import org.orekit.frames.TopocentricFrame;
 import org.orekit.models.AtmosphericRefractionModel;
 import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.events.handlers.EventHandler;
 import org.orekit.propagation.events.handlers.StopOnDecreasing;
 import org.orekit.utils.ElevationMask;
+import org.orekit.utils.PVCoordinates;
 
 
 /**
@@ -37,7 +39,7 @@ import org.orekit.utils.ElevationMask;
  * @author Hank Grabowski
  * @since 6.1
  */
-public class ElevationDetector extends AbstractDetector<ElevationDetector> {
+public class ElevationDetector extends AbstractDetector<ElevationDetector> implements RateBoundedDetector {
 
     /** Elevation mask used for calculations, if defined. */
     private final ElevationMask elevationMask;
@@ -51,6 +53,11 @@ public class ElevationDetector extends AbstractDetector<ElevationDetector> {
     /** Topocentric frame in which elevation should be evaluated. */
     private final TopocentricFrame topo;
 
+    /** Indicator for adaptive check intervals.
+     * @since 11.1
+     */
+    private final boolean adaptiveMaxCheck;
+
     /**
      * Creates an instance of Elevation detector based on passed in topocentric frame
      * and the minimum elevation angle.
@@ -80,7 +87,7 @@ public class ElevationDetector extends AbstractDetector<ElevationDetector> {
                              final TopocentricFrame topo) {
         this(maxCheck, threshold, DEFAULT_MAX_ITER,
              new StopOnDecreasing<ElevationDetector>(),
-             0.0, null, null, topo);
+             0.0, null, null, topo, false);
     }
 
     /** Private constructor with full parameters.
@@ -97,17 +104,19 @@ public class ElevationDetector extends AbstractDetector<ElevationDetector> {
      * @param mask reference to elevation mask
      * @param refractionModel reference to refraction model
      * @param topo reference to a topocentric model
+     * @param adaptiveMaxCheck if true, adaptive check intervals are enabled
      */
     private ElevationDetector(final double maxCheck, final double threshold,
                               final int maxIter, final EventHandler<? super ElevationDetector> handler,
                               final double minElevation, final ElevationMask mask,
                               final AtmosphericRefractionModel refractionModel,
-                              final TopocentricFrame topo) {
+                              final TopocentricFrame topo, final boolean adaptiveMaxCheck) {
         super(maxCheck, threshold, maxIter, handler);
-        this.minElevation    = minElevation;
-        this.elevationMask   = mask;
-        this.refractionModel = refractionModel;
-        this.topo            = topo;
+        this.minElevation     = minElevation;
+        this.elevationMask    = mask;
+        this.refractionModel  = refractionModel;
+        this.topo             = topo;
+        this.adaptiveMaxCheck = adaptiveMaxCheck;
     }
 
     /** {@inheritDoc} */
@@ -115,7 +124,7 @@ public class ElevationDetector extends AbstractDetector<ElevationDetector> {
     protected ElevationDetector create(final double newMaxCheck, final double newThreshold,
                                        final int newMaxIter, final EventHandler<? super ElevationDetector> newHandler) {
         return new ElevationDetector(newMaxCheck, newThreshold, newMaxIter, newHandler,
-                                     minElevation, elevationMask, refractionModel, topo);
+                                     minElevation, elevationMask, refractionModel, topo, adaptiveMaxCheck);
     }
 
     /**
@@ -183,6 +192,46 @@ public class ElevationDetector extends AbstractDetector<ElevationDetector> {
 
     }
 
+    /** {@inheritDoc}
+     * @see #withAdaptiveMaxCheck(boolean)
+     * @since 11.1
+     */
+    @Override
+    public boolean isAdaptiveMaxCheck() {
+        return adaptiveMaxCheck;
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The elevation rate is bounded by the rotation rate of the line of sight,
+     * i.e. the relative velocity in the topocentric frame divided by the smallest
+     * possible range, which is the difference between the satellite and station
+     * distances to the body center. If a refraction model is used, its slope
+     * is assumed to remain smaller than 1 in absolute value. No bound is available
+     * with an elevation mask, as the mask slope is unknown.
+     * </p>
+     * @since 11.1
+     */
+    @Override
+    public double getGRateBound(final SpacecraftState s) {
+
+        if (elevationMask != null) {
+            return Double.NaN;
+        }
+
+        final PVCoordinates pv       = s.getPVCoordinates(topo);
+        final double        rStation = topo.getPVCoordinates(s.getDate(), topo.getParentShape().getBodyFrame()).getPosition().getNorm();
+        final double        rSat     = s.getPVCoordinates(topo.getParentShape().getBodyFrame()).getPosition().getNorm();
+        final double        minRange = FastMath.min(pv.getPosition().getNorm(), rSat - rStation);
+        if (minRange <= 0) {
+            return Double.NaN;
+        }
+
+        final double rate = pv.getVelocity().getNorm() / minRange;
+        return refractionModel == null ? rate : 2 * rate;
+
+    }
+
     /**
      * Setup the minimum elevation for detection.
      * <p>
@@ -195,7 +244,7 @@ public class ElevationDetector extends AbstractDetector<ElevationDetector> {
      */
     public ElevationDetector withConstantElevation(final double newMinElevation) {
         return new ElevationDetector(getMaxCheckInterval(), getThreshold(), getMaxIterationCount(), getHandler(),
-                                     newMinElevation, null, refractionModel, topo);
+                                     newMinElevation, null, refractionModel, topo, adaptiveMaxCheck);
     }
 
     /**
@@ -207,7 +256,7 @@ public class ElevationDetector extends AbstractDetector<ElevationDetector> {
      */
     public ElevationDetector withElevationMask(final ElevationMask newElevationMask) {
         return new ElevationDetector(getMaxCheckInterval(), getThreshold(), getMaxIterationCount(), getHandler(),
-                                     Double.NaN, newElevationMask, refractionModel, topo);
+                                     Double.NaN, newElevationMask, refractionModel, topo, adaptiveMaxCheck);
     }
 
     /**
@@ -224,7 +273,23 @@ public class ElevationDetector extends AbstractDetector<ElevationDetector> {
      */
     public ElevationDetector withRefraction(final AtmosphericRefractionModel newRefractionModel) {
         return new ElevationDetector(getMaxCheckInterval(), getThreshold(), getMaxIterationCount(), getHandler(),
-                                     minElevation, elevationMask, newRefractionModel, topo);
+                                     minElevation, elevationMask, newRefractionModel, topo, adaptiveMaxCheck);
+    }
+
+    /**
+     * Setup adaptive check intervals.
+     * <p>
+     * Adaptive check intervals are disabled by default.
+     * </p>
+     * @param newAdaptiveMaxCheck if true, adaptive check intervals are enabled
+     * @return a new detector with updated configuration (the instance is not changed)
+     * @see RateBoundedDetector
+     * @see #isAdaptiveMaxCheck()
+     * @since 11.1
+     */
+    public ElevationDetector withAdaptiveMaxCheck(final boolean newAdaptiveMaxCheck) {
+        return new ElevationDetector(getMaxCheckInterval(), getThreshold(), getMaxIterationCount(), getHandler(),
+                                     minElevation, elevationMask, refractionModel, topo, newAdaptiveMaxCheck);
     }
 
 }
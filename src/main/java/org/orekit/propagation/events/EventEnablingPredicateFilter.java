@@ -57,7 +57,7 @@ import org.orekit.time.AbsoluteDate;
  */
 
 public class EventEnablingPredicateFilter<T extends EventDetector>
-    extends AbstractDetector<EventEnablingPredicateFilter<T>> {
+    extends AbstractDetector<EventEnablingPredicateFilter<T>> implements RateBoundedDetector {
 
     /** Number of past transformers updates stored. */
     private static final int HISTORY_SIZE = 100;
@@ -238,6 +238,32 @@ public class EventEnablingPredicateFilter<T extends EventDetector>
 
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * This implementation forwards the setting of the wrapped detector,
+     * if it is a {@link RateBoundedDetector}.
+     * </p>
+     * @since 11.1
+     */
+    @Override
+    public boolean isAdaptiveMaxCheck() {
+        return rawDetector instanceof RateBoundedDetector && ((RateBoundedDetector) rawDetector).isAdaptiveMaxCheck();
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The filtered g function is the raw g function, possibly with its sign
+     * changed or its absolute value taken, so both share the same bound.
+     * </p>
+     * @since 11.1
+     */
+    @Override
+    public double getGRateBound(final SpacecraftState s) {
+        return rawDetector instanceof RateBoundedDetector ?
+               ((RateBoundedDetector) rawDetector).getGRateBound(s) :
+               Double.NaN;
+    }
+
     /** Get next function transformer in the specified direction.
      * @param previous transformer active on the previous point with respect
      * to integration direction (may be null if no previous point is known)
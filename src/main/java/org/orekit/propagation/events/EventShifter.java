@@ -37,7 +37,8 @@ import org.orekit.time.AbsoluteDate;
  * @param <T> class type for the generic version
  * @author Luc Maisonobe
  */
-public class EventShifter<T extends EventDetector> extends AbstractDetector<EventShifter<T>> {
+public class EventShifter<T extends EventDetector> extends AbstractDetector<EventShifter<T>>
+    implements RateBoundedDetector {
 
     /** Event detector for the raw unshifted event. */
     private final T detector;
@@ -141,6 +142,37 @@ public class EventShifter<T extends EventDetector> extends AbstractDetector<Even
                FastMath.max(incShiftedG, decShiftedG) : FastMath.min(incShiftedG, decShiftedG);
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * This implementation forwards the setting of the wrapped detector,
+     * if it is a {@link RateBoundedDetector}.
+     * </p>
+     * @since 11.1
+     */
+    @Override
+    public boolean isAdaptiveMaxCheck() {
+        return detector instanceof RateBoundedDetector && ((RateBoundedDetector) detector).isAdaptiveMaxCheck();
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The shifted g function is the largest or smallest of the wrapped g function
+     * evaluated at the two shifted states, so its bound is the largest of the bounds
+     * at these states.
+     * </p>
+     * @since 11.1
+     */
+    @Override
+    public double getGRateBound(final SpacecraftState s) {
+        if (detector instanceof RateBoundedDetector) {
+            final RateBoundedDetector bounded = (RateBoundedDetector) detector;
+            return FastMath.max(bounded.getGRateBound(s.shiftedBy(increasingOffset)),
+                                bounded.getGRateBound(s.shiftedBy(decreasingOffset)));
+        } else {
+            return Double.NaN;
+        }
+    }
+
     /** Local class for handling events. */
     private static class LocalHandler<T extends EventDetector> implements EventHandler<EventShifter<T>> {
 
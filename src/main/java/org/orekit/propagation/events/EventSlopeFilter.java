@@ -61,7 +61,8 @@ import org.orekit.time.AbsoluteDate;
  * @see EventEnablingPredicateFilter
  */
 
-public class EventSlopeFilter<T extends EventDetector> extends AbstractDetector<EventSlopeFilter<T>> {
+public class EventSlopeFilter<T extends EventDetector> extends AbstractDetector<EventSlopeFilter<T>>
+    implements RateBoundedDetector {
 
     /** Number of past transformers updates stored. */
     private static final int HISTORY_SIZE = 100;
@@ -230,6 +231,32 @@ public class EventSlopeFilter<T extends EventDetector> extends AbstractDetector<
 
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * This implementation forwards the setting of the wrapped detector,
+     * if it is a {@link RateBoundedDetector}.
+     * </p>
+     * @since 11.1
+     */
+    @Override
+    public boolean isAdaptiveMaxCheck() {
+        return rawDetector instanceof RateBoundedDetector && ((RateBoundedDetector) rawDetector).isAdaptiveMaxCheck();
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The filtered g function is the raw g function, possibly with its sign
+     * changed, so both share the same bound.
+     * </p>
+     * @since 11.1
+     */
+    @Override
+    public double getGRateBound(final SpacecraftState s) {
+        return rawDetector instanceof RateBoundedDetector ?
+               ((RateBoundedDetector) rawDetector).getGRateBound(s) :
+               Double.NaN;
+    }
+
     /** Local handler. */
     private static class LocalHandler<T extends EventDetector> implements EventHandler<EventSlopeFilter<T>> {
 
@@ -50,6 +50,11 @@ import org.orekit.time.AbsoluteDate;
  */
 public class EventState<T extends EventDetector> {
 
+    /** Smallest adaptive check interval, as a fraction of the max check interval.
+     * @since 11.1
+     */
+    private static final double MIN_ADAPTIVE_CHECK_RATIO = 1.0e-3;
+
     /** Event detector. */
     private T detector;
 
@@ -201,6 +206,11 @@ public class EventState<T extends EventDetector> {
             // we cannot do anything on such a small step, don't trigger any events
             return false;
         }
+        if (detector instanceof RateBoundedDetector && ((RateBoundedDetector) detector).isAdaptiveMaxCheck()) {
+            // the user asked the detector to adapt its checks to the current state
+            return evaluateStepAdaptively(interpolator, (RateBoundedDetector) detector, t1);
+        }
+
         // number of points to check in the current step
         final int n = FastMath.max(1, (int) FastMath.ceil(FastMath.abs(dt) / detector.getMaxCheckInterval()));
         final double h = dt / n;
@@ -235,6 +245,80 @@ public class EventState<T extends EventDetector> {
 
     }
 
+    /** Evaluate the impact of the proposed step on a detector with bounded g function rate.
+     * <p>
+     * The g function is checked at adaptive intervals, computed at each check
+     * as the time needed for the g function to reach zero when changing at
+     * its maximum rate, and limited by the detector max check interval. The
+     * intervals are never smaller than a small fraction of the max check interval,
+     * so checks do not pile up when g remains close to zero without crossing it.
+     * </p>
+     * @param interpolator step interpolator for the proposed step
+     * @param bounded detector, seen as a detector with bounded g function rate
+     * @param t1 end of the proposed step
+     * @return true if the event detector triggers an event before
+     * the end of the proposed step (this implies the step should be
+     * rejected)
+     * @since 11.1
+     */
+    private boolean evaluateStepAdaptively(final OrekitStepInterpolator interpolator,
+                                           final RateBoundedDetector bounded,
+                                           final AbsoluteDate t1) {
+
+        // start of the bracketing interval
+        AbsoluteDate ta = t0;
+        double ga = g0;
+
+        // last checked point
+        AbsoluteDate    tc = t0;
+        SpacecraftState sc = interpolator.getInterpolatedState(t0);
+        double          gc = g0;
+
+        while (true) {
+
+            // time needed for g to reach zero at its maximum rate
+            final double rate = bounded.getGRateBound(sc);
+            double interval = detector.getMaxCheckInterval();
+            if (rate > 0) {
+                interval = FastMath.min(interval, FastMath.abs(gc) / rate);
+            }
+            interval = FastMath.max(interval,
+                                    FastMath.max(MIN_ADAPTIVE_CHECK_RATIO * detector.getMaxCheckInterval(),
+                                                 detector.getThreshold()));
+
+            // evaluate handler value at the end of the adaptive substep
+            final boolean         last = interval >= FastMath.abs(t1.durationFrom(tc));
+            final AbsoluteDate    tb   = last ? t1 : tc.shiftedBy(forward ? interval : -interval);
+            final SpacecraftState sb   = interpolator.getInterpolatedState(tb);
+            final double          gb   = g(sb);
+
+            // check events occurrence
+            if (gb == 0.0 || (g0Positive ^ (gb > 0))) {
+                // there is a sign change: an event is expected during this step
+                if (findRoot(interpolator, ta, ga, tb, gb)) {
+                    return true;
+                }
+            } else {
+                // no sign change: there is no event for now
+                ta = tb;
+                ga = gb;
+            }
+
+            if (last) {
+                // no event during the whole step
+                pendingEvent     = false;
+                pendingEventTime = null;
+                return false;
+            }
+
+            tc = tb;
+            sc = sb;
+            gc = gb;
+
+        }
+
+    }
+
     /**
      * Find a root in a bracketing interval.
      *
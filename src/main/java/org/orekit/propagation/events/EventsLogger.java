@@ -160,7 +160,8 @@ public class EventsLogger {
     /** Internal wrapper for events detectors.
      * @param <T> class type for the generic version
      */
-    private class LoggingWrapper<T extends EventDetector> extends AbstractDetector<LoggingWrapper<T>> {
+    private class LoggingWrapper<T extends EventDetector> extends AbstractDetector<LoggingWrapper<T>>
+        implements RateBoundedDetector {
 
         /** Wrapped events detector. */
         private final T detector;
@@ -221,6 +222,31 @@ public class EventsLogger {
             return detector.g(s);
         }
 
+        /** {@inheritDoc}
+         * <p>
+         * This implementation forwards the setting of the wrapped detector,
+         * if it is a {@link RateBoundedDetector}.
+         * </p>
+         * @since 11.1
+         */
+        @Override
+        public boolean isAdaptiveMaxCheck() {
+            return detector instanceof RateBoundedDetector && ((RateBoundedDetector) detector).isAdaptiveMaxCheck();
+        }
+
+        /** {@inheritDoc}
+         * <p>
+         * The wrapper g function is the wrapped g function, so both share the same bound.
+         * </p>
+         * @since 11.1
+         */
+        @Override
+        public double getGRateBound(final SpacecraftState s) {
+            return detector instanceof RateBoundedDetector ?
+                   ((RateBoundedDetector) detector).getGRateBound(s) :
+                   Double.NaN;
+        }
+
     }
 
     /** Local class for handling events.
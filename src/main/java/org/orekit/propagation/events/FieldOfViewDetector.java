@@ -23,6 +23,7 @@ import org.orekit.geometry.fov.FieldOfView;
 import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.events.handlers.EventHandler;
 import org.orekit.propagation.events.handlers.StopOnIncreasing;
+import org.orekit.utils.PVCoordinates;
 import org.orekit.utils.PVCoordinatesProvider;
 
 /** Finder for target entry/exit events with respect to a satellite sensor
@@ -43,7 +44,7 @@ import org.orekit.utils.PVCoordinatesProvider;
  * @author Luc Maisonobe
  * @since 7.1
  */
-public class FieldOfViewDetector extends AbstractDetector<FieldOfViewDetector> {
+public class FieldOfViewDetector extends AbstractDetector<FieldOfViewDetector> implements RateBoundedDetector {
 
     /** Position/velocity provider of the considered target. */
     private final PVCoordinatesProvider targetPVProvider;
@@ -57,6 +58,11 @@ public class FieldOfViewDetector extends AbstractDetector<FieldOfViewDetector> {
     /** Field of view. */
     private final FieldOfView fov;
 
+    /** Indicator for adaptive check intervals.
+     * @since 11.1
+     */
+    private final boolean adaptiveMaxCheck;
+
     /** Build a new instance.
      * <p>The maximal interval between distance to FOV boundary checks should
      * be smaller than the half duration of the minimal pass to handle,
@@ -83,7 +89,7 @@ public class FieldOfViewDetector extends AbstractDetector<FieldOfViewDetector> {
                                final VisibilityTrigger trigger, final FieldOfView fov) {
         this(DEFAULT_MAXCHECK, DEFAULT_THRESHOLD, DEFAULT_MAX_ITER,
              new StopOnIncreasing<FieldOfViewDetector>(),
-             pvTarget, radiusTarget, trigger, fov);
+             pvTarget, radiusTarget, trigger, fov, false);
     }
 
     /** Private constructor with full parameters.
@@ -100,16 +106,19 @@ public class FieldOfViewDetector extends AbstractDetector<FieldOfViewDetector> {
      * @param radiusTarget radius of the target, considered to be a spherical body (m)
      * @param trigger visibility trigger for spherical bodies
      * @param fov Field Of View
+     * @param adaptiveMaxCheck if true, adaptive check intervals are enabled
      */
     private FieldOfViewDetector(final double maxCheck, final double threshold, final int maxIter,
                                 final EventHandler<? super FieldOfViewDetector> handler,
                                 final PVCoordinatesProvider pvTarget, final double radiusTarget,
-                                final VisibilityTrigger trigger, final FieldOfView fov) {
+                                final VisibilityTrigger trigger, final FieldOfView fov,
+                                final boolean adaptiveMaxCheck) {
         super(maxCheck, threshold, maxIter, handler);
         this.targetPVProvider = pvTarget;
         this.radiusTarget     = radiusTarget;
         this.trigger          = trigger;
         this.fov              = fov;
+        this.adaptiveMaxCheck = adaptiveMaxCheck;
     }
 
     /** {@inheritDoc} */
@@ -118,7 +127,23 @@ public class FieldOfViewDetector extends AbstractDetector<FieldOfViewDetector> {
                                          final int newMaxIter,
                                          final EventHandler<? super FieldOfViewDetector> newHandler) {
         return new FieldOfViewDetector(newMaxCheck, newThreshold, newMaxIter, newHandler,
-                                       targetPVProvider, radiusTarget, trigger, fov);
+                                       targetPVProvider, radiusTarget, trigger, fov, adaptiveMaxCheck);
+    }
+
+    /**
+     * Setup adaptive check intervals.
+     * <p>
+     * Adaptive check intervals are disabled by default.
+     * </p>
+     * @param newAdaptiveMaxCheck if true, adaptive check intervals are enabled
+     * @return a new detector with updated configuration (the instance is not changed)
+     * @see RateBoundedDetector
+     * @see #isAdaptiveMaxCheck()
+     * @since 11.1
+     */
+    public FieldOfViewDetector withAdaptiveMaxCheck(final boolean newAdaptiveMaxCheck) {
+        return new FieldOfViewDetector(getMaxCheckInterval(), getThreshold(), getMaxIterationCount(), getHandler(),
+                                       targetPVProvider, radiusTarget, trigger, fov, newAdaptiveMaxCheck);
     }
 
     /** Get the position/velocity provider of the target .
@@ -164,4 +189,40 @@ public class FieldOfViewDetector extends AbstractDetector<FieldOfViewDetector> {
 
     }
 
+    /** {@inheritDoc}
+     * @see #withAdaptiveMaxCheck(boolean)
+     * @since 11.1
+     */
+    @Override
+    public boolean isAdaptiveMaxCheck() {
+        return adaptiveMaxCheck;
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The angular offset rate is bounded by the sum of the spacecraft rotation
+     * rate, of the rotation rate of the inertial line of sight and of the change
+     * rate of the target angular radius.
+     * </p>
+     * @since 11.1
+     */
+    @Override
+    public double getGRateBound(final SpacecraftState s) {
+
+        final PVCoordinates pvRel = new PVCoordinates(s.getPVCoordinates(),
+                                                      targetPVProvider.getPVCoordinates(s.getDate(), s.getFrame()));
+        final double d = pvRel.getPosition().getNorm();
+        final double w = pvRel.getVelocity().getNorm();
+        if (d <= radiusTarget) {
+            return Double.NaN;
+        }
+
+        final double spinRate      = s.getAttitude().getSpin().getNorm();
+        final double lineOfSight   = w / d;
+        final double angularRadius = radiusTarget * w / (d * FastMath.sqrt((d - radiusTarget) * (d + radiusTarget)));
+
+        return spinRate + lineOfSight + angularRadius;
+
+    }
+
 }
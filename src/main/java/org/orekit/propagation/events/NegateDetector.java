@@ -27,7 +27,7 @@ import org.orekit.time.AbsoluteDate;
  *
  * @author Evan Ward
  */
-public class NegateDetector extends AbstractDetector<NegateDetector> {
+public class NegateDetector extends AbstractDetector<NegateDetector> implements RateBoundedDetector {
 
     /** the delegate event detector. */
     private final EventDetector original;
@@ -89,6 +89,31 @@ public class NegateDetector extends AbstractDetector<NegateDetector> {
         return -this.original.g(s);
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * This implementation forwards the setting of the wrapped detector,
+     * if it is a {@link RateBoundedDetector}.
+     * </p>
+     * @since 11.1
+     */
+    @Override
+    public boolean isAdaptiveMaxCheck() {
+        return original instanceof RateBoundedDetector && ((RateBoundedDetector) original).isAdaptiveMaxCheck();
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The negated g function shares the same bound as the original one.
+     * </p>
+     * @since 11.1
+     */
+    @Override
+    public double getGRateBound(final SpacecraftState s) {
+        return original instanceof RateBoundedDetector ?
+               ((RateBoundedDetector) original).getGRateBound(s) :
+               Double.NaN;
+    }
+
     @Override
     protected NegateDetector create(
             final double newMaxCheck,
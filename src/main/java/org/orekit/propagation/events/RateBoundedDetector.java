@@ -0,0 +1,74 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import org.orekit.propagation.SpacecraftState;
+
+/** Interface for detectors that can bound the rate of change of their switching function.
+ * <p>
+ * When a detector implements this interface and {@link #isAdaptiveMaxCheck() enables}
+ * adaptive checks, the {@link EventState event state} does not check the switching
+ * function at regularly spaced points within each step anymore. It rather checks it at
+ * adaptive intervals, computed at each check as the time needed for the g function to
+ * reach zero if it changed at the maximum rate {@link #getGRateBound(SpacecraftState)
+ * bound}. The {@link #getMaxCheckInterval() max check interval} is then only an upper
+ * limit for these intervals, and can be set to large values. This allows to use large
+ * check intervals far from the events, and small intervals only close to them, so short
+ * events (like short visibility passes) are not missed and far fewer g function evaluations
+ * are needed on long time spans.
+ * </p>
+ * <p>
+ * Adaptive checks are disabled by default, so detectors implementing this interface
+ * behave exactly as other detectors unless users explicitly enable them. The intervals
+ * are never smaller than a small fraction of the max check interval, nor smaller than
+ * the {@link #getThreshold() convergence threshold}. If no bound is available at some
+ * state, the max check interval is used for the next check.
+ * </p>
+ * <p>
+ * Adaptive checks are used only by {@link EventState}, i.e. by analytical propagators
+ * and ephemerides. Integration-based propagators delegate events handling to the
+ * integrator, which always uses the regular max check interval.
+ * </p>
+ * <p>
+ * Wrapping detectors like {@link EventSlopeFilter}, {@link EventEnablingPredicateFilter},
+ * {@link EventShifter}, {@link NegateDetector}, {@link BooleanDetector} or the ones
+ * created by {@link EventsLogger#monitorDetector(EventDetector)} forward both the setting
+ * and the bound of the detectors they wrap.
+ * </p>
+ * @author agent
+ * @since 11.1
+ */
+public interface RateBoundedDetector extends EventDetector {
+
+    /** Check if adaptive check intervals are enabled.
+     * @return true if adaptive check intervals are enabled
+     */
+    boolean isAdaptiveMaxCheck();
+
+    /** Get a bound on the rate of change of the switching function.
+     * <p>
+     * The bound should be conservative, i.e. it should remain larger than
+     * |dg/dt| in the vicinity of the state, up to the max check interval.
+     * </p>
+     * @param s current state, at which g has just been evaluated
+     * @return upper bound of |dg/dt| (in g units per second), or {@code Double.NaN}
+     * if no bound is available for this state (in which case the max check interval
+     * is used)
+     */
+    double getGRateBound(SpacecraftState s);
+
+}
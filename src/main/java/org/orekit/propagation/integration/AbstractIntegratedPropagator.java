@@ -16,6 +16,7 @@
  */
 package org.orekit.propagation.integration;
 
+import java.nio.DoubleBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -26,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathRuntimeException;
 import org.hipparchus.linear.RealMatrix;
 import org.hipparchus.ode.DenseOutputModel;
@@ -41,9 +43,11 @@ import org.hipparchus.ode.events.ODEEventHandler;
 import org.hipparchus.ode.sampling.AbstractODEStateInterpolator;
 import org.hipparchus.ode.sampling.ODEStateInterpolator;
 import org.hipparchus.ode.sampling.ODEStepHandler;
+import org.hipparchus.util.FastMath;
 import org.hipparchus.util.Precision;
 import org.orekit.attitudes.AttitudeProvider;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitInternalError;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.frames.Frame;
@@ -61,6 +65,7 @@ import org.orekit.propagation.sampling.OrekitStepHandler;
 import org.orekit.propagation.sampling.OrekitStepInterpolator;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.utils.DoubleArrayDictionary;
+import org.orekit.utils.PVCoordinates;
 
 
 /** Common handling of {@link org.orekit.propagation.Propagator Propagator}
@@ -74,12 +79,27 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
      */
     private static final String SECONDARY_DIMENSION = "Orekit-secondary-dimension";
 
+    /** Maximum number of states cached for events detection.
+     * @since 11.1
+     */
+    private static final int MAX_CACHED_STATES = 4096;
+
     /** Event detectors not related to force models. */
     private final List<EventDetector> detectors;
 
     /** Step handlers dedicated to ephemeris generation. */
     private final List<StoringStepHandler> ephemerisGenerators;
 
+    /** States converted for events detection, indexed by time.
+     * @since 11.1
+     */
+    private final Map<Double, CachedState> eventsStatesCache;
+
+    /** Step handlers dedicated to compact ephemeris generation.
+     * @since 11.1
+     */
+    private final List<CompactStoringStepHandler> compactEphemerisGenerators;
+
     /** Integrator selected by the user for the orbital extrapolation process. */
     private final ODEIntegrator integrator;
 
@@ -121,6 +141,8 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
     protected AbstractIntegratedPropagator(final ODEIntegrator integrator, final PropagationType propagationType) {
         detectors                      = new ArrayList<>();
         ephemerisGenerators            = new ArrayList<>();
+        compactEphemerisGenerators     = new ArrayList<>();
+        eventsStatesCache              = new HashMap<>();
         additionalDerivativesProviders = new ArrayList<>();
         this.secondaryOffsets          = new HashMap<>();
         this.integrator                = integrator;
@@ -386,6 +408,31 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
         return storingHandler;
     }
 
+    /** Set up an ephemeris generator that will monitor the propagation for building
+     * a {@link CompactEphemeris compact ephemeris} from it once completed.
+     * <p>
+     * Contrary to the regular {@link #getEphemerisGenerator() ephemeris generator},
+     * which keeps all step interpolators, the compact generator samples each integration
+     * step at {@code degree + 1} Chebyshev nodes and only stores the coefficients of the
+     * Chebyshev polynomials fitting the Cartesian position, the Cartesian velocity and
+     * the mass throughout the step. With typical integrators, a degree slightly above the integrator dense output
+     * order (for example 10 for Dormand-Prince 8(5,3)) reproduces the integrated trajectory
+     * at numerical noise level.
+     * </p>
+     * @param degree degree of the Chebyshev polynomials (must be at least 2)
+     * @return compact ephemeris generator
+     * @see CompactEphemeris
+     * @since 11.1
+     */
+    public EphemerisGenerator getCompactEphemerisGenerator(final int degree) {
+        if (degree < 2) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, degree, 2);
+        }
+        final CompactStoringStepHandler storingHandler = new CompactStoringStepHandler(degree);
+        compactEphemerisGenerators.add(storingHandler);
+        return storingHandler;
+    }
+
     /** Create a mapper between raw double components and spacecraft state.
     /** Simple constructor.
      * <p>
@@ -447,6 +494,9 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
             // set up events added by user
             setUpUserEventDetectors();
 
+            // states converted for events detection are shared only within one step
+            integrator.addStepHandler(interpolator -> eventsStatesCache.clear());
+
             // set up step handlers
             for (final OrekitStepHandler handler : getMultiplexer().getHandlers()) {
                 integrator.addStepHandler(new AdaptedStepHandler(handler));
@@ -455,6 +505,9 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
                 generator.setEndDate(tEnd);
                 integrator.addStepHandler(generator);
             }
+            for (final CompactStoringStepHandler generator : compactEphemerisGenerators) {
+                integrator.addStepHandler(generator);
+            }
 
             // propagate from start date to end date with event detection
             final SpacecraftState finalState = integrateDynamics(tEnd);
@@ -706,6 +759,34 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
 
     }
 
+    /** Convert a state from mathematical world to space flight dynamics world, for events detection.
+     * <p>
+     * As all event detectors are evaluated at the end of each step, and detectors
+     * sharing the same max check interval are evaluated at the same dates within
+     * the step, the converted states are cached so conversion (which includes
+     * attitude computation) is performed only once for all detectors.
+     * </p>
+     * @param os mathematical state
+     * @return space flight dynamics state
+     * @since 11.1
+     */
+    private SpacecraftState convertForEvents(final ODEStateAndDerivative os) {
+
+        final Double      key    = os.getTime();
+        final CachedState cached = eventsStatesCache.get(key);
+        if (cached != null && cached.matches(os)) {
+            return cached.getState();
+        }
+
+        final SpacecraftState state = convert(os);
+        if (eventsStatesCache.size() >= MAX_CACHED_STATES) {
+            eventsStatesCache.clear();
+        }
+        eventsStatesCache.put(key, new CachedState(os, state));
+        return state;
+
+    }
+
     /** Convert a state from space flight dynamics world to mathematical world.
      * @param state space flight dynamics state
      * @return mathematical state
@@ -923,6 +1004,7 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
 
         /** {@inheritDoc} */
         public void init(final ODEStateAndDerivative s0, final double t) {
+            eventsStatesCache.clear();
             detector.init(convert(s0), stateMapper.mapDoubleToDate(t));
             this.lastT = Double.NaN;
             this.lastG = Double.NaN;
@@ -932,19 +1014,23 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
         public double g(final ODEStateAndDerivative s) {
             if (!Precision.equals(lastT, s.getTime(), 0)) {
                 lastT = s.getTime();
-                lastG = detector.g(convert(s));
+                lastG = detector.g(convertForEvents(s));
             }
             return lastG;
         }
 
         /** {@inheritDoc} */
         public Action eventOccurred(final ODEStateAndDerivative s, final boolean increasing) {
+            // the event may change the model (for example attitude switches),
+            // so states already converted cannot be reused anymore
+            eventsStatesCache.clear();
             return detector.eventOccurred(convert(s), increasing);
         }
 
         /** {@inheritDoc} */
         public ODEState resetState(final ODEStateAndDerivative s) {
 
+            eventsStatesCache.clear();
             final SpacecraftState oldState = convert(s);
             final SpacecraftState newState = detector.resetState(oldState);
             stateChanged(newState);
@@ -1164,6 +1250,189 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
 
     }
 
+    /** Specialized step handler storing Chebyshev polynomials for compact ephemeris generation.
+     * @since 11.1
+     */
+    private class CompactStoringStepHandler implements ODEStepHandler, EphemerisGenerator {
+
+        /** Degree of the polynomials. */
+        private final int degree;
+
+        /** Size of one step record. */
+        private final int recordSize;
+
+        /** Chebyshev nodes, in [-1; +1]. */
+        private final double[] nodes;
+
+        /** Cosines table for Chebyshev coefficients computation. */
+        private final double[][] cosines;
+
+        /** Steps records. */
+        private double[] records;
+
+        /** Number of doubles used in records. */
+        private int used;
+
+        /** Reference date of steps times. */
+        private AbsoluteDate referenceDate;
+
+        /** Generated ephemeris. */
+        private BoundedPropagator ephemeris;
+
+        /** Simple constructor.
+         * @param degree degree of the polynomials
+         */
+        CompactStoringStepHandler(final int degree) {
+            this.degree     = degree;
+            this.recordSize = CompactEphemeris.recordSize(degree);
+            this.nodes      = new double[degree + 1];
+            this.cosines    = new double[degree + 1][degree + 1];
+            for (int k = 0; k <= degree; ++k) {
+                final double theta = FastMath.PI * (k + 0.5) / (degree + 1);
+                nodes[k] = FastMath.cos(theta);
+                for (int j = 0; j <= degree; ++j) {
+                    cosines[j][k] = FastMath.cos(j * theta);
+                }
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void init(final ODEStateAndDerivative s0, final double t) {
+
+            this.records       = new double[16 * recordSize];
+            this.used          = 0;
+            this.referenceDate = stateMapper.getReferenceDate();
+
+            // ephemeris will be generated when last step is processed
+            this.ephemeris = null;
+
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public BoundedPropagator getGeneratedEphemeris() {
+            return ephemeris;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void handleStep(final ODEStateInterpolator interpolator) {
+
+            final double t0   = interpolator.getPreviousState().getTime();
+            final double t1   = interpolator.getCurrentState().getTime();
+            final double tMin = FastMath.min(t0, t1);
+            final double tMax = FastMath.max(t0, t1);
+            if (tMax <= tMin) {
+                // ignore degenerated steps
+                return;
+            }
+
+            // sample the step at Chebyshev nodes
+            final double     mid     = 0.5 * (tMin + tMax);
+            final double     half    = 0.5 * (tMax - tMin);
+            final double[][] samples = new double[CompactEphemeris.SERIES][degree + 1];
+            for (int k = 0; k <= degree; ++k) {
+                final ODEStateAndDerivative os = interpolator.getInterpolatedState(mid + half * nodes[k]);
+                final SpacecraftState state = stateMapper.mapArrayToState(os.getTime(),
+                                                                          os.getPrimaryState(),
+                                                                          os.getPrimaryDerivative(),
+                                                                          propagationType);
+                final PVCoordinates pv = state.getPVCoordinates();
+                samples[0][k] = pv.getPosition().getX();
+                samples[1][k] = pv.getPosition().getY();
+                samples[2][k] = pv.getPosition().getZ();
+                samples[3][k] = pv.getVelocity().getX();
+                samples[4][k] = pv.getVelocity().getY();
+                samples[5][k] = pv.getVelocity().getZ();
+                samples[6][k] = state.getMass();
+            }
+
+            // store the Chebyshev coefficients
+            if (used + recordSize > records.length) {
+                records = Arrays.copyOf(records, 2 * records.length);
+            }
+            records[used++] = tMin;
+            records[used++] = tMax;
+            final double scale = 2.0 / (degree + 1);
+            for (final double[] sample : samples) {
+                for (int j = 0; j <= degree; ++j) {
+                    double c = 0;
+                    for (int k = 0; k <= degree; ++k) {
+                        c += sample[k] * cosines[j][k];
+                    }
+                    records[used++] = (j == 0 ? 0.5 : 1.0) * scale * c;
+                }
+            }
+
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void finish(final ODEStateAndDerivative finalState) {
+
+            // in case of backward propagation, restore chronological order
+            final int nbSteps = used / recordSize;
+            if (nbSteps > 1 && records[0] > records[recordSize]) {
+                final double[] tmp = new double[recordSize];
+                for (int i = 0, j = nbSteps - 1; i < j; ++i, --j) {
+                    System.arraycopy(records, i * recordSize, tmp,     0,              recordSize);
+                    System.arraycopy(records, j * recordSize, records, i * recordSize, recordSize);
+                    System.arraycopy(tmp,     0,              records, j * recordSize, recordSize);
+                }
+            }
+
+            // create the ephemeris
+            ephemeris = new CompactEphemeris(referenceDate, stateMapper.getFrame(), stateMapper.getMu(),
+                                             stateMapper.getAttitudeProvider(), degree,
+                                             DoubleBuffer.wrap(Arrays.copyOf(records, used)));
+
+        }
+
+    }
+
+    /** Container for states converted for events detection.
+     * @since 11.1
+     */
+    private static class CachedState {
+
+        /** Complete state. */
+        private final double[] complete;
+
+        /** Complete state derivative. */
+        private final double[] completeDot;
+
+        /** Converted state. */
+        private final SpacecraftState state;
+
+        /** Simple constructor.
+         * @param os mathematical state
+         * @param state converted state
+         */
+        CachedState(final ODEStateAndDerivative os, final SpacecraftState state) {
+            this.complete    = os.getCompleteState();
+            this.completeDot = os.getCompleteDerivative();
+            this.state       = state;
+        }
+
+        /** Check if a mathematical state matches the cached one.
+         * @param os mathematical state to check (at the same time as the cached one)
+         * @return true if os matches the cached state
+         */
+        public boolean matches(final ODEStateAndDerivative os) {
+            return Arrays.equals(complete,    os.getCompleteState()) &&
+                   Arrays.equals(completeDot, os.getCompleteDerivative());
+        }
+
+        /** Get the converted state.
+         * @return converted state
+         */
+        public SpacecraftState getState() {
+            return state;
+        }
+
+    }
+
     /** Wrapper for resetting an integrator handlers.
      * <p>
      * This class is intended to be used in a try-with-resource statement.
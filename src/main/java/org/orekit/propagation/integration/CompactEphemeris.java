@@ -0,0 +1,426 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.integration;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.attitudes.AttitudeProvider;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.orbits.CartesianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.analytical.AbstractAnalyticalPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/** Compact ephemeris storing Chebyshev polynomials coefficients for each integration step.
+ *
+ * <p>
+ * Instances of this class are built automatically when the {@link
+ * AbstractIntegratedPropagator#getCompactEphemerisGenerator(int)
+ * getCompactEphemerisGenerator} method has been called. They are created when
+ * propagation is over.
+ * </p>
+ * <p>
+ * Contrary to {@link IntegratedEphemeris} which keeps all the step interpolators
+ * with their complete internal state, this class only stores, for each integration
+ * step, the Chebyshev polynomials coefficients of the Cartesian position, of the
+ * Cartesian velocity and of the mass, in a single primitive buffer. Position and
+ * velocity are fitted separately, so velocity keeps the same accuracy as position
+ * instead of being degraded by differentiation, and acceleration is recovered by
+ * differentiating the velocity polynomials. This is much more memory efficient,
+ * so many ephemerides covering long time spans can be kept in memory at once
+ * (typically for events searches), and they can be {@link #write(Path) written}
+ * to disk and {@link #load(Path, Frame, double, AttitudeProvider) loaded} back
+ * using memory mapping, so the operating system pages data in only as needed.
+ * </p>
+ * <p>
+ * The orbits are always generated as {@link CartesianOrbit Cartesian orbits}
+ * in the propagation frame, whatever the orbit type used for propagation.
+ * Additional states are not stored. Attitude is recomputed from the attitude
+ * provider.
+ * </p>
+ * @see AbstractIntegratedPropagator#getCompactEphemerisGenerator(int)
+ * @author agent
+ * @since 11.1
+ */
+public class CompactEphemeris extends AbstractAnalyticalPropagator implements BoundedPropagator {
+
+    /** Number of polynomials series per step (x, y, z, vx, vy, vz, mass). */
+    static final int SERIES = 7;
+
+    /** Event detection requires evaluating the state slightly before / past an event. */
+    private static final double EXTRAPOLATION_TOLERANCE = 1.0;
+
+    /** Magic number for persisted files. */
+    private static final int MAGIC = 0x4f43454d;
+
+    /** Format version for persisted files. */
+    private static final int VERSION = 1;
+
+    /** Size of the header in persisted files (bytes). */
+    private static final int HEADER_SIZE = 32;
+
+    /** Reference date for steps times. */
+    private final AbsoluteDate referenceDate;
+
+    /** Propagation frame. */
+    private final Frame frame;
+
+    /** Central attraction coefficient (m³/s²). */
+    private final double mu;
+
+    /** Degree of the polynomials. */
+    private final int degree;
+
+    /** Size of one step record (in doubles). */
+    private final int recordSize;
+
+    /** Number of steps. */
+    private final int nbSteps;
+
+    /** Steps records, sorted in chronological order.
+     * <p>
+     * Each record contains the start and end times of the step (with respect to
+     * {@link #referenceDate}), followed by the coefficients of the x, y, z,
+     * vx, vy, vz and mass Chebyshev series.
+     * </p>
+     */
+    private final DoubleBuffer records;
+
+    /** First date of the range. */
+    private final AbsoluteDate minDate;
+
+    /** Last date of the range. */
+    private final AbsoluteDate maxDate;
+
+    /** Simple constructor.
+     * @param referenceDate reference date for steps times
+     * @param frame propagation frame
+     * @param mu central attraction coefficient (m³/s²)
+     * @param attitudeProvider attitude provider
+     * @param degree degree of the polynomials
+     * @param records steps records, sorted in chronological order (each record
+     * contains the start and end times of the step with respect to reference date,
+     * followed by the {@code degree + 1} coefficients of the x, y, z, vx, vy, vz
+     * and mass Chebyshev series)
+     */
+    public CompactEphemeris(final AbsoluteDate referenceDate, final Frame frame, final double mu,
+                            final AttitudeProvider attitudeProvider,
+                            final int degree, final DoubleBuffer records) {
+
+        super(attitudeProvider);
+
+        this.referenceDate = referenceDate;
+        this.frame         = frame;
+        this.mu            = mu;
+        this.degree        = degree;
+        this.recordSize    = recordSize(degree);
+        this.nbSteps       = records.capacity() / recordSize;
+        this.records       = records;
+        this.minDate       = referenceDate.shiftedBy(records.get(0));
+        this.maxDate       = referenceDate.shiftedBy(records.get((nbSteps - 1) * recordSize + 1));
+
+    }
+
+    /** Get the size of one step record.
+     * @param degree degree of the polynomials
+     * @return size of one step record (in doubles)
+     */
+    static int recordSize(final int degree) {
+        return 2 + SERIES * (degree + 1);
+    }
+
+    /** Load a compact ephemeris previously written to disk.
+     * <p>
+     * The steps records are memory mapped, so only the parts of the file
+     * that are really used are loaded by the operating system. As the
+     * file contains only the steps data, the frame, central attraction
+     * coefficient and attitude provider must be provided again.
+     * </p>
+     * @param path path of the file
+     * @param frame propagation frame
+     * @param mu central attraction coefficient (m³/s²)
+     * @param attitudeProvider attitude provider
+     * @return loaded ephemeris
+     * @see #write(Path)
+     */
+    public static CompactEphemeris load(final Path path, final Frame frame, final double mu,
+                                        final AttitudeProvider attitudeProvider) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+            // read header
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    throw new OrekitException(OrekitMessages.UNEXPECTED_END_OF_FILE, path);
+                }
+            }
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new OrekitException(OrekitMessages.UNSUPPORTED_FILE_FORMAT, path);
+            }
+            final int    fileDegree   = header.getInt();
+            final int    fileNbSteps  = header.getInt();
+            final long   wholeSeconds = header.getLong();
+            final double fraction     = header.getDouble();
+            final long   size         = (long) fileNbSteps * recordSize(fileDegree) * Double.BYTES;
+            if (fileDegree < 0 || fileNbSteps <= 0 || channel.size() != HEADER_SIZE + size) {
+                throw new OrekitException(OrekitMessages.CORRUPTED_FILE, path);
+            }
+
+            // map steps records
+            final DoubleBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, size).asDoubleBuffer();
+            final AbsoluteDate reference = AbsoluteDate.ARBITRARY_EPOCH.shiftedBy(wholeSeconds).shiftedBy(fraction);
+            return new CompactEphemeris(reference, frame, mu, attitudeProvider, fileDegree, mapped);
+
+        } catch (IOException ioe) {
+            throw new OrekitException(ioe, LocalizedCoreFormats.SIMPLE_MESSAGE, ioe.getLocalizedMessage());
+        }
+    }
+
+    /** Write the ephemeris to disk.
+     * @param path path of the file to write (will be overwritten if it already exists)
+     * @see #load(Path, Frame, double, AttitudeProvider)
+     */
+    public void write(final Path path) {
+        try (FileChannel channel = FileChannel.open(path,
+                                                    StandardOpenOption.CREATE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING,
+                                                    StandardOpenOption.WRITE)) {
+
+            // write header, with reference date split to preserve accuracy
+            final long wholeSeconds = (long) FastMath.floor(referenceDate.durationFrom(AbsoluteDate.ARBITRARY_EPOCH));
+            final double fraction   = referenceDate.durationFrom(AbsoluteDate.ARBITRARY_EPOCH.shiftedBy(wholeSeconds));
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(degree).putInt(nbSteps);
+            header.putLong(wholeSeconds).putDouble(fraction);
+            header.flip();
+            writeFully(channel, header);
+
+            // write steps records
+            final ByteBuffer buffer = ByteBuffer.allocate(recordSize * Double.BYTES);
+            for (int i = 0; i < nbSteps; ++i) {
+                buffer.clear();
+                for (int j = 0; j < recordSize; ++j) {
+                    buffer.putDouble(records.get(i * recordSize + j));
+                }
+                buffer.flip();
+                writeFully(channel, buffer);
+            }
+
+        } catch (IOException ioe) {
+            throw new OrekitException(ioe, LocalizedCoreFormats.SIMPLE_MESSAGE, ioe.getLocalizedMessage());
+        }
+    }
+
+    /** Write a complete buffer to a channel.
+     * @param channel channel to write to
+     * @param buffer buffer to write
+     * @exception IOException if buffer cannot be written
+     */
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer)
+        throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /** Get the degree of the polynomials.
+     * @return degree of the polynomials
+     */
+    public int getDegree() {
+        return degree;
+    }
+
+    /** Get the number of stored steps.
+     * @return number of stored steps
+     */
+    public int getNumberOfSteps() {
+        return nbSteps;
+    }
+
+    /** Find the record covering a date.
+     * @param t time with respect to reference date
+     * @return offset of the record in the buffer
+     */
+    private int findRecord(final double t) {
+        int low  = 0;
+        int high = nbSteps - 1;
+        while (low < high) {
+            // find the last step starting before t
+            final int mid = (low + high + 1) >>> 1;
+            if (records.get(mid * recordSize) <= t) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low * recordSize;
+    }
+
+    /** Evaluate polynomials at some date.
+     * @param date evaluation date
+     * @param mass if true, only the mass series is evaluated
+     * @return array containing x, y, z, vx, vy, vz, ax, ay, az if mass is false,
+     * or an array containing only the mass if mass is true
+     */
+    private double[] evaluate(final AbsoluteDate date, final boolean mass) {
+
+        // event detection may evaluate the state slightly outside of the range
+        if (date.compareTo(minDate.shiftedBy(-EXTRAPOLATION_TOLERANCE)) < 0) {
+            // date is outside of supported range
+            throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE_BEFORE,
+                                      date, minDate, maxDate, minDate.durationFrom(date));
+        }
+        if (date.compareTo(maxDate.shiftedBy(EXTRAPOLATION_TOLERANCE)) > 0) {
+            // date is outside of supported range
+            throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE_AFTER,
+                                      date, minDate, maxDate, date.durationFrom(maxDate));
+        }
+
+        // select step
+        final double t      = date.durationFrom(referenceDate);
+        final int    offset = findRecord(t);
+        final double tMin   = records.get(offset);
+        final double tMax   = records.get(offset + 1);
+        final double half   = 0.5 * (tMax - tMin);
+        final double x      = (t - 0.5 * (tMin + tMax)) / half;
+
+        if (mass) {
+            double tPrev = 1.0;
+            double tCurr = x;
+            double m     = records.get(offset + 2 + 6 * (degree + 1));
+            for (int j = 1; j <= degree; ++j) {
+                m += records.get(offset + 2 + 6 * (degree + 1) + j) * tCurr;
+                final double tNext = 2 * x * tCurr - tPrev;
+                tPrev = tCurr;
+                tCurr = tNext;
+            }
+            return new double[] {
+                m
+            };
+        }
+
+        // Chebyshev polynomials and their first derivatives with respect to x
+        final double[] tj  = new double[degree + 1];
+        final double[] dtj = new double[degree + 1];
+        tj[0] = 1.0;
+        if (degree > 0) {
+            tj[1]  = x;
+            dtj[1] = 1.0;
+            for (int j = 2; j <= degree; ++j) {
+                tj[j]  = 2 * x * tj[j - 1] - tj[j - 2];
+                dtj[j] = 2 * tj[j - 1] + 2 * x * dtj[j - 1] - dtj[j - 2];
+            }
+        }
+
+        // evaluate position, velocity and acceleration
+        final double[] pva = new double[9];
+        for (int k = 0; k < 3; ++k) {
+            final int pStart = offset + 2 + k * (degree + 1);
+            final int vStart = offset + 2 + (k + 3) * (degree + 1);
+            double p = 0;
+            double v = 0;
+            double a = 0;
+            for (int j = 0; j <= degree; ++j) {
+                final double cv = records.get(vStart + j);
+                p += records.get(pStart + j) * tj[j];
+                v += cv * tj[j];
+                a += cv * dtj[j];
+            }
+            pva[k]     = p;
+            pva[k + 3] = v;
+            pva[k + 6] = a / half;
+        }
+
+        return pva;
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Orbit propagateOrbit(final AbsoluteDate date) {
+        final double[] pva = evaluate(date, false);
+        return new CartesianOrbit(new TimeStampedPVCoordinates(date,
+                                                               new Vector3D(pva[0], pva[1], pva[2]),
+                                                               new Vector3D(pva[3], pva[4], pva[5]),
+                                                               new Vector3D(pva[6], pva[7], pva[8])),
+                                  frame, mu);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected double getMass(final AbsoluteDate date) {
+        return evaluate(date, true)[0];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TimeStampedPVCoordinates getPVCoordinates(final AbsoluteDate date, final Frame f) {
+        // attitude is not needed here, we bypass the full spacecraft state
+        return propagateOrbit(date).getPVCoordinates(f);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbsoluteDate getMinDate() {
+        return minDate;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbsoluteDate getMaxDate() {
+        return maxDate;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Frame getFrame() {
+        return frame;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void resetInitialState(final SpacecraftState state) {
+        throw new OrekitException(OrekitMessages.NON_RESETABLE_STATE);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void resetIntermediateState(final SpacecraftState state, final boolean forward) {
+        throw new OrekitException(OrekitMessages.NON_RESETABLE_STATE);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SpacecraftState getInitialState() {
+        return updateAdditionalStates(basicPropagate(getMinDate()));
+    }
+
+}
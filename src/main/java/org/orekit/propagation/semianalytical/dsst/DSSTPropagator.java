@@ -23,6 +23,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import org.hipparchus.linear.RealMatrix;
 import org.hipparchus.ode.ODEIntegrator;
@@ -62,6 +63,7 @@ import org.orekit.propagation.semianalytical.dsst.utilities.InterpolationGrid;
 import org.orekit.propagation.semianalytical.dsst.utilities.MaxGapInterpolationGrid;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.utils.DoubleArrayDictionary;
+import org.orekit.utils.ParallelTasks;
 import org.orekit.utils.ParameterDriver;
 import org.orekit.utils.ParameterDriversList;
 import org.orekit.utils.ParameterDriversList.DelegatingDriver;
@@ -162,6 +164,11 @@ public class DSSTPropagator extends AbstractIntegratedPropagator {
     /** Generator for the interpolation grid. */
     private InterpolationGrid interpolationgrid;
 
+    /** Executor service for computing short periodic terms in parallel (null for sequential computation).
+     * @since 11.1
+     */
+    private transient ExecutorService shortPeriodTermsExecutor;
+
     /** Create a new instance of DSSTPropagator.
      *  <p>
      *  After creation, there are no perturbing forces at all.
@@ -494,6 +501,37 @@ public class DSSTPropagator extends AbstractIntegratedPropagator {
         interpolationgrid = new MaxGapInterpolationGrid(maxGap);
     }
 
+    /** Set the executor service used for computing short periodic terms in parallel.
+     * <p>
+     * When propagating {@link PropagationType#OSCULATING osculating} elements, the
+     * short periodic coefficients of each force model are updated over the interpolation
+     * grid at the end of each integration step. If an executor service is set, it is passed
+     * to {@link DSSTForceModel#updateShortPeriodTerms(double[], ExecutorService, SpacecraftState...)},
+     * so force models that support it compute the coefficients at the different grid points
+     * concurrently. Force models are still updated one after the other. Currently only
+     * {@link org.orekit.propagation.semianalytical.dsst.forces.DSSTTesseral DSSTTesseral}
+     * supports parallel computation, the other force models ignore the executor service.
+     * Results are exactly the same as with sequential computation.
+     * </p>
+     * @param executorService executor service for parallel computation
+     * (null for sequential computation, which is the default)
+     * @see #getShortPeriodTermsExecutorService()
+     * @see ParallelTasks
+     * @since 11.1
+     */
+    public void setShortPeriodTermsExecutorService(final ExecutorService executorService) {
+        this.shortPeriodTermsExecutor = executorService;
+    }
+
+    /** Get the executor service used for computing short periodic terms in parallel.
+     * @return executor service for parallel computation (null for sequential computation)
+     * @see #setShortPeriodTermsExecutorService(ExecutorService)
+     * @since 11.1
+     */
+    public ExecutorService getShortPeriodTermsExecutorService() {
+        return shortPeriodTermsExecutor;
+    }
+
     /** Add a force model to the global perturbation model.
      *  <p>
      *  If this method is not called at all,
@@ -1231,7 +1269,7 @@ public class DSSTPropagator extends AbstractIntegratedPropagator {
 
             // Computate short periodic coefficients for this step
             for (DSSTForceModel forceModel : forceModels) {
-                forceModel.updateShortPeriodTerms(forceModel.getParameters(), meanStates);
+                forceModel.updateShortPeriodTerms(forceModel.getParameters(), shortPeriodTermsExecutor, meanStates);
             }
 
         }
@@ -17,6 +17,7 @@
 package org.orekit.propagation.semianalytical.dsst.forces;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import org.hipparchus.Field;
 import org.hipparchus.CalculusFieldElement;
@@ -195,6 +196,31 @@ public interface DSSTForceModel {
      */
     void updateShortPeriodTerms(double[] parameters, SpacecraftState... meanStates);
 
+    /** Update the short period terms, possibly computing grid points in parallel.
+     * <p>
+     * The {@link ShortPeriodTerms short period terms} that will be updated
+     * are the ones that were returned during the call to {@link
+     * #initializeShortPeriodTerms(AuxiliaryElements, PropagationType, double[])}.
+     * </p>
+     * <p>
+     * Implementations that support it compute the coefficients at the different
+     * mean states concurrently using the executor service, and must produce exactly
+     * the same short period terms as {@link #updateShortPeriodTerms(double[], SpacecraftState...)}.
+     * The default implementation ignores the executor service and calls
+     * {@link #updateShortPeriodTerms(double[], SpacecraftState...)}.
+     * </p>
+     * @param parameters values of the force model parameters
+     * @param executorService executor service for parallel computation
+     * (null for sequential computation)
+     * @param meanStates mean states information: date, kinematics, attitude
+     * @see org.orekit.utils.ParallelTasks
+     * @since 11.1
+     */
+    default void updateShortPeriodTerms(final double[] parameters, final ExecutorService executorService,
+                                        final SpacecraftState... meanStates) {
+        updateShortPeriodTerms(parameters, meanStates);
+    }
+
     /** Update the short period terms.
      * <p>
      * The {@link ShortPeriodTerms short period terms} that will be updated
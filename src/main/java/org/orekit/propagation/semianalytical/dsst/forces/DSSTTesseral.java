@@ -26,6 +26,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.hipparchus.Field;
 import org.hipparchus.CalculusFieldElement;
@@ -69,6 +71,7 @@ import org.orekit.propagation.semianalytical.dsst.utilities.hansen.HansenTessera
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.FieldAbsoluteDate;
 import org.orekit.utils.FieldTimeSpanMap;
+import org.orekit.utils.ParallelTasks;
 import org.orekit.utils.ParameterDriver;
 import org.orekit.utils.TimeSpanMap;
 
@@ -196,6 +199,15 @@ public class DSSTTesseral implements DSSTForceModel {
     /** Hansen objects. */
     private HansenObjects hansen;
 
+    /** Spare Hansen objects, used when grid points are computed in parallel. */
+    private final List<HansenObjects> spareHansen;
+
+    /** Ratio of satellite period to central body rotation period used to build Hansen objects. */
+    private double hansenRatio;
+
+    /** Type of the elements used to build Hansen objects. */
+    private PropagationType hansenType;
+
     /** Hansen objects for field elements. */
     private Map<Field<?>, FieldHansenObjects<?>> fieldHansen;
 
@@ -310,6 +322,7 @@ public class DSSTTesseral implements DSSTForceModel {
         // Initialize default values
         this.fieldShortPeriodTerms = new HashMap<>();
         this.fieldHansen           = new HashMap<>();
+        this.spareHansen           = new ArrayList<>();
         this.maxEccPow             = 0;
         this.maxHansen             = 0;
 
@@ -349,7 +362,12 @@ public class DSSTTesseral implements DSSTForceModel {
         // Compute the non resonant tesseral harmonic terms if not set by the user
         getResonantAndNonResonantTerms(type, context.getOrbitPeriod(), ratio);
 
-        hansen = new HansenObjects(ratio, type);
+        hansen      = new HansenObjects(ratio, type);
+        hansenRatio = ratio;
+        hansenType  = type;
+        synchronized (spareHansen) {
+            spareHansen.clear();
+        }
 
         mMax = FastMath.max(maxOrderTesseralSP, maxOrderMdailyTesseralSP);
 
@@ -545,52 +563,136 @@ public class DSSTTesseral implements DSSTForceModel {
         final Slot slot = shortPeriodTerms.createSlot(meanStates);
 
         for (final SpacecraftState meanState : meanStates) {
+            addGridPoint(slot, computeGridPoint(parameters, meanState, hansen));
+        }
 
-            final AuxiliaryElements auxiliaryElements = new AuxiliaryElements(meanState.getOrbit(), I);
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The Fourier coefficients at the different mean states are computed concurrently,
+     * each task using its own Hansen objects. They are then added to the interpolation
+     * grid sequentially, in mean states order.
+     * </p>
+     */
+    @Override
+    public void updateShortPeriodTerms(final double[] parameters, final ExecutorService executorService,
+                                       final SpacecraftState... meanStates) {
 
-            final DSSTTesseralContext context = initializeStep(auxiliaryElements, parameters);
+        if (executorService == null || meanStates.length < 2) {
+            updateShortPeriodTerms(parameters, meanStates);
+            return;
+        }
 
-            // Initialise the Hansen coefficients
-            for (int s = -maxDegree; s <= maxDegree; s++) {
-                // coefficients with j == 0 are always needed
-                hansen.computeHansenObjectsInitValues(context, s + maxDegree, 0);
-                if (maxDegreeTesseralSP >= 0) {
-                    // initialize other objects only if required
-                    for (int j = 1; j <= maxFrequencyShortPeriodics; j++) {
-                        hansen.computeHansenObjectsInitValues(context, s + maxDegree, j);
-                    }
+        final Slot slot = shortPeriodTerms.createSlot(meanStates);
+
+        final List<Future<GridPoint>> futures = new ArrayList<>(meanStates.length);
+        for (final SpacecraftState meanState : meanStates) {
+            futures.add(executorService.submit(() -> {
+                final HansenObjects hansenObjects = acquireHansenObjects();
+                try {
+                    return computeGridPoint(parameters, meanState, hansenObjects);
+                } finally {
+                    releaseHansenObjects(hansenObjects);
                 }
+            }));
+        }
+
+        for (final GridPoint gridPoint : ParallelTasks.getAll(futures)) {
+            addGridPoint(slot, gridPoint);
+        }
+
+    }
+
+    /** Get Hansen objects for exclusive use by one task.
+     * @return Hansen objects
+     */
+    private HansenObjects acquireHansenObjects() {
+        synchronized (spareHansen) {
+            if (!spareHansen.isEmpty()) {
+                return spareHansen.remove(spareHansen.size() - 1);
             }
+        }
+        return new HansenObjects(hansenRatio, hansenType);
+    }
 
-            final FourierCjSjCoefficients cjsjFourier = new FourierCjSjCoefficients(maxFrequencyShortPeriodics, mMax);
+    /** Give back Hansen objects acquired by {@link #acquireHansenObjects()}.
+     * @param hansenObjects Hansen objects that are not used anymore
+     */
+    private void releaseHansenObjects(final HansenObjects hansenObjects) {
+        synchronized (spareHansen) {
+            spareHansen.add(hansenObjects);
+        }
+    }
 
-            // Compute coefficients
-            // Compute only if there is at least one non-resonant tesseral
-            if (!nonResOrders.isEmpty() || maxDegreeTesseralSP < 0) {
-                // Generate the fourrier coefficients
-                cjsjFourier.generateCoefficients(meanState.getDate(), context, hansen);
+    /** Compute the Fourier coefficients at one grid point.
+     * @param parameters values of the force model parameters
+     * @param meanState mean state at grid point
+     * @param hansenObjects Hansen objects to use (they are reinitialized)
+     * @return Fourier coefficients at grid point
+     */
+    private GridPoint computeGridPoint(final double[] parameters, final SpacecraftState meanState,
+                                       final HansenObjects hansenObjects) {
 
-                // the coefficient 3n / 2a
-                final double tnota = 1.5 * context.getMeanMotion() / auxiliaryElements.getSma();
+        final AuxiliaryElements auxiliaryElements = new AuxiliaryElements(meanState.getOrbit(), I);
 
-                // build the mDaily coefficients
-                for (int m = 1; m <= maxOrderMdailyTesseralSP; m++) {
-                    // build the coefficients
-                    buildCoefficients(cjsjFourier, meanState.getDate(), slot, m, 0, tnota, context);
+        final DSSTTesseralContext context = initializeStep(auxiliaryElements, parameters);
+
+        // Initialise the Hansen coefficients
+        for (int s = -maxDegree; s <= maxDegree; s++) {
+            // coefficients with j == 0 are always needed
+            hansenObjects.computeHansenObjectsInitValues(context, s + maxDegree, 0);
+            if (maxDegreeTesseralSP >= 0) {
+                // initialize other objects only if required
+                for (int j = 1; j <= maxFrequencyShortPeriodics; j++) {
+                    hansenObjects.computeHansenObjectsInitValues(context, s + maxDegree, j);
                 }
+            }
+        }
 
-                if (maxDegreeTesseralSP >= 0) {
-                    // generate the other coefficients, if required
-                    for (final Map.Entry<Integer, List<Integer>> entry : nonResOrders.entrySet()) {
+        final FourierCjSjCoefficients cjsjFourier = new FourierCjSjCoefficients(maxFrequencyShortPeriodics, mMax);
 
-                        for (int j : entry.getValue()) {
-                            // build the coefficients
-                            buildCoefficients(cjsjFourier, meanState.getDate(), slot, entry.getKey(), j, tnota, context);
-                        }
+        // Compute only if there is at least one non-resonant tesseral
+        if (!nonResOrders.isEmpty() || maxDegreeTesseralSP < 0) {
+            // Generate the fourrier coefficients
+            cjsjFourier.generateCoefficients(meanState.getDate(), context, hansenObjects);
+        }
+
+        return new GridPoint(meanState.getDate(), context, cjsjFourier);
+
+    }
+
+    /** Add the coefficients at one grid point to the interpolation grid.
+     * @param slot slot to which the coefficients belong
+     * @param gridPoint Fourier coefficients at grid point
+     */
+    private void addGridPoint(final Slot slot, final GridPoint gridPoint) {
+
+        // Compute coefficients
+        // Compute only if there is at least one non-resonant tesseral
+        if (!nonResOrders.isEmpty() || maxDegreeTesseralSP < 0) {
+
+            final DSSTTesseralContext context = gridPoint.context;
+
+            // the coefficient 3n / 2a
+            final double tnota = 1.5 * context.getMeanMotion() / context.getAuxiliaryElements().getSma();
+
+            // build the mDaily coefficients
+            for (int m = 1; m <= maxOrderMdailyTesseralSP; m++) {
+                // build the coefficients
+                buildCoefficients(gridPoint.cjsjFourier, gridPoint.date, slot, m, 0, tnota, context);
+            }
+
+            if (maxDegreeTesseralSP >= 0) {
+                // generate the other coefficients, if required
+                for (final Map.Entry<Integer, List<Integer>> entry : nonResOrders.entrySet()) {
+
+                    for (int j : entry.getValue()) {
+                        // build the coefficients
+                        buildCoefficients(gridPoint.cjsjFourier, gridPoint.date, slot, entry.getKey(), j, tnota, context);
                     }
                 }
             }
-
         }
 
     }
@@ -1125,6 +1227,32 @@ public class DSSTTesseral implements DSSTForceModel {
         //nothing is done since this contribution is not sensitive to attitude
     }
 
+    /** Fourier coefficients computed at one interpolation grid point. */
+    private static class GridPoint {
+
+        /** Date of the grid point. */
+        private final AbsoluteDate date;
+
+        /** Context at grid point. */
+        private final DSSTTesseralContext context;
+
+        /** Fourier coefficients at grid point. */
+        private final FourierCjSjCoefficients cjsjFourier;
+
+        /** Simple constructor.
+         * @param date date of the grid point
+         * @param context context at grid point
+         * @param cjsjFourier Fourier coefficients at grid point
+         */
+        GridPoint(final AbsoluteDate date, final DSSTTesseralContext context,
+                  final FourierCjSjCoefficients cjsjFourier) {
+            this.date        = date;
+            this.context     = context;
+            this.cjsjFourier = cjsjFourier;
+        }
+
+    }
+
     /** Compute the C<sup>j</sup> and the S<sup>j</sup> coefficients.
      *  <p>
      *  Those coefficients are given in Danielson paper by substituting the
@@ -208,6 +208,22 @@ public class CoefficientsFactory {
      */
     public static TreeMap<NSKey, Double> computeVns(final int order) {
 
+        synchronized (VNS) {
+            // return a copy, as the internal map may be updated concurrently
+            return new TreeMap<NSKey, Double>(computeVnsSynchronized(order));
+        }
+
+    }
+
+    /** Compute the V<sub>n,s</sub> coefficients from 2.8.2-(1)(2).
+     * <p>
+     * This method must be called with the lock on {@link #VNS} held.
+     * </p>
+     * @param order Order of the computation. Computation will be done from 0 to order -1
+     * @return Map of the V<sub>n, s</sub> coefficients
+     */
+    private static TreeMap<NSKey, Double> computeVnsSynchronized(final int order) {
+
         if (order > LAST_VNS_ORDER) {
             // Compute coefficient
             // Need previous computation as recurrence relation is done at s + 1 and n + 2
@@ -251,15 +267,20 @@ public class CoefficientsFactory {
         // If (n - s) is odd, the Vmsn coefficient is null
         if ((n - s) % 2 == 0) {
             // Update the Vns coefficient
-            if ((n + 1) > LAST_VNS_ORDER) {
-                computeVns(n + 1);
+            // (the map may be updated concurrently when short periodic terms are computed in parallel)
+            final double vns;
+            synchronized (VNS) {
+                if ((n + 1) > LAST_VNS_ORDER) {
+                    computeVnsSynchronized(n + 1);
+                }
+                vns = VNS.get(new NSKey(n, FastMath.abs(s)));
             }
             if (s >= 0) {
-                result = fns  * VNS.get(new NSKey(n, s)) / fnm;
+                result = fns  * vns / fnm;
             } else {
                 // If s < 0 : Vmn-s = (-1)^(-s) Vmns
                 final int mops = (s % 2 == 0) ? 1 : -1;
-                result = mops * fns * VNS.get(new NSKey(n, -s)) / fnm;
+                result = mops * fns * vns / fnm;
             }
         }
         return result;
@@ -119,7 +119,15 @@ public class FieldHansenTesseralLinear <T extends CalculusFieldElement<T>> {
             mpvecDeriv = new PolynomialFunction[size][];
 
             // Prepare the database of the associated polynomials
-            generatePolynomials();
+            final PolynomialFunction[][][] polynomials =
+                            HansenPolynomialsCache.getPolynomials(HansenPolynomialsCache.Kind.TESSERAL, nMax, s, j, n0, () -> {
+                                generatePolynomials();
+                                return new PolynomialFunction[][][] {
+                                    mpvec, mpvecDeriv
+                                };
+                            });
+            mpvec      = polynomials[0];
+            mpvecDeriv = polynomials[1];
         }
 
     }
@@ -115,7 +115,15 @@ public class FieldHansenThirdBodyLinear <T extends CalculusFieldElement<T>> {
         hansenDerivRoot = MathArrays.buildArray(field, numSlices, 2);
 
         // Prepare the database of the associated polynomials
-        generatePolynomials();
+        final PolynomialFunction[][][] polynomials =
+                        HansenPolynomialsCache.getPolynomials(HansenPolynomialsCache.Kind.THIRD_BODY, nMax, s, 0, 0, () -> {
+                            generatePolynomials();
+                            return new PolynomialFunction[][][] {
+                                mpvec, mpvecDeriv
+                            };
+                        });
+        mpvec      = polynomials[0];
+        mpvecDeriv = polynomials[1];
 
     }
 
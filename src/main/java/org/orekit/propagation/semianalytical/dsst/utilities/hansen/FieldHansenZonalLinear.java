@@ -113,7 +113,15 @@ public class FieldHansenZonalLinear <T extends CalculusFieldElement<T>> {
         hansenDerivRoot = MathArrays.buildArray(field, numSlices, 2);
 
         // Prepare the data base of associated polynomials
-        generatePolynomials();
+        final PolynomialFunction[][][] polynomials =
+                        HansenPolynomialsCache.getPolynomials(HansenPolynomialsCache.Kind.ZONAL, nMax, s, 0, 0, () -> {
+                            generatePolynomials();
+                            return new PolynomialFunction[][][] {
+                                mpvec, mpvecDeriv
+                            };
+                        });
+        mpvec      = polynomials[0];
+        mpvecDeriv = polynomials[1];
 
     }
 
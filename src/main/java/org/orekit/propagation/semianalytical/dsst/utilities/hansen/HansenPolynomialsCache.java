@@ -0,0 +1,197 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.semianalytical.dsst.utilities.hansen;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.hipparchus.analysis.polynomials.PolynomialFunction;
+import org.orekit.utils.OrekitConfiguration;
+
+/**
+ * Cache for the polynomials associated to Hansen coefficients.
+ * <p>
+ * The polynomials used in the linear transformations of {@link HansenZonalLinear},
+ * {@link HansenTesseralLinear} and {@link HansenThirdBodyLinear} (and their field
+ * counterparts) do not depend on the orbit, only on the indices of the coefficients.
+ * As they are expensive to generate, they are shared between all instances, so
+ * repeated initializations of short period terms with the same force models
+ * configuration (for example in batch orbit determination) do not generate them again.
+ * </p>
+ * <p>
+ * The cache is thread-safe and bounded: when it holds more than {@link
+ * OrekitConfiguration#getHansenPolynomialsCacheSize()} entries, the least
+ * recently used ones are evicted.
+ * </p>
+ * @author agent
+ * @since 11.1
+ */
+public class HansenPolynomialsCache {
+
+    /** Cached polynomials. */
+    private static final LruMap CACHE = new LruMap();
+
+    /** Kind of Hansen coefficients. */
+    enum Kind {
+
+        /** Zonal coefficients, K₀<sup>-n-1,s</sup>. */
+        ZONAL,
+
+        /** Tesseral coefficients, K<sub>j</sub><sup>-n-1,s</sup>. */
+        TESSERAL,
+
+        /** Third body coefficients, K₀<sup>n,s</sup>. */
+        THIRD_BODY;
+
+    }
+
+    /** Private constructor for a utility class.
+     */
+    private HansenPolynomialsCache() {
+        // nothing to do
+    }
+
+    /** Get the number of cached entries.
+     * @return number of cached entries
+     */
+    public static int getSize() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+
+    /** Clear the cache.
+     */
+    public static void clear() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
+    /** Get the polynomials for a set of indices.
+     * <p>
+     * The generator is called outside of the cache lock, so several threads
+     * may generate the same polynomials concurrently, but only one result is
+     * kept. The returned arrays are shared and must not be modified.
+     * </p>
+     * @param kind kind of Hansen coefficients
+     * @param nMax maximum (absolute) value of n
+     * @param s s index
+     * @param j j index (0 if not relevant)
+     * @param n0 minimum (absolute) value of n (0 if not relevant)
+     * @param generator generator for the polynomials, returning
+     * the polynomials for coefficients and for derivatives
+     * @return polynomials for coefficients (index 0) and for derivatives (index 1)
+     */
+    static PolynomialFunction[][][] getPolynomials(final Kind kind,
+                                                   final int nMax, final int s,
+                                                   final int j, final int n0,
+                                                   final Supplier<PolynomialFunction[][][]> generator) {
+
+        final Key key = new Key(kind, nMax, s, j, n0);
+        synchronized (CACHE) {
+            final PolynomialFunction[][][] cached = CACHE.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        final PolynomialFunction[][][] generated = generator.get();
+        synchronized (CACHE) {
+            final PolynomialFunction[][][] cached = CACHE.putIfAbsent(key, generated);
+            return cached == null ? generated : cached;
+        }
+
+    }
+
+    /** Least recently used map. */
+    private static class LruMap extends LinkedHashMap<Key, PolynomialFunction[][][]> {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20220301L;
+
+        /** Simple constructor.
+         */
+        LruMap() {
+            super(16, 0.75f, true);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, PolynomialFunction[][][]> eldest) {
+            return size() > OrekitConfiguration.getHansenPolynomialsCacheSize();
+        }
+
+    }
+
+    /** Key for cached polynomials. */
+    private static class Key {
+
+        /** Kind of Hansen coefficients. */
+        private final Kind kind;
+
+        /** Maximum (absolute) value of n. */
+        private final int nMax;
+
+        /** s index. */
+        private final int s;
+
+        /** j index. */
+        private final int j;
+
+        /** Minimum (absolute) value of n. */
+        private final int n0;
+
+        /** Simple constructor.
+         * @param kind kind of Hansen coefficients
+         * @param nMax maximum (absolute) value of n
+         * @param s s index
+         * @param j j index
+         * @param n0 minimum (absolute) value of n
+         */
+        Key(final Kind kind, final int nMax, final int s, final int j, final int n0) {
+            this.kind = kind;
+            this.nMax = nMax;
+            this.s    = s;
+            this.j    = j;
+            this.n0   = n0;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(final Object object) {
+            if (object == this) {
+                return true;
+            }
+            if (object instanceof Key) {
+                final Key other = (Key) object;
+                return kind == other.kind && nMax == other.nMax &&
+                       s == other.s && j == other.j && n0 == other.n0;
+            }
+            return false;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return (((kind.ordinal() * 31 + nMax) * 31 + s) * 31 + j) * 31 + n0;
+        }
+
+    }
+
+}
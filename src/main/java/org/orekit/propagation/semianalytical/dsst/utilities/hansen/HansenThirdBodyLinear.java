@@ -110,7 +110,15 @@ public class HansenThirdBodyLinear {
         hansenDerivRoot = new double[numSlices][2];
 
         // Prepare the database of the associated polynomials
-        generatePolynomials();
+        final PolynomialFunction[][][] polynomials =
+                        HansenPolynomialsCache.getPolynomials(HansenPolynomialsCache.Kind.THIRD_BODY, nMax, s, 0, 0, () -> {
+                            generatePolynomials();
+                            return new PolynomialFunction[][][] {
+                                mpvec, mpvecDeriv
+                            };
+                        });
+        mpvec      = polynomials[0];
+        mpvecDeriv = polynomials[1];
 
     }
 
@@ -109,7 +109,15 @@ public class HansenZonalLinear {
         hansenDerivRoot = new double[numSlices][2];
 
         // Prepare the data base of associated polynomials
-        generatePolynomials();
+        final PolynomialFunction[][][] polynomials =
+                        HansenPolynomialsCache.getPolynomials(HansenPolynomialsCache.Kind.ZONAL, nMax, s, 0, 0, () -> {
+                            generatePolynomials();
+                            return new PolynomialFunction[][][] {
+                                mpvec, mpvecDeriv
+                            };
+                        });
+        mpvec      = polynomials[0];
+        mpvecDeriv = polynomials[1];
 
     }
 
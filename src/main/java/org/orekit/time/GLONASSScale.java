@@ -54,6 +54,12 @@ public class GLONASSScale implements TimeScale {
         return OFFSET + utc.offsetFromTAI(date);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public double offsetFromTAI(final long packedDate) {
+        return OFFSET + utc.offsetFromTAI(packedDate);
+    }
+
     /** {@inheritDoc} */
     @Override
     public <T extends CalculusFieldElement<T>> T offsetFromTAI(final FieldAbsoluteDate<T> date) {
@@ -45,6 +45,12 @@ public class IRNSSScale implements TimeScale {
         return OFFSET;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public double offsetFromTAI(final long packedDate) {
+        return OFFSET;
+    }
+
     /** {@inheritDoc} */
     @Override
     public <T extends CalculusFieldElement<T>> T offsetFromTAI(final FieldAbsoluteDate<T> date) {
@@ -0,0 +1,233 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.time;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitIllegalArgumentException;
+
+/** Utility class for dates packed as primitive {@code long} values.
+ * <p>
+ * A packed date is the number of nanoseconds elapsed since 2000-01-01T12:00:00 TAI,
+ * which is the internal reference epoch of {@link AbsoluteDate} (beware, it is
+ * not {@link AbsoluteDate#J2000_EPOCH} since it is in TAI and not in TT). This
+ * representation allows hot loops (interpolation, events detection, ...) to perform
+ * date arithmetic without allocating {@link AbsoluteDate} instances. Some methods
+ * in {@link TimeScale}, {@link org.orekit.utils.TimeSpanMap TimeSpanMap} and
+ * {@link org.orekit.utils.ImmutableTimeStampedCache ImmutableTimeStampedCache}
+ * accept packed dates directly.
+ * </p>
+ * <p>
+ * The price to pay is a reduced range and resolution: packed dates cover roughly
+ * 292 years on each side of the reference epoch (i.e. from 1708 to 2292) with a
+ * resolution of one nanosecond. The special values {@link #PAST_INFINITY} and
+ * {@link #FUTURE_INFINITY} correspond to {@link AbsoluteDate#PAST_INFINITY} and
+ * {@link AbsoluteDate#FUTURE_INFINITY}.
+ * </p>
+ * @author agent
+ * @since 11.1
+ */
+public class PackedDate {
+
+    /** Packed value for {@link AbsoluteDate#PAST_INFINITY}. */
+    public static final long PAST_INFINITY = Long.MIN_VALUE;
+
+    /** Packed value for {@link AbsoluteDate#FUTURE_INFINITY}. */
+    public static final long FUTURE_INFINITY = Long.MAX_VALUE;
+
+    /** Number of nanoseconds in one second. */
+    private static final long NANOS = 1000000000L;
+
+    /** Scaling factor from nanoseconds to seconds. */
+    private static final double SECONDS_PER_NANO = 1.0e-9;
+
+    /** Largest number of seconds since reference epoch that can be packed. */
+    private static final long MAX_SECONDS = Long.MAX_VALUE / NANOS - 1;
+
+    /** Smallest number of seconds since reference epoch that can be packed. */
+    private static final long MIN_SECONDS = -MAX_SECONDS - 1;
+
+    /** Private constructor for a utility class.
+     */
+    private PackedDate() {
+        // nothing to do
+    }
+
+    /** Pack a date.
+     * @param date date to pack
+     * @return packed date, rounded to the nearest nanosecond
+     * @exception OrekitIllegalArgumentException if date is out of packed dates range
+     */
+    public static long pack(final AbsoluteDate date) {
+        final long   epoch  = date.getEpoch();
+        final double offset = date.getOffset();
+        if (Double.isInfinite(offset)) {
+            return offset < 0 ? PAST_INFINITY : FUTURE_INFINITY;
+        }
+        if (epoch < MIN_SECONDS || epoch > MAX_SECONDS) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE,
+                                                     date, unpack(MIN_SECONDS * NANOS), unpack(MAX_SECONDS * NANOS));
+        }
+        return epoch * NANOS + FastMath.round(offset * NANOS);
+    }
+
+    /** Unpack a date.
+     * @param packed packed date
+     * @return unpacked date
+     */
+    public static AbsoluteDate unpack(final long packed) {
+        if (packed == PAST_INFINITY) {
+            return AbsoluteDate.PAST_INFINITY;
+        } else if (packed == FUTURE_INFINITY) {
+            return AbsoluteDate.FUTURE_INFINITY;
+        } else {
+            return new AbsoluteDate(FastMath.floorDiv(packed, NANOS),
+                                    FastMath.floorMod(packed, NANOS) * SECONDS_PER_NANO);
+        }
+    }
+
+    /** Check if a packed date is finite.
+     * @param packed packed date
+     * @return true if packed date is neither {@link #PAST_INFINITY} nor {@link #FUTURE_INFINITY}
+     */
+    public static boolean isFinite(final long packed) {
+        return packed != PAST_INFINITY && packed != FUTURE_INFINITY;
+    }
+
+    /** Shift a packed date.
+     * <p>
+     * This is the packed equivalent of {@link AbsoluteDate#shiftedBy(double)}.
+     * </p>
+     * @param packed packed date
+     * @param dt time shift in seconds
+     * @return shifted packed date, rounded to the nearest nanosecond
+     * @exception OrekitIllegalArgumentException if shifted date is out of packed dates range
+     */
+    public static long shiftedBy(final long packed, final double dt) {
+        if (!isFinite(packed)) {
+            return packed;
+        }
+        if (Double.isInfinite(dt)) {
+            return dt < 0 ? PAST_INFINITY : FUTURE_INFINITY;
+        }
+        // split the shift in whole seconds and fractional part, both exact,
+        // so nanoseconds are not lost for large shifts
+        final double seconds = FastMath.floor(dt);
+        final long   shift   = (long) seconds * NANOS + FastMath.round((dt - seconds) * NANOS);
+        final long   sum     = packed + shift;
+        if (FastMath.abs(seconds) > MAX_SECONDS || ((packed ^ sum) & (shift ^ sum)) < 0 || !isFinite(sum)) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE,
+                                                     dt,
+                                                     durationFrom(MIN_SECONDS * NANOS, packed),
+                                                     durationFrom(MAX_SECONDS * NANOS, packed));
+        }
+        return sum;
+    }
+
+    /** Compute the physically elapsed duration between two packed dates.
+     * <p>
+     * This is the packed equivalent of {@link AbsoluteDate#durationFrom(AbsoluteDate)}.
+     * </p>
+     * @param packed packed date
+     * @param reference packed reference date to subtract
+     * @return offset in seconds between the two instants (positive
+     * if the first date is posterior to the reference)
+     */
+    public static double durationFrom(final long packed, final long reference) {
+        if (isFinite(packed) && isFinite(reference)) {
+            // split seconds and nanoseconds to avoid overflows
+            return (packed / NANOS - reference / NANOS) + (packed % NANOS - reference % NANOS) * SECONDS_PER_NANO;
+        } else {
+            return toSeconds(packed) - toSeconds(reference);
+        }
+    }
+
+    /** Compute the physically elapsed duration between a packed date and a regular date.
+     * <p>
+     * This method does not allocate any intermediate objects and does not
+     * require the reference date to be within packed dates range.
+     * </p>
+     * @param packed packed date
+     * @param reference reference date to subtract
+     * @return offset in seconds between the two instants (positive
+     * if the packed date is posterior to the reference)
+     */
+    public static double durationFrom(final long packed, final AbsoluteDate reference) {
+        if (isFinite(packed)) {
+            return (FastMath.floorDiv(packed, NANOS) - reference.getEpoch()) +
+                   (FastMath.floorMod(packed, NANOS) * SECONDS_PER_NANO - reference.getOffset());
+        } else {
+            return toSeconds(packed) - reference.getOffset();
+        }
+    }
+
+    /** Compare a packed date with a regular date.
+     * <p>
+     * This method does not allocate any intermediate objects and does not
+     * require the regular date to be within packed dates range. The comparison
+     * is performed at packed dates resolution, i.e. the regular date is rounded
+     * to the nearest nanosecond as {@link #pack(AbsoluteDate)} would do, so
+     * {@code compare(pack(date), date)} is always 0 for dates within range.
+     * </p>
+     * @param packed packed date
+     * @param date regular date
+     * @return a negative integer, zero, or a positive integer as the packed
+     * date is before, simultaneous, or after the regular date
+     */
+    public static int compare(final long packed, final AbsoluteDate date) {
+
+        if (!isFinite(packed) || Double.isInfinite(date.getOffset())) {
+            final double duration = durationFrom(packed, date);
+            if (duration < 0) {
+                return -1;
+            } else if (duration > 0) {
+                return +1;
+            } else {
+                // infinite dates in the same direction (NaN duration)
+                return 0;
+            }
+        }
+
+        // as date offset is in [0, 1), rounding it to nanoseconds gives a value in [0, 1000000000],
+        // hence the nanoseconds difference is in [-1000000000, 999999999]
+        final long deltaSeconds = FastMath.floorDiv(packed, NANOS) - date.getEpoch();
+        final long deltaNanos   = FastMath.floorMod(packed, NANOS) - FastMath.round(date.getOffset() * NANOS);
+        if (deltaSeconds > 1) {
+            return +1;
+        } else if (deltaSeconds < -1) {
+            return -1;
+        } else {
+            return Long.compare(deltaSeconds * NANOS + deltaNanos, 0L);
+        }
+
+    }
+
+    /** Convert infinite packed dates to seconds.
+     * @param packed packed date
+     * @return seconds since reference epoch (may be infinite)
+     */
+    private static double toSeconds(final long packed) {
+        if (packed == PAST_INFINITY) {
+            return Double.NEGATIVE_INFINITY;
+        } else if (packed == FUTURE_INFINITY) {
+            return Double.POSITIVE_INFINITY;
+        } else {
+            return packed * SECONDS_PER_NANO;
+        }
+    }
+
+}
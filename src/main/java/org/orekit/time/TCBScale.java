@@ -65,6 +65,12 @@ public class TCBScale implements TimeScale {
         return tdb.offsetFromTAI(date) + LB_RATE * date.durationFrom(referenceDate);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public double offsetFromTAI(final long packedDate) {
+        return tdb.offsetFromTAI(packedDate) + LB_RATE * PackedDate.durationFrom(packedDate, referenceDate);
+    }
+
     /** {@inheritDoc} */
     @Override
     public <T extends CalculusFieldElement<T>> T offsetFromTAI(final FieldAbsoluteDate<T> date) {
@@ -65,6 +65,12 @@ public class TCGScale implements TimeScale {
         return ttOffset + LG_RATE * date.durationFrom(referenceDate);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public double offsetFromTAI(final long packedDate) {
+        return ttOffset + LG_RATE * PackedDate.durationFrom(packedDate, referenceDate);
+    }
+
     /** {@inheritDoc} */
     @Override
     public <T extends CalculusFieldElement<T>> T offsetFromTAI(final FieldAbsoluteDate<T> date) {
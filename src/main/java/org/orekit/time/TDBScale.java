@@ -74,6 +74,14 @@ public class TDBScale implements TimeScale {
         return tt.offsetFromTAI(date) + (SIN_G_FACTOR * FastMath.sin(g) + SIN_2G_FACTOR * FastMath.sin(2 * g));
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public double offsetFromTAI(final long packedDate) {
+        final double dtDays = PackedDate.durationFrom(packedDate, j2000Epoch) / Constants.JULIAN_DAY;
+        final double g = FastMath.toRadians(G0 + G1 * dtDays);
+        return tt.offsetFromTAI(packedDate) + (SIN_G_FACTOR * FastMath.sin(g) + SIN_2G_FACTOR * FastMath.sin(2 * g));
+    }
+
     /** {@inheritDoc} */
     @Override
     public <T extends CalculusFieldElement<T>> T offsetFromTAI(final FieldAbsoluteDate<T> date) {
@@ -48,6 +48,22 @@ public interface TimeScale extends Serializable {
      */
     <T extends CalculusFieldElement<T>> T offsetFromTAI(FieldAbsoluteDate<T> date);
 
+    /** Get the offset to convert locations from {@link TAIScale} to instance.
+     * <p>
+     * The default implementation unpacks the date and delegates to {@link
+     * #offsetFromTAI(AbsoluteDate)}, time scales that can compute the offset
+     * without allocating objects override it.
+     * </p>
+     * @param packedDate conversion date, {@link PackedDate packed} as a primitive long
+     * @return offset in seconds to add to a location in <em>{@link TAIScale}
+     * time scale</em> to get a location in <em>instance time scale</em>
+     * @see PackedDate
+     * @since 11.1
+     */
+    default double offsetFromTAI(final long packedDate) {
+        return offsetFromTAI(PackedDate.unpack(packedDate));
+    }
+
     /** Get the offset to convert locations from instance to {@link TAIScale}.
      * @param date date location in the time scale
      * @param time time location in the time scale
@@ -19,6 +19,7 @@ package org.orekit.time;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 
@@ -55,6 +56,14 @@ public class UTCScale implements TimeScale {
     /** UTC-TAI offsets. */
     private UTCTAIOffset[] offsets;
 
+    /** Offset models, including the pre-1972 linear models.
+     * <p>
+     * This field is transient as serialization is delegated to a data transfer object.
+     * </p>
+     * @since 11.1
+     */
+    private final transient List<OffsetModel> offsetModels;
+
     /** Package private constructor for the factory.
      * Used to create the prototype instance of this class that is used to
      * clone all subsequent instances of {@link UTCScale}. Initializes the offset
@@ -64,7 +73,7 @@ public class UTCScale implements TimeScale {
      */
     UTCScale(final TimeScale tai, final Collection<? extends OffsetModel> offsets) {
         // copy input so the original list is unmodified
-        final List<OffsetModel> offsetModels = new ArrayList<>(offsets);
+        offsetModels = new ArrayList<>(offsets);
         offsetModels.sort(Comparator.comparing(OffsetModel::getStart));
         if (offsetModels.get(0).getStart().getYear() > 1968) {
             // the pre-1972 linear offsets are missing, add them manually
@@ -148,6 +157,20 @@ public class UTCScale implements TimeScale {
         return offsetList;
     }
 
+    /**
+     * Returns the offset models underlying this UTC scale.
+     * <p>
+     * The models are time-sorted and include the pre-1972 linear models,
+     * even if they were not provided when the scale was built. Building
+     * a new scale from them leads to exactly the same offsets.
+     * </p>
+     * @return unmodifiable list of offset models
+     * @since 11.1
+     */
+    public List<OffsetModel> getOffsetModels() {
+        return Collections.unmodifiableList(offsetModels);
+    }
+
     /** {@inheritDoc} */
     @Override
     public double offsetFromTAI(final AbsoluteDate date) {
@@ -160,6 +183,18 @@ public class UTCScale implements TimeScale {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public double offsetFromTAI(final long packedDate) {
+        final int offsetIndex = findOffsetIndex(packedDate);
+        if (offsetIndex < 0) {
+            // the date is before the first known leap
+            return 0;
+        } else {
+            return -offsets[offsetIndex].getOffset(packedDate);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public <T extends CalculusFieldElement<T>> T offsetFromTAI(final FieldAbsoluteDate<T> date) {
@@ -313,6 +348,33 @@ public class UTCScale implements TimeScale {
         }
     }
 
+    /** Find the index of the offset valid at some date.
+     * @param packedDate date at which offset is requested, {@link PackedDate packed} as a primitive long
+     * @return index of the offset valid at this date, or -1 if date is before first offset.
+     * @since 11.1
+     */
+    private int findOffsetIndex(final long packedDate) {
+        int inf = 0;
+        int sup = offsets.length;
+        while (sup - inf > 1) {
+            final int middle = (inf + sup) >>> 1;
+            if (PackedDate.compare(packedDate, offsets[middle].getDate()) < 0) {
+                sup = middle;
+            } else {
+                inf = middle;
+            }
+        }
+        if (sup == offsets.length) {
+            // the date is after the last known leap second
+            return offsets.length - 1;
+        } else if (PackedDate.compare(packedDate, offsets[inf].getDate()) < 0) {
+            // the date is before the first known leap
+            return -1;
+        } else {
+            return inf;
+        }
+    }
+
     /** Find the offset valid at some date.
      * @param mjd Modified Julian Day of the date at which offset is requested
      * @return offset valid at this date, or null if date is before first offset.
@@ -138,6 +138,20 @@ public class UTCTAIOffset implements TimeStamped, Serializable {
         }
     }
 
+    /** Get the TAI - UTC offset in seconds.
+     * @param packedDate date at which the offset is requested, {@link PackedDate packed} as a primitive long
+     * @return TAI - UTC offset in seconds.
+     * @since 11.1
+     */
+    public double getOffset(final long packedDate) {
+        if (slopeTAI == 0) {
+            // see comment in getOffset(AbsoluteDate) about infinite dates
+            return offset;
+        } else {
+            return offset + PackedDate.durationFrom(packedDate, reference) * slopeTAI;
+        }
+    }
+
     /** Get the TAI - UTC offset in seconds.
      * @param date date at which the offset is requested
      * @param <T> type of the filed elements
@@ -0,0 +1,839 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitIllegalStateException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.errors.TimeStampedCacheException;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeStamped;
+
+/** Thread-safe cache for {@link TimeStamped time-stamped} data with lock-free read path.
+ * <p>
+ * This class provides the same services and the same configuration parameters as
+ * {@link GenericTimeStampedCache}, but uses a different concurrency strategy. All
+ * cached time slots are immutable snapshots, and the list of slots itself is an
+ * {@code ArrayList} that is never modified once published through an {@link
+ * AtomicReference}, changes being made on a copy. Calls to {@link
+ * #getNeighbors(AbsoluteDate)} for dates already covered by a slot therefore never
+ * acquire any lock. Only calls that need new data to be generated (creating a new
+ * slot, or extending an existing one) are serialized: they build a new version of
+ * the slot (copy-on-write) and publish it, while concurrent readers continue to
+ * use the previous version.
+ * </p>
+ * <p>
+ * This implementation is intended for heavily multi-threaded applications where
+ * the read lock of {@link GenericTimeStampedCache} becomes a contention point. It
+ * can be selected globally for Orekit internal caches using {@link
+ * OrekitConfiguration#setLockFreeCaches(boolean)}.
+ * </p>
+ * <p>
+ * When the maximum number of slots is reached, the least recently accessed slot is
+ * evicted. Accesses are tracked with a logical clock, updated by lock-free reads too.
+ * </p>
+ * @param <T> Type of the cached data.
+ * @see GenericTimeStampedCache
+ * @author agent
+ * @since 11.1
+ */
+public class ConcurrentTimeStampedCache<T extends TimeStamped> implements TimeStampedCache<T> {
+
+    /** Quantum step. */
+    private static final double QUANTUM_STEP = 1.0e-6;
+
+    /** Reference date for indexing. */
+    private final AtomicReference<AbsoluteDate> reference;
+
+    /** Maximum number of independent cached time slots. */
+    private final int maxSlots;
+
+    /** Maximum duration span in seconds of one slot. */
+    private final double maxSpan;
+
+    /** Quantum gap above which a new slot is created instead of extending an existing one. */
+    private final long newSlotQuantumGap;
+
+    /** Generator to use for yet non-cached data. */
+    private final TimeStampedGenerator<T> generator;
+
+    /** Number of entries in a neighbors array. */
+    private final int neighborsSize;
+
+    /** Snapshot of independent time slots cached, never modified once published. */
+    private final AtomicReference<List<Slot>> slots;
+
+    /** Lock for data generation. */
+    private final ReentrantLock generationLock;
+
+    /** Logical clock for slots access stamps. */
+    private final AtomicLong accessClock;
+
+    /** Number of calls to the getNeighbors method. */
+    private final LongAdder getNeighborsCalls;
+
+    /** Number of calls to the generate method. */
+    private final LongAdder generateCalls;
+
+    /** Number of evictions. */
+    private final LongAdder evictions;
+
+    /** Number of calls to the getNeighbors method that could not be served without locking. */
+    private final LongAdder lockedCalls;
+
+    /** Number of times the generation lock was already held by another thread. */
+    private final LongAdder contentions;
+
+    /** Simple constructor.
+     * @param neighborsSize fixed size of the arrays to be returned by {@link
+     * #getNeighbors(AbsoluteDate)}, must be at least 2
+     * @param maxSlots maximum number of independent cached time slots
+     * @param maxSpan maximum duration span in seconds of one slot
+     * (can be set to {@code Double.POSITIVE_INFINITY} if desired)
+     * @param newSlotInterval time interval above which a new slot is created
+     * instead of extending an existing one
+     * @param generator generator to use for yet non-existent data
+     */
+    public ConcurrentTimeStampedCache(final int neighborsSize, final int maxSlots, final double maxSpan,
+                                      final double newSlotInterval, final TimeStampedGenerator<T> generator) {
+
+        // safety check
+        if (maxSlots < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, maxSlots, 1);
+        }
+        if (neighborsSize < 2) {
+            throw new OrekitIllegalArgumentException(OrekitMessages.NOT_ENOUGH_CACHED_NEIGHBORS,
+                                                     neighborsSize, 2);
+        }
+
+        this.reference         = new AtomicReference<>();
+        this.maxSlots          = maxSlots;
+        this.maxSpan           = maxSpan;
+        this.newSlotQuantumGap = FastMath.round(newSlotInterval / QUANTUM_STEP);
+        this.generator         = generator;
+        this.neighborsSize     = neighborsSize;
+        this.slots             = new AtomicReference<>(new ArrayList<>());
+        this.generationLock    = new ReentrantLock();
+        this.accessClock       = new AtomicLong();
+        this.getNeighborsCalls = new LongAdder();
+        this.generateCalls     = new LongAdder();
+        this.evictions         = new LongAdder();
+        this.lockedCalls       = new LongAdder();
+        this.contentions       = new LongAdder();
+
+    }
+
+    /** Get the generator.
+     * @return generator
+     */
+    public TimeStampedGenerator<T> getGenerator() {
+        return generator;
+    }
+
+    /** Get the maximum number of independent cached time slots.
+     * @return maximum number of independent cached time slots
+     */
+    public int getMaxSlots() {
+        return maxSlots;
+    }
+
+    /** Get the maximum duration span in seconds of one slot.
+     * @return maximum duration span in seconds of one slot
+     */
+    public double getMaxSpan() {
+        return maxSpan;
+    }
+
+    /** Get quantum gap above which a new slot is created instead of extending an existing one.
+     * <p>
+     * The quantum gap is the {@code newSlotInterval} value provided at construction
+     * rounded to the nearest quantum step used internally by the cache.
+     * </p>
+     * @return quantum gap in seconds
+     */
+    public double getNewSlotQuantumGap() {
+        return newSlotQuantumGap * QUANTUM_STEP;
+    }
+
+    /** Get the number of calls to the {@link #getNeighbors(AbsoluteDate)} method.
+     * <p>
+     * This number of calls is used as a reference to interpret {@link #getGenerateCalls()},
+     * {@link #getLockedCalls()} and {@link #getContentions()}.
+     * </p>
+     * @return number of calls to the {@link #getNeighbors(AbsoluteDate)} method
+     * @see #getGenerateCalls()
+     */
+    public int getGetNeighborsCalls() {
+        return getNeighborsCalls.intValue();
+    }
+
+    /** Get the number of calls to the generate method.
+     * <p>
+     * This number of calls is related to the number of cache misses and may
+     * be used to tune the cache configuration. Each cache miss implies at
+     * least one call is performed, but may require several calls if the new
+     * date is far offset from the existing cache, depending on the number of
+     * elements and step between elements in the arrays returned by the generator.
+     * </p>
+     * @return number of calls to the generate method
+     * @see #getGetNeighborsCalls()
+     */
+    public int getGenerateCalls() {
+        return generateCalls.intValue();
+    }
+
+    /** Get the number of slots evictions.
+     * <p>
+     * This number should remain small when the max number of slots is sufficient
+     * with respect to the number of concurrent requests to the cache. If it
+     * increases too much, then the cache configuration is probably bad and cache
+     * does not really improve things (in this case, the {@link #getGenerateCalls()
+     * number of calls to the generate method} will probably increase too.
+     * </p>
+     * @return number of slots evictions
+     */
+    public int getSlotsEvictions() {
+        return evictions.intValue();
+    }
+
+    /** Get the number of calls to {@link #getNeighbors(AbsoluteDate)} that required locking.
+     * <p>
+     * These calls are the ones for which the cached data did not already cover
+     * the requested date, and hence needed to acquire the generation lock. The
+     * ratio of this number with respect to {@link #getGetNeighborsCalls()} is a
+     * measure of how often the lock-free read path could <em>not</em> be used.
+     * </p>
+     * @return number of calls that required locking
+     */
+    public int getLockedCalls() {
+        return lockedCalls.intValue();
+    }
+
+    /** Get the number of times a thread had to wait for another thread generating data.
+     * <p>
+     * This number is a measure of the contention between threads. It counts
+     * how many times the generation lock was already held by another thread
+     * when a calling thread needed it.
+     * </p>
+     * @return number of contended lock acquisitions
+     */
+    public int getContentions() {
+        return contentions.intValue();
+    }
+
+    /** Get the number of slots in use.
+     * @return number of slots in use
+     */
+    public int getSlots() {
+        return slots.get().size();
+    }
+
+    /** Get the total number of entries cached.
+     * @return total number of entries cached
+     */
+    public int getEntries() {
+        int entries = 0;
+        for (final Slot slot : slots.get()) {
+            entries += slot.getEntries();
+        }
+        return entries;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public T getEarliest() throws IllegalStateException {
+        final List<Slot> current = slots.get();
+        if (current.isEmpty()) {
+            throw new OrekitIllegalStateException(OrekitMessages.NO_CACHED_ENTRIES);
+        }
+        return current.get(0).getEarliest();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public T getLatest() throws IllegalStateException {
+        final List<Slot> current = slots.get();
+        if (current.isEmpty()) {
+            throw new OrekitIllegalStateException(OrekitMessages.NO_CACHED_ENTRIES);
+        }
+        return current.get(current.size() - 1).getLatest();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getNeighborsSize() {
+        return neighborsSize;
+    }
+
+    /** Get the entries surrounding a central date.
+     * <p>
+     * If the central date is well within covered range, the returned array
+     * will be balanced with half the points before central date and half the
+     * points after it (depending on n parity, of course). If the central date
+     * is near the generator range boundary, then the returned array will be
+     * unbalanced and will contain only the n earliest (or latest) generated
+     * (and cached) entries. A typical example of the later case is leap seconds
+     * cache, since the number of leap seconds cannot be arbitrarily increased.
+     * </p>
+     * @param central central date
+     * @return array of cached entries surrounding specified date (the size
+     * of the array is fixed to the one specified in the {@link
+     * #ConcurrentTimeStampedCache(int, int, double, double, TimeStampedGenerator)}
+     * @see #getEarliest()
+     * @see #getLatest()
+     */
+    @Override
+    public Stream<T> getNeighbors(final AbsoluteDate central) {
+
+        getNeighborsCalls.increment();
+        final long dateQuantum = quantum(central);
+
+        // lock-free read path, using the current snapshot
+        final Slot slot = findSlot(slots.get(), dateQuantum);
+        if (slot != null) {
+            final int firstNeighbor = slot.entryIndex(dateQuantum) - (neighborsSize - 1) / 2;
+            if (firstNeighbor >= 0 && firstNeighbor + neighborsSize <= slot.getEntries()) {
+                // the slot is balanced around the desired date
+                slot.markAccessed();
+                return slot.getNeighbors(firstNeighbor);
+            }
+        }
+
+        // we need to generate new data
+        lockedCalls.increment();
+        if (!generationLock.tryLock()) {
+            contentions.increment();
+            generationLock.lock();
+        }
+        try {
+            return generateNeighbors(central, dateQuantum);
+        } finally {
+            generationLock.unlock();
+        }
+
+    }
+
+    /** Convert a date to a rough global quantum.
+     * @param date date to convert
+     * @return quantum corresponding to the date
+     */
+    private long quantum(final AbsoluteDate date) {
+        reference.compareAndSet(null, date);
+        return FastMath.round(date.durationFrom(reference.get()) / QUANTUM_STEP);
+    }
+
+    /** Find a slot suitable for a date.
+     * @param current current snapshot of slots
+     * @param dateQuantum global quantum of the date
+     * @return slot suitable for the date, or null if no slots are close enough
+     */
+    private Slot findSlot(final List<Slot> current, final long dateQuantum) {
+        if (current.isEmpty()) {
+            return null;
+        }
+        final Slot slot = current.get(slotIndex(current, dateQuantum));
+        if (slot.getEarliestQuantum() > dateQuantum + newSlotQuantumGap ||
+            slot.getLatestQuantum()   < dateQuantum - newSlotQuantumGap) {
+            return null;
+        }
+        return slot;
+    }
+
+    /** Get the entries surrounding a central date, generating data as needed.
+     * <p>
+     * We own the generation lock while calling this method.
+     * </p>
+     * @param central central date
+     * @param dateQuantum global quantum of the date
+     * @return array of cached entries surrounding specified date
+     */
+    private Stream<T> generateNeighbors(final AbsoluteDate central, final long dateQuantum) {
+
+        // check slots again as another thread may have changed
+        // the list while we were waiting for the lock
+        final List<Slot> current = new ArrayList<>(slots.get());
+        int index = current.isEmpty() ? 0 : slotIndex(current, dateQuantum);
+        Slot slot;
+        if (current.isEmpty() ||
+            current.get(index).getEarliestQuantum() > dateQuantum + newSlotQuantumGap ||
+            current.get(index).getLatestQuantum()   < dateQuantum - newSlotQuantumGap) {
+
+            // no existing slot is suitable, we need to create a new one
+            if (!current.isEmpty() &&
+                current.get(index).getLatestQuantum() < dateQuantum - newSlotQuantumGap) {
+                ++index;
+            }
+
+            if (current.size() >= maxSlots) {
+                // we must prevent exceeding allowed max
+
+                // select the least recently accessed slot for eviction
+                int evict = 0;
+                for (int i = 0; i < current.size(); ++i) {
+                    if (current.get(i).getLastAccess() < current.get(evict).getLastAccess()) {
+                        evict = i;
+                    }
+                }
+
+                // evict the selected slot
+                evictions.increment();
+                current.remove(evict);
+
+                if (evict < index) {
+                    // adjust index of created slot as it was shifted by the eviction
+                    index--;
+                }
+            }
+
+            slot = createSlot(central);
+            current.add(index, slot);
+
+        } else {
+            slot = current.get(index);
+            slot.markAccessed();
+        }
+
+        // extend the slot if needed
+        int firstNeighbor = slot.entryIndex(dateQuantum) - (neighborsSize - 1) / 2;
+        boolean loop = firstNeighbor < 0 || firstNeighbor + neighborsSize > slot.getEntries();
+        try {
+            while (loop) {
+
+                // estimate which data we need to be generated
+                final double step = slot.getMeanStep();
+                final AbsoluteDate existingDate;
+                final AbsoluteDate generationDate;
+                final boolean simplyRebalance;
+                if (firstNeighbor < 0) {
+                    existingDate    = slot.getEarliest().getDate();
+                    generationDate  = existingDate.shiftedBy(step * firstNeighbor);
+                    simplyRebalance = existingDate.compareTo(central) <= 0;
+                } else {
+                    existingDate    = slot.getLatest().getDate();
+                    generationDate  = existingDate.shiftedBy(step * (firstNeighbor + neighborsSize - slot.getEntries()));
+                    simplyRebalance = existingDate.compareTo(central) >= 0;
+                }
+                generateCalls.increment();
+
+                // generated data and add it to a new version of the slot
+                try {
+                    if (firstNeighbor < 0) {
+                        slot = slot.insertAtStart(generateAndCheck(existingDate, generationDate), central);
+                    } else {
+                        slot = slot.appendAtEnd(generateAndCheck(existingDate, generationDate), central);
+                    }
+                    firstNeighbor = slot.entryIndex(dateQuantum) - (neighborsSize - 1) / 2;
+                    loop = firstNeighbor < 0 || firstNeighbor + neighborsSize > slot.getEntries();
+                } catch (TimeStampedCacheException tce) {
+                    if (simplyRebalance) {
+                        // we were simply trying to rebalance an unbalanced interval near slot end
+                        // we failed, but the central date is already covered by the existing (unbalanced) data
+                        // so we ignore the exception and stop the loop, we will continue with what we have
+                        loop = false;
+                    } else {
+                        throw tce;
+                    }
+                }
+
+            }
+        } finally {
+            // publish the new snapshot, with whatever data we were able to generate
+            current.set(index, slot);
+            slots.set(current);
+        }
+
+        if (firstNeighbor + neighborsSize > slot.getEntries()) {
+            // we end up with a non-balanced neighborhood,
+            // adjust the start point to fit within the cache
+            firstNeighbor = slot.getEntries() - neighborsSize;
+        }
+        if (firstNeighbor < 0) {
+            firstNeighbor = 0;
+        }
+        return slot.getNeighbors(firstNeighbor);
+
+    }
+
+    /** Get the index of the slot in which a date could be cached.
+     * @param current current snapshot of slots (must not be empty)
+     * @param dateQuantum quantum of the date to search for
+     * @return the slot in which the date could be cached
+     */
+    private int slotIndex(final List<Slot> current, final long dateQuantum) {
+
+        int  iInf = 0;
+        final long qInf = current.get(iInf).getEarliestQuantum();
+        int  iSup = current.size() - 1;
+        final long qSup = current.get(iSup).getLatestQuantum();
+        while (iSup - iInf > 0) {
+            final int iInterp = (int) ((iInf * (qSup - dateQuantum) + iSup * (dateQuantum - qInf)) / (qSup - qInf));
+            final int iMed    = FastMath.max(iInf, FastMath.min(iInterp, iSup));
+            final Slot slot   = current.get(iMed);
+            if (dateQuantum < slot.getEarliestQuantum()) {
+                iSup = iMed - 1;
+            } else if (dateQuantum > slot.getLatestQuantum()) {
+                iInf = FastMath.min(iSup, iMed + 1);
+            } else {
+                return iMed;
+            }
+        }
+
+        return iInf;
+
+    }
+
+    /** Create a new slot.
+     * <p>
+     * We own the generation lock while calling this method.
+     * </p>
+     * @param date central date for initial entries to insert in the slot
+     * @return new slot
+     */
+    private Slot createSlot(final AbsoluteDate date) {
+
+        // set up first entries
+        generateCalls.increment();
+        Slot slot = new Slot(generateAndCheck(null, date));
+
+        while (slot.getEntries() < neighborsSize) {
+            // we need to generate more entries
+
+            final AbsoluteDate entry0 = slot.getEarliest().getDate();
+            final AbsoluteDate entryN = slot.getLatest().getDate();
+            generateCalls.increment();
+
+            if (entryN.durationFrom(date) <= date.durationFrom(entry0)) {
+                // generate additional point at the end of the slot
+                final AbsoluteDate generationDate = entryN.shiftedBy(slot.getMeanStep() * (neighborsSize - slot.getEntries()));
+                slot = slot.appendAtEnd(generateAndCheck(entryN, generationDate), date);
+            } else {
+                // generate additional point at the start of the slot
+                final AbsoluteDate generationDate = entry0.shiftedBy(-slot.getMeanStep() * (neighborsSize - slot.getEntries()));
+                slot = slot.insertAtStart(generateAndCheck(entry0, generationDate), date);
+            }
+
+        }
+
+        return slot;
+
+    }
+
+    /** Generate entries and check ordering.
+     * @param existingDate date of the closest already existing entry (may be null)
+     * @param date date that must be covered by the range of the generated array
+     * @return chronologically sorted list of generated entries
+     */
+    private List<T> generateAndCheck(final AbsoluteDate existingDate, final AbsoluteDate date) {
+        final List<T> entries = generator.generate(existingDate, date);
+        if (entries.isEmpty()) {
+            throw new TimeStampedCacheException(OrekitMessages.NO_DATA_GENERATED, date);
+        }
+        for (int i = 1; i < entries.size(); ++i) {
+            final AbsoluteDate previous = entries.get(i - 1).getDate();
+            final AbsoluteDate current = entries.get(i).getDate();
+            if (current.compareTo(previous) < 0) {
+                throw new TimeStampedCacheException(OrekitMessages.NON_CHRONOLOGICALLY_SORTED_ENTRIES,
+                        previous, current, previous.durationFrom(current));
+            }
+        }
+        return entries;
+    }
+
+    /** Immutable time slot. */
+    private final class Slot {
+
+        /** Cached time-stamped entries. */
+        private final List<T> data;
+
+        /** Global quanta of the entries. */
+        private final long[] quanta;
+
+        /** Logical stamp of the last access.
+         * <p>
+         * This stamp is volatile as it is updated by lock-free reads from any thread.
+         * </p>
+         */
+        private volatile long lastAccess;
+
+        /** Index from a previous recent call.
+         * <p>
+         * This hint is deliberately neither volatile nor atomic, as sharing it between
+         * threads would create contention. It is only used as a starting point for search,
+         * so a stale value is harmless.
+         * </p>
+         */
+        private int guessedIndex;
+
+        /** Simple constructor.
+         * @param data chronologically sorted cached entries (will be copied)
+         */
+        Slot(final List<T> data) {
+            this(new ArrayList<>(data), computeQuanta(data));
+        }
+
+        /** Simple constructor.
+         * @param data chronologically sorted cached entries (will <em>not</em> be copied)
+         * @param quanta global quanta of the entries
+         */
+        private Slot(final List<T> data, final long[] quanta) {
+            this.data         = data;
+            this.quanta       = quanta;
+            this.lastAccess   = accessClock.incrementAndGet();
+            this.guessedIndex = data.size() / 2;
+        }
+
+        /** Get the earliest entry contained in the slot.
+         * @return earliest entry contained in the slot
+         */
+        public T getEarliest() {
+            return data.get(0);
+        }
+
+        /** Get the quantum of the earliest date contained in the slot.
+         * @return quantum of the earliest date contained in the slot
+         */
+        public long getEarliestQuantum() {
+            return quanta[0];
+        }
+
+        /** Get the latest entry contained in the slot.
+         * @return latest entry contained in the slot
+         */
+        public T getLatest() {
+            return data.get(data.size() - 1);
+        }
+
+        /** Get the quantum of the latest date contained in the slot.
+         * @return quantum of the latest date contained in the slot
+         */
+        public long getLatestQuantum() {
+            return quanta[quanta.length - 1];
+        }
+
+        /** Get the number of entries contained in the slot.
+         * @return number of entries contained in the slot
+         */
+        public int getEntries() {
+            return data.size();
+        }
+
+        /** Get the mean step between entries.
+         * @return mean step between entries (or an arbitrary non-null value
+         * if there are fewer than 2 entries)
+         */
+        private double getMeanStep() {
+            if (data.size() < 2) {
+                return 1.0;
+            } else {
+                final AbsoluteDate t0 = getEarliest().getDate();
+                final AbsoluteDate tn = getLatest().getDate();
+                return tn.durationFrom(t0) / (data.size() - 1);
+            }
+        }
+
+        /** Get last access stamp of slot.
+         * @return last known access stamp
+         */
+        public long getLastAccess() {
+            return lastAccess;
+        }
+
+        /** Mark the slot as the most recently accessed one.
+         * <p>
+         * The shared clock is only advanced when another slot was accessed since
+         * the last access to this one, so repeated reads of the same slot by many
+         * threads only read the clock and do not contend on it.
+         * </p>
+         */
+        public void markAccessed() {
+            if (lastAccess != accessClock.get()) {
+                lastAccess = accessClock.incrementAndGet();
+            }
+        }
+
+        /** Get the entries starting at some index.
+         * @param firstNeighbor index of the first neighbor
+         * @return stream of neighbors
+         */
+        public Stream<T> getNeighbors(final int firstNeighbor) {
+            return data.subList(firstNeighbor, firstNeighbor + neighborsSize).stream();
+        }
+
+        /** Get the index of the entry corresponding to a date.
+         * @param dateQuantum global quantum of the date
+         * @return index in the array such that entry[index] is before
+         * date and entry[index + 1] is after date (or they are at array boundaries)
+         */
+        private int entryIndex(final long dateQuantum) {
+
+            // first quick guesses, assuming a recent search was close enough
+            final int guess = guessedIndex;
+            if (guess > 0 && guess < quanta.length) {
+                if (quanta[guess] <= dateQuantum) {
+                    if (guess + 1 < quanta.length && quanta[guess + 1] > dateQuantum) {
+                        // good guess!
+                        return guess;
+                    } else {
+                        // perhaps we have simply shifted just one point forward ?
+                        if (guess + 2 < quanta.length && quanta[guess + 2] > dateQuantum) {
+                            guessedIndex = guess + 1;
+                            return guess + 1;
+                        }
+                    }
+                } else {
+                    // perhaps we have simply shifted just one point backward ?
+                    if (guess > 1 && quanta[guess - 1] <= dateQuantum) {
+                        guessedIndex = guess - 1;
+                        return guess - 1;
+                    }
+                }
+            }
+
+            // quick guesses have failed, we need to perform a full blown search
+            if (dateQuantum < getEarliestQuantum()) {
+                // date if before the first entry
+                return -1;
+            } else if (dateQuantum > getLatestQuantum()) {
+                // date is after the last entry
+                return quanta.length;
+            } else {
+
+                // try to get an existing entry
+                int  iInf = 0;
+                final long qInf = quanta[iInf];
+                int  iSup = quanta.length - 1;
+                final long qSup = quanta[iSup];
+                while (iSup - iInf > 0) {
+                    // within a continuous slot, entries are expected to be roughly linear
+                    final int iInterp = (int) ((iInf * (qSup - dateQuantum) + iSup * (dateQuantum - qInf)) / (qSup - qInf));
+                    final int iMed    = FastMath.max(iInf + 1, FastMath.min(iInterp, iSup));
+                    if (dateQuantum < quanta[iMed]) {
+                        iSup = iMed - 1;
+                    } else if (dateQuantum > quanta[iMed]) {
+                        iInf = iMed;
+                    } else {
+                        guessedIndex = iMed;
+                        return iMed;
+                    }
+                }
+
+                guessedIndex = iInf;
+                return iInf;
+
+            }
+
+        }
+
+        /** Build a new slot with data inserted at start.
+         * @param newData data to insert
+         * @param requestedDate use for the error message.
+         * @return new slot
+         */
+        private Slot insertAtStart(final List<T> newData, final AbsoluteDate requestedDate) {
+
+            // select data to insert at start
+            final long q0 = getEarliestQuantum();
+            int inserted = 0;
+            while (inserted < newData.size() && quantum(newData.get(inserted).getDate()) < q0) {
+                ++inserted;
+            }
+
+            if (inserted == 0) {
+                final AbsoluteDate earliest = getEarliest().getDate();
+                throw new TimeStampedCacheException(
+                        OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_BEFORE,
+                        earliest, requestedDate, earliest.durationFrom(requestedDate));
+            }
+
+            final List<T> extended = new ArrayList<>(inserted + data.size());
+            extended.addAll(newData.subList(0, inserted));
+            extended.addAll(data);
+
+            // evict excess data at end
+            final AbsoluteDate t0 = extended.get(0).getDate();
+            while (extended.size() > neighborsSize &&
+                   extended.get(extended.size() - 1).getDate().durationFrom(t0) > maxSpan) {
+                extended.remove(extended.size() - 1);
+            }
+
+            return new Slot(extended, computeQuanta(extended));
+
+        }
+
+        /** Build a new slot with data appended at end.
+         * @param newData data to append
+         * @param requestedDate use for error message.
+         * @return new slot
+         */
+        private Slot appendAtEnd(final List<T> newData, final AbsoluteDate requestedDate) {
+
+            // select data to append at end
+            final long qn = getLatestQuantum();
+            int start = newData.size();
+            while (start > 0 && quantum(newData.get(start - 1).getDate()) > qn) {
+                --start;
+            }
+
+            if (start == newData.size()) {
+                final AbsoluteDate latest = getLatest().getDate();
+                throw new TimeStampedCacheException(
+                        OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_AFTER,
+                        latest, requestedDate, requestedDate.durationFrom(latest));
+            }
+
+            final List<T> extended = new ArrayList<>(data.size() + newData.size() - start);
+            extended.addAll(data);
+            extended.addAll(newData.subList(start, newData.size()));
+
+            // evict excess data at start
+            final AbsoluteDate tn = extended.get(extended.size() - 1).getDate();
+            int first = 0;
+            while (extended.size() - first > neighborsSize &&
+                   tn.durationFrom(extended.get(first).getDate()) > maxSpan) {
+                ++first;
+            }
+            final List<T> kept = first == 0 ? extended : new ArrayList<>(extended.subList(first, extended.size()));
+
+            return new Slot(kept, computeQuanta(kept));
+
+        }
+
+    }
+
+    /** Compute the global quanta of a list of entries.
+     * @param data chronologically sorted entries
+     * @return global quanta of the entries
+     */
+    private long[] computeQuanta(final List<T> data) {
+        final long[] quanta = new long[data.size()];
+        for (int i = 0; i < quanta.length; ++i) {
+            quanta[i] = quantum(data.get(i).getDate());
+        }
+        return quanta;
+    }
+
+}
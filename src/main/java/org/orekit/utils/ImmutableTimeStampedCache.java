@@ -30,6 +30,7 @@ import org.orekit.errors.OrekitMessages;
 import org.orekit.errors.TimeStampedCacheException;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.ChronologicalComparator;
+import org.orekit.time.PackedDate;
 import org.orekit.time.TimeStamped;
 
 /**
@@ -110,9 +111,46 @@ public class ImmutableTimeStampedCache<T extends TimeStamped>
 
     /** {@inheritDoc} */
     public Stream<T> getNeighbors(final AbsoluteDate central) {
+        return neighbors(findIndex(central), central);
+    }
+
+    /** Get the entries surrounding a central date.
+     * <p>
+     * This method is similar to {@link #getNeighbors(AbsoluteDate)}, but
+     * it does not allocate any date during the search.
+     * </p>
+     * @param packedCentral central date, {@link PackedDate packed} as a primitive long
+     * @return stream of cached entries surrounding the specified date
+     * @see #getNeighbors(AbsoluteDate)
+     * @since 11.1
+     */
+    public Stream<T> getNeighbors(final long packedCentral) {
+
+        // find the index of the last entry before central date
+        int inf = -1;
+        int sup = data.size();
+        while (sup - inf > 1) {
+            final int middle = (inf + sup) >>> 1;
+            if (PackedDate.compare(packedCentral, data.get(middle).getDate()) < 0) {
+                sup = middle;
+            } else {
+                inf = middle;
+            }
+        }
+
+        // dates are only built in the error cases
+        final int i = (inf == data.size() - 1 && PackedDate.compare(packedCentral, getLatest().getDate()) > 0) ?
+                      data.size() : inf;
+        return neighbors(i, i < 0 || i >= data.size() ? PackedDate.unpack(packedCentral) : null);
+
+    }
 
-        // find central index
-        final int i = findIndex(central);
+    /** Get the entries surrounding a central index.
+     * @param i index of the entry at or just before central date
+     * @param central central date (used only for error messages)
+     * @return stream of cached entries surrounding the central index
+     */
+    private Stream<T> neighbors(final int i, final AbsoluteDate central) {
 
         // check index in in the range of the data
         if (i < 0) {
@@ -200,6 +238,12 @@ public class ImmutableTimeStampedCache<T extends TimeStamped>
             throw new TimeStampedCacheException(OrekitMessages.NO_CACHED_ENTRIES);
         }
 
+        /** {@inheritDoc} */
+        @Override
+        public Stream<T> getNeighbors(final long packedCentral) {
+            throw new TimeStampedCacheException(OrekitMessages.NO_CACHED_ENTRIES);
+        }
+
         /** {@inheritDoc} */
         @Override
         public int getNeighborsSize() {
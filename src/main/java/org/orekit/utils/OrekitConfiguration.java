@@ -16,6 +16,7 @@
  */
 package org.orekit.utils;
 
+import org.orekit.time.TimeStamped;
 
 /** Utility class for setting global configuration parameters.
 
@@ -26,8 +27,20 @@ public class OrekitConfiguration {
     /** Number of slots to use in caches. */
     private static int CACHE_SLOTS_NUMBER;
 
+    /** Indicator for lock-free caches. */
+    private static boolean LOCK_FREE_CACHES;
+
+    /** Size of the frames transforms caches. */
+    private static int TRANSFORM_CACHE_SIZE;
+
+    /** Size of the Hansen coefficients polynomials cache. */
+    private static int HANSEN_POLYNOMIALS_CACHE_SIZE;
+
     static {
-        CACHE_SLOTS_NUMBER = 100;
+        CACHE_SLOTS_NUMBER            = 100;
+        LOCK_FREE_CACHES              = false;
+        TRANSFORM_CACHE_SIZE          = 0;
+        HANSEN_POLYNOMIALS_CACHE_SIZE = 4096;
     }
 
     /** Private constructor.
@@ -52,4 +65,95 @@ public class OrekitConfiguration {
         return CACHE_SLOTS_NUMBER;
     }
 
+    /** Select the implementation of time-stamped caches.
+     * <p>
+     * This setting only affects caches created after the call, so it should
+     * be set before any data is loaded (typically at application start).
+     * </p>
+     * @param lockFree if true, Orekit internal time-stamped caches will be
+     * {@link ConcurrentTimeStampedCache} instances with a lock-free read path,
+     * otherwise they will be {@link GenericTimeStampedCache} instances
+     * @since 11.1
+     */
+    public static void setLockFreeCaches(final boolean lockFree) {
+        OrekitConfiguration.LOCK_FREE_CACHES = lockFree;
+    }
+
+    /** Check if time-stamped caches are lock-free.
+     * @return true if Orekit internal time-stamped caches are {@link ConcurrentTimeStampedCache}
+     * instances, false if they are {@link GenericTimeStampedCache} instances
+     * @since 11.1
+     */
+    public static boolean isLockFreeCaches() {
+        return LOCK_FREE_CACHES;
+    }
+
+    /** Create a time-stamped cache, using the selected implementation.
+     * @param <T> Type of the cached data.
+     * @param neighborsSize fixed size of the arrays to be returned by {@link
+     * TimeStampedCache#getNeighbors(org.orekit.time.AbsoluteDate)}, must be at least 2
+     * @param maxSlots maximum number of independent cached time slots
+     * @param maxSpan maximum duration span in seconds of one slot
+     * (can be set to {@code Double.POSITIVE_INFINITY} if desired)
+     * @param newSlotInterval time interval above which a new slot is created
+     * instead of extending an existing one
+     * @param generator generator to use for yet non-existent data
+     * @return a new cache
+     * @see #setLockFreeCaches(boolean)
+     * @since 11.1
+     */
+    public static <T extends TimeStamped> TimeStampedCache<T> createTimeStampedCache(final int neighborsSize,
+                                                                                     final int maxSlots,
+                                                                                     final double maxSpan,
+                                                                                     final double newSlotInterval,
+                                                                                     final TimeStampedGenerator<T> generator) {
+        return LOCK_FREE_CACHES ?
+               new ConcurrentTimeStampedCache<>(neighborsSize, maxSlots, maxSpan, newSlotInterval, generator) :
+               new GenericTimeStampedCache<>(neighborsSize, maxSlots, maxSpan, newSlotInterval, generator);
+    }
+
+    /** Set the size of the frames transforms caches.
+     * <p>
+     * When the size is strictly positive, {@link org.orekit.frames.Frame#getTransformTo(
+     * org.orekit.frames.Frame, org.orekit.time.AbsoluteDate) Frame.getTransformTo} memoizes
+     * the transforms it computes in a per-thread {@link org.orekit.frames.TransformCache
+     * TransformCache} holding at most this number of entries. When the size is 0 (which
+     * is the default), transforms are not cached.
+     * </p>
+     * @param size maximum number of transforms cached in each thread (0 to disable caching)
+     * @since 11.1
+     */
+    public static void setTransformCacheSize(final int size) {
+        OrekitConfiguration.TRANSFORM_CACHE_SIZE = size;
+    }
+
+    /** Get the size of the frames transforms caches.
+     * @return maximum number of transforms cached in each thread (0 if caching is disabled)
+     * @since 11.1
+     */
+    public static int getTransformCacheSize() {
+        return TRANSFORM_CACHE_SIZE;
+    }
+
+    /** Set the size of the DSST Hansen coefficients polynomials cache.
+     * <p>
+     * If the {@link org.orekit.propagation.semianalytical.dsst.utilities.hansen.HansenPolynomialsCache
+     * HansenPolynomialsCache} currently holds more entries, the least recently used ones
+     * are evicted at next insertion. The default size is 4096 entries.
+     * </p>
+     * @param size maximum number of entries in the cache
+     * @since 11.1
+     */
+    public static void setHansenPolynomialsCacheSize(final int size) {
+        OrekitConfiguration.HANSEN_POLYNOMIALS_CACHE_SIZE = size;
+    }
+
+    /** Get the size of the DSST Hansen coefficients polynomials cache.
+     * @return maximum number of entries in the cache
+     * @since 11.1
+     */
+    public static int getHansenPolynomialsCacheSize() {
+        return HANSEN_POLYNOMIALS_CACHE_SIZE;
+    }
+
 }
@@ -0,0 +1,122 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.errors.OrekitException;
+
+/** Utility class for waiting on tasks submitted to an {@link ExecutorService}.
+ * <p>
+ * Several Orekit classes can optionally be given an executor service to perform
+ * part of their computation in parallel, while still producing exactly the same
+ * results as sequential computation. They all follow the same rules:
+ * </p>
+ * <ul>
+ *   <li>a null executor service means computation is sequential, which is the default,</li>
+ *   <li>the executor service is never shut down by the class using it, the caller
+ *   remains responsible for shutting it down once computation is complete,</li>
+ *   <li>results are gathered in submission order,</li>
+ *   <li>if one task fails or the waiting thread is interrupted, the pending tasks are cancelled
+ *   and the error is reported as described in {@link #getAll(List)}.</li>
+ * </ul>
+ * @author agent
+ * @since 11.1
+ */
+public class ParallelTasks {
+
+    /** Private constructor for utility class.
+     */
+    private ParallelTasks() {
+    }
+
+    /** Wait for all tasks to complete and get their results.
+     * <p>
+     * If the calling thread is interrupted, its interrupted status is restored and an
+     * {@link OrekitException} is thrown. If one task fails, the exception it threw is
+     * {@link #unwrap(ExecutionException) unwrapped} and rethrown. In both cases, all
+     * tasks still pending are cancelled.
+     * </p>
+     * @param futures pending tasks
+     * @param <T> type of the tasks results
+     * @return tasks results, in the same order as futures
+     */
+    public static <T> List<T> getAll(final List<? extends Future<? extends T>> futures) {
+        final List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (final Future<? extends T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException ie) {
+            cancel(futures);
+            throw interrupted(ie);
+        } catch (ExecutionException ee) {
+            cancel(futures);
+            throw unwrap(ee);
+        }
+    }
+
+    /** Cancel tasks.
+     * <p>
+     * Tasks already completed are not affected, running tasks are interrupted.
+     * </p>
+     * @param futures tasks to cancel
+     */
+    public static void cancel(final List<? extends Future<?>> futures) {
+        for (final Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    /** Handle an interruption while waiting for a task.
+     * <p>
+     * The interrupted status of the current thread is restored.
+     * </p>
+     * @param ie interruption
+     * @return exception to throw
+     */
+    public static OrekitException interrupted(final InterruptedException ie) {
+        Thread.currentThread().interrupt();
+        return new OrekitException(ie, LocalizedCoreFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
+    }
+
+    /** Unwrap the exception thrown by a failed task.
+     * <p>
+     * {@link Error errors} are rethrown directly, {@link RuntimeException runtime exceptions}
+     * are returned as is, and checked exceptions are wrapped in an {@link OrekitException}.
+     * </p>
+     * @param ee exception reported by {@link Future#get()}
+     * @return exception to throw
+     */
+    public static RuntimeException unwrap(final ExecutionException ee) {
+        final Throwable cause = ee.getCause();
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        } else if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        } else {
+            return new OrekitException(cause, LocalizedCoreFormats.SIMPLE_MESSAGE, cause.getLocalizedMessage());
+        }
+    }
+
+}
@@ -16,13 +16,16 @@
  */
 package org.orekit.utils;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.NavigableSet;
 import java.util.TreeSet;
 import java.util.function.Consumer;
 
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.ChronologicalComparator;
+import org.orekit.time.PackedDate;
 import org.orekit.time.TimeStamped;
 
 /** Container for objects that apply to spans of time.
@@ -37,6 +40,9 @@ public class TimeSpanMap<T> {
     /** Container for the data. */
     private final NavigableSet<Transition<T>> data;
 
+    /** Flattened view of the transitions, for allocation-free lookups (null if not built yet). */
+    private volatile Index<T> index;
+
     /** Create a map containing a single object, initially valid throughout the timeline.
      * <p>
      * The real validity of this first entry will be truncated as other
@@ -70,6 +76,7 @@ public class TimeSpanMap<T> {
      * (must be different from <em>all</em> dates already used for transitions)
      */
     public void addValidBefore(final T entry, final AbsoluteDate latestValidityDate) {
+        index = null;
 
         if (data.size() == 1) {
             final Transition<T> single = data.first();
@@ -115,6 +122,7 @@ public class TimeSpanMap<T> {
      * (must be different from <em>all</em> dates already used for transitions)
      */
     public void addValidAfter(final T entry, final AbsoluteDate earliestValidityDate) {
+        index = null;
 
         if (data.size() == 1) {
             final Transition<T> single = data.first();
@@ -156,6 +164,42 @@ public class TimeSpanMap<T> {
         }
     }
 
+    /** Get the entry valid at a specified date.
+     * <p>
+     * This method does not allocate any objects once an internal flattened
+     * view of the transitions has been built (which is done at first call
+     * after each modification of the map).
+     * </p>
+     * @param packedDate date at which the entry must be valid,
+     * {@link org.orekit.time.PackedDate packed} as a primitive long
+     * @return valid entry at specified date
+     * @since 11.1
+     */
+    public T get(final long packedDate) {
+
+        Index<T> current = index;
+        if (current == null) {
+            // this may be done concurrently by several threads, but they will all build the same index
+            current = new Index<>(data);
+            index   = current;
+        }
+
+        // find the last transition before packed date
+        int inf = -1;
+        int sup = current.dates.length;
+        while (sup - inf > 1) {
+            final int middle = (inf + sup) >>> 1;
+            if (PackedDate.compare(packedDate, current.dates[middle]) < 0) {
+                sup = middle;
+            } else {
+                inf = middle;
+            }
+        }
+
+        return inf < 0 ? current.firstBefore : current.afters.get(inf);
+
+    }
+
     /** Get the time span containing a specified date.
      * @param date date belonging to the desired time span
      * @return time span containing the specified date
@@ -360,4 +404,35 @@ public class TimeSpanMap<T> {
 
     }
 
+    /** Flattened view of the transitions.
+     * @param <S> Type of the data.
+     * @since 11.1
+     */
+    private static class Index<S> {
+
+        /** Transitions dates. */
+        private final AbsoluteDate[] dates;
+
+        /** Entries valid after each transition. */
+        private final List<S> afters;
+
+        /** Entry valid before first transition. */
+        private final S firstBefore;
+
+        /** Simple constructor.
+         * @param transitions transitions to flatten
+         */
+        Index(final NavigableSet<Transition<S>> transitions) {
+            this.dates       = new AbsoluteDate[transitions.size()];
+            this.afters      = new ArrayList<>(transitions.size());
+            this.firstBefore = transitions.first().getBefore();
+            int i = 0;
+            for (final Transition<S> transition : transitions) {
+                dates[i++] = transition.getDate();
+                afters.add(transition.getAfter());
+            }
+        }
+
+    }
+
 }
@@ -18,18 +18,29 @@ package org.orekit.bodies;
 
 
 import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.Decimal64;
+import org.hipparchus.util.Decimal64Field;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.orekit.Utils;
 import org.orekit.data.DataContext;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
 import org.orekit.frames.Frame;
 import org.orekit.frames.FramesFactory;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
 import org.orekit.time.TimeScalesFactory;
 import org.orekit.utils.Constants;
+import org.orekit.utils.FieldPVCoordinates;
 import org.orekit.utils.PVCoordinates;
 
 public class JPLEphemeridesLoaderTest {
@@ -261,6 +272,111 @@ public class JPLEphemeridesLoaderTest {
 
     }
 
+    @Test
+    public void testMappedDE405() throws URISyntaxException {
+        checkMappedVsStreamed("regular-data/de405-ephemerides", JPLEphemeridesLoader.DEFAULT_DE_SUPPORTED_NAMES,
+                              2440368.5, 2440496.5,
+                              "regular-data/de405-ephemerides/unxp0001.405",
+                              "regular-data/de405-ephemerides/unxp0000.405");
+    }
+
+    @Test
+    public void testMappedDE431LittleEndian() throws URISyntaxException {
+        checkMappedVsStreamed("regular-data/de431-ephemerides", JPLEphemeridesLoader.DEFAULT_DE_SUPPORTED_NAMES,
+                              2451504.5, 2451696.5,
+                              "regular-data/de431-ephemerides/lnxp0000.431");
+    }
+
+    @Test
+    public void testMappedInpopTCB() throws URISyntaxException {
+        checkMappedVsStreamed("inpop", "^inpop.*_TCB_.*_littleendian\\.dat$",
+                              2440377.0, 2440473.0,
+                              "inpop/inpop10b_TCB_summer_1969_littleendian.dat");
+    }
+
+    @Test
+    public void testMappedOutOfRange() throws URISyntaxException {
+        Utils.setDataRoot("regular-data");
+        final JPLEphemeridesLoader loader =
+                        new JPLEphemeridesLoader(paths("regular-data/de405-ephemerides/unxp0000.405",
+                                                       "regular-data/de405-ephemerides/unxp0001.405"),
+                                                 JPLEphemeridesLoader.EphemerisType.MARS,
+                                                 DataContext.getDefault().getTimeScales(),
+                                                 FramesFactory.getGCRF());
+        final CelestialBody mars = loader.loadCelestialBody(CelestialBodyFactory.MARS);
+        final Frame icrf = mars.getInertiallyOrientedFrame().getParent();
+        try {
+            // date in the gap between the two files
+            mars.getPVCoordinates(julianDate(2440530.0), icrf);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE_AFTER, oe.getSpecifier());
+        }
+        try {
+            mars.getPVCoordinates(julianDate(2440000.0), icrf);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE_BEFORE, oe.getSpecifier());
+        }
+        Assert.assertNotNull(mars.getPVCoordinates(julianDate(2440600.0), icrf));
+    }
+
+    private void checkMappedVsStreamed(final String dataRoot, final String supportedNames,
+                                       final double startJD, final double endJD,
+                                       final String... files)
+        throws URISyntaxException {
+        Utils.setDataRoot(dataRoot);
+        final Frame gcrf = FramesFactory.getGCRF();
+        for (final JPLEphemeridesLoader.EphemerisType type :
+             new JPLEphemeridesLoader.EphemerisType[] {
+                 JPLEphemeridesLoader.EphemerisType.SUN,
+                 JPLEphemeridesLoader.EphemerisType.MOON,
+                 JPLEphemeridesLoader.EphemerisType.EARTH_MOON,
+                 JPLEphemeridesLoader.EphemerisType.SOLAR_SYSTEM_BARYCENTER,
+                 JPLEphemeridesLoader.EphemerisType.MARS,
+                 JPLEphemeridesLoader.EphemerisType.JUPITER
+             }) {
+            final JPLEphemeridesLoader streamedLoader = new JPLEphemeridesLoader(supportedNames, type);
+            final JPLEphemeridesLoader mappedLoader   =
+                            new JPLEphemeridesLoader(paths(files), type,
+                                                     DataContext.getDefault().getTimeScales(), gcrf);
+            Assert.assertEquals(streamedLoader.getLoadedAstronomicalUnit(),
+                                mappedLoader.getLoadedAstronomicalUnit(), 0.0);
+            Assert.assertEquals(streamedLoader.getLoadedGravitationalCoefficient(type),
+                                mappedLoader.getLoadedGravitationalCoefficient(type), 0.0);
+            final CelestialBody streamed = streamedLoader.loadCelestialBody(type.name());
+            final CelestialBody mapped   = mappedLoader.loadCelestialBody(type.name());
+            for (double jd = startJD + 0.01; jd < endJD - 0.01; jd += 0.37) {
+                final AbsoluteDate  date = julianDate(jd);
+                final PVCoordinates pvS  = streamed.getPVCoordinates(date, gcrf);
+                final PVCoordinates pvM  = mapped.getPVCoordinates(date, gcrf);
+                Assert.assertEquals(0.0,
+                                    Vector3D.distance(pvS.getPosition(), pvM.getPosition()),
+                                    0.0);
+                Assert.assertEquals(0.0,
+                                    Vector3D.distance(pvS.getVelocity(), pvM.getVelocity()),
+                                    0.0);
+                final FieldAbsoluteDate<Decimal64> fDate = new FieldAbsoluteDate<>(Decimal64Field.getInstance(), date);
+                final FieldPVCoordinates<Decimal64> fpvM = mapped.getPVCoordinates(fDate, gcrf);
+                Assert.assertEquals(0.0,
+                                    Vector3D.distance(pvM.getPosition(), fpvM.getPosition().toVector3D()),
+                                    0.0);
+            }
+        }
+    }
+
+    private List<Path> paths(final String... files) throws URISyntaxException {
+        final List<Path> paths = new ArrayList<>();
+        for (final String file : files) {
+            paths.add(Paths.get(JPLEphemeridesLoaderTest.class.getClassLoader().getResource(file).toURI()));
+        }
+        return paths;
+    }
+
+    private AbsoluteDate julianDate(final double jd) {
+        return AbsoluteDate.JULIAN_EPOCH.shiftedBy(jd * Constants.JULIAN_DAY);
+    }
+
     private void checkDerivative(String supportedNames, AbsoluteDate date, double maxChunkDuration)
         {
         JPLEphemeridesLoader loader =
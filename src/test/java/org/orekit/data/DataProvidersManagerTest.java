@@ -18,11 +18,15 @@ package org.orekit.data;
 
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -39,6 +43,7 @@ public class DataProvidersManagerTest {
     public void tearDown() {
         // clear the filters so they don't change other tests
         DataContext.getDefault().getDataProvidersManager().resetFiltersToDefault();
+        DataContext.getDefault().getDataProvidersManager().setExecutorService(null);
     }
 
     @Test
@@ -219,6 +224,129 @@ public class DataProvidersManagerTest {
         Assert.assertEquals(18 * layers, filter.getOpenedCount());
     }
 
+    @Test
+    public void testParallelLoading() {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (final String root : new String[] { "regular-data", "compressed-data", "zipped-data/multizip.zip" }) {
+                System.setProperty(DataProvidersManager.OREKIT_DATA_PATH, getPath(root));
+                DataProvidersManager manager = DataContext.getDefault().getDataProvidersManager();
+                manager.clearProviders();
+
+                manager.setExecutorService(null);
+                Assert.assertNull(manager.getExecutorService());
+                OrderingLoader sequential = new OrderingLoader(false);
+                Assert.assertTrue(manager.feed(".*", sequential));
+
+                manager.setExecutorService(executor);
+                Assert.assertSame(executor, manager.getExecutorService());
+                OrderingLoader parallel = new OrderingLoader(false);
+                Assert.assertTrue(manager.feed(".*", parallel));
+
+                // files are parsed by the executor, but merged in crawling order
+                Assert.assertTrue(sequential.getNames().size() > 0);
+                Assert.assertEquals(sequential.getNames(), parallel.getNames());
+                Assert.assertEquals(sequential.getSizes(), parallel.getSizes());
+                Assert.assertFalse(parallel.parsedInCallerThread());
+
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testParallelLoadingFailure() {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            System.setProperty(DataProvidersManager.OREKIT_DATA_PATH, getPath("regular-data"));
+            DataProvidersManager manager = DataContext.getDefault().getDataProvidersManager();
+            manager.clearProviders();
+            manager.setExecutorService(executor);
+            OrderingLoader loader = new OrderingLoader(true);
+            try {
+                manager.feed(".*", loader);
+                Assert.fail("an exception should have been thrown");
+            } catch (OrekitException oe) {
+                Assert.assertEquals("intentional failure", oe.getMessage());
+            }
+            Assert.assertEquals(0, loader.getNames().size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testLoadingMetrics() {
+        System.setProperty(DataProvidersManager.OREKIT_DATA_PATH, getPath("regular-data"));
+        DataProvidersManager manager = DataContext.getDefault().getDataProvidersManager();
+        manager.clearProviders();
+        manager.clearLoadingMetrics();
+        Assert.assertTrue(manager.getLoadingMetrics().isEmpty());
+        Assert.assertTrue(manager.feed(".*\\.txt$", new CountingLoader(false)));
+        Assert.assertTrue(manager.feed(".*\\.405$", new CountingLoader(false)));
+        Assert.assertTrue(manager.feed(".*", new OrderingLoader(false)));
+        Assert.assertEquals(2, manager.getLoadingMetrics().size());
+
+        final DataLoadingMetrics counting = manager.getLoadingMetrics().get(CountingLoader.class.getName());
+        Assert.assertEquals(CountingLoader.class.getName(), counting.getLoaderName());
+        Assert.assertEquals(2, counting.getFeeds());
+        Assert.assertEquals(9, counting.getFiles());
+        Assert.assertTrue(counting.getFeedTime() > 0);
+        Assert.assertTrue(counting.getLoadTime() <= counting.getFeedTime());
+
+        final DataLoadingMetrics ordering = manager.getLoadingMetrics().get(OrderingLoader.class.getName());
+        Assert.assertEquals(1, ordering.getFeeds());
+        Assert.assertEquals(18, ordering.getFiles());
+        Assert.assertTrue(ordering.toString().startsWith(OrderingLoader.class.getName() + ": 1 feeds, 18 files"));
+
+        manager.clearLoadingMetrics();
+        Assert.assertTrue(manager.getLoadingMetrics().isEmpty());
+    }
+
+    private static class OrderingLoader implements ConcurrentDataLoader<Integer> {
+        private final boolean shouldFail;
+        private final Thread caller;
+        private final List<String> names;
+        private final List<Integer> sizes;
+        private volatile boolean parsedInCallerThread;
+        public OrderingLoader(boolean shouldFail) {
+            this.shouldFail = shouldFail;
+            this.caller     = Thread.currentThread();
+            this.names      = new ArrayList<>();
+            this.sizes      = new ArrayList<>();
+        }
+        public boolean stillAcceptsData() {
+            return true;
+        }
+        public Integer parse(InputStream input, String name) throws IOException {
+            if (Thread.currentThread() == caller) {
+                parsedInCallerThread = true;
+            }
+            if (shouldFail) {
+                throw new OrekitException(new DummyLocalizable("intentional failure"));
+            }
+            int size = 0;
+            for (int n = input.read(); n >= 0; n = input.read()) {
+                ++size;
+            }
+            return size;
+        }
+        public void merge(Integer size, String name) {
+            names.add(name);
+            sizes.add(size);
+        }
+        public List<String> getNames() {
+            return names;
+        }
+        public List<Integer> getSizes() {
+            return sizes;
+        }
+        public boolean parsedInCallerThread() {
+            return parsedInCallerThread;
+        }
+    }
+
     private static class CountingLoader implements DataLoader {
         private boolean shouldFail;
         private int count;
@@ -22,15 +22,22 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.text.ParseException;
 import java.util.regex.Pattern;
 
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.orekit.errors.OrekitException;
 
 public class DirectoryCrawlerTest {
 
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
     @Test(expected=OrekitException.class)
     public void testNoDirectory() throws URISyntaxException {
         File existing = new File(getClass().getClassLoader().getResource("regular-data").toURI().getPath());
@@ -78,6 +85,74 @@ public class DirectoryCrawlerTest {
         Assert.assertEquals(7, crawler.getCount());
     }
 
+    @Test
+    public void testIndexUpdate() throws IOException {
+        final File root = tempFolder.newFolder("root");
+        final File sub  = new File(root, "sub");
+        Assert.assertTrue(sub.mkdir());
+        Files.write(new File(sub, "a.txt").toPath(), "a".getBytes(StandardCharsets.UTF_8));
+        final DataProvidersManager manager = DataContext.getDefault().getDataProvidersManager();
+        final DirectoryCrawler crawler = new DirectoryCrawler(root);
+        final Pattern txt = Pattern.compile(".*\\.txt$");
+
+        // directories modified long ago
+        final long old = System.currentTimeMillis() - 3600000L;
+        Assert.assertTrue(root.setLastModified(old));
+        Assert.assertTrue(sub.setLastModified(old));
+        Assert.assertEquals(1, count(crawler, txt, manager));
+
+        // adding a file in a sub-directory changes its modification time, hence the index is rebuilt
+        Files.write(new File(sub, "b.txt").toPath(), "b".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(2, count(crawler, txt, manager));
+
+        // as long as the modification time is unchanged, the index is reused without listing directories
+        Assert.assertTrue(sub.setLastModified(old));
+        Assert.assertEquals(2, count(crawler, txt, manager));
+        Files.write(new File(sub, "c.txt").toPath(), "c".getBytes(StandardCharsets.UTF_8));
+        Assert.assertTrue(sub.setLastModified(old));
+        Assert.assertEquals(2, count(crawler, txt, manager));
+
+        // a different modification time triggers a new listing
+        Assert.assertTrue(sub.setLastModified(old + 1000L));
+        Assert.assertEquals(3, count(crawler, txt, manager));
+
+        // removing a file
+        Assert.assertTrue(new File(sub, "a.txt").delete());
+        Assert.assertEquals(2, count(crawler, txt, manager));
+
+        // replacing a file by another one, without changing the number of files
+        Assert.assertTrue(new File(sub, "b.txt").renameTo(new File(sub, "d.txt")));
+        Assert.assertEquals(2, count(crawler, txt, manager));
+        Assert.assertFalse(crawler.feed(Pattern.compile(".*b\\.txt$"), new CountingLoader(), manager));
+
+    }
+
+    @Test
+    public void testRemovedFileSkipped() throws IOException {
+        final File root = tempFolder.newFolder("root");
+        Files.write(new File(root, "a.txt").toPath(), "a".getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(root, "b.txt").toPath(), "b".getBytes(StandardCharsets.UTF_8));
+        final DataProvidersManager manager = DataContext.getDefault().getDataProvidersManager();
+        final DirectoryCrawler crawler = new DirectoryCrawler(root);
+        final Pattern txt = Pattern.compile(".*\\.txt$");
+
+        final long old = System.currentTimeMillis() - 3600000L;
+        Assert.assertTrue(root.setLastModified(old));
+        Assert.assertEquals(2, count(crawler, txt, manager));
+
+        // the file disappears while the index is still considered up to date
+        Assert.assertTrue(new File(root, "a.txt").delete());
+        Assert.assertTrue(root.setLastModified(old));
+        Assert.assertEquals(1, count(crawler, txt, manager));
+
+    }
+
+    private int count(final DirectoryCrawler crawler, final Pattern pattern, final DataProvidersManager manager) {
+        final CountingLoader loader = new CountingLoader();
+        crawler.feed(pattern, loader, manager);
+        return loader.getCount();
+    }
+
     @Test(expected=OrekitException.class)
     public void testIOException() throws URISyntaxException {
         URL url =
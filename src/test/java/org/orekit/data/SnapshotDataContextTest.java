@@ -0,0 +1,149 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.data;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.hipparchus.geometry.euclidean.threed.Rotation;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.forces.gravity.potential.NormalizedSphericalHarmonicsProvider;
+import org.orekit.forces.gravity.potential.NormalizedSphericalHarmonicsProvider.NormalizedSphericalHarmonics;
+import org.orekit.frames.Frame;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScale;
+import org.orekit.utils.IERSConventions;
+
+public class SnapshotDataContextTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private LazyLoadedDataContext lazy;
+
+    @Test
+    public void testIdenticalResults() throws IOException {
+
+        final Path snapshot = tempFolder.newFile("context.snapshot").toPath();
+        SnapshotDataContext.write(lazy, 8, 8, snapshot);
+        final DataContext loaded = new SnapshotDataContext(snapshot, lazy.getDataProvidersManager());
+
+        final TimeScale lazyUTC   = lazy.getTimeScales().getUTC();
+        final TimeScale loadedUTC = loaded.getTimeScales().getUTC();
+        final TimeScale lazyUT1   = lazy.getTimeScales().getUT1(IERSConventions.IERS_2010, false);
+        final TimeScale loadedUT1 = loaded.getTimeScales().getUT1(IERSConventions.IERS_2010, false);
+        final Frame lazyITRF      = lazy.getFrames().getITRF(IERSConventions.IERS_2010, false);
+        final Frame loadedITRF    = loaded.getFrames().getITRF(IERSConventions.IERS_2010, false);
+        final AbsoluteDate t0     = new AbsoluteDate(2003, 2, 14, 12, 34, 56.789, lazyUTC);
+        for (double dt = 0; dt < 30 * 86400; dt += 3600.0) {
+            final AbsoluteDate date = t0.shiftedBy(dt);
+            Assert.assertEquals(lazyUTC.offsetFromTAI(date), loadedUTC.offsetFromTAI(date), 0.0);
+            Assert.assertEquals(lazyUT1.offsetFromTAI(date), loadedUT1.offsetFromTAI(date), 0.0);
+            final Rotation lazyRotation   = lazyITRF.getTransformTo(lazy.getFrames().getGCRF(), date).getRotation();
+            final Rotation loadedRotation = loadedITRF.getTransformTo(loaded.getFrames().getGCRF(), date).getRotation();
+            Assert.assertEquals(lazyRotation.getQ0(), loadedRotation.getQ0(), 0.0);
+            Assert.assertEquals(lazyRotation.getQ1(), loadedRotation.getQ1(), 0.0);
+            Assert.assertEquals(lazyRotation.getQ2(), loadedRotation.getQ2(), 0.0);
+            Assert.assertEquals(lazyRotation.getQ3(), loadedRotation.getQ3(), 0.0);
+        }
+
+        final NormalizedSphericalHarmonicsProvider lazyField   =
+                        lazy.getGravityFields().getConstantNormalizedProvider(6, 4);
+        final NormalizedSphericalHarmonicsProvider loadedField =
+                        loaded.getGravityFields().getConstantNormalizedProvider(6, 4);
+        Assert.assertEquals(lazyField.getMaxDegree(), loadedField.getMaxDegree());
+        Assert.assertEquals(lazyField.getMaxOrder(),  loadedField.getMaxOrder());
+        Assert.assertEquals(lazyField.getAe(),        loadedField.getAe(), 0.0);
+        Assert.assertEquals(lazyField.getMu(),        loadedField.getMu(), 0.0);
+        Assert.assertEquals(lazyField.getTideSystem(), loadedField.getTideSystem());
+        final NormalizedSphericalHarmonics lazyHarmonics   = lazyField.onDate(t0);
+        final NormalizedSphericalHarmonics loadedHarmonics = loadedField.onDate(t0);
+        for (int n = 0; n <= 6; ++n) {
+            for (int m = 0; m <= Math.min(n, 4); ++m) {
+                Assert.assertEquals(lazyHarmonics.getNormalizedCnm(n, m), loadedHarmonics.getNormalizedCnm(n, m), 0.0);
+                Assert.assertEquals(lazyHarmonics.getNormalizedSnm(n, m), loadedHarmonics.getNormalizedSnm(n, m), 0.0);
+            }
+        }
+
+    }
+
+    @Test
+    public void testTooLargeDegree() throws IOException {
+        final Path snapshot = tempFolder.newFile("context.snapshot").toPath();
+        SnapshotDataContext.write(lazy, 4, 4, snapshot);
+        final DataContext loaded = new SnapshotDataContext(snapshot, lazy.getDataProvidersManager());
+        try {
+            loaded.getGravityFields().getConstantNormalizedProvider(5, 4);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.TOO_LARGE_DEGREE_FOR_GRAVITY_FIELD, oe.getSpecifier());
+            Assert.assertEquals(5, ((Integer) oe.getParts()[0]).intValue());
+            Assert.assertEquals(4, ((Integer) oe.getParts()[1]).intValue());
+        }
+    }
+
+    @Test
+    public void testNotASnapshot() throws IOException {
+        final Path snapshot = tempFolder.newFile("not-a-snapshot").toPath();
+        Files.write(snapshot, "this is not a snapshot".getBytes(StandardCharsets.UTF_8));
+        try {
+            new SnapshotDataContext(snapshot, lazy.getDataProvidersManager());
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNSUPPORTED_FILE_FORMAT, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testTruncatedSnapshot() throws IOException {
+        final Path snapshot = tempFolder.newFile("snapshot").toPath();
+        SnapshotDataContext.write(lazy, 8, 8, snapshot);
+        final byte[] complete = Files.readAllBytes(snapshot);
+
+        // truncate the snapshot at lengths spread over the UTC, EOP and gravity sections
+        final Path truncated = tempFolder.newFile("truncated").toPath();
+        final int nbLengths = 50;
+        for (int i = 0; i <= nbLengths; ++i) {
+            final int length = 8 + (int) ((complete.length - 9L) * i / nbLengths);
+            Files.write(truncated, Arrays.copyOf(complete, length));
+            try {
+                new SnapshotDataContext(truncated, lazy.getDataProvidersManager());
+                Assert.fail("an exception should have been thrown");
+            } catch (OrekitException oe) {
+                Assert.assertEquals(OrekitMessages.CORRUPTED_FILE, oe.getSpecifier());
+            }
+        }
+
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data:potential/icgem-format");
+        lazy = DataContext.getDefault();
+    }
+
+}
@@ -18,6 +18,8 @@ package org.orekit.estimation.leastsquares;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
@@ -248,6 +250,71 @@ public class BatchLSEstimatorTest {
 
     }
 
+    /**
+     * Perfect range measurements with a biased start, evaluated in parallel
+     */
+    @Test
+    public void testKeplerRangeParallel() {
+
+        Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final BatchLSEstimator sequential = createRangeEstimator(context, null);
+            final BatchLSEstimator parallel   = createRangeEstimator(context, executor);
+            Assert.assertNull(sequential.getMeasurementsExecutorService());
+            Assert.assertSame(executor, parallel.getMeasurementsExecutorService());
+            sequential.estimate();
+            parallel.estimate();
+
+            // parallel evaluation must not change anything to the results
+            Assert.assertEquals(sequential.getIterationsCount(),  parallel.getIterationsCount());
+            Assert.assertEquals(sequential.getEvaluationsCount(), parallel.getEvaluationsCount());
+            Assert.assertEquals(sequential.getOptimum().getRMS(), parallel.getOptimum().getRMS(), 0.0);
+            final List<DelegatingDriver> sDrivers = sequential.getOrbitalParametersDrivers(true).getDrivers();
+            final List<DelegatingDriver> pDrivers = parallel.getOrbitalParametersDrivers(true).getDrivers();
+            Assert.assertEquals(sDrivers.size(), pDrivers.size());
+            for (int i = 0; i < sDrivers.size(); ++i) {
+                Assert.assertEquals(sDrivers.get(i).getValue(), pDrivers.get(i).getValue(), 0.0);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+    }
+
+    private BatchLSEstimator createRangeEstimator(final Context context, final ExecutorService executor) {
+
+        final NumericalPropagatorBuilder propagatorBuilder =
+                        context.createBuilder(OrbitType.KEPLERIAN, PositionAngle.TRUE, true,
+                                              1.0e-6, 60.0, 1.0);
+
+        // create perfect range measurements
+        final Propagator propagator = EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                           propagatorBuilder);
+        final List<ObservedMeasurement<?>> measurements =
+                        EstimationTestUtils.createMeasurements(propagator,
+                                                               new RangeMeasurementCreator(context),
+                                                               1.0, 3.0, 300.0);
+
+        // create orbit estimator
+        final BatchLSEstimator estimator = new BatchLSEstimator(new LevenbergMarquardtOptimizer(),
+                                                                propagatorBuilder);
+        for (final ObservedMeasurement<?> range : measurements) {
+            estimator.addMeasurement(range);
+        }
+        estimator.setParametersConvergenceThreshold(1.0e-2);
+        estimator.setMaxIterations(10);
+        estimator.setMaxEvaluations(20);
+        estimator.setMeasurementsExecutorService(executor);
+
+        ParameterDriver aDriver = estimator.getOrbitalParametersDrivers(true).getDrivers().get(0);
+        aDriver.setValue(aDriver.getValue() + 1.2);
+
+        return estimator;
+
+    }
+
     /**
      * Perfect range measurements with a biased start and an on-board antenna range offset 
      */
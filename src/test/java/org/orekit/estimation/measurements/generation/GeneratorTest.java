@@ -16,19 +16,31 @@
  */
 package org.orekit.estimation.measurements.generation;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
 import java.util.SortedSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import org.hipparchus.CalculusFieldElement;
 import org.hipparchus.util.FastMath;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.orekit.attitudes.Attitude;
+import org.orekit.attitudes.AttitudeProvider;
+import org.orekit.attitudes.FieldAttitude;
 import org.orekit.estimation.Context;
 import org.orekit.estimation.EstimationTestUtils;
 import org.orekit.estimation.Force;
 import org.orekit.estimation.measurements.AngularAzEl;
+import org.orekit.estimation.measurements.GroundStation;
 import org.orekit.estimation.measurements.ObservableSatellite;
 import org.orekit.estimation.measurements.ObservedMeasurement;
 import org.orekit.estimation.measurements.Range;
+import org.orekit.frames.Frame;
 import org.orekit.orbits.OrbitType;
 import org.orekit.orbits.PositionAngle;
 import org.orekit.propagation.Propagator;
@@ -36,9 +48,12 @@ import org.orekit.propagation.conversion.NumericalPropagatorBuilder;
 import org.orekit.propagation.events.ElevationDetector;
 import org.orekit.propagation.events.EventDetector;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
 import org.orekit.time.FixedStepSelector;
 import org.orekit.time.TimeScalesFactory;
 import org.orekit.utils.Constants;
+import org.orekit.utils.FieldPVCoordinatesProvider;
+import org.orekit.utils.PVCoordinatesProvider;
 
 public class GeneratorTest {
 
@@ -93,6 +108,96 @@ public class GeneratorTest {
 
     }
 
+    @Test
+    public void testParallelMultiStations() {
+
+        Assert.assertTrue(context.stations.size() > 1);
+        final AbsoluteDate initialDate = context.initialOrbit.getDate();
+        final AbsoluteDate finalDate   = initialDate.shiftedBy(Constants.JULIAN_DAY);
+
+        final SortedSet<ObservedMeasurement<?>> serial = createMultiStationsGenerator(null).generate(initialDate, finalDate);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final SortedSet<ObservedMeasurement<?>> parallel;
+        try {
+            final Generator generator = createMultiStationsGenerator(executor);
+            Assert.assertSame(executor, generator.getExecutorService());
+            parallel = generator.generate(initialDate, finalDate);
+        } finally {
+            executor.shutdown();
+        }
+
+        Assert.assertTrue(serial.size() > 0);
+        Assert.assertEquals(serial.size(), parallel.size());
+        final Iterator<ObservedMeasurement<?>> iterator = parallel.iterator();
+        for (final ObservedMeasurement<?> expected : serial) {
+            final ObservedMeasurement<?> actual = iterator.next();
+            Assert.assertEquals(0.0, actual.getDate().durationFrom(expected.getDate()), 0.0);
+            Assert.assertEquals(((Range) expected).getStation().getBaseFrame().getName(),
+                                ((Range) actual).getStation().getBaseFrame().getName());
+            Assert.assertEquals(expected.getObservedValue()[0], actual.getObservedValue()[0], 0.0);
+        }
+
+    }
+
+    @Test
+    public void testParallelInterpolationInPropagationThread() {
+
+        final AbsoluteDate initialDate = context.initialOrbit.getDate();
+        final AbsoluteDate finalDate   = initialDate.shiftedBy(0.25 * Constants.JULIAN_DAY);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final Set<Thread> threads = Collections.synchronizedSet(new HashSet<>());
+        final SortedSet<ObservedMeasurement<?>> parallel;
+        try {
+            final Generator  generator  = createMultiStationsGenerator(executor);
+            final Propagator propagator = generator.getPropagator(new ObservableSatellite(0));
+            final AttitudeProvider attitudeProvider = propagator.getAttitudeProvider();
+
+            // record the threads computing attitude, which is done when interpolating states
+            propagator.setAttitudeProvider(new AttitudeProvider() {
+                @Override
+                public Attitude getAttitude(final PVCoordinatesProvider pvProv,
+                                            final AbsoluteDate date, final Frame frame) {
+                    threads.add(Thread.currentThread());
+                    return attitudeProvider.getAttitude(pvProv, date, frame);
+                }
+                @Override
+                public <T extends CalculusFieldElement<T>> FieldAttitude<T> getAttitude(final FieldPVCoordinatesProvider<T> pvProv,
+                                                                                    final FieldAbsoluteDate<T> date,
+                                                                                    final Frame frame) {
+                    threads.add(Thread.currentThread());
+                    return attitudeProvider.getAttitude(pvProv, date, frame);
+                }
+            });
+            parallel = generator.generate(initialDate, finalDate);
+        } finally {
+            executor.shutdown();
+        }
+
+        Assert.assertTrue(parallel.size() > 0);
+        Assert.assertEquals(1, threads.size());
+        Assert.assertTrue(threads.contains(Thread.currentThread()));
+
+    }
+
+    private Generator createMultiStationsGenerator(final ExecutorService executor) {
+        final ObservableSatellite obs       = new ObservableSatellite(0);
+        final Propagator          numProp   = EstimationTestUtils.createPropagator(context.initialOrbit, propagatorBuilder);
+        final Generator           generator = new Generator();
+        generator.setExecutorService(executor);
+        generator.addPropagator(numProp);
+        for (final GroundStation station : context.stations) {
+            final RangeBuilder builder = new RangeBuilder(null, station, false, 40.0, 1.0, obs);
+            generator.addScheduler(new EventBasedScheduler<>(builder,
+                                                             new FixedStepSelector(60.0, TimeScalesFactory.getUTC()),
+                                                             numProp,
+                                                             new ElevationDetector(station.getBaseFrame()),
+                                                             SignSemantic.FEASIBLE_MEASUREMENT_WHEN_POSITIVE));
+        }
+        return generator;
+    }
+
     @Before
     public void setUp() {
         context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
@@ -21,10 +21,14 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.linear.MatrixUtils;
 import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.linear.RealVector;
+import org.hipparchus.util.FastMath;
 import org.junit.Assert;
 import org.junit.Test;
 import org.orekit.attitudes.LofOffset;
@@ -34,7 +38,9 @@ import org.orekit.estimation.Context;
 import org.orekit.estimation.EstimationTestUtils;
 import org.orekit.estimation.measurements.AngularAzElMeasurementCreator;
 import org.orekit.estimation.measurements.AngularRaDecMeasurementCreator;
+import org.orekit.estimation.measurements.GroundStation;
 import org.orekit.estimation.measurements.InterSatellitesRangeMeasurementCreator;
+import org.orekit.estimation.measurements.MeasurementCreator;
 import org.orekit.estimation.measurements.MultiplexedMeasurement;
 import org.orekit.estimation.measurements.ObservableSatellite;
 import org.orekit.estimation.measurements.ObservedMeasurement;
@@ -44,6 +50,7 @@ import org.orekit.estimation.measurements.PositionMeasurementCreator;
 import org.orekit.estimation.measurements.Range;
 import org.orekit.estimation.measurements.RangeMeasurementCreator;
 import org.orekit.estimation.measurements.RangeRateMeasurementCreator;
+import org.orekit.estimation.measurements.modifiers.Bias;
 import org.orekit.estimation.measurements.modifiers.OnBoardAntennaRangeModifier;
 import org.orekit.frames.LOFType;
 import org.orekit.orbits.CartesianOrbit;
@@ -54,6 +61,7 @@ import org.orekit.orbits.PositionAngle;
 import org.orekit.propagation.BoundedPropagator;
 import org.orekit.propagation.EphemerisGenerator;
 import org.orekit.propagation.Propagator;
+import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.conversion.NumericalPropagatorBuilder;
 import org.orekit.propagation.numerical.NumericalPropagator;
 import org.orekit.time.AbsoluteDate;
@@ -226,6 +234,201 @@ public class KalmanEstimatorTest {
                                            expectedSigmasVel, sigmaVelEps);
     }
 
+    /**
+     * Perfect range measurements with a biased start
+     * Keplerian formalism, using sparse covariance updates
+     */
+    @Test
+    public void testKeplerianRangeSparse() {
+
+        // Create context
+        Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+
+        // Create initial orbit and propagator builder
+        final OrbitType     orbitType     = OrbitType.KEPLERIAN;
+        final PositionAngle positionAngle = PositionAngle.TRUE;
+        final boolean       perfectStart  = true;
+        final double        minStep       = 1.e-6;
+        final double        maxStep       = 60.;
+        final double        dP            = 1.;
+        final NumericalPropagatorBuilder propagatorBuilder =
+                        context.createBuilder(orbitType, positionAngle, perfectStart,
+                                              minStep, maxStep, dP);
+
+        // Create perfect range measurements
+        final Propagator propagator = EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                           propagatorBuilder);
+        final List<ObservedMeasurement<?>> measurements =
+                        EstimationTestUtils.createMeasurements(propagator,
+                                                               new RangeMeasurementCreator(context),
+                                                               1.0, 4.0, 60.0);
+
+        // Reference propagator for estimation performances
+        final NumericalPropagator referencePropagator = propagatorBuilder.
+                        buildPropagator(propagatorBuilder.getSelectedNormalizedParameters());
+
+        // Reference position/velocity at last measurement date
+        final Orbit refOrbit = referencePropagator.
+                        propagate(measurements.get(measurements.size()-1).getDate()).getOrbit();
+
+        // Change semi-major axis of 1.2m as in the batch test
+        ParameterDriver aDriver = propagatorBuilder.getOrbitalParametersDrivers().getDrivers().get(0);
+        aDriver.setValue(aDriver.getValue() + 1.2);
+        aDriver.setReferenceDate(AbsoluteDate.GALILEO_EPOCH);
+
+        // Cartesian covariance matrix initialization
+        // 100m on position / 1e-2m/s on velocity
+        final RealMatrix cartesianP = MatrixUtils.createRealDiagonalMatrix(new double [] {
+            100., 100., 100., 1e-2, 1e-2, 1e-2
+        });
+
+        // Jacobian of the orbital parameters w/r to Cartesian
+        final Orbit initialOrbit = orbitType.convertType(context.initialOrbit);
+        final double[][] dYdC = new double[6][6];
+        initialOrbit.getJacobianWrtCartesian(PositionAngle.TRUE, dYdC);
+        final RealMatrix Jac = MatrixUtils.createRealMatrix(dYdC);
+
+        // Keplerian initial covariance matrix
+        final RealMatrix initialP = Jac.multiply(cartesianP.multiply(Jac.transpose()));
+
+        // Process noise matrix is set to 0 here
+        RealMatrix Q = MatrixUtils.createRealMatrix(6, 6);
+
+        // Build the Kalman filter
+        final KalmanEstimator kalman = new KalmanEstimatorBuilder().
+                        addPropagationConfiguration(propagatorBuilder, new ConstantProcessNoise(initialP, Q)).
+                        sparseUpdates(true).
+                        build();
+
+        // Filter the measurements and check the results
+        final double   expectedDeltaPos  = 0.;
+        final double   posEps            = 1.77e-4;
+        final double   expectedDeltaVel  = 0.;
+        final double   velEps            = 7.93e-8;
+        final double[] expectedSigmasPos = {0.742488, 0.281914, 0.563213};
+        final double   sigmaPosEps       = 1e-6;
+        final double[] expectedSigmasVel = {2.206636e-4, 1.306656e-4, 1.293981e-4};
+        final double   sigmaVelEps       = 1e-10;
+        EstimationTestUtils.checkKalmanFit(context, kalman, measurements,
+                                           refOrbit, positionAngle,
+                                           expectedDeltaPos, posEps,
+                                           expectedDeltaVel, velEps,
+                                           expectedSigmasPos, sigmaPosEps,
+                                           expectedSigmasVel, sigmaVelEps);
+    }
+
+    /**
+     * Perfect range measurements with estimated stations biases,
+     * comparing dense and sparse covariance updates step by step
+     */
+    @Test
+    public void testKeplerianRangeBiasesDenseVersusSparse() {
+
+        final List<RealVector> denseStates       = new ArrayList<>();
+        final List<RealMatrix> denseCovariances  = new ArrayList<>();
+        final List<RealVector> sparseStates      = new ArrayList<>();
+        final List<RealMatrix> sparseCovariances = new ArrayList<>();
+        estimateWithBiases(false, denseStates, denseCovariances);
+        estimateWithBiases(true, sparseStates, sparseCovariances);
+
+        Assert.assertTrue(denseStates.size() > 10);
+        Assert.assertEquals(denseStates.size(), sparseStates.size());
+        final int n = denseStates.get(0).getDimension();
+        Assert.assertTrue(n > 7);
+        for (int k = 0; k < denseStates.size(); ++k) {
+            final RealVector xD = denseStates.get(k);
+            final RealVector xS = sparseStates.get(k);
+            final RealMatrix pD = denseCovariances.get(k);
+            final RealMatrix pS = sparseCovariances.get(k);
+            for (int i = 0; i < n; ++i) {
+                // differences are compared to the estimated standard deviations
+                final double sigmaI = FastMath.sqrt(pD.getEntry(i, i));
+                Assert.assertEquals(xD.getEntry(i), xS.getEntry(i), 1.0e-6 * sigmaI);
+                for (int j = 0; j < n; ++j) {
+                    final double sigmaJ = FastMath.sqrt(pD.getEntry(j, j));
+                    Assert.assertEquals(pD.getEntry(i, j), pS.getEntry(i, j), 1.0e-6 * sigmaI * sigmaJ);
+                }
+            }
+        }
+
+        // the biases have been observed
+        final RealMatrix first = denseCovariances.get(0);
+        final RealMatrix last  = denseCovariances.get(denseCovariances.size() - 1);
+        boolean observed = false;
+        for (int i = 6; i < n; ++i) {
+            observed |= last.getEntry(i, i) < 0.5 * first.getEntry(i, i);
+        }
+        Assert.assertTrue(observed);
+
+    }
+
+    private void estimateWithBiases(final boolean sparse,
+                                    final List<RealVector> states, final List<RealMatrix> covariances) {
+
+        // each estimation uses its own context, as builders are updated by the filter
+        final Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+        final NumericalPropagatorBuilder propagatorBuilder =
+                        context.createBuilder(OrbitType.KEPLERIAN, PositionAngle.TRUE, true,
+                                              1.e-6, 60., 1.);
+
+        // Create perfect range measurements
+        final Propagator propagator = EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                           propagatorBuilder);
+        final List<ObservedMeasurement<?>> measurements =
+                        EstimationTestUtils.createMeasurements(propagator,
+                                                               new RangeMeasurementCreator(context),
+                                                               1.0, 4.0, 60.0);
+
+        // one estimated bias per station, with a wrong initial value
+        final ParameterDriversList biasesDrivers = new ParameterDriversList();
+        for (final GroundStation station : context.stations) {
+            final Bias<Range> bias = new Bias<>(new String[] { station.getBaseFrame().getName() + " bias" },
+                                                new double[] { 2.0 }, new double[] { 1.0 },
+                                                new double[] { -100.0 }, new double[] { 100.0 });
+            final ParameterDriver driver = bias.getParametersDrivers().get(0);
+            driver.setSelected(true);
+            driver.setReferenceDate(context.initialOrbit.getDate());
+            biasesDrivers.add(driver);
+            for (final ObservedMeasurement<?> measurement : measurements) {
+                if (((Range) measurement).getStation() == station) {
+                    ((Range) measurement).addModifier(bias);
+                }
+            }
+        }
+
+        // Change semi-major axis of 1.2m as in the batch test
+        final ParameterDriver aDriver = propagatorBuilder.getOrbitalParametersDrivers().getDrivers().get(0);
+        aDriver.setValue(aDriver.getValue() + 1.2);
+
+        // Keplerian initial covariance matrix
+        final RealMatrix cartesianP = MatrixUtils.createRealDiagonalMatrix(new double [] {
+            100., 100., 100., 1e-2, 1e-2, 1e-2
+        });
+        final double[][] dYdC = new double[6][6];
+        OrbitType.KEPLERIAN.convertType(context.initialOrbit).getJacobianWrtCartesian(PositionAngle.TRUE, dYdC);
+        final RealMatrix jac      = MatrixUtils.createRealMatrix(dYdC);
+        final RealMatrix initialP = jac.multiply(cartesianP.multiply(jac.transpose()));
+
+        // biases initial covariance matrix
+        final int        nbBiases = biasesDrivers.getNbParams();
+        final RealMatrix biasesP  = MatrixUtils.createRealIdentityMatrix(nbBiases).scalarMultiply(100.0);
+
+        final KalmanEstimator kalman = new KalmanEstimatorBuilder().
+                        addPropagationConfiguration(propagatorBuilder,
+                                                    new ConstantProcessNoise(initialP, MatrixUtils.createRealMatrix(6, 6))).
+                        estimatedMeasurementsParameters(biasesDrivers,
+                                                        new ConstantProcessNoise(biasesP,
+                                                                                 MatrixUtils.createRealMatrix(nbBiases, nbBiases))).
+                        sparseUpdates(sparse).
+                        build();
+        kalman.setObserver(estimation -> {
+            states.add(estimation.getPhysicalEstimatedState().copy());
+            covariances.add(estimation.getPhysicalEstimatedCovarianceMatrix().copy());
+        });
+        kalman.processMeasurements(measurements);
+
+    }
+
     /**
      * Perfect range measurements with a biased start and an on-board antenna range offset
      * Keplerian formalism 
@@ -318,6 +521,120 @@ public class KalmanEstimatorTest {
                                            expectedSigmasVel, sigmaVelEps);
     }
 
+    /**
+     * Perfect PV and position measurements at the same dates, simultaneous
+     * measurements being fused in one correction
+     */
+    @Test
+    public void testKeplerianPVAndPositionMultiplexed() {
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+
+            final Propagator[] sequential  = estimate(null, false);
+            final int[]        corrections = new int[1];
+            final Propagator[] multiplexed = estimate(executor, true, corrections);
+
+            // each PV measurement has been fused with the position measurement at the same date
+            final Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+            final List<ObservedMeasurement<?>> measurements = createSimultaneousMeasurements(context);
+            Assert.assertEquals(122, measurements.size());
+            Assert.assertEquals(61, corrections[0]);
+
+            // the fused corrections lead to almost the same estimation, the only difference being
+            // that the sequential filter linearizes the position measurement after the PV correction
+            // at the same date, whereas the fused filter linearizes both at the predicted state;
+            // both estimations converge to the reference orbit, up to the remaining estimation error
+            final AbsoluteDate last = measurements.get(measurements.size() - 1).getDate();
+            final Propagator   reference =
+                            EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                 context.createBuilder(OrbitType.KEPLERIAN, PositionAngle.TRUE, true,
+                                                                                       1.e-6, 60., 1.));
+            final Vector3D     pR   = reference.propagate(last).getPVCoordinates().getPosition();
+            final Vector3D     pS   = sequential[0].getInitialState().getPVCoordinates().getPosition();
+            final Vector3D     pM   = multiplexed[0].getInitialState().getPVCoordinates().getPosition();
+            Assert.assertEquals(0.0, sequential[0].getInitialState().getDate().durationFrom(last), 1.0e-10);
+            Assert.assertEquals(0.0, multiplexed[0].getInitialState().getDate().durationFrom(last), 1.0e-10);
+            Assert.assertEquals(0.0, Vector3D.distance(pS, pM), 1.0e-7);
+            Assert.assertEquals(0.0, Vector3D.distance(pR, pS), 2.0e-4);
+            Assert.assertEquals(0.0, Vector3D.distance(pR, pM), 2.0e-4);
+
+        } finally {
+            executor.shutdown();
+        }
+
+    }
+
+    private Propagator[] estimate(final ExecutorService executor, final boolean multiplex) {
+        return estimate(executor, multiplex, new int[1]);
+    }
+
+    private Propagator[] estimate(final ExecutorService executor, final boolean multiplex,
+                                  final int[] corrections) {
+
+        // each estimation uses its own context, as builders are updated by the filter
+        final Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+        final NumericalPropagatorBuilder propagatorBuilder =
+                        context.createBuilder(OrbitType.KEPLERIAN, PositionAngle.TRUE, true,
+                                              1.e-6, 60., 1.);
+        final List<ObservedMeasurement<?>> measurements = createSimultaneousMeasurements(context);
+
+        // Change semi-major axis of 1.2m as in the batch test
+        final ParameterDriver aDriver = propagatorBuilder.getOrbitalParametersDrivers().getDrivers().get(0);
+        aDriver.setValue(aDriver.getValue() + 1.2);
+
+        // Keplerian initial covariance matrix
+        final RealMatrix cartesianP = MatrixUtils.createRealDiagonalMatrix(new double [] {
+            100., 100., 100., 1e-2, 1e-2, 1e-2
+        });
+        final double[][] dYdC = new double[6][6];
+        OrbitType.KEPLERIAN.convertType(context.initialOrbit).getJacobianWrtCartesian(PositionAngle.TRUE, dYdC);
+        final RealMatrix jac      = MatrixUtils.createRealMatrix(dYdC);
+        final RealMatrix initialP = jac.multiply(cartesianP.multiply(jac.transpose()));
+
+        final KalmanEstimator kalman = new KalmanEstimatorBuilder().
+                        addPropagationConfiguration(propagatorBuilder,
+                                                    new ConstantProcessNoise(initialP, MatrixUtils.createRealMatrix(6, 6))).
+                        build();
+        kalman.setObserver(estimation -> ++corrections[0]);
+        kalman.setMeasurementsExecutorService(executor);
+        return multiplex ?
+               kalman.processMultiplexedMeasurements(measurements) :
+               kalman.processMeasurements(measurements);
+
+    }
+
+    private List<ObservedMeasurement<?>> createSimultaneousMeasurements(final Context context) {
+        final NumericalPropagatorBuilder propagatorBuilder =
+                        context.createBuilder(OrbitType.KEPLERIAN, PositionAngle.TRUE, true,
+                                              1.e-6, 60., 1.);
+        final Propagator propagator = EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                           propagatorBuilder);
+
+        // a single propagation generates both PV and position measurements at each step
+        final PVMeasurementCreator       pvCreator       = new PVMeasurementCreator();
+        final PositionMeasurementCreator positionCreator = new PositionMeasurementCreator();
+        final MeasurementCreator simultaneousCreator = new MeasurementCreator() {
+            @Override
+            public void init(final SpacecraftState s0, final AbsoluteDate t, final double step) {
+                super.init(s0, t, step);
+                pvCreator.init(s0, t, step);
+                positionCreator.init(s0, t, step);
+            }
+            @Override
+            public void handleStep(final SpacecraftState currentState) {
+                pvCreator.handleStep(currentState);
+                positionCreator.handleStep(currentState);
+                final List<ObservedMeasurement<?>> pv       = pvCreator.getMeasurements();
+                final List<ObservedMeasurement<?>> position = positionCreator.getMeasurements();
+                addMeasurement(pv.get(pv.size() - 1));
+                addMeasurement(position.get(position.size() - 1));
+            }
+        };
+
+        return EstimationTestUtils.createMeasurements(propagator, simultaneousCreator, 0.0, 1.0, 300.0);
+    }
+
     /**
      * Perfect range rate measurements with a perfect start
      * Cartesian formalism
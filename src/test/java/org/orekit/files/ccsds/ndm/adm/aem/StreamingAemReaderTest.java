@@ -0,0 +1,88 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.ccsds.ndm.adm.aem;
+
+import org.hipparchus.geometry.euclidean.threed.Rotation;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.data.DataSource;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.files.ccsds.ndm.ParserBuilder;
+import org.orekit.utils.TimeStampedAngularCoordinates;
+
+public class StreamingAemReaderTest {
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+
+    @Test
+    public void testKvn() {
+        checkSameAsParser("/ccsds/adm/aem/AEMExample01.txt");
+        checkSameAsParser("/ccsds/adm/aem/AEMExample03.txt");
+    }
+
+    @Test
+    public void testXml() {
+        checkSameAsParser("/ccsds/adm/aem/AEMExample03.xml");
+        checkSameAsParser("/ccsds/adm/aem/AEMExample11.xml");
+    }
+
+    @Test
+    public void testNumberFormatError() {
+        final String ex = "/ccsds/adm/aem/AEM-ephemeris-number-format-error.txt";
+        final DataSource source = new DataSource(ex, () -> getClass().getResourceAsStream(ex));
+        try (StreamingAemReader reader = new StreamingAemReader(new ParserBuilder().buildAemParser(), source)) {
+            reader.forEachRemaining(ac -> { });
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE, oe.getSpecifier());
+        }
+    }
+
+    private void checkSameAsParser(final String ex) {
+        final DataSource source = new DataSource(ex, () -> getClass().getResourceAsStream(ex));
+        final Aem reference     = new ParserBuilder().buildAemParser().parseMessage(source);
+        try (StreamingAemReader reader = new StreamingAemReader(new ParserBuilder().buildAemParser(), source)) {
+            for (final AemSegment segment : reference.getSegments()) {
+                AemMetadata metadata = null;
+                for (final TimeStampedAngularCoordinates expected : segment.getData().getAngularCoordinates()) {
+                    Assert.assertTrue(reader.hasNext());
+                    final TimeStampedAngularCoordinates ac = reader.next();
+                    if (metadata == null) {
+                        // first data line of a new segment
+                        metadata = reader.getMetadata();
+                        Assert.assertEquals(segment.getMetadata().getObjectName(), metadata.getObjectName());
+                        Assert.assertEquals(segment.getMetadata().getStartTime(), metadata.getStartTime());
+                    } else {
+                        Assert.assertSame(metadata, reader.getMetadata());
+                    }
+                    Assert.assertEquals(expected.getDate(), ac.getDate());
+                    Assert.assertEquals(0.0, Rotation.distance(expected.getRotation(), ac.getRotation()), 0.0);
+                    Assert.assertEquals(expected.getRotationRate(), ac.getRotationRate());
+                }
+            }
+            Assert.assertFalse(reader.hasNext());
+            Assert.assertNotNull(reader.getMessageWithoutDataLines());
+        }
+    }
+
+}
@@ -0,0 +1,159 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.ccsds.ndm.odm.oem;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.data.DataSource;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.files.ccsds.ndm.ParserBuilder;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+public class StreamingOemReaderTest {
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+
+    @Test
+    public void testKvn() {
+        checkSameAsParser("/ccsds/odm/oem/OEMExample1.txt");
+        checkSameAsParser("/ccsds/odm/oem/OEMExample4.txt");
+        checkSameAsParser("/ccsds/odm/oem/OEMExample3.txt");
+    }
+
+    @Test
+    public void testXml() {
+        checkSameAsParser("/ccsds/odm/oem/OEMExample3.xml");
+    }
+
+    @Test
+    public void testCovarianceKeptInSegments() {
+        final String ex = "/ccsds/odm/oem/OEMExample3.txt";
+        final DataSource source = new DataSource(ex, () -> getClass().getResourceAsStream(ex));
+        final Oem reference     = buildParser().parseMessage(source);
+        try (StreamingOemReader reader = new StreamingOemReader(buildParser(), source)) {
+            Assert.assertNull(reader.getMetadata());
+            while (reader.hasNext()) {
+                reader.next();
+                Assert.assertNull(reader.getMessageWithoutDataLines());
+            }
+            final Oem skeleton = reader.getMessageWithoutDataLines();
+            Assert.assertNotNull(skeleton);
+            Assert.assertEquals(reference.getSegments().size(), skeleton.getSegments().size());
+            for (int i = 0; i < reference.getSegments().size(); ++i) {
+                final OemData refData  = reference.getSegments().get(i).getData();
+                final OemData skelData = skeleton.getSegments().get(i).getData();
+                Assert.assertTrue(skelData.getEphemeridesDataLines().isEmpty());
+                Assert.assertEquals(refData.getCovarianceMatrices().size(), skelData.getCovarianceMatrices().size());
+                Assert.assertEquals(refData.getComments(), skelData.getComments());
+            }
+        }
+    }
+
+    @Test
+    public void testStreamClosesReader() {
+        final String ex = "/ccsds/odm/oem/OEMExample1.txt";
+        final DataSource source = new DataSource(ex, () -> getClass().getResourceAsStream(ex));
+        final StreamingOemReader reader = new StreamingOemReader(buildParser(), source);
+        try (Stream<TimeStampedPVCoordinates> stream = reader.stream()) {
+            Assert.assertEquals(2, stream.limit(2).count());
+        }
+        Assert.assertFalse(reader.hasNext());
+        try {
+            reader.next();
+            Assert.fail("an exception should have been thrown");
+        } catch (NoSuchElementException nsee) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testParserReusable() {
+        final String ex = "/ccsds/odm/oem/OEMExample1.txt";
+        final DataSource source = new DataSource(ex, () -> getClass().getResourceAsStream(ex));
+        final OemParser parser = buildParser();
+        try (StreamingOemReader reader = new StreamingOemReader(parser, source)) {
+            reader.next();
+        }
+        // once the reader has been closed, the parser stores data lines again
+        Assert.assertFalse(parser.parseMessage(source).getSegments().get(0).getData().getEphemeridesDataLines().isEmpty());
+    }
+
+    @Test
+    public void testNumberFormatError() {
+        final String ex = "/ccsds/odm/oem/OEM-ephemeris-number-format-error.txt";
+        final DataSource source = new DataSource(ex, () -> getClass().getResourceAsStream(ex));
+        try (StreamingOemReader reader = new StreamingOemReader(buildParser(), source)) {
+            reader.forEachRemaining(pv -> { });
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE, oe.getSpecifier());
+        }
+    }
+
+    private OemParser buildParser() {
+        return new ParserBuilder().withMu(CelestialBodyFactory.getMars().getGM()).buildOemParser();
+    }
+
+    private List<TimeStampedPVCoordinates> read(final String ex) {
+        final DataSource source = new DataSource(ex, () -> getClass().getResourceAsStream(ex));
+        try (StreamingOemReader reader = new StreamingOemReader(buildParser(), source)) {
+            return reader.stream().collect(Collectors.toList());
+        }
+    }
+
+    private void checkSameAsParser(final String ex) {
+        final DataSource source = new DataSource(ex, () -> getClass().getResourceAsStream(ex));
+        final Oem reference     = buildParser().parseMessage(source);
+        try (StreamingOemReader reader = new StreamingOemReader(buildParser(), source)) {
+            for (final OemSegment segment : reference.getSegments()) {
+                OemMetadata metadata = null;
+                for (final TimeStampedPVCoordinates expected : segment.getData().getEphemeridesDataLines()) {
+                    Assert.assertTrue(reader.hasNext());
+                    final TimeStampedPVCoordinates pv = reader.next();
+                    if (metadata == null) {
+                        // first data line of a new segment
+                        metadata = reader.getMetadata();
+                        Assert.assertEquals(segment.getMetadata().getObjectName(), metadata.getObjectName());
+                        Assert.assertEquals(segment.getMetadata().getStartTime(), metadata.getStartTime());
+                        Assert.assertEquals(segment.getMetadata().getStopTime(), metadata.getStopTime());
+                    } else {
+                        Assert.assertSame(metadata, reader.getMetadata());
+                    }
+                    Assert.assertEquals(expected.getDate(), pv.getDate());
+                    Assert.assertEquals(expected.getPosition(), pv.getPosition());
+                    Assert.assertEquals(expected.getVelocity(), pv.getVelocity());
+                    Assert.assertEquals(expected.getAcceleration(), pv.getAcceleration());
+                }
+            }
+            Assert.assertFalse(reader.hasNext());
+            Assert.assertEquals(reference.getHeader().getOriginator(), reader.getHeader().getOriginator());
+        }
+    }
+
+}
@@ -16,12 +16,26 @@
  */
 package org.orekit.files.ccsds.utils.lexical;
 
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 import org.junit.Assert;
 import org.junit.Test;
 import org.orekit.data.DataSource;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.files.ccsds.ndm.ParserBuilder;
+import org.orekit.files.ccsds.ndm.odm.UserDefined;
+import org.orekit.files.ccsds.utils.FileFormat;
 
 public class XmlLexicalAnalyzerTest {
 
@@ -49,4 +63,91 @@ public class XmlLexicalAnalyzerTest {
         }
     }
 
+    @Test
+    public void testIncrementalNullBinary() {
+        XmlLexicalAnalyzer la = new XmlLexicalAnalyzer(new DataSource("empty", (DataSource.StreamOpener) () -> null));
+        try {
+            la.start(new ParserBuilder().buildOcmParser());
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNABLE_TO_FIND_FILE, oe.getSpecifier());
+            Assert.assertEquals("empty", oe.getParts()[0]);
+        }
+    }
+
+    @Test
+    public void testIncrementalSameTokens() throws IOException, URISyntaxException {
+        final Path root = Paths.get(getClass().getResource("/ccsds").toURI());
+        final List<Path> xmlFiles;
+        try (Stream<Path> walk = Files.walk(root)) {
+            xmlFiles = walk.filter(p -> p.toString().endsWith(".xml")).collect(Collectors.toList());
+        }
+        Assert.assertTrue(xmlFiles.size() > 30);
+        for (final Path xmlFile : xmlFiles) {
+            final DataSource source = new DataSource(xmlFile.toFile());
+
+            final RecordingParser pushed = new RecordingParser();
+            try {
+                new XmlLexicalAnalyzer(source).accept(pushed);
+            } catch (OrekitException oe) {
+                // some test files are intentionally malformed
+                continue;
+            }
+
+            final RecordingParser pulled = new RecordingParser();
+            try (IncrementalAnalysis analysis = new XmlLexicalAnalyzer(source).start(pulled)) {
+                while (analysis.feedNext()) {
+                    // nothing to do
+                }
+            }
+
+            Assert.assertEquals(xmlFile.toString(), pushed.tokens.size(), pulled.tokens.size());
+            for (int i = 0; i < pushed.tokens.size(); ++i) {
+                Assert.assertEquals(xmlFile.toString(), pushed.tokens.get(i), pulled.tokens.get(i));
+            }
+
+        }
+    }
+
+    /** Parser recording all tokens. */
+    private static class RecordingParser implements MessageParser<List<String>> {
+
+        final List<String> tokens = new ArrayList<>();
+
+        public List<String> parseMessage(DataSource source) {
+            return null;
+        }
+
+        public String getFormatVersionKey() {
+            return null;
+        }
+
+        public Map<String, XmlTokenBuilder> getSpecialXmlElementsBuilders() {
+            final Map<String, XmlTokenBuilder> builders = new HashMap<>();
+            for (final String root : new String[] { "opm", "omm", "oem", "ocm", "apm", "aem", "tdm", "cdm" }) {
+                builders.put(root, new MessageVersionXmlTokenBuilder());
+            }
+            builders.put(UserDefined.USER_DEFINED_XML_TAG, new UserDefinedXmlTokenBuilder());
+            return builders;
+        }
+
+        public void reset(FileFormat fileFormat) {
+            tokens.clear();
+        }
+
+        public void process(ParseToken token) {
+            // units are irrelevant for STOP tokens, and the SAX-based analyzer
+            // just reuses the attributes of the last start tag for them
+            final boolean hasUnits = token.getType() != TokenType.STOP && token.getUnits() != null;
+            tokens.add(token.getType() + " " + token.getName() + " " + token.getRawContent() + " " +
+                       (hasUnits ? token.getUnits().getName() : null) + " " +
+                       token.getLineNumber());
+        }
+
+        public List<String> build() {
+            return tokens;
+        }
+
+    }
+
 }
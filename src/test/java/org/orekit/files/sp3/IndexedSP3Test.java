@@ -0,0 +1,139 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.sp3;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.orekit.Utils;
+import org.orekit.data.DataSource;
+import org.orekit.data.UnixCompressFilter;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+public class IndexedSP3Test {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testSameAsFullParsing() throws IOException {
+
+        final String     ex         = "/sp3/gbm18432.sp3.Z";
+        final DataSource compressed = new DataSource(ex, () -> getClass().getResourceAsStream(ex));
+        final DataSource source     = new UnixCompressFilter().filter(compressed);
+        final Path       path       = tempFolder.newFile("gbm18432.sp3").toPath();
+        try (InputStream is = source.getOpener().openStreamOnce()) {
+            Files.copy(is, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        final Frame     frame  = FramesFactory.getITRF(IERSConventions.IERS_2010, false);
+        final SP3Parser parser = new SP3Parser(Constants.EIGEN5C_EARTH_MU, 7, s -> frame);
+        final SP3       full   = parser.parse(new DataSource(path.toFile()));
+        Assert.assertEquals(288, full.getSatellites().get("R13").getCoordinates().size());
+
+        try (IndexedSP3 indexed = new IndexedSP3(parser, path, 16)) {
+
+            Assert.assertEquals(288, indexed.getNumberOfEpochs());
+            Assert.assertEquals(full.getSatelliteCount(), indexed.getHeader().getSatelliteCount());
+            Assert.assertTrue(indexed.getHeader().getSatellites().get("R13").getCoordinates().isEmpty());
+            Assert.assertNull(indexed.getPropagator("X99"));
+
+            final BoundedPropagator fullPropagator    = full.getSatellites().get("R13").getPropagator();
+            final BoundedPropagator indexedPropagator = indexed.getPropagator("R13");
+            Assert.assertEquals(0.0, fullPropagator.getMinDate().durationFrom(indexedPropagator.getMinDate()), 0.0);
+            Assert.assertEquals(0.0, fullPropagator.getMaxDate().durationFrom(indexedPropagator.getMaxDate()), 0.0);
+
+            // forward then backward, so chunks are reloaded in both directions
+            final AbsoluteDate t0 = indexedPropagator.getMinDate();
+            final double       span = indexedPropagator.getMaxDate().durationFrom(t0);
+            for (double dt = 0; dt <= span; dt += 421.0) {
+                checkSame(fullPropagator, indexedPropagator, t0.shiftedBy(dt), frame);
+            }
+            for (double dt = span; dt >= 0; dt -= 977.0) {
+                checkSame(fullPropagator, indexedPropagator, t0.shiftedBy(dt), frame);
+            }
+
+            try {
+                indexedPropagator.getPVCoordinates(t0.shiftedBy(-1.0), frame);
+                Assert.fail("an exception should have been thrown");
+            } catch (OrekitException oe) {
+                Assert.assertEquals(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_BEFORE, oe.getSpecifier());
+            }
+
+        }
+
+    }
+
+    @Test
+    public void testMissingEOF() throws URISyntaxException {
+        try {
+            new IndexedSP3(new SP3Parser(), getPath("/sp3/missing-eof.sp3"));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.SP3_UNEXPECTED_END_OF_FILE, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testWrongNumberOfEpochs() throws URISyntaxException {
+        try {
+            new IndexedSP3(new SP3Parser(), getPath("/sp3/wrong-number-of-epochs.sp3"));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.SP3_NUMBER_OF_EPOCH_MISMATCH, oe.getSpecifier());
+            Assert.assertEquals(  2, ((Integer) oe.getParts()[0]).intValue());
+            Assert.assertEquals(192, ((Integer) oe.getParts()[2]).intValue());
+        }
+    }
+
+    private void checkSame(final BoundedPropagator expected, final BoundedPropagator actual,
+                           final AbsoluteDate date, final Frame frame) {
+        final TimeStampedPVCoordinates pvE = expected.getPVCoordinates(date, frame);
+        final TimeStampedPVCoordinates pvA = actual.getPVCoordinates(date, frame);
+        Assert.assertEquals(0.0, Vector3D.distance(pvE.getPosition(), pvA.getPosition()), 0.0);
+        Assert.assertEquals(0.0, Vector3D.distance(pvE.getVelocity(), pvA.getVelocity()), 0.0);
+    }
+
+    private Path getPath(final String name) throws URISyntaxException {
+        return Paths.get(getClass().getResource(name).toURI());
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+
+}
@@ -18,6 +18,8 @@ package org.orekit.forces.gravity;
 
 
 import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.InvocationTargetException;
 
 import org.hipparchus.Field;
@@ -40,6 +42,7 @@ import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
 import org.hipparchus.util.FastMath;
 import org.junit.After;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
 import org.orekit.Utils;
@@ -207,10 +210,10 @@ public class HolmesFeatherstoneAttractionModelTest extends AbstractLegacyForceMo
         providerField.setAccessible(true);
         NormalizedSphericalHarmonicsProvider provider = (NormalizedSphericalHarmonicsProvider) providerField.get(hfModel);
         java.lang.reflect.Method createDistancePowersArrayMethod =
-                        HolmesFeatherstoneAttractionModel.class.getDeclaredMethod("createDistancePowersArray", Double.TYPE);
+                        HolmesFeatherstoneAttractionModel.class.getDeclaredMethod("fillDistancePowersArray", Double.TYPE, double[].class);
         createDistancePowersArrayMethod.setAccessible(true);
         java.lang.reflect.Method createCosSinArraysMethod =
-                        HolmesFeatherstoneAttractionModel.class.getDeclaredMethod("createCosSinArrays", Double.TYPE, Double.TYPE);
+                        HolmesFeatherstoneAttractionModel.class.getDeclaredMethod("fillCosSinArrays", Double.TYPE, Double.TYPE, double[][].class);
         createCosSinArraysMethod.setAccessible(true);
         java.lang.reflect.Method computeTesseralMethod =
                         HolmesFeatherstoneAttractionModel.class.getDeclaredMethod("computeTesseral",
@@ -248,10 +251,12 @@ public class HolmesFeatherstoneAttractionModelTest extends AbstractLegacyForceMo
         final double tOu  = z / rho;
 
         // compute distance powers
-        final double[] aOrN = (double[]) createDistancePowersArrayMethod.invoke(hfModel, provider.getAe() / r);
+        final double[] aOrN = (double[]) createDistancePowersArrayMethod.invoke(hfModel, provider.getAe() / r,
+                                                                                    new double[degree + 1]);
 
         // compute longitude cosines/sines
-        final double[][] cosSinLambda = (double[][]) createCosSinArraysMethod.invoke(hfModel, position.getX() / rho, position.getY() / rho);
+        final double[][] cosSinLambda = (double[][]) createCosSinArraysMethod.invoke(hfModel, position.getX() / rho, position.getY() / rho,
+                                                                                     new double[2][order + 1]);
 
         // outer summation over order
         int    index = 0;
@@ -634,6 +639,123 @@ public class HolmesFeatherstoneAttractionModelTest extends AbstractLegacyForceMo
 
     }
 
+    @Test
+    public void testGradientInPlace() {
+
+        int max = 50;
+        NormalizedSphericalHarmonicsProvider provider = new GleasonProvider(max, max);
+        HolmesFeatherstoneAttractionModel model =
+                new HolmesFeatherstoneAttractionModel(itrf, provider);
+
+        double r = 1.25;
+        double[] inPlace = new double[3];
+        for (double lambda = 0; lambda < 2 * FastMath.PI; lambda += 0.5) {
+            for (double theta = 0.05; theta < 3.11; theta += 0.03) {
+                Vector3D position = new Vector3D(r * FastMath.sin(theta) * FastMath.cos(lambda),
+                                                 r * FastMath.sin(theta) * FastMath.sin(lambda),
+                                                 r * FastMath.cos(theta));
+                // a fresh model has a pristine workspace
+                double[] reference = new HolmesFeatherstoneAttractionModel(itrf, provider).
+                                     gradient(null, position, model.getMu());
+                model.gradient(null, position, model.getMu(), inPlace);
+                Assert.assertEquals(reference[0], inPlace[0], 0.0);
+                Assert.assertEquals(reference[1], inPlace[1], 0.0);
+                Assert.assertEquals(reference[2], inPlace[2], 0.0);
+            }
+        }
+
+    }
+
+    @Test
+    public void testGradientVsPreviousImplementation() {
+
+        Utils.setDataRoot("regular-data:potential/grgs-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new GRGSFormatReader("grim4s4_gr", true));
+        HolmesFeatherstoneAttractionModel model =
+                new HolmesFeatherstoneAttractionModel(itrf, GravityFieldFactory.getNormalizedProvider(60, 60));
+        final AbsoluteDate date = AbsoluteDate.J2000_EPOCH;
+
+        // reference values computed with the implementation allocating
+        // its arrays at each call, before per-thread workspaces were introduced
+        final double[][] positions = {
+            {  7.0e6,  1.0e6,  4.0e6 }, { -6.5e6,  2.2e6, -1.5e6 }, {  1.0e5, -2.0e5,  6.9e6 },
+            {  4.2e7, -3.0e6,  1.0e5 }, { -1.0e6, -7.1e6,  2.0e5 }, {  3.0e6,  3.0e6, -5.5e6 }
+        };
+        final double[][] references = {
+            {  0.0010537121215844032,  1.2624665542566792E-4, -0.005334442577800614  },
+            {  0.007955598688718766,  -0.0026470129348285356,  0.006471430401198793  },
+            {  7.661386403328056E-4,  -0.0013404453202889846,  0.02295989126933498   },
+            { -8.426711324732508E-6,   5.880152399234076E-7,  -5.79114307463037E-8   },
+            {  0.0014238720254307678,  0.009799779079960052,  -8.396476418487857E-4  },
+            {  0.010354967451185946,   0.010348500106368919,  -0.0010583701964154823 }
+        };
+
+        final double[] inPlace = new double[3];
+        for (int i = 0; i < positions.length; ++i) {
+            final Vector3D position = new Vector3D(positions[i][0], positions[i][1], positions[i][2]);
+            final double[] allocated = model.gradient(date, position, model.getMu());
+            model.gradient(date, position, model.getMu(), inPlace);
+            for (int k = 0; k < 3; ++k) {
+                Assert.assertEquals(references[i][k], allocated[k], 0.0);
+                Assert.assertEquals(references[i][k], inPlace[k],   0.0);
+            }
+        }
+
+    }
+
+    @Test
+    public void testWorkspaceDoesNotRetainModel() {
+
+        NormalizedSphericalHarmonicsProvider provider = new GleasonProvider(10, 10);
+        HolmesFeatherstoneAttractionModel model = new HolmesFeatherstoneAttractionModel(itrf, provider);
+
+        // populate the workspace of the current thread, which outlives the model
+        model.gradient(null, new Vector3D(1.25, 0.5, 0.25), model.getMu());
+        final WeakReference<HolmesFeatherstoneAttractionModel> reference = new WeakReference<>(model);
+        model = null;
+
+        for (int i = 0; i < 20 && reference.get() != null; ++i) {
+            System.gc();
+        }
+        Assert.assertNull(reference.get());
+
+    }
+
+    @Test
+    public void testGradientNoAllocation() {
+
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(sunBean.isThreadAllocatedMemorySupported());
+        sunBean.setThreadAllocatedMemoryEnabled(true);
+
+        Utils.setDataRoot("regular-data:potential/grgs-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new GRGSFormatReader("grim4s4_gr", true));
+        HolmesFeatherstoneAttractionModel model =
+                new HolmesFeatherstoneAttractionModel(itrf, GravityFieldFactory.getNormalizedProvider(60, 60));
+        final AbsoluteDate date     = AbsoluteDate.J2000_EPOCH;
+        final Vector3D     position = new Vector3D(7.0e6, 1.0e6, 4.0e6);
+        final double[]     gradient = new double[3];
+
+        // warm up, so workspace is allocated and code is compiled
+        for (int i = 0; i < 20000; ++i) {
+            model.gradient(date, position, model.getMu(), gradient);
+        }
+
+        final long threadId = Thread.currentThread().getId();
+        final long before   = sunBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 1000; ++i) {
+            model.gradient(date, position, model.getMu(), gradient);
+        }
+        final long after    = sunBean.getThreadAllocatedBytes(threadId);
+
+        // allow for a few bytes allocated by the measurement itself,
+        // which is much less than even one call with allocation (about 4kB at degree 60)
+        Assert.assertTrue(after - before < 1000);
+
+    }
+
     @Test
     public void testHessian() {
 
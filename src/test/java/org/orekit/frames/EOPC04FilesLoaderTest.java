@@ -17,8 +17,11 @@
 package org.orekit.frames;
 
 
+import java.util.Iterator;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -80,6 +83,36 @@ public class EOPC04FilesLoaderTest extends AbstractFilesLoaderTest {
         Assert.assertEquals(ITRFVersion.ITRF_2008, history.getITRFVersion(date));
     }
 
+    @Test
+    public void testParallelLoading() {
+        setRoot("compressed-data");
+        IERSConventions.NutationCorrectionConverter converter =
+                IERSConventions.IERS_2010.getNutationCorrectionConverter();
+        SortedSet<EOPEntry> sequential = new TreeSet<EOPEntry>(new ChronologicalComparator());
+        new EOPC04FilesLoader(FramesFactory.EOPC04_2000_FILENAME, manager, () -> utc).fillHistory(converter, sequential);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            manager.setExecutorService(executor);
+            SortedSet<EOPEntry> parallel = new TreeSet<EOPEntry>(new ChronologicalComparator());
+            new EOPC04FilesLoader(FramesFactory.EOPC04_2000_FILENAME, manager, () -> utc).fillHistory(converter, parallel);
+            Assert.assertTrue(sequential.size() > 2000);
+            Assert.assertEquals(sequential.size(), parallel.size());
+            for (Iterator<EOPEntry> i1 = sequential.iterator(), i2 = parallel.iterator(); i1.hasNext();) {
+                final EOPEntry e1 = i1.next();
+                final EOPEntry e2 = i2.next();
+                Assert.assertEquals(0.0, e2.getDate().durationFrom(e1.getDate()), 0.0);
+                Assert.assertEquals(e1.getUT1MinusUTC(), e2.getUT1MinusUTC(), 0.0);
+                Assert.assertEquals(e1.getLOD(),         e2.getLOD(),         0.0);
+                Assert.assertEquals(e1.getX(),           e2.getX(),           0.0);
+                Assert.assertEquals(e1.getY(),           e2.getY(),           0.0);
+                Assert.assertEquals(e1.getITRFType(),    e2.getITRFType());
+            }
+        } finally {
+            manager.setExecutorService(null);
+            executor.shutdownNow();
+        }
+    }
+
     private double asToRad(double as) {
         return as * Constants.ARC_SECONDS_TO_RADIANS;
     }
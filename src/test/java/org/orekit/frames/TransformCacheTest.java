@@ -0,0 +1,189 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.frames;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.hipparchus.geometry.euclidean.threed.Rotation;
+import org.hipparchus.geometry.euclidean.threed.RotationConvention;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.IERSConventions;
+import org.orekit.utils.OrekitConfiguration;
+
+public class TransformCacheTest {
+
+    @Test
+    public void testDisabledByDefault() {
+        OrekitConfiguration.setTransformCacheSize(0);
+        final Frame        gcrf = FramesFactory.getGCRF();
+        final Frame        itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        final AbsoluteDate date = new AbsoluteDate(2008, 3, 14, 12, 0, 0.0, TimeScalesFactory.getUTC());
+        Assert.assertNotSame(gcrf.getTransformTo(itrf, date), gcrf.getTransformTo(itrf, date));
+        Assert.assertEquals(0L, TransformCache.getHits());
+        Assert.assertEquals(0L, TransformCache.getMisses());
+    }
+
+    @Test
+    public void testHitsAndMisses() {
+        final Frame        gcrf = FramesFactory.getGCRF();
+        final Frame        itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        final AbsoluteDate date = new AbsoluteDate(2008, 3, 14, 12, 0, 0.0, TimeScalesFactory.getUTC());
+
+        final Transform t1 = gcrf.getTransformTo(itrf, date);
+        Assert.assertEquals(0L, TransformCache.getHits());
+        Assert.assertEquals(1L, TransformCache.getMisses());
+
+        // same date, but different instance
+        final Transform t2 = gcrf.getTransformTo(itrf, new AbsoluteDate(date, 0.0));
+        Assert.assertSame(t1, t2);
+        Assert.assertEquals(1L, TransformCache.getHits());
+        Assert.assertEquals(1L, TransformCache.getMisses());
+
+        // reverse direction is a different entry
+        final Transform t3 = itrf.getTransformTo(gcrf, date);
+        Assert.assertNotSame(t1, t3);
+        Assert.assertEquals(1L, TransformCache.getHits());
+        Assert.assertEquals(2L, TransformCache.getMisses());
+
+        // different date is a different entry
+        gcrf.getTransformTo(itrf, date.shiftedBy(1.0e-3));
+        Assert.assertEquals(1L, TransformCache.getHits());
+        Assert.assertEquals(3L, TransformCache.getMisses());
+
+        // identity is never cached
+        Assert.assertSame(Transform.IDENTITY, gcrf.getTransformTo(gcrf, date));
+        Assert.assertEquals(1L, TransformCache.getHits());
+        Assert.assertEquals(3L, TransformCache.getMisses());
+
+        TransformCache.resetStatistics();
+        Assert.assertEquals(0L, TransformCache.getHits());
+        Assert.assertEquals(0L, TransformCache.getMisses());
+
+    }
+
+    @Test
+    public void testSameResultsAsUncached() {
+        final Frame        gcrf  = FramesFactory.getGCRF();
+        final Frame        itrf  = FramesFactory.getITRF(IERSConventions.IERS_2010, false);
+        final AbsoluteDate start = new AbsoluteDate(2008, 3, 14, 12, 0, 0.0, TimeScalesFactory.getUTC());
+        final Vector3D     p     = new Vector3D(7.0e6, -2.0e6, 1.0e6);
+        for (double dt = 0; dt < 3600; dt += 60) {
+            final AbsoluteDate date = start.shiftedBy(dt);
+            OrekitConfiguration.setTransformCacheSize(0);
+            final Vector3D reference = gcrf.getTransformTo(itrf, date).transformPosition(p);
+            OrekitConfiguration.setTransformCacheSize(4);
+            for (int i = 0; i < 3; ++i) {
+                Assert.assertEquals(0.0,
+                                    Vector3D.distance(reference, gcrf.getTransformTo(itrf, date).transformPosition(p)),
+                                    0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        OrekitConfiguration.setTransformCacheSize(2);
+        final Frame        gcrf  = FramesFactory.getGCRF();
+        final Frame        itrf  = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        final AbsoluteDate date0 = new AbsoluteDate(2008, 3, 14, 12, 0, 0.0, TimeScalesFactory.getUTC());
+        final AbsoluteDate date1 = date0.shiftedBy(60.0);
+        final AbsoluteDate date2 = date0.shiftedBy(120.0);
+
+        final Transform t0 = gcrf.getTransformTo(itrf, date0);
+        final Transform t1 = gcrf.getTransformTo(itrf, date1);
+        Assert.assertSame(t0, gcrf.getTransformTo(itrf, date0));
+
+        // this evicts date1, which is now the least recently used entry
+        gcrf.getTransformTo(itrf, date2);
+        Assert.assertSame(t0, gcrf.getTransformTo(itrf, date0));
+        Assert.assertNotSame(t1, gcrf.getTransformTo(itrf, date1));
+        Assert.assertEquals(2L, TransformCache.getHits());
+        Assert.assertEquals(4L, TransformCache.getMisses());
+
+    }
+
+    @Test
+    public void testUpdatableFrame() {
+        final AbsoluteDate   date    = new AbsoluteDate(2008, 3, 14, 12, 0, 0.0, TimeScalesFactory.getUTC());
+        final Frame          gcrf    = FramesFactory.getGCRF();
+        final UpdatableFrame frame   = new UpdatableFrame(gcrf, Transform.IDENTITY, "updatable");
+        final Vector3D       p       = new Vector3D(7.0e6, -2.0e6, 1.0e6);
+        Assert.assertEquals(0.0, Vector3D.distance(p, gcrf.getTransformTo(frame, date).transformPosition(p)), 0.0);
+
+        final Transform shift = new Transform(date, new Vector3D(1.0, 2.0, 3.0));
+        frame.updateTransform(gcrf, frame, shift, date);
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(shift.transformPosition(p),
+                                              gcrf.getTransformTo(frame, date).transformPosition(p)),
+                            1.0e-15);
+
+        final Transform rotation = new Transform(date, new Rotation(Vector3D.PLUS_K, 0.5, RotationConvention.VECTOR_OPERATOR));
+        frame.updateTransform(gcrf, frame, rotation, date);
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(rotation.transformPosition(p),
+                                              gcrf.getTransformTo(frame, date).transformPosition(p)),
+                            1.0e-9);
+
+    }
+
+    @Test
+    public void testThreadLocal() throws InterruptedException, ExecutionException {
+        final Frame        gcrf = FramesFactory.getGCRF();
+        final Frame        itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        final AbsoluteDate date = new AbsoluteDate(2008, 3, 14, 12, 0, 0.0, TimeScalesFactory.getUTC());
+        final Transform    t0   = gcrf.getTransformTo(itrf, date);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Transform> future = executor.submit(() -> gcrf.getTransformTo(itrf, date));
+            final Transform t1 = future.get();
+            Assert.assertNotSame(t0, t1);
+            Assert.assertEquals(0.0, t0.getTranslation().distance(t1.getTranslation()), 0.0);
+            Assert.assertEquals(0.0, Rotation.distance(t0.getRotation(), t1.getRotation()), 0.0);
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertSame(t0, gcrf.getTransformTo(itrf, date));
+        Assert.assertEquals(1L, TransformCache.getHits());
+        Assert.assertEquals(2L, TransformCache.getMisses());
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("compressed-data");
+        OrekitConfiguration.setTransformCacheSize(10);
+        TransformCache.invalidate();
+        TransformCache.resetStatistics();
+    }
+
+    @After
+    public void tearDown() {
+        OrekitConfiguration.setTransformCacheSize(0);
+        TransformCache.invalidate();
+        TransformCache.resetStatistics();
+    }
+
+}
@@ -17,17 +17,24 @@
 package org.orekit.gnss;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.io.StringReader;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
 
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
 import org.junit.Assert;
 import org.junit.Test;
 import org.orekit.Utils;
@@ -36,6 +43,7 @@ import org.orekit.data.GzipFilter;
 import org.orekit.data.UnixCompressFilter;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitMessages;
+import org.orekit.gnss.HatanakaCompressFilter.InputMode;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.TimeScalesFactory;
 
@@ -523,6 +531,186 @@ public class HatanakaCompressFilterTest {
         }
     }
 
+    @Test
+    public void testParseLong() {
+        // order 0 differential simply reformats the compressed value
+        Assert.assertEquals("    12.345", uncompress(10, 3, "+12345"));
+        Assert.assertEquals("   -12.345", uncompress(10, 3, "-12345"));
+        Assert.assertEquals("      .000", uncompress(10, 3, "-0"));
+        Assert.assertEquals("      .007", uncompress(10, 3, "7"));
+        Assert.assertEquals("     -.007", uncompress(10, 3, "-0007"));
+        // 18 digits are parsed directly, 19 digits use the general parser
+        Assert.assertEquals("  1234567890123.45678", uncompress(21, 5, "123456789012345678"));
+        Assert.assertEquals(" 12345678901234.56789", uncompress(21, 5, "1234567890123456789"));
+        Assert.assertEquals("-92233720368547.75807", uncompress(21, 5, "-9223372036854775807"));
+        for (final String wrong : new String[] { "", "-", "+", "12a4", "1-2", " 12", "99999999999999999999" }) {
+            try {
+                uncompress(10, 3, wrong);
+                Assert.fail("an exception should have been thrown for \"" + wrong + "\"");
+            } catch (NumberFormatException nfe) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testFormatting() {
+
+        // special case, a single zero is output before decimal point only if there are no decimal places
+        Assert.assertEquals("     0.", uncompress(7, 0, "0"));
+        Assert.assertEquals("     .0", uncompress(7, 1, "0"));
+        Assert.assertEquals("    -3.", uncompress(7, 0, "-3"));
+
+        // compare in-place formatting with straightforward formatting
+        final RandomGenerator random = new Well19937a(0x3c4bb3ba0d8a6512l);
+        for (int decimalPlaces = 0; decimalPlaces < 7; ++decimalPlaces) {
+            for (int i = 0; i < 1000; ++i) {
+                final long value = random.nextLong() / (1l << random.nextInt(63));
+                final String reference = referenceFormat(22, decimalPlaces, value);
+                Assert.assertEquals(reference, uncompress(22, decimalPlaces, Long.toString(value)));
+            }
+        }
+
+    }
+
+    /** Uncompress a single value, using an order 0 differential.
+     * @param fieldLength length of the uncompressed text field
+     * @param decimalPlaces number of decimal places uncompressed text field
+     * @param compressed compressed value
+     * @return uncompressed value
+     */
+    private String uncompress(final int fieldLength, final int decimalPlaces, final String compressed) {
+        try {
+            Class<?> differentialClass = null;
+            for (final Class<?> c : HatanakaCompressFilter.class.getDeclaredClasses()) {
+                if (c.getName().endsWith("NumericDifferential")) {
+                    differentialClass = c;
+                }
+            }
+            final Constructor<?> cstr = differentialClass.getDeclaredConstructor(Integer.TYPE, Integer.TYPE, Integer.TYPE);
+            cstr.setAccessible(true);
+            final Object differential = cstr.newInstance(fieldLength, decimalPlaces, 0);
+            final Method acceptMethod = differentialClass.getDeclaredMethod("accept", CharSequence.class,
+                                                                            Integer.TYPE, Integer.TYPE);
+            final Method getUncompressedMethod = differentialClass.getDeclaredMethod("getUncompressed");
+
+            // embed the value in a larger sequence, to check index ranges are used
+            acceptMethod.invoke(differential, "@@" + compressed + "##", 2, 2 + compressed.length());
+            return getUncompressedMethod.invoke(differential).toString();
+
+        } catch (InvocationTargetException ite) {
+            if (ite.getCause() instanceof NumberFormatException) {
+                throw (NumberFormatException) ite.getCause();
+            }
+            Assert.fail(ite.getLocalizedMessage());
+            return null;
+        } catch (NoSuchMethodException | SecurityException | InstantiationException |
+                 IllegalAccessException | IllegalArgumentException e) {
+            Assert.fail(e.getLocalizedMessage());
+            return null;
+        }
+    }
+
+    /** Format a value as CRX2RNX does.
+     * @param fieldLength length of the uncompressed text field
+     * @param decimalPlaces number of decimal places uncompressed text field
+     * @param value unscaled value
+     * @return formatted value
+     */
+    private String referenceFormat(final int fieldLength, final int decimalPlaces, final long value) {
+        final String unscaled = Long.toString(FastMath.abs(value));
+        final int    length   = unscaled.length();
+        final StringBuilder builder = new StringBuilder();
+        if (value < 0) {
+            builder.append('-');
+        }
+        if (length > decimalPlaces) {
+            builder.append(unscaled, 0, length - decimalPlaces);
+        }
+        builder.append('.');
+        for (int i = decimalPlaces; i > 0; --i) {
+            builder.append(i > length ? '0' : unscaled.charAt(length - i));
+        }
+        while (builder.length() < fieldLength) {
+            builder.insert(0, ' ');
+        }
+        return builder.toString();
+    }
+
+    @Test
+    public void testReadBytes() throws IOException, NoSuchAlgorithmException {
+        // same reference digests as when reading characters
+        doTestReadBytes("rinex/aber0440.16d.Z",
+                        "b2bc4c32c144f8e6fdda15c9a041c17cbd6b48653c0866dd121f9ad5663f3895");
+        doTestReadBytes("rinex/arev0440.16d.Z",
+                        "4e5d77c4f4b21f9c995da88b4e1efd75d0e808e3e531ec815f95c4a8652fba8f");
+        doTestReadBytes("rinex/THTG00PYF_R_20160440000_60S_30S_MO.crx.gz",
+                        "f07c83dcd4dfa02e517ebb8bed6ac7caa0a8ba6f5809cb9d367d7e757741afab");
+    }
+
+    private void doTestReadBytes(final String name, final String expected256)
+        throws IOException, NoSuchAlgorithmException {
+        final DataSource raw = new DataSource(name.substring(name.indexOf('/') + 1),
+                                              () -> Utils.class.getClassLoader().getResourceAsStream(name));
+        final DataSource uncompressed = name.endsWith(".gz") ?
+                                        new GzipFilter().filter(raw) :
+                                        new UnixCompressFilter().filter(raw);
+        final Digester digester = new Digester(new HatanakaCompressFilter(InputMode.BYTES).filter(uncompressed), expected256);
+        try (InputStream is = digester.getDigestedSource().getOpener().openStreamOnce()) {
+            final byte[] buffer = new byte[4096];
+            while (is.read(buffer) >= 0) {
+                // nothing to do here, the digest is updated as data is read
+            }
+        }
+        digester.checkDigest();
+    }
+
+    @Test
+    public void testLineTerminators() throws IOException {
+
+        final String name = "clckReset_U_20190320000_10M_10M_MO.crx";
+        final String content;
+        try (InputStream is = Utils.class.getClassLoader().getResourceAsStream("rinex/" + name)) {
+            content = new String(readAll(is), StandardCharsets.US_ASCII);
+        }
+        final String reference = uncompressAll(new HatanakaCompressFilter(), name, content);
+
+        for (final String terminator : new String[] { "\n", "\r", "\r\n" }) {
+            final String modified = content.replace("\n", terminator);
+            Assert.assertEquals(reference, uncompressAll(new HatanakaCompressFilter(InputMode.BYTES),      name, modified));
+            Assert.assertEquals(reference, uncompressAll(new HatanakaCompressFilter(InputMode.CHARACTERS), name, modified));
+        }
+
+        // sources that provide only characters are read through their reader
+        final DataSource characters = new DataSource(name, () -> new StringReader(content));
+        try (Reader r = new HatanakaCompressFilter(InputMode.BYTES).filter(characters).getOpener().openReaderOnce()) {
+            final StringBuilder builder = new StringBuilder();
+            for (int c = r.read(); c >= 0; c = r.read()) {
+                builder.append((char) c);
+            }
+            Assert.assertEquals(reference, builder.toString());
+        }
+
+    }
+
+    private String uncompressAll(final HatanakaCompressFilter filter, final String name, final String content)
+        throws IOException {
+        final byte[] bytes = content.getBytes(StandardCharsets.US_ASCII);
+        final DataSource raw = new DataSource(name, () -> new ByteArrayInputStream(bytes));
+        try (InputStream is = filter.filter(raw).getOpener().openStreamOnce()) {
+            return new String(readAll(is), StandardCharsets.US_ASCII);
+        }
+    }
+
+    private byte[] readAll(final InputStream is) throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[4096];
+        for (int n = is.read(buffer); n >= 0; n = is.read(buffer)) {
+            bos.write(buffer, 0, n);
+        }
+        return bos.toByteArray();
+    }
+
     @Test
     public void testManyObservations() throws IOException, NoSuchAlgorithmException {
 
@@ -18,6 +18,7 @@ package org.orekit.gnss;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
@@ -26,6 +27,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.orekit.Utils;
+import org.orekit.data.DataContext;
 import org.orekit.data.DataSource;
 import org.orekit.data.UnixCompressFilter;
 import org.orekit.errors.OrekitException;
@@ -729,6 +731,58 @@ public class RinexLoaderTest {
         Assert.assertEquals(37.594,                  ods.get(3).getObservationData().get(4).getValue(), 1.0e-15);
     }
 
+    @Test
+    public void testStreamingRinex2Compressed() {
+        checkStreaming("rinex/bogi1210.09d.Z", 135);
+    }
+
+    @Test
+    public void testStreamingRinex3() {
+        checkStreaming("rinex/aaaa0000.00o", 51);
+    }
+
+    private void checkStreaming(final String name, final int expectedSize) {
+
+        final List<ObservationDataSet> stored = loadCompressed(name).getObservationDataSets();
+        Assert.assertEquals(expectedSize, stored.size());
+
+        final DataSource raw = new DataSource(name.substring(name.indexOf('/') + 1),
+                                              () -> Utils.class.getClassLoader().getResourceAsStream(name));
+        final DataSource filtered = new HatanakaCompressFilter().filter(new UnixCompressFilter().filter(raw));
+        final List<ObservationDataSet> streamed = new ArrayList<>();
+        final RinexObservationLoader loader =
+                        new RinexObservationLoader(filtered, DataContext.getDefault().getTimeScales(),
+                                                   ods -> {
+                                                       // observations must be provided in chronological order
+                                                       if (!streamed.isEmpty()) {
+                                                           Assert.assertTrue(ods.getDate().durationFrom(streamed.get(streamed.size() - 1).getDate()) >= 0);
+                                                       }
+                                                       streamed.add(ods);
+                                                   });
+        Assert.assertTrue(loader.getObservationDataSets().isEmpty());
+
+        Assert.assertEquals(stored.size(), streamed.size());
+        for (int i = 0; i < stored.size(); ++i) {
+            final ObservationDataSet s1 = stored.get(i);
+            final ObservationDataSet s2 = streamed.get(i);
+            Assert.assertEquals(s1.getSatelliteSystem(), s2.getSatelliteSystem());
+            Assert.assertEquals(s1.getPrnNumber(),       s2.getPrnNumber());
+            Assert.assertEquals(0.0, s2.getDate().durationFrom(s1.getDate()), 0.0);
+            Assert.assertEquals(s1.getObservationData().size(), s2.getObservationData().size());
+            for (int j = 0; j < s1.getObservationData().size(); ++j) {
+                final ObservationData d1 = s1.getObservationData().get(j);
+                final ObservationData d2 = s2.getObservationData().get(j);
+                Assert.assertEquals(d1.getObservationType(), d2.getObservationType());
+                if (Double.isNaN(d1.getValue())) {
+                    Assert.assertTrue(Double.isNaN(d2.getValue()));
+                } else {
+                    Assert.assertEquals(d1.getValue(), d2.getValue(), 0.0);
+                }
+            }
+        }
+
+    }
+
     private void checkObservation(final ObservationDataSet obser,
                                   final int year, final int month, final int day,
                                   final int hour, final int minute, final double second,
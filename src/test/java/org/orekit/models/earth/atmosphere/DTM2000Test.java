@@ -19,6 +19,7 @@ package org.orekit.models.earth.atmosphere;
 
 import java.util.TimeZone;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.Rotation;
 import org.hipparchus.geometry.euclidean.threed.RotationConvention;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
@@ -31,6 +32,7 @@ import org.orekit.SolarInputs97to05;
 import org.orekit.Utils;
 import org.orekit.bodies.CelestialBodyFactory;
 import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.frames.Frame;
 import org.orekit.frames.FramesFactory;
 import org.orekit.frames.Transform;
@@ -235,6 +237,44 @@ public class DTM2000Test {
         TimeZone.setDefault(defaultTZ);
     }
 
+    @Test
+    public void testBatch() {
+
+        Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        PVCoordinatesProvider sun = CelestialBodyFactory.getSun();
+        OneAxisEllipsoid earth = new OneAxisEllipsoid(Constants.GRIM5C1_EARTH_EQUATORIAL_RADIUS,
+                                                      Constants.GRIM5C1_EARTH_FLATTENING, itrf);
+        SolarInputs97to05 in = SolarInputs97to05.getInstance();
+        earth.setAngularThreshold(1e-10);
+        DTM2000 atm = new DTM2000(in, sun, earth);
+        Frame gcrf = FramesFactory.getGCRF();
+
+        // some positions share dates, some don't
+        AbsoluteDate t0 = new AbsoluteDate("2000-04-01T22:30:00.000", TimeScalesFactory.getUTC());
+        AbsoluteDate[] dates = new AbsoluteDate[12];
+        Vector3D[] positions = new Vector3D[dates.length];
+        for (int i = 0; i < dates.length; ++i) {
+            dates[i]     = t0.shiftedBy(600.0 * ((i / 4) + (i % 3 == 0 ? 1 : 0)));
+            positions[i] = new Vector3D(-1038893.194 + 1000.0 * i, -4654348.144, 5021579.14 - 2000.0 * i);
+        }
+
+        // memoized date-dependent inputs must not change results
+        double[] densities = atm.getDensity(dates, positions, gcrf);
+        Assert.assertEquals(dates.length, densities.length);
+        for (int i = 0; i < dates.length; ++i) {
+            double reference = new DTM2000(in, sun, earth).getDensity(dates[i], positions[i], gcrf);
+            Assert.assertEquals(reference, densities[i], 0.0);
+        }
+
+        try {
+            atm.getDensity(dates, new Vector3D[dates.length - 1], gcrf);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+        }
+
+    }
+
     @Before
     public void setUp() {
         Utils.setDataRoot("regular-data");
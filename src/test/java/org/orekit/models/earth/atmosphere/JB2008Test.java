@@ -209,6 +209,41 @@ public class JB2008Test {
 
     }
 
+    @Test
+    public void testMemoizedInputs() {
+
+        final Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        final OneAxisEllipsoid earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                            Constants.WGS84_EARTH_FLATTENING, itrf);
+        final Frame gcrf = FramesFactory.getGCRF();
+        final InputParams ip = new InputParams();
+        final PVCoordinatesProvider sun = CelestialBodyFactory.getSun();
+        final JB2008 atm = new JB2008(ip, sun, earth);
+        final Field<Decimal64> field = Decimal64Field.getInstance();
+
+        // successive evaluations switch between dates and frames, sometimes reusing memoized inputs
+        for (int i = 0; i < 24; ++i) {
+            final AbsoluteDate date  = InputParams.TC[4 + i / 3];
+            final Frame        frame = (i % 2 == 0) ? itrf : gcrf;
+            final Vector3D     pos   = earth.transform(new GeodeticPoint(0.1 * i - 1.2, 0.25 * i, 4.0e5 + 1.0e4 * i));
+            final Vector3D     inFrame = itrf.getTransformTo(frame, date).transformPosition(pos);
+
+            final double rho = atm.getDensity(date, inFrame, frame);
+            final double ref = new JB2008(ip, sun, earth).getDensity(date, inFrame, frame);
+            Assert.assertEquals(ref, rho, 0.0);
+
+            final Decimal64 rho64 = atm.getDensity(new FieldAbsoluteDate<>(field, date),
+                                                   new FieldVector3D<>(field.getOne(), inFrame),
+                                                   frame);
+            final Decimal64 ref64 = new JB2008(ip, sun, earth).getDensity(new FieldAbsoluteDate<>(field, date),
+                                                                          new FieldVector3D<>(field.getOne(), inFrame),
+                                                                          frame);
+            Assert.assertEquals(ref64.getReal(), rho64.getReal(), 0.0);
+
+        }
+
+    }
+
     @Test
     public void testDensityGradient() {
 
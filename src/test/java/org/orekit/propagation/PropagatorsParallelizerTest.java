@@ -18,7 +18,11 @@ package org.orekit.propagation;
 
 
 import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
@@ -48,10 +52,13 @@ import org.orekit.orbits.Orbit;
 import org.orekit.orbits.OrbitType;
 import org.orekit.orbits.PositionAngle;
 import org.orekit.propagation.analytical.EcksteinHechlerPropagator;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.propagation.analytical.tle.TLEPropagator;
 import org.orekit.propagation.events.DateDetector;
 import org.orekit.propagation.events.handlers.StopOnEvent;
 import org.orekit.propagation.integration.AdditionalDerivativesProvider;
 import org.orekit.propagation.numerical.NumericalPropagator;
+import org.orekit.propagation.sampling.OrekitStepInterpolator;
 import org.orekit.propagation.semianalytical.dsst.DSSTPropagator;
 import org.orekit.propagation.semianalytical.dsst.forces.DSSTForceModel;
 import org.orekit.propagation.semianalytical.dsst.forces.DSSTZonal;
@@ -328,6 +335,183 @@ public class PropagatorsParallelizerTest {
         Assert.assertEquals(expected1, results.get(1).getAdditionalState(name)[0], 5.0e-8 * expected1);
     }
 
+    @Test
+    public void testUserExecutorWithBufferedSteps() {
+
+        final AbsoluteDate startDate =  orbit.getDate();
+        final AbsoluteDate endDate   = startDate.shiftedBy(3600.0);
+
+        // reference run, with one thread per propagator and no buffering
+        final List<AbsoluteDate> referenceDates = new ArrayList<>();
+        final List<SpacecraftState> reference =
+                        new PropagatorsParallelizer(Arrays.asList(buildEcksteinHechler(), buildNumerical(), buildNumerical()),
+                                                    interpolators -> referenceDates.add(interpolators.get(0).getCurrentState().getDate())).
+                        propagate(startDate, endDate);
+
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            // the same executor can be used for several propagations
+            for (int k = 0; k < 2; ++k) {
+                final List<AbsoluteDate> dates = new ArrayList<>();
+                final PropagatorsParallelizer parallelizer =
+                                new PropagatorsParallelizer(Arrays.asList(buildEcksteinHechler(), buildNumerical(), buildNumerical()),
+                                                            interpolators -> {
+                                                                Assert.assertEquals(3, interpolators.size());
+                                                                final AbsoluteDate d0 = interpolators.get(0).getCurrentState().getDate();
+                                                                for (final OrekitStepInterpolator interpolator : interpolators) {
+                                                                    Assert.assertEquals(0.0,
+                                                                                        interpolator.getCurrentState().getDate().durationFrom(d0),
+                                                                                        3.0e-13);
+                                                                }
+                                                                dates.add(d0);
+                                                            },
+                                                            executor, 4);
+
+                final List<SpacecraftState> results = parallelizer.propagate(startDate, endDate);
+                Assert.assertEquals(3, results.size());
+                for (int i = 0; i < results.size(); ++i) {
+                    Assert.assertEquals(0.0, results.get(i).getDate().durationFrom(endDate), 1.0e-15);
+                    Assert.assertEquals(0.0,
+                                        Vector3D.distance(reference.get(i).getPVCoordinates().getPosition(),
+                                                          results.get(i).getPVCoordinates().getPosition()),
+                                        1.0e-15);
+                }
+                Assert.assertEquals(referenceDates.size(), dates.size());
+                for (int i = 0; i < dates.size(); ++i) {
+                    Assert.assertEquals(0.0, dates.get(i).durationFrom(referenceDates.get(i)), 1.0e-15);
+                }
+            }
+
+            // user executor is not shut down by the parallelizer
+            Assert.assertFalse(executor.isShutdown());
+
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+    @Test
+    public void testBufferedStepsWithTLE() {
+
+        final TLE iss = new TLE("1 25544U 98067A   21035.14486477  .00001026  00000-0  26816-4 0  9998",
+                                "2 25544  51.6455 280.7636 0002243 335.6496 186.1723 15.48938788267977");
+        final TLE gps = new TLE("1 37753U 11036A   12090.13205652 -.00000006  00000-0  00000+0 0  2272",
+                                "2 37753  55.0032 176.5796 0004733  13.2285 346.8266  2.00565440  5153");
+        final List<TLE> tles = Arrays.asList(iss, gps, iss, gps);
+
+        // independent propagators, used only by the global handler
+        final List<Propagator> references = new ArrayList<>();
+        final List<Propagator> propagators = new ArrayList<>();
+        for (final TLE tle : tles) {
+            references.add(TLEPropagator.selectExtrapolator(tle));
+            propagators.add(TLEPropagator.selectExtrapolator(tle));
+        }
+
+        final AbsoluteDate startDate = iss.getDate();
+        final AbsoluteDate endDate   = startDate.shiftedBy(7200.0);
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            final AtomicInteger count = new AtomicInteger();
+            new PropagatorsParallelizer(propagators,
+                                        interpolators -> {
+                                            count.incrementAndGet();
+                                            for (int i = 0; i < interpolators.size(); ++i) {
+                                                final OrekitStepInterpolator interpolator = interpolators.get(i);
+                                                final AbsoluteDate t0 = interpolator.getPreviousState().getDate();
+                                                final double       dt = interpolator.getCurrentState().getDate().durationFrom(t0);
+                                                for (int k = 0; k <= 4; ++k) {
+                                                    // the interpolated states must not be affected by propagators
+                                                    // running concurrently
+                                                    final AbsoluteDate date = t0.shiftedBy(k * dt / 4);
+                                                    Assert.assertEquals(0.0,
+                                                                        Vector3D.distance(references.get(i).getPVCoordinates(date, FramesFactory.getEME2000()).getPosition(),
+                                                                                          interpolator.getInterpolatedState(date).getPVCoordinates(FramesFactory.getEME2000()).getPosition()),
+                                                                        1.0e-8);
+                                                }
+                                            }
+                                        },
+                                        executor, 4).
+            propagate(startDate, endDate);
+            Assert.assertTrue(count.get() > 1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+    @Test
+    public void testUserExecutorStopOnEarlyEvent() {
+        final AbsoluteDate startDate =  orbit.getDate();
+        final AbsoluteDate endDate   = startDate.shiftedBy(3600.0);
+        final AbsoluteDate stopDate  = startDate.shiftedBy(900.0);
+        List<Propagator> propagators = Arrays.asList(buildEcksteinHechler(),
+                                                     buildNumerical());
+        propagators.get(0).addEventDetector(new DateDetector(stopDate).withHandler(new StopOnEvent<>()));
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            List<SpacecraftState> results = new PropagatorsParallelizer(propagators, interpolators -> {}, executor, 8).
+                                            propagate(startDate, endDate);
+            Assert.assertEquals(2, results.size());
+            Assert.assertEquals(0.0, results.get(0).getDate().durationFrom(stopDate), 1.0e-15);
+            Assert.assertEquals(0.0, results.get(1).getDate().durationFrom(stopDate), 1.0e-15);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testUserExecutorWaitsForStoppedPropagators() {
+        final AbsoluteDate startDate =  orbit.getDate();
+        final AbsoluteDate endDate   = startDate.shiftedBy(3600.0);
+        final List<AtomicBoolean> ended = new ArrayList<>();
+        final List<Propagator> propagators = new ArrayList<>();
+        for (int i = 0; i < 3; ++i) {
+            final AtomicBoolean flag = new AtomicBoolean(false);
+            ended.add(flag);
+            propagators.add(new EcksteinHechlerPropagator(orbit, attitudeLaw, mass, unnormalizedGravityField) {
+                @Override
+                public SpacecraftState propagate(final AbsoluteDate start, final AbsoluteDate target) {
+                    try {
+                        return super.propagate(start, target);
+                    } finally {
+                        // keep the thread busy for a while, ignoring interruptions,
+                        // as a propagator completing its current step would do
+                        final long busyEnd = System.nanoTime() + 100000000L;
+                        while (System.nanoTime() < busyEnd) {
+                            Thread.yield();
+                        }
+                        flag.set(true);
+                    }
+                }
+            });
+        }
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            final List<SpacecraftState> results = new PropagatorsParallelizer(propagators, interpolators -> {}, executor, 0).
+                                                  propagate(startDate, endDate);
+            Assert.assertEquals(3, results.size());
+            // the parallelizer returns only once all its propagation tasks have ended,
+            // including the ones it cancelled
+            for (final AtomicBoolean flag : ended) {
+                Assert.assertTrue(flag.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testNegativeHandOffCapacity() {
+        try {
+            new PropagatorsParallelizer(Arrays.asList(buildEcksteinHechler(), buildNumerical()),
+                                        interpolators -> {}, null, -1);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oe.getSpecifier());
+        }
+    }
+
     private static class Exponential implements AdditionalDerivativesProvider {
         final String name;
         final double base;
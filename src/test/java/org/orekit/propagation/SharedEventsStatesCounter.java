@@ -0,0 +1,71 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation;
+
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.frames.FramesFactory;
+import org.orekit.propagation.events.AltitudeDetector;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+/** Count the states built when several event detectors share the same sampling.
+ * @author agent
+ */
+public class SharedEventsStatesCounter {
+
+    /** Private constructor for a utility class. */
+    private SharedEventsStatesCounter() {
+    }
+
+    /** Propagate with several identical detectors and count the states built.
+     * <p>
+     * The detectors monitor an altitude that is never crossed, so no root finding
+     * is needed and all detectors sample the steps at the same dates.
+     * </p>
+     * @param propagator propagator, already configured with its initial state
+     * @param nbDetectors number of identical detectors to register
+     * @param target target date of the propagation
+     * @return number of calls to an additional state provider during propagation
+     */
+    public static int countStates(final Propagator propagator, final int nbDetectors,
+                                  final AbsoluteDate target) {
+
+        final OneAxisEllipsoid earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                            Constants.WGS84_EARTH_FLATTENING,
+                                                            FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        for (int i = 0; i < nbDetectors; ++i) {
+            propagator.addEventDetector(new AltitudeDetector(600.0, 1.0, earth));
+        }
+
+        final int[] counter = new int[1];
+        propagator.addAdditionalStateProvider(new AdditionalStateProvider() {
+            public String getName() {
+                return "counter";
+            }
+            public double[] getAdditionalState(final SpacecraftState state) {
+                ++counter[0];
+                return new double[1];
+            }
+        });
+
+        propagator.propagate(target);
+        return counter[0];
+
+    }
+
+}
@@ -57,6 +57,7 @@ import org.orekit.propagation.AdditionalStateProvider;
 import org.orekit.propagation.BoundedPropagator;
 import org.orekit.propagation.EphemerisGenerator;
 import org.orekit.propagation.Propagator;
+import org.orekit.propagation.SharedEventsStatesCounter;
 import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.events.AbstractDetector;
 import org.orekit.propagation.events.AltitudeDetector;
@@ -902,6 +903,25 @@ public class KeplerianPropagatorTest {
 
     }
 
+    @Test
+    public void testSharedEventsStates() {
+        // detectors sharing the same sampling must not propagate to the same dates several times
+        final int single   = countPropagationsForEvents(1);
+        final int multiple = countPropagationsForEvents(10);
+        Assert.assertTrue(multiple < single + 10);
+    }
+
+    private int countPropagationsForEvents(final int nbDetectors) {
+        final Frame eme2000 = FramesFactory.getEME2000();
+        final AbsoluteDate date = new AbsoluteDate(new DateComponents(2008, 6, 23),
+                                                   new TimeComponents(14, 0, 0),
+                                                   TimeScalesFactory.getUTC());
+        final Orbit orbit = new KeplerianOrbit(8000000.0, 0.01, 0.87, 2.44, 0.21, -1.05, PositionAngle.MEAN,
+                                               eme2000, date, Constants.EIGEN5C_EARTH_MU);
+        return SharedEventsStatesCounter.countStates(new KeplerianPropagator(orbit), nbDetectors,
+                                                     date.shiftedBy(Constants.JULIAN_DAY));
+    }
+
     private void checkDerivatives(final Orbit orbit, final boolean expectedDerivatives) {
         Assert.assertEquals(expectedDerivatives, orbit.hasDerivatives());
         Assert.assertNotEquals(expectedDerivatives, Double.isNaN(orbit.getADot()));
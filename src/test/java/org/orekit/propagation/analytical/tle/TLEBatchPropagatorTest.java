@@ -0,0 +1,210 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical.tle;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.FramesFactory;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinates;
+
+public class TLEBatchPropagatorTest {
+
+    @Test
+    public void testSequentialSingleDate() {
+        final TLEBatchPropagator batch = new TLEBatchPropagator(tles, FramesFactory.getTEME());
+        Assert.assertEquals(tles.size(), batch.getSize());
+        Assert.assertSame(FramesFactory.getTEME(), batch.getFrame());
+        int nbDeep = 0;
+        for (int k = 0; k < batch.getSize(); ++k) {
+            Assert.assertSame(tles.get(k), batch.getTLE(k));
+            if (batch.isDeepSpace(k)) {
+                ++nbDeep;
+            }
+        }
+        Assert.assertTrue(nbDeep > 0);
+        Assert.assertTrue(nbDeep < batch.getSize());
+
+        for (final double dt : new double[] { -1440.0, 0.0, 360.0, 2880.0 }) {
+            final AbsoluteDate date = tles.get(0).getDate().shiftedBy(dt * 60.0);
+            final double[] p = new double[3 * batch.getSize()];
+            final double[] v = new double[3 * batch.getSize()];
+            batch.propagate(date, p, v);
+            for (int k = 0; k < batch.getSize(); ++k) {
+                checkObject(tles.get(k), date, p, v, 3 * k);
+            }
+        }
+
+    }
+
+    @Test
+    public void testPositionsOnly() {
+        final TLEBatchPropagator batch = new TLEBatchPropagator(tles, FramesFactory.getTEME());
+        final AbsoluteDate date = tles.get(0).getDate().shiftedBy(3600.0);
+        final double[] p1 = new double[3 * batch.getSize()];
+        final double[] p2 = new double[3 * batch.getSize()];
+        final double[] v2 = new double[3 * batch.getSize()];
+        batch.propagate(date, p1, null);
+        batch.propagate(date, p2, v2);
+        for (int i = 0; i < p1.length; ++i) {
+            if (Double.isNaN(p2[i])) {
+                Assert.assertTrue(Double.isNaN(p1[i]));
+            } else {
+                Assert.assertEquals(p2[i], p1[i], 1.0e-6);
+            }
+        }
+    }
+
+    @Test
+    public void testParallelGrid() {
+
+        final TLEBatchPropagator sequential = new TLEBatchPropagator(tles, FramesFactory.getTEME());
+        final TLEBatchPropagator parallel   = new TLEBatchPropagator(tles, FramesFactory.getTEME());
+        parallel.setChunkSize(3);
+        Assert.assertEquals(3, parallel.getChunkSize());
+
+        final AbsoluteDate[] dates = new AbsoluteDate[5];
+        for (int j = 0; j < dates.length; ++j) {
+            dates[j] = tles.get(0).getDate().shiftedBy(j * 5400.0);
+        }
+        final int size = 3 * dates.length * sequential.getSize();
+        final double[] pS = new double[size];
+        final double[] vS = new double[size];
+        sequential.propagate(dates, pS, vS);
+        final double[] pP = new double[size];
+        final double[] vP = new double[size];
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            parallel.propagate(dates, pP, vP, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        for (int i = 0; i < size; ++i) {
+            if (Double.isNaN(pS[i])) {
+                Assert.assertTrue(Double.isNaN(pP[i]));
+                Assert.assertTrue(Double.isNaN(vP[i]));
+            } else {
+                Assert.assertEquals(pS[i], pP[i], 1.0e-6);
+                Assert.assertEquals(vS[i], vP[i], 1.0e-9);
+            }
+        }
+
+        // check layout against single object propagation
+        for (int j = 0; j < dates.length; ++j) {
+            for (int k = 0; k < sequential.getSize(); ++k) {
+                checkObject(tles.get(k), dates[j], pS, vS, 3 * (j * sequential.getSize() + k));
+            }
+        }
+
+    }
+
+    @Test
+    public void testCommonPoolSingleDate() {
+        final TLEBatchPropagator batch = new TLEBatchPropagator(tles);
+        batch.setChunkSize(1);
+        final AbsoluteDate date = tles.get(0).getDate().shiftedBy(-7200.0);
+        final double[] p = new double[3 * batch.getSize()];
+        final double[] v = new double[3 * batch.getSize()];
+        batch.propagate(date, p, v, ForkJoinPool.commonPool());
+        for (int k = 0; k < batch.getSize(); ++k) {
+            checkObject(tles.get(k), date, p, v, 3 * k);
+        }
+    }
+
+    @Test
+    public void testWrongDimensions() {
+        final TLEBatchPropagator batch = new TLEBatchPropagator(tles, FramesFactory.getTEME());
+        final AbsoluteDate date = tles.get(0).getDate();
+        try {
+            batch.propagate(date, new double[3 * batch.getSize() - 1], null);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+        }
+        try {
+            batch.propagate(new AbsoluteDate[] { date, date },
+                            new double[6 * batch.getSize()], new double[3 * batch.getSize()]);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+        }
+        try {
+            batch.setChunkSize(0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+    }
+
+    private void checkObject(final TLE tle, final AbsoluteDate date,
+                             final double[] p, final double[] v, final int offset) {
+        final Vector3D bP = new Vector3D(p[offset], p[offset + 1], p[offset + 2]);
+        final Vector3D bV = new Vector3D(v[offset], v[offset + 1], v[offset + 2]);
+        try {
+            final PVCoordinates ref = TLEPropagator.selectExtrapolator(tle).getPVCoordinates(date);
+            if (ref.getPosition().isNaN()) {
+                // some decayed objects silently produce NaN
+                Assert.assertTrue(bP.isNaN());
+            } else if (TLEPropagator.isDeepSpace(tle)) {
+                // resonance integrator state may differ slightly depending on propagation history
+                Assert.assertEquals(0.0, Vector3D.distance(ref.getPosition(), bP), 1.0e-6);
+                Assert.assertEquals(0.0, Vector3D.distance(ref.getVelocity(), bV), 1.0e-9);
+            } else {
+                // near Earth objects are strictly identical
+                Assert.assertEquals(0.0, Vector3D.distance(ref.getPosition(), bP), 0.0);
+                Assert.assertEquals(0.0, Vector3D.distance(ref.getVelocity(), bV), 0.0);
+            }
+        } catch (OrekitException oe) {
+            // the model cannot be used for this object at this date
+            Assert.assertTrue(bP.isNaN());
+            Assert.assertTrue(bV.isNaN());
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        Utils.setDataRoot("regular-data");
+        tles = new ArrayList<>();
+        try (BufferedReader reader =
+                        new BufferedReader(new InputStreamReader(TLEBatchPropagatorTest.class.getResourceAsStream("/tle/extrapolationTest-data/SatCode-entry"),
+                                                                 StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.startsWith("1 ")) {
+                    tles.add(new TLE(line, reader.readLine()));
+                }
+            }
+        }
+    }
+
+    private List<TLE> tles;
+
+}
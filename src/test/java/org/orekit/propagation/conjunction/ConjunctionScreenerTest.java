@@ -0,0 +1,338 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.conjunction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Rotation;
+import org.hipparchus.geometry.euclidean.threed.RotationConvention;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.CartesianOrbit;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.analytical.EcksteinHechlerPropagator;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+import org.orekit.utils.PVCoordinates;
+import org.orekit.utils.PVCoordinatesProvider;
+
+public class ConjunctionScreenerTest {
+
+    @Test
+    public void testFilters() {
+
+        final List<PVCoordinatesProvider> secondaries = new ArrayList<>();
+
+        // geostationary orbit, rejected by apogee/perigee filter
+        secondaries.add(keplerian(42164.0e3, 0.0, 0.0, 0.0, 0.0, 0.0));
+
+        // crossing radial shell, but with periapsis at one node and apoapsis at the other one
+        secondaries.add(keplerian(7000.0e3, 0.05, 50.0, 0.0, 0.0, 0.0));
+
+        // same orbit, trailing by 10 degrees, rejected by grid filter
+        secondaries.add(keplerian(7000.0e3, 0.0, 98.0, 0.0, 0.0, -10.0));
+
+        // different plane, almost same phase, close approaches at nodes
+        secondaries.add(keplerian(7000.0e3, 0.0, 50.0, 0.0, 0.0, 0.005));
+
+        // failing provider
+        secondaries.add((date, frame) -> {
+            throw new OrekitException(OrekitMessages.NO_DATA_GENERATED, date);
+        });
+
+        final ConjunctionScreener screener = new ConjunctionScreener(primary, gcrf, Constants.EIGEN5C_EARTH_MU, 2000.0);
+        final ConjunctionScreeningResults results = screener.screen(secondaries, start, end);
+        Assert.assertEquals(1, results.getRejectedByApsides());
+        Assert.assertEquals(1, results.getRejectedByPath());
+        Assert.assertEquals(1, results.getRejectedByGrid());
+        Assert.assertEquals(1, results.getRefined());
+        Assert.assertEquals(1, results.getFailures().size());
+        Assert.assertEquals(OrekitMessages.NO_DATA_GENERATED, results.getFailures().get(4).getSpecifier());
+
+        // the colliding secondary meets primary at each node crossing
+        final double period = 2 * FastMath.PI * FastMath.sqrt(FastMath.pow(7000.0e3, 3) / Constants.EIGEN5C_EARTH_MU);
+        final int expected = (int) FastMath.floor((end.durationFrom(epoch)) / (0.5 * period)) + 1;
+        Assert.assertEquals(expected, results.getConjunctions().size());
+        AbsoluteDate previous = start;
+        for (final Conjunction conjunction : results.getConjunctions()) {
+            Assert.assertEquals(3, conjunction.getSecondaryIndex());
+            Assert.assertTrue(conjunction.getDate().isAfter(previous));
+            Assert.assertTrue(conjunction.getMissDistance() > 100.0);
+            Assert.assertTrue(conjunction.getMissDistance() < 1000.0);
+            Assert.assertTrue(conjunction.getRelativeVelocity() > 5000.0);
+            final double halfPeriods = conjunction.getDate().durationFrom(epoch) / (0.5 * period);
+            Assert.assertEquals(FastMath.rint(halfPeriods), halfPeriods, 1.0e-3);
+            final Vector3D dP = conjunction.getSecondary().getPosition().subtract(conjunction.getPrimary().getPosition());
+            final Vector3D dV = conjunction.getSecondary().getVelocity().subtract(conjunction.getPrimary().getVelocity());
+            Assert.assertEquals(0.0, Vector3D.dotProduct(dP, dV) / (dP.getNorm() * dV.getNorm()), 1.0e-6);
+            previous = conjunction.getDate();
+        }
+
+    }
+
+    @Test
+    public void testSecularDrift() {
+
+        // eccentric orbit with fast nodes and periapsis drift due to J2
+        final Propagator j2Primary = j2(new KeplerianOrbit(7500.0e3, 0.04, FastMath.toRadians(30.0),
+                                                           0.0, 0.0, 0.0, PositionAngle.MEAN,
+                                                           gcrf, epoch, Constants.EIGEN5C_EARTH_MU));
+
+        // secondary crossing primary path 500m above it four days later, in another plane
+        final AbsoluteDate  tca      = epoch.shiftedBy(4 * Constants.JULIAN_DAY + 1234.0);
+        final PVCoordinates crossing = j2Primary.getPVCoordinates(tca, gcrf);
+        final Vector3D      up       = crossing.getPosition().normalize();
+        final Vector3D      velocity = new Rotation(up, FastMath.toRadians(70.0), RotationConvention.VECTOR_OPERATOR).
+                                       applyTo(crossing.getVelocity());
+        final List<PVCoordinatesProvider> secondaries = new ArrayList<>();
+        secondaries.add(j2(new CartesianOrbit(new PVCoordinates(new Vector3D(1.0, crossing.getPosition(), 500.0, up),
+                                                                velocity),
+                                              gcrf, tca, Constants.EIGEN5C_EARTH_MU)));
+
+        final ConjunctionScreener screener = new ConjunctionScreener(j2Primary, gcrf, Constants.EIGEN5C_EARTH_MU, 2000.0);
+        final ConjunctionScreeningResults results = screener.screen(secondaries, epoch, epoch.shiftedBy(5 * Constants.JULIAN_DAY));
+        Assert.assertEquals(1, results.getRefined());
+        boolean found = false;
+        for (final Conjunction conjunction : results.getConjunctions()) {
+            if (FastMath.abs(conjunction.getDate().durationFrom(tca)) < 1.0e-3) {
+                found = true;
+                Assert.assertEquals(500.0, conjunction.getMissDistance(), 1.0);
+            }
+        }
+        Assert.assertTrue(found);
+
+    }
+
+    @Test
+    public void testCatalogAgainstBruteForce() {
+
+        // random catalog around primary altitude
+        final RandomGenerator random = new Well19937a(0x2f5a61c4d3b7e98fL);
+        final List<PVCoordinatesProvider> secondaries = new ArrayList<>();
+        for (int k = 0; k < 60; ++k) {
+            secondaries.add(keplerian(6800.0e3 + 400.0e3 * random.nextDouble(), 0.03 * random.nextDouble(),
+                                      180.0 * random.nextDouble(), 360.0 * random.nextDouble(),
+                                      360.0 * random.nextDouble(), 360.0 * random.nextDouble()));
+        }
+        // secondaries far away
+        for (int k = 0; k < 20; ++k) {
+            secondaries.add(keplerian(8000.0e3 + 30000.0e3 * random.nextDouble(), 0.01 * random.nextDouble(),
+                                      180.0 * random.nextDouble(), 360.0 * random.nextDouble(),
+                                      360.0 * random.nextDouble(), 360.0 * random.nextDouble()));
+        }
+
+        final ConjunctionScreener screener = new ConjunctionScreener(primary, gcrf, Constants.EIGEN5C_EARTH_MU, 100.0e3);
+        screener.setChunkSize(4);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        final ConjunctionScreeningResults results;
+        try {
+            results = screener.screen(secondaries, start, end, pool);
+        } finally {
+            pool.shutdown();
+        }
+        Assert.assertEquals(secondaries.size(),
+                            results.getRejectedByApsides() + results.getRejectedByPath() +
+                            results.getRejectedByGrid() + results.getRefined());
+        Assert.assertTrue(results.getFailures().isEmpty());
+        Assert.assertTrue(results.getRejectedByApsides() >= 20);
+        Assert.assertTrue(results.getRejectedByPath() > 0);
+        Assert.assertTrue(results.getRefined() < 60);
+
+        // all local minima below threshold found by brute force must have been found by screening
+        final double step = 5.0;
+        int nbMinima = 0;
+        for (int k = 0; k < secondaries.size(); ++k) {
+            double d0 = Double.NaN;
+            double d1 = Double.NaN;
+            for (double dt = 0; dt <= end.durationFrom(start); dt += step) {
+                final AbsoluteDate date = start.shiftedBy(dt);
+                final double d2 = Vector3D.distance(secondaries.get(k).getPVCoordinates(date, gcrf).getPosition(),
+                                                    primary.getPVCoordinates(date, gcrf).getPosition());
+                if (d1 < d0 && d1 <= d2 && d1 < 0.99 * screener.getThreshold()) {
+                    ++nbMinima;
+                    boolean found = false;
+                    for (final Conjunction conjunction : results.getConjunctions()) {
+                        if (conjunction.getSecondaryIndex() == k &&
+                            FastMath.abs(conjunction.getDate().durationFrom(date.shiftedBy(-step))) < step) {
+                            found = true;
+                            Assert.assertTrue(conjunction.getMissDistance() <= d1);
+                        }
+                    }
+                    Assert.assertTrue(found);
+                }
+                d0 = d1;
+                d1 = d2;
+            }
+        }
+        Assert.assertTrue(nbMinima > 0);
+        Assert.assertEquals(nbMinima, results.getConjunctions().size());
+
+    }
+
+    @Test
+    public void testParallelConsistency() {
+        final List<PVCoordinatesProvider> secondaries = new ArrayList<>();
+        for (int i = 0; i < 40; ++i) {
+            secondaries.add(keplerian(7000.0e3 + 100 * i, 0.001 * (i % 5), 20.0 + 2 * i, 3.0 * i, 7.0 * i, 11.0 * i));
+        }
+        final ConjunctionScreener screener = new ConjunctionScreener(primary, gcrf, Constants.EIGEN5C_EARTH_MU, 50.0e3);
+        screener.setChunkSize(1);
+        final ForkJoinPool sequential = new ForkJoinPool(1);
+        final ForkJoinPool parallel   = new ForkJoinPool(4);
+        try {
+            final List<Conjunction> c1 = screener.screen(secondaries, start, end, sequential).getConjunctions();
+            final List<Conjunction> c2 = screener.screen(secondaries, start, end, parallel).getConjunctions();
+            Assert.assertTrue(c1.size() > 0);
+            Assert.assertEquals(c1.size(), c2.size());
+            for (int i = 0; i < c1.size(); ++i) {
+                Assert.assertEquals(c1.get(i).getSecondaryIndex(), c2.get(i).getSecondaryIndex());
+                Assert.assertEquals(0.0, c1.get(i).getDate().durationFrom(c2.get(i).getDate()), 1.0e-10);
+                Assert.assertEquals(c1.get(i).getMissDistance(), c2.get(i).getMissDistance(), 1.0e-6);
+            }
+        } finally {
+            sequential.shutdown();
+            parallel.shutdown();
+        }
+    }
+
+    @Test
+    public void testSettings() {
+        final ConjunctionScreener screener = new ConjunctionScreener(primary, gcrf, Constants.EIGEN5C_EARTH_MU, 1000.0);
+        Assert.assertSame(gcrf, screener.getFrame());
+        Assert.assertEquals(1000.0, screener.getThreshold(), 0.0);
+        Assert.assertEquals(ConjunctionScreener.DEFAULT_GRID_STEP, screener.getGridStep(), 0.0);
+        Assert.assertEquals(ConjunctionScreener.DEFAULT_FILTER_MARGIN, screener.getFilterMargin(), 0.0);
+        Assert.assertEquals(ConjunctionScreener.DEFAULT_FILTER_SEGMENT, screener.getFilterSegment(), 0.0);
+        Assert.assertEquals(ConjunctionScreener.DEFAULT_TCA_ACCURACY, screener.getTcaAccuracy(), 0.0);
+        Assert.assertEquals(ConjunctionScreener.DEFAULT_CHUNK_SIZE, screener.getChunkSize());
+        screener.setGridStep(30.0);
+        screener.setFilterMargin(5000.0);
+        screener.setFilterSegment(7200.0);
+        screener.setTcaAccuracy(1.0e-3);
+        screener.setChunkSize(4);
+        Assert.assertEquals(30.0, screener.getGridStep(), 0.0);
+        Assert.assertEquals(5000.0, screener.getFilterMargin(), 0.0);
+        Assert.assertEquals(7200.0, screener.getFilterSegment(), 0.0);
+        Assert.assertEquals(1.0e-3, screener.getTcaAccuracy(), 0.0);
+        Assert.assertEquals(4, screener.getChunkSize());
+    }
+
+    @Test
+    public void testErrors() {
+        try {
+            new ConjunctionScreener(primary, FramesFactory.getITRF(IERSConventions.IERS_2010, true),
+                                    Constants.EIGEN5C_EARTH_MU, 1000.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(OrekitMessages.NON_PSEUDO_INERTIAL_FRAME, oiae.getSpecifier());
+        }
+        try {
+            new ConjunctionScreener(primary, gcrf, Constants.EIGEN5C_EARTH_MU, 0.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+        }
+        final ConjunctionScreener screener = new ConjunctionScreener(primary, gcrf, Constants.EIGEN5C_EARTH_MU, 1000.0);
+        try {
+            screener.setGridStep(-1.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+        }
+        try {
+            screener.setFilterMargin(-1.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+        try {
+            screener.setFilterSegment(0.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+        }
+        try {
+            screener.setTcaAccuracy(0.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+        }
+        try {
+            screener.setChunkSize(0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+        try {
+            screener.screen(new ArrayList<PVCoordinatesProvider>(), end, start);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.ENDPOINTS_NOT_AN_INTERVAL, oiae.getSpecifier());
+        }
+    }
+
+    private Propagator keplerian(final double a, final double e, final double i,
+                                 final double raan, final double pa, final double anomaly) {
+        return new KeplerianPropagator(new KeplerianOrbit(a, e, FastMath.toRadians(i),
+                                                          FastMath.toRadians(pa), FastMath.toRadians(raan),
+                                                          FastMath.toRadians(anomaly), PositionAngle.MEAN,
+                                                          gcrf, epoch, Constants.EIGEN5C_EARTH_MU));
+    }
+
+    private Propagator j2(final Orbit orbit) {
+        return new EcksteinHechlerPropagator(orbit, Constants.EIGEN5C_EARTH_EQUATORIAL_RADIUS,
+                                             Constants.EIGEN5C_EARTH_MU, Constants.EIGEN5C_EARTH_C20,
+                                             0.0, 0.0, 0.0, 0.0);
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        gcrf    = FramesFactory.getGCRF();
+        epoch   = new AbsoluteDate(2022, 3, 1, 0, 0, 0.0, TimeScalesFactory.getUTC());
+        start   = epoch.shiftedBy(-600.0);
+        end     = epoch.shiftedBy(Constants.JULIAN_DAY);
+        primary = keplerian(7000.0e3, 0.0, 98.0, 0.0, 0.0, 0.0);
+    }
+
+    private Frame                 gcrf;
+    private AbsoluteDate          epoch;
+    private AbsoluteDate          start;
+    private AbsoluteDate          end;
+    private PVCoordinatesProvider primary;
+
+}
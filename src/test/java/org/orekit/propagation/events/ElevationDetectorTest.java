@@ -521,6 +521,80 @@ public class ElevationDetectorTest {
 
     }
 
+    @Test
+    public void testAdaptiveMaxCheck() {
+
+        final TimeScale utc = TimeScalesFactory.getUTC();
+        final Vector3D position = new Vector3D(-6142438.668, 3492467.56, -25767.257);
+        final Vector3D velocity = new Vector3D(505.848, 942.781, 7435.922);
+        final AbsoluteDate date = new AbsoluteDate(2003, 9, 16, utc);
+        final Orbit orbit = new EquinoctialOrbit(new PVCoordinates(position,  velocity),
+                                                 FramesFactory.getEME2000(), date, mu);
+
+        final Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        final BodyShape earth = new OneAxisEllipsoid(ae, 1.0 / 298.257223563, itrf);
+        final TopocentricFrame topo = new TopocentricFrame(earth,
+                                                           new GeodeticPoint(FastMath.toRadians(48.833),
+                                                                             FastMath.toRadians(2.333),
+                                                                             0.0),
+                                                           "Gstation");
+
+        // the rate bound must be conservative
+        final ElevationDetector probe = new ElevationDetector(topo).withConstantElevation(FastMath.toRadians(5.0));
+        final Propagator samplingPropagator = new EcksteinHechlerPropagator(orbit, ae, mu, c20, c30, c40, c50, c60);
+        for (double dt = 0; dt < Constants.JULIAN_DAY; dt += 300.0) {
+            final SpacecraftState s0 = samplingPropagator.propagate(date.shiftedBy(dt));
+            final SpacecraftState s1 = samplingPropagator.propagate(date.shiftedBy(dt + 1.0));
+            Assert.assertTrue(FastMath.abs(probe.g(s1) - probe.g(s0)) <= probe.getGRateBound(s0));
+        }
+
+        // no bound is available with an elevation mask
+        final double[][] maskValues = {{ 0.0, FastMath.toRadians(5.0) }, { FastMath.PI, FastMath.toRadians(5.0) }};
+        Assert.assertTrue(Double.isNaN(probe.withElevationMask(new ElevationMask(maskValues)).
+                                       getGRateBound(samplingPropagator.getInitialState())));
+
+        // adaptive check intervals are opt-in, and forwarded by wrapping detectors
+        Assert.assertFalse(probe.isAdaptiveMaxCheck());
+        final ElevationDetector adaptiveProbe = probe.withAdaptiveMaxCheck(true);
+        Assert.assertTrue(adaptiveProbe.isAdaptiveMaxCheck());
+        Assert.assertTrue(adaptiveProbe.withRefraction(null).withMaxCheck(60.0).isAdaptiveMaxCheck());
+        Assert.assertTrue(new EventSlopeFilter<>(adaptiveProbe, FilterType.TRIGGER_ONLY_INCREASING_EVENTS).isAdaptiveMaxCheck());
+        Assert.assertTrue(new EventShifter<>(adaptiveProbe, true, 10.0, -10.0).isAdaptiveMaxCheck());
+        Assert.assertTrue(BooleanDetector.notCombine(adaptiveProbe).isAdaptiveMaxCheck());
+        Assert.assertTrue(BooleanDetector.andCombine(adaptiveProbe, adaptiveProbe).isAdaptiveMaxCheck());
+        Assert.assertFalse(BooleanDetector.andCombine(adaptiveProbe, probe).isAdaptiveMaxCheck());
+        Assert.assertFalse(new EventSlopeFilter<>(new DateDetector(date), FilterType.TRIGGER_ONLY_INCREASING_EVENTS).isAdaptiveMaxCheck());
+        Assert.assertTrue(Double.isNaN(BooleanDetector.notCombine(new DateDetector(date)).
+                                       getGRateBound(samplingPropagator.getInitialState())));
+
+        // a huge max check misses passes with regular sampling...
+        final List<LoggedEvent> reference = findVisibilities(orbit, topo, 10.0, false);
+        final List<LoggedEvent> regular   = findVisibilities(orbit, topo, 3600.0, false);
+        Assert.assertEquals(12, reference.size());
+        Assert.assertTrue(regular.size() < reference.size());
+
+        // ... but does not miss any pass when intervals are adapted to the elevation rate
+        final List<LoggedEvent> adaptive  = findVisibilities(orbit, topo, 3600.0, true);
+        Assert.assertEquals(reference.size(), adaptive.size());
+        for (int i = 0; i < reference.size(); ++i) {
+            Assert.assertEquals(reference.get(i).isIncreasing(), adaptive.get(i).isIncreasing());
+            Assert.assertEquals(0.0, adaptive.get(i).getDate().durationFrom(reference.get(i).getDate()), 1.0e-5);
+        }
+
+    }
+
+    private List<LoggedEvent> findVisibilities(final Orbit orbit, final TopocentricFrame topo,
+                                               final double maxCheck, final boolean adaptiveMaxCheck) {
+        final Propagator propagator = new EcksteinHechlerPropagator(orbit, ae, mu, c20, c30, c40, c50, c60);
+        final EventsLogger logger = new EventsLogger();
+        propagator.addEventDetector(logger.monitorDetector(new ElevationDetector(maxCheck, 1.0e-6, topo).
+                                                           withConstantElevation(FastMath.toRadians(5.0)).
+                                                           withAdaptiveMaxCheck(adaptiveMaxCheck).
+                                                           withHandler(new ContinueOnEvent<ElevationDetector>())));
+        propagator.propagate(orbit.getDate().shiftedBy(Constants.JULIAN_DAY));
+        return logger.getLoggedEvents();
+    }
+
     @Before
     public void setUp() {
         Utils.setDataRoot("regular-data");
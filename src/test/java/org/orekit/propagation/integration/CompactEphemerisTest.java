@@ -0,0 +1,197 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.integration;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.ode.nonstiff.AdaptiveStepsizeIntegrator;
+import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.orekit.Utils;
+import org.orekit.attitudes.InertialProvider;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.EquinoctialOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.EphemerisGenerator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.numerical.NumericalPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.Constants;
+import org.orekit.utils.PVCoordinates;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+public class CompactEphemerisTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testSameAsIntegratedEphemeris() {
+
+        final AbsoluteDate finalDate = initialOrbit.getDate().shiftedBy(Constants.JULIAN_DAY);
+        final EphemerisGenerator regular = numericalPropagator.getEphemerisGenerator();
+        final EphemerisGenerator compact = numericalPropagator.getCompactEphemerisGenerator(12);
+        numericalPropagator.setInitialState(new SpacecraftState(initialOrbit, 1000.0));
+        numericalPropagator.propagate(finalDate);
+
+        final BoundedPropagator expected = regular.getGeneratedEphemeris();
+        final CompactEphemeris  actual   = (CompactEphemeris) compact.getGeneratedEphemeris();
+        Assert.assertEquals(12, actual.getDegree());
+        Assert.assertTrue(actual.getNumberOfSteps() > 100);
+        Assert.assertEquals(0.0, actual.getMinDate().durationFrom(expected.getMinDate()), 1.0e-10);
+        Assert.assertEquals(0.0, actual.getMaxDate().durationFrom(expected.getMaxDate()), 1.0e-10);
+        Assert.assertSame(numericalPropagator.getFrame(), actual.getFrame());
+        Assert.assertEquals(1000.0, actual.getInitialState().getMass(), 1.0e-10);
+
+        for (double dt = 0; dt <= Constants.JULIAN_DAY; dt += 17.0) {
+            checkSame(expected, actual, initialOrbit.getDate().shiftedBy(dt), 1.0e-5, 1.0e-8);
+        }
+
+        try {
+            actual.propagate(actual.getMinDate().shiftedBy(-10.0));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE_BEFORE, oe.getSpecifier());
+        }
+        try {
+            actual.propagate(actual.getMaxDate().shiftedBy(10.0));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE_AFTER, oe.getSpecifier());
+        }
+
+    }
+
+    @Test
+    public void testBackward() {
+
+        final AbsoluteDate finalDate = initialOrbit.getDate().shiftedBy(-Constants.JULIAN_DAY);
+        final EphemerisGenerator regular = numericalPropagator.getEphemerisGenerator();
+        final EphemerisGenerator compact = numericalPropagator.getCompactEphemerisGenerator(12);
+        numericalPropagator.setInitialState(new SpacecraftState(initialOrbit));
+        numericalPropagator.propagate(finalDate);
+
+        final BoundedPropagator expected = regular.getGeneratedEphemeris();
+        final BoundedPropagator actual   = compact.getGeneratedEphemeris();
+        Assert.assertEquals(0.0, actual.getMinDate().durationFrom(finalDate), 1.0e-10);
+        Assert.assertEquals(0.0, actual.getMaxDate().durationFrom(initialOrbit.getDate()), 1.0e-10);
+
+        for (double dt = 0; dt <= Constants.JULIAN_DAY; dt += 17.0) {
+            checkSame(expected, actual, finalDate.shiftedBy(dt), 1.0e-5, 1.0e-8);
+        }
+
+    }
+
+    @Test
+    public void testWriteLoad() throws IOException {
+
+        final EphemerisGenerator compact = numericalPropagator.getCompactEphemerisGenerator(10);
+        numericalPropagator.setInitialState(new SpacecraftState(initialOrbit));
+        numericalPropagator.propagate(initialOrbit.getDate().shiftedBy(Constants.JULIAN_DAY));
+        final CompactEphemeris written = (CompactEphemeris) compact.getGeneratedEphemeris();
+
+        final Path path = tempFolder.newFile("ephemeris.bin").toPath();
+        written.write(path);
+        final CompactEphemeris loaded = CompactEphemeris.load(path, FramesFactory.getEME2000(),
+                                                              initialOrbit.getMu(), new InertialProvider(FramesFactory.getEME2000()));
+        Assert.assertEquals(written.getDegree(),        loaded.getDegree());
+        Assert.assertEquals(written.getNumberOfSteps(), loaded.getNumberOfSteps());
+        Assert.assertEquals(0.0, loaded.getMinDate().durationFrom(written.getMinDate()), 0.0);
+        Assert.assertEquals(0.0, loaded.getMaxDate().durationFrom(written.getMaxDate()), 0.0);
+
+        for (double dt = 0; dt <= Constants.JULIAN_DAY; dt += 97.0) {
+            checkSame(written, loaded, initialOrbit.getDate().shiftedBy(dt), 0.0, 0.0);
+        }
+
+    }
+
+    @Test
+    public void testUnsupportedFile() throws IOException {
+        final Path path = tempFolder.newFile("not-an-ephemeris.bin").toPath();
+        Files.write(path, "this is not a compact ephemeris file at all".getBytes(StandardCharsets.UTF_8));
+        try {
+            CompactEphemeris.load(path, FramesFactory.getEME2000(), initialOrbit.getMu(), null);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNSUPPORTED_FILE_FORMAT, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testDegreeTooSmall() {
+        try {
+            numericalPropagator.getCompactEphemerisGenerator(1);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+    }
+
+    private void checkSame(final BoundedPropagator expected, final BoundedPropagator actual,
+                           final AbsoluteDate date, final double positionTolerance, final double velocityTolerance) {
+        final TimeStampedPVCoordinates pvE = expected.getPVCoordinates(date, FramesFactory.getEME2000());
+        final TimeStampedPVCoordinates pvA = actual.getPVCoordinates(date, FramesFactory.getEME2000());
+        Assert.assertEquals(0.0, Vector3D.distance(pvE.getPosition(), pvA.getPosition()), positionTolerance);
+        Assert.assertEquals(0.0, Vector3D.distance(pvE.getVelocity(), pvA.getVelocity()), velocityTolerance);
+    }
+
+    @Before
+    public void setUp() {
+
+        Utils.setDataRoot("regular-data");
+
+        // Definition of initial conditions with position and velocity
+        Vector3D position = new Vector3D(7.0e6, 1.0e6, 4.0e6);
+        Vector3D velocity = new Vector3D(-500.0, 8000.0, 1000.0);
+        double mu = 3.9860047e14;
+
+        AbsoluteDate initDate = AbsoluteDate.J2000_EPOCH.shiftedBy(584.);
+        initialOrbit =
+            new EquinoctialOrbit(new PVCoordinates(position, velocity),
+                                 FramesFactory.getEME2000(), initDate, mu);
+
+        // Numerical propagator definition
+        double[] absTolerance = {
+            0.0001, 1.0e-11, 1.0e-11, 1.0e-8, 1.0e-8, 1.0e-8, 0.001
+        };
+        double[] relTolerance = {
+            1.0e-8, 1.0e-8, 1.0e-8, 1.0e-9, 1.0e-9, 1.0e-9, 1.0e-7
+        };
+        AdaptiveStepsizeIntegrator integrator =
+            new DormandPrince853Integrator(0.001, 500, absTolerance, relTolerance);
+        integrator.setInitialStepSize(100);
+        numericalPropagator = new NumericalPropagator(integrator);
+
+    }
+
+    private Orbit initialOrbit;
+    private NumericalPropagator numericalPropagator;
+
+}
@@ -80,6 +80,7 @@ import org.orekit.propagation.AdditionalStateProvider;
 import org.orekit.propagation.BoundedPropagator;
 import org.orekit.propagation.EphemerisGenerator;
 import org.orekit.propagation.FieldSpacecraftState;
+import org.orekit.propagation.SharedEventsStatesCounter;
 import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.events.AbstractDetector;
 import org.orekit.propagation.events.ApsideDetector;
@@ -1523,6 +1524,27 @@ public class NumericalPropagatorTest {
 
     }
 
+    @Test
+    public void testSharedEventsStates() {
+        // detectors sharing the same sampling must not convert states several times
+        final int single   = countConversionsForEvents(1);
+        final int multiple = countConversionsForEvents(10);
+        Assert.assertTrue(multiple < single + 10);
+    }
+
+    private int countConversionsForEvents(final int nbDetectors) {
+        final Orbit orbit = initialState.getOrbit();
+        double[][] tolerance = NumericalPropagator.tolerances(0.001, orbit, OrbitType.EQUINOCTIAL);
+        AdaptiveStepsizeIntegrator integrator =
+                new DormandPrince853Integrator(0.001, 200, tolerance[0], tolerance[1]);
+        integrator.setInitialStepSize(60);
+        final NumericalPropagator numerical = new NumericalPropagator(integrator);
+        numerical.setInitialState(initialState);
+
+        return SharedEventsStatesCounter.countStates(numerical, nbDetectors,
+                                                     initDate.shiftedBy(Constants.JULIAN_DAY));
+    }
+
     /** Record the dates treated by the handler.
      *  If they are out of an interval defined by a start and final date.
      */
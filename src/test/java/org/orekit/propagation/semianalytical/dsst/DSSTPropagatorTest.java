@@ -24,6 +24,8 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Stream;
 
 import org.hamcrest.MatcherAssert;
@@ -708,6 +710,64 @@ public class DSSTPropagatorTest {
         Assert.assertEquals(0.0, maxError, 1.0e-10);
     }
 
+    @Test
+    public void testParallelShortPeriodTerms() {
+        Utils.setDataRoot("regular-data:potential/icgem-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new ICGEMFormatReader("^eigen-6s-truncated$", false));
+        UnnormalizedSphericalHarmonicsProvider nshp = GravityFieldFactory.getUnnormalizedProvider(8, 8);
+        Orbit orbit = new KeplerianOrbit(13378000, 0.05, 0, 0, FastMath.PI, 0, PositionAngle.MEAN,
+                                         FramesFactory.getTOD(false),
+                                         new AbsoluteDate(2003, 5, 6, TimeScalesFactory.getUTC()),
+                                         nshp.getMu());
+        double period = orbit.getKeplerianPeriod();
+        double[][] tolerance = DSSTPropagator.tolerances(1.0, orbit);
+        AdaptiveStepsizeIntegrator integrator =
+                new DormandPrince853Integrator(period / 100, period * 100, tolerance[0], tolerance[1]);
+        integrator.setInitialStepSize(10 * period);
+        DSSTPropagator propagator = new DSSTPropagator(integrator, PropagationType.OSCULATING);
+        OneAxisEllipsoid earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                      Constants.WGS84_EARTH_FLATTENING,
+                                                      FramesFactory.getGTOD(false));
+        propagator.addForceModel(new DSSTZonal(nshp, 8, 7, 17));
+        propagator.addForceModel(new DSSTTesseral(earth.getBodyFrame(),
+                                                  Constants.WGS84_EARTH_ANGULAR_VELOCITY,
+                                                  nshp, 8, 8, 4, 12, 8, 8, 4));
+        propagator.addForceModel(new DSSTThirdBody(CelestialBodyFactory.getSun(), nshp.getMu()));
+        propagator.addForceModel(new DSSTThirdBody(CelestialBodyFactory.getMoon(), nshp.getMu()));
+        Assert.assertNull(propagator.getShortPeriodTermsExecutorService());
+
+        // sequential reference
+        final AbsoluteDate finalDate = orbit.getDate().shiftedBy(10 * Constants.JULIAN_DAY);
+        propagator.setInitialState(new SpacecraftState(orbit, 45.0), PropagationType.MEAN);
+        final List<SpacecraftState> sequential = new ArrayList<SpacecraftState>();
+        propagator.setStepHandler(3600, currentState -> sequential.add(currentState));
+        propagator.propagate(finalDate);
+
+        // parallel computation of short periodic terms
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            propagator.setShortPeriodTermsExecutorService(executor);
+            Assert.assertSame(executor, propagator.getShortPeriodTermsExecutorService());
+            propagator.setInitialState(new SpacecraftState(orbit, 45.0), PropagationType.MEAN);
+            final List<SpacecraftState> parallel = new ArrayList<SpacecraftState>();
+            propagator.setStepHandler(3600, currentState -> parallel.add(currentState));
+            propagator.propagate(finalDate);
+
+            // results must be identical, not only close
+            Assert.assertEquals(sequential.size(), parallel.size());
+            for (int i = 0; i < sequential.size(); ++i) {
+                final PVCoordinates pvS = sequential.get(i).getPVCoordinates();
+                final PVCoordinates pvP = parallel.get(i).getPVCoordinates();
+                Assert.assertEquals(0.0, sequential.get(i).getDate().durationFrom(parallel.get(i).getDate()), 0.0);
+                Assert.assertEquals(0.0, Vector3D.distance(pvS.getPosition(), pvP.getPosition()), 0.0);
+                Assert.assertEquals(0.0, Vector3D.distance(pvS.getVelocity(), pvP.getVelocity()), 0.0);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
     @Test
     public void testGetInitialOsculatingState() throws IllegalArgumentException, OrekitException {
         final SpacecraftState initialState = getGEOState();
@@ -0,0 +1,85 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.semianalytical.dsst.utilities.hansen;
+
+import org.hipparchus.util.Decimal64;
+import org.hipparchus.util.Decimal64Field;
+import org.hipparchus.util.FastMath;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.utils.OrekitConfiguration;
+
+public class HansenPolynomialsCacheTest {
+
+    @Test
+    public void testSharedPolynomials() {
+
+        final HansenZonalLinear reference = new HansenZonalLinear(20, 2);
+        Assert.assertEquals(1, HansenPolynomialsCache.getSize());
+
+        // same indices share the cache entry, even for field instances
+        final HansenZonalLinear cached = new HansenZonalLinear(20, 2);
+        final FieldHansenZonalLinear<Decimal64> field = new FieldHansenZonalLinear<>(20, 2, Decimal64Field.getInstance());
+        Assert.assertEquals(1, HansenPolynomialsCache.getSize());
+
+        final double chi = 1.0 / FastMath.sqrt(1.0 - 0.3 * 0.3);
+        reference.computeInitValues(chi);
+        cached.computeInitValues(chi);
+        field.computeInitValues(new Decimal64(chi));
+        for (int n = 3; n <= 20; ++n) {
+            Assert.assertEquals(reference.getValue(-n - 1, chi),      cached.getValue(-n - 1, chi),      0.0);
+            Assert.assertEquals(reference.getDerivative(-n - 1, chi), cached.getDerivative(-n - 1, chi), 0.0);
+            Assert.assertEquals(reference.getValue(-n - 1, chi),
+                                field.getValue(-n - 1, new Decimal64(chi)).getReal(),
+                                1.0e-15 * FastMath.abs(reference.getValue(-n - 1, chi)));
+        }
+
+        // other indices or kinds use other entries
+        new HansenZonalLinear(20, 3);
+        new HansenThirdBodyLinear(20, 2);
+        new HansenTesseralLinear(20, 2, 1, 4, 10);
+        Assert.assertEquals(4, HansenPolynomialsCache.getSize());
+
+    }
+
+    @Test
+    public void testEviction() {
+        OrekitConfiguration.setHansenPolynomialsCacheSize(2);
+        Assert.assertEquals(2, OrekitConfiguration.getHansenPolynomialsCacheSize());
+        for (int s = 0; s < 5; ++s) {
+            new HansenZonalLinear(20, s);
+        }
+        Assert.assertEquals(2, HansenPolynomialsCache.getSize());
+    }
+
+    @Before
+    public void setUp() {
+        size = OrekitConfiguration.getHansenPolynomialsCacheSize();
+        HansenPolynomialsCache.clear();
+    }
+
+    @After
+    public void tearDown() {
+        OrekitConfiguration.setHansenPolynomialsCacheSize(size);
+        HansenPolynomialsCache.clear();
+    }
+
+    private int size;
+
+}
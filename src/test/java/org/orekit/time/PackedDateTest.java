@@ -0,0 +1,199 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.time;
+
+import java.lang.management.ManagementFactory;
+
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+import org.orekit.utils.TimeSpanMap;
+
+public class PackedDateTest {
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+
+    @Test
+    public void testReferenceEpoch() {
+        final AbsoluteDate epoch = new AbsoluteDate(2000, 1, 1, 12, 0, 0.0, TimeScalesFactory.getTAI());
+        Assert.assertEquals(0L, PackedDate.pack(epoch));
+        Assert.assertEquals(0.0, PackedDate.unpack(0L).durationFrom(epoch), 0.0);
+        Assert.assertEquals(-32184000000L, PackedDate.pack(AbsoluteDate.J2000_EPOCH));
+    }
+
+    @Test
+    public void testRoundTrip() {
+        final RandomGenerator random = new Well19937a(0x8b2e1f4a7c3d5e69L);
+        for (int i = 0; i < 10000; ++i) {
+            final AbsoluteDate date   = AbsoluteDate.J2000_EPOCH.shiftedBy((2 * random.nextDouble() - 1) * 250 * Constants.JULIAN_YEAR);
+            final long         packed = PackedDate.pack(date);
+            Assert.assertEquals(0.0, PackedDate.unpack(packed).durationFrom(date), 0.5e-9);
+            Assert.assertEquals(packed, PackedDate.pack(PackedDate.unpack(packed)));
+        }
+    }
+
+    @Test
+    public void testInfinity() {
+        Assert.assertEquals(PackedDate.PAST_INFINITY,   PackedDate.pack(AbsoluteDate.PAST_INFINITY));
+        Assert.assertEquals(PackedDate.FUTURE_INFINITY, PackedDate.pack(AbsoluteDate.FUTURE_INFINITY));
+        Assert.assertSame(AbsoluteDate.PAST_INFINITY,   PackedDate.unpack(PackedDate.PAST_INFINITY));
+        Assert.assertSame(AbsoluteDate.FUTURE_INFINITY, PackedDate.unpack(PackedDate.FUTURE_INFINITY));
+        Assert.assertFalse(PackedDate.isFinite(PackedDate.PAST_INFINITY));
+        Assert.assertFalse(PackedDate.isFinite(PackedDate.FUTURE_INFINITY));
+        Assert.assertTrue(PackedDate.isFinite(0L));
+        Assert.assertEquals(PackedDate.FUTURE_INFINITY, PackedDate.shiftedBy(0L, Double.POSITIVE_INFINITY));
+        Assert.assertEquals(PackedDate.PAST_INFINITY, PackedDate.shiftedBy(PackedDate.PAST_INFINITY, 1.0e20));
+        Assert.assertEquals(Double.POSITIVE_INFINITY, PackedDate.durationFrom(PackedDate.FUTURE_INFINITY, 0L), 0.0);
+        Assert.assertEquals(Double.NEGATIVE_INFINITY, PackedDate.durationFrom(0L, PackedDate.FUTURE_INFINITY), 0.0);
+        Assert.assertTrue(Double.isNaN(PackedDate.durationFrom(PackedDate.FUTURE_INFINITY, PackedDate.FUTURE_INFINITY)));
+        Assert.assertEquals(Double.POSITIVE_INFINITY, PackedDate.durationFrom(0L, AbsoluteDate.PAST_INFINITY), 0.0);
+        Assert.assertEquals(0,  PackedDate.compare(PackedDate.PAST_INFINITY, AbsoluteDate.PAST_INFINITY));
+        Assert.assertEquals(-1, PackedDate.compare(PackedDate.PAST_INFINITY, AbsoluteDate.J2000_EPOCH));
+        Assert.assertEquals(1,  PackedDate.compare(PackedDate.FUTURE_INFINITY, AbsoluteDate.J2000_EPOCH));
+    }
+
+    @Test
+    public void testOutOfRange() {
+        try {
+            PackedDate.pack(new AbsoluteDate(1600, 1, 1, TimeScalesFactory.getTAI()));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            // expected
+        }
+        try {
+            PackedDate.shiftedBy(0L, 300 * Constants.JULIAN_YEAR);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            // expected
+        }
+        try {
+            PackedDate.shiftedBy(PackedDate.pack(new AbsoluteDate(2280, 1, 1, TimeScalesFactory.getTAI())),
+                                 20 * Constants.JULIAN_YEAR);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            // expected
+        }
+        // comparisons with dates outside of packed range are allowed
+        Assert.assertEquals(1, PackedDate.compare(0L, new AbsoluteDate(1600, 1, 1, TimeScalesFactory.getTAI())));
+    }
+
+    @Test
+    public void testArithmetic() {
+        final RandomGenerator random = new Well19937a(0x5a1c3e7d9b2f4068L);
+        for (int i = 0; i < 10000; ++i) {
+            final AbsoluteDate d1 = AbsoluteDate.J2000_EPOCH.shiftedBy((2 * random.nextDouble() - 1) * 250 * Constants.JULIAN_YEAR);
+            final double       dt = (2 * random.nextDouble() - 1) * 10 * Constants.JULIAN_YEAR;
+            final AbsoluteDate d2 = d1.shiftedBy(dt);
+            final long         p1 = PackedDate.pack(d1);
+            final long         p2 = PackedDate.shiftedBy(p1, dt);
+            Assert.assertEquals(0.0, PackedDate.unpack(p2).durationFrom(d2), 2.0e-9);
+            Assert.assertEquals(d2.durationFrom(d1), PackedDate.durationFrom(p2, p1), 2.0e-9);
+            Assert.assertEquals(d2.durationFrom(d1), PackedDate.durationFrom(p2, d1), 2.0e-9);
+            Assert.assertEquals(d2.compareTo(d1), PackedDate.compare(p2, d1));
+        }
+        // largest possible duration, no overflow
+        final AbsoluteDate earliest = new AbsoluteDate(1710, 1, 1, TimeScalesFactory.getTAI());
+        final AbsoluteDate latest   = new AbsoluteDate(2290, 1, 1, TimeScalesFactory.getTAI());
+        final long early = PackedDate.pack(earliest);
+        final long late  = PackedDate.pack(latest);
+        Assert.assertEquals(latest.durationFrom(earliest), PackedDate.durationFrom(late, early), 1.0e-15);
+        Assert.assertEquals(earliest.durationFrom(latest), PackedDate.durationFrom(early, late), 1.0e-15);
+    }
+
+    @Test
+    public void testTimeScales() {
+        final TimeScales timeScales = TimeScalesFactory.getTimeScales();
+        final TimeScale[] scales = new TimeScale[] {
+            timeScales.getTAI(), timeScales.getTT(), timeScales.getUTC(), timeScales.getGPS(),
+            timeScales.getGST(), timeScales.getGLONASS(), timeScales.getQZSS(), timeScales.getBDT(),
+            timeScales.getIRNSS(), timeScales.getTCG(), timeScales.getTDB(), timeScales.getTCB(),
+            timeScales.getUT1(IERSConventions.IERS_2010, true)
+        };
+        final RandomGenerator random = new Well19937a(0x3e9f1a2b4c6d8e07L);
+        for (int i = 0; i < 1000; ++i) {
+            final AbsoluteDate date = new AbsoluteDate(1960, 1, 1, timeScales.getTAI()).
+                                      shiftedBy(random.nextDouble() * 60 * Constants.JULIAN_YEAR);
+            final long packed = PackedDate.pack(date);
+            final AbsoluteDate rounded = PackedDate.unpack(packed);
+            for (final TimeScale scale : scales) {
+                Assert.assertEquals(scale.getName(), scale.offsetFromTAI(rounded), scale.offsetFromTAI(packed), 1.0e-15);
+            }
+        }
+        // dates around leap seconds
+        final UTCScale utc = timeScales.getUTC();
+        for (final UTCTAIOffset offset : utc.getUTCTAIOffsets()) {
+            for (double dt = -2.0; dt <= 2.0; dt += 0.25) {
+                // packed dates comparisons are performed at nanosecond resolution,
+                // so they are consistent with regular dates even at leaps
+                final AbsoluteDate date = offset.getDate().shiftedBy(dt);
+                Assert.assertEquals(utc.offsetFromTAI(date), utc.offsetFromTAI(PackedDate.pack(date)), 1.0e-15);
+            }
+        }
+    }
+
+    @Test
+    public void testNoAllocation() {
+
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(sunBean.isThreadAllocatedMemorySupported());
+        sunBean.setThreadAllocatedMemoryEnabled(true);
+
+        final TimeScale utc   = TimeScalesFactory.getUTC();
+        final long      start = PackedDate.pack(new AbsoluteDate(2003, 5, 1, utc));
+        final TimeSpanMap<Integer> map = new TimeSpanMap<>(0);
+        for (int k = 1; k < 100; ++k) {
+            map.addValidAfter(k, PackedDate.unpack(PackedDate.shiftedBy(start, k * 86400.0)));
+        }
+        double sum = 0;
+
+        // warm up, so code is compiled
+        // (TDB and similar scales are not checked here as the sine functions
+        //  may allocate small objects when code coverage instrumentation prevents
+        //  escape analysis)
+        for (int i = 0; i < 100000; ++i) {
+            final long date = PackedDate.shiftedBy(start, i * 60.0);
+            sum += utc.offsetFromTAI(date) + PackedDate.durationFrom(date, start) + map.get(date);
+        }
+
+        final long threadId = Thread.currentThread().getId();
+        final long before   = sunBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 1000; ++i) {
+            final long date = PackedDate.shiftedBy(start, i * 60.0);
+            sum += utc.offsetFromTAI(date) + PackedDate.durationFrom(date, start) + map.get(date);
+        }
+        final long after    = sunBean.getThreadAllocatedBytes(threadId);
+
+        // allow for a few bytes allocated by the measurement itself,
+        // which is much less than one date per call (about 32 bytes each)
+        Assert.assertTrue("allocated " + (after - before) + " bytes", after - before < 2000);
+        Assert.assertFalse(Double.isNaN(sum));
+
+    }
+
+}
@@ -0,0 +1,608 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils;
+
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well1024a;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.TimeStampedCacheException;
+import org.orekit.time.AbsoluteDate;
+
+
+public abstract class AbstractTimeStampedCacheTest<C extends TimeStampedCache<AbsoluteDate>> {
+
+    protected abstract C createCache(int neighborsSize, int maxSlots, double maxSpan, double newSlotInterval,
+                                     TimeStampedGenerator<AbsoluteDate> generator);
+
+    protected abstract TimeStampedGenerator<AbsoluteDate> getGenerator(C cache);
+
+    protected abstract int getMaxSlots(C cache);
+
+    protected abstract double getMaxSpan(C cache);
+
+    protected abstract double getNewSlotQuantumGap(C cache);
+
+    protected abstract int getGetNeighborsCalls(C cache);
+
+    protected abstract int getGenerateCalls(C cache);
+
+    protected abstract int getSlotsEvictions(C cache);
+
+    protected abstract int getSlots(C cache);
+
+    protected abstract int getEntries(C cache);
+
+    protected abstract AbsoluteDate getEarliest(C cache);
+
+    protected abstract AbsoluteDate getLatest(C cache);
+
+    @Test
+    public void testSingleCall() throws TimeStampedCacheException {
+        C cache = createCache(10, 3600.0, 13);
+        List<AbsoluteDate> list = new ArrayList<AbsoluteDate>();
+        list.add(AbsoluteDate.GALILEO_EPOCH);
+        Assert.assertEquals(1, checkDatesSingleThread(list, cache));
+        Assert.assertEquals(1, getGetNeighborsCalls(cache));
+        Assert.assertEquals(4, getGenerateCalls(cache));
+        Assert.assertEquals(0, getSlotsEvictions(cache));
+        Assert.assertEquals(10, getMaxSlots(cache));
+        Assert.assertEquals(Constants.JULIAN_DAY, getNewSlotQuantumGap(cache), 1.0e-10);
+        Assert.assertEquals(Constants.JULIAN_YEAR, getMaxSpan(cache), 1.0e-10);
+    }
+
+    @Test
+    public void testPastInfinityRange() throws TimeStampedCacheException {
+        C cache =
+                createCache(2, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY,
+                            new Generator(AbsoluteDate.PAST_INFINITY,
+                                          AbsoluteDate.J2000_EPOCH,
+                                          10.0));
+        List<AbsoluteDate> list = new ArrayList<AbsoluteDate>();
+        list.add(AbsoluteDate.GALILEO_EPOCH);
+        list.add(AbsoluteDate.MODIFIED_JULIAN_EPOCH);
+        list.add(AbsoluteDate.JULIAN_EPOCH);
+        Assert.assertEquals(3, checkDatesSingleThread(list, cache));
+        Assert.assertEquals(3, getGetNeighborsCalls(cache));
+        try {
+            cache.getNeighbors(AbsoluteDate.J2000_EPOCH.shiftedBy(100.0));
+            Assert.fail("expected TimeStampedCacheException");
+        } catch (TimeStampedCacheException tce) {
+            // expected behavior
+        } catch (Exception e) {
+            Assert.fail("wrong exception caught");
+        }
+    }
+
+    @Test
+    public void testFutureInfinityRange() throws TimeStampedCacheException {
+        C cache =
+                createCache(2, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY,
+                            new Generator(AbsoluteDate.MODIFIED_JULIAN_EPOCH,
+                                          AbsoluteDate.FUTURE_INFINITY, 10.0));
+        List<AbsoluteDate> list = new ArrayList<AbsoluteDate>();
+        list.add(AbsoluteDate.J2000_EPOCH);
+        list.add(AbsoluteDate.GALILEO_EPOCH);
+        Assert.assertEquals(2, checkDatesSingleThread(list, cache));
+        Assert.assertEquals(2, getGetNeighborsCalls(cache));
+        try {
+            cache.getNeighbors(AbsoluteDate.JULIAN_EPOCH);
+            Assert.fail("expected TimeStampedCacheException");
+        } catch (TimeStampedCacheException tce) {
+            // expected behavior
+        } catch (Exception e) {
+            Assert.fail("wrong exception caught");
+        }
+    }
+
+    @Test
+    public void testInfinityRange() throws TimeStampedCacheException {
+        C cache =
+                createCache(2, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY,
+                            new Generator(AbsoluteDate.PAST_INFINITY,
+                                          AbsoluteDate.FUTURE_INFINITY,
+                                          10.0));
+        List<AbsoluteDate> list = new ArrayList<AbsoluteDate>();
+        list.add(AbsoluteDate.J2000_EPOCH.shiftedBy(+4.6e12));
+        list.add(AbsoluteDate.J2000_EPOCH.shiftedBy(-4.6e12));
+        list.add(AbsoluteDate.JULIAN_EPOCH);
+        list.add(AbsoluteDate.J2000_EPOCH);
+        list.add(AbsoluteDate.GALILEO_EPOCH);
+        Assert.assertEquals(5, checkDatesSingleThread(list, cache));
+        Assert.assertEquals(5, getGetNeighborsCalls(cache));
+    }
+
+    @Test
+    public void testRegularCalls() throws TimeStampedCacheException {
+        C cache = createCache(2, 3600, 13);
+        Assert.assertEquals(2000, testMultipleSingleThread(cache, new SequentialMode(), 2));
+        Assert.assertEquals(2000, getGetNeighborsCalls(cache));
+        Assert.assertEquals(56, getGenerateCalls(cache));
+        Assert.assertEquals(0, getSlotsEvictions(cache));
+    }
+
+    @Test
+    public void testAlternateCallsGoodConfiguration() throws TimeStampedCacheException {
+        C cache = createCache(2, 3600, 13);
+        Assert.assertEquals(2000, testMultipleSingleThread(cache, new AlternateMode(), 2));
+        Assert.assertEquals(2000, getGetNeighborsCalls(cache));
+        Assert.assertEquals(56, getGenerateCalls(cache));
+        Assert.assertEquals(0, getSlotsEvictions(cache));
+    }
+
+    @Test
+    public void testAlternateCallsBadConfiguration() throws TimeStampedCacheException {
+        C cache = createCache(1, 3600, 13);
+        Assert.assertEquals(2000, testMultipleSingleThread(cache, new AlternateMode(), 2));
+        Assert.assertEquals(2000, getGetNeighborsCalls(cache));
+        Assert.assertEquals(8000, getGenerateCalls(cache));
+        Assert.assertEquals(1999, getSlotsEvictions(cache));
+    }
+
+    @Test
+    public void testRandomCallsGoodConfiguration() throws TimeStampedCacheException {
+        C cache = createCache(30, 3600, 13);
+        Assert.assertEquals(5000, testMultipleSingleThread(cache, new RandomMode(64394632125212l), 5));
+        Assert.assertEquals(5000, getGetNeighborsCalls(cache));
+        Assert.assertTrue(getGenerateCalls(cache) < 250);
+        Assert.assertEquals(0, getSlotsEvictions(cache));
+    }
+
+    @Test
+    public void testRandomCallsBadConfiguration() throws TimeStampedCacheException {
+        C cache = createCache(3, 3600, 13);
+        Assert.assertEquals(5000, testMultipleSingleThread(cache, new RandomMode(64394632125212l), 5));
+        Assert.assertEquals(5000, getGetNeighborsCalls(cache));
+        Assert.assertTrue(getGenerateCalls(cache)  > 400);
+        Assert.assertTrue(getSlotsEvictions(cache) > 300);
+    }
+
+    @Test
+    public void testMultithreadedGoodConfiguration() throws TimeStampedCacheException {
+        C cache = createCache(50, 3600, 13);
+        int n = testMultipleMultiThread(cache, new AlternateMode(), 50, 30);
+        Assert.assertEquals(n, getGetNeighborsCalls(cache));
+        Assert.assertTrue("this test may fail randomly due to multi-threading non-determinism" +
+                          " (n = " + n + ", calls = " + getGenerateCalls(cache) +
+                          ", ratio = " + (n / getGenerateCalls(cache)) + ")",
+                          getGenerateCalls(cache) < n / 20);
+        Assert.assertTrue("this test may fail randomly due to multi-threading non-determinism" +
+                          " (n = " + n + ", evictions = " + getSlotsEvictions(cache) +
+                          (getSlotsEvictions(cache) == 0 ? "" : (", ratio = " + (n / getSlotsEvictions(cache)))) + ")",
+                          getSlotsEvictions(cache) < n / 1000);
+    }
+
+    @Test
+    public void testMultithreadedBadConfiguration() throws TimeStampedCacheException {
+        C cache = createCache(3, 3600, 13);
+        int n = testMultipleMultiThread(cache, new AlternateMode(), 50, 100);
+        Assert.assertEquals(n, getGetNeighborsCalls(cache));
+        Assert.assertTrue("this test may fail randomly due to multi-threading non-determinism" +
+                          " (n = " + n + ", calls = " + getGenerateCalls(cache) +
+                          ", ratio = " + (n / getGenerateCalls(cache)) + ")",
+                          getGenerateCalls(cache) > n / 15);
+        Assert.assertTrue("this test may fail randomly due to multi-threading non-determinism" +
+                          " (n = " + n + ", evictions = " + getSlotsEvictions(cache) +
+                          ", ratio = " + (n / getSlotsEvictions(cache)) + ")",
+                          getSlotsEvictions(cache) > n / 60);
+    }
+
+    @Test
+    public void testSmallShift() throws TimeStampedCacheException {
+        double hour = 3600;
+        C cache = createCache(10, hour, 13);
+        Assert.assertEquals(0, getSlots(cache));
+        Assert.assertEquals(0, getEntries(cache));
+        final AbsoluteDate start = AbsoluteDate.GALILEO_EPOCH;
+        cache.getNeighbors(start);
+        Assert.assertEquals(1, getGetNeighborsCalls(cache));
+        Assert.assertEquals(1, getSlots(cache));
+        Assert.assertEquals(18, getEntries(cache));
+        Assert.assertEquals(4, getGenerateCalls(cache));
+        Assert.assertEquals(-11 * hour, getEarliest(cache).durationFrom(start), 1.0e-10);
+        Assert.assertEquals( +6 * hour, getLatest(cache).durationFrom(start), 1.0e-10);
+        cache.getNeighbors(start.shiftedBy(-3 * 3600));
+        Assert.assertEquals(2, getGetNeighborsCalls(cache));
+        Assert.assertEquals(1, getSlots(cache));
+        Assert.assertEquals(18, getEntries(cache));
+        Assert.assertEquals(4, getGenerateCalls(cache));
+        Assert.assertEquals(-11 * hour, getEarliest(cache).durationFrom(start), 1.0e-10);
+        Assert.assertEquals( +6 * hour, getLatest(cache).durationFrom(start), 1.0e-10);
+        cache.getNeighbors(start.shiftedBy(7 * 3600));
+        Assert.assertEquals(3, getGetNeighborsCalls(cache));
+        Assert.assertEquals(1, getSlots(cache));
+        Assert.assertEquals(25, getEntries(cache));
+        Assert.assertEquals(5, getGenerateCalls(cache));
+        Assert.assertEquals(-11 * hour, getEarliest(cache).durationFrom(start), 1.0e-10);
+        Assert.assertEquals(+13 * hour, getLatest(cache).durationFrom(start), 1.0e-10);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testNotEnoughSlots() {
+        createCache(0, 3600.0, 13);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testNotEnoughNeighbors() {
+        createCache(10, 3600.0, 1);
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void testNoEarliestEntry() {
+        getEarliest(createCache(10, 3600.0, 3));
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void testNoLatestEntry() {
+        getLatest(createCache(10, 3600.0, 3));
+    }
+
+    @Test(expected=TimeStampedCacheException.class)
+    public void testNoGeneratedData() throws TimeStampedCacheException {
+        TimeStampedGenerator<AbsoluteDate> nullGenerator =
+                new TimeStampedGenerator<AbsoluteDate>() {
+            public List<AbsoluteDate> generate(AbsoluteDate existingDate,
+                                               AbsoluteDate date) {
+                return new ArrayList<AbsoluteDate>();
+            }
+        };
+        createCache(2, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY,
+                    nullGenerator).getNeighbors(AbsoluteDate.J2000_EPOCH);
+    }
+
+    @Test
+    public void testNoDataBefore() throws TimeStampedCacheException {
+        TimeStampedGenerator<AbsoluteDate> nullGenerator =
+                new TimeStampedGenerator<AbsoluteDate>() {
+                    public List<AbsoluteDate> generate(AbsoluteDate existingDate,
+                                                       AbsoluteDate date) {
+                        return Collections.singletonList(AbsoluteDate.J2000_EPOCH);
+                    }
+                };
+        AbsoluteDate central = AbsoluteDate.J2000_EPOCH.shiftedBy(-10);
+        C cache = createCache(2, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY, nullGenerator);
+        try {
+            cache.getNeighbors(central);
+            Assert.fail("Expected Exception");
+        } catch (TimeStampedCacheException e) {
+            MatcherAssert.assertThat(e.getMessage(),
+                    CoreMatchers.containsString(central.toString()));
+        }
+    }
+
+    @Test
+    public void testNoDataAfter() throws TimeStampedCacheException {
+        TimeStampedGenerator<AbsoluteDate> nullGenerator =
+                new TimeStampedGenerator<AbsoluteDate>() {
+            public List<AbsoluteDate> generate(AbsoluteDate existingDate,
+                                               AbsoluteDate date) {
+                return Collections.singletonList(AbsoluteDate.J2000_EPOCH);
+            }
+        };
+        AbsoluteDate central = AbsoluteDate.J2000_EPOCH.shiftedBy(+10);
+        C cache = createCache(2, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY, nullGenerator);
+        try {
+            cache.getNeighbors(central);
+            Assert.fail("Expected Exception");
+        } catch (TimeStampedCacheException e) {
+            MatcherAssert.assertThat(e.getMessage(),
+                    CoreMatchers.containsString(central.toString()));
+        }
+    }
+
+    @Test(expected=TimeStampedCacheException.class)
+    public void testUnsortedEntries() throws TimeStampedCacheException {
+        TimeStampedGenerator<AbsoluteDate> reversedGenerator =
+                new TimeStampedGenerator<AbsoluteDate>() {
+            /** {@inheritDoc} */
+            public List<AbsoluteDate> generate(AbsoluteDate existingDate, AbsoluteDate date) {
+                List<AbsoluteDate> list = new ArrayList<AbsoluteDate>();
+                list.add(date);
+                list.add(date.shiftedBy(-10.0));
+                return list;
+            }
+        };
+
+        createCache(3, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY,
+                    reversedGenerator).getNeighbors(AbsoluteDate.J2000_EPOCH);
+
+    }
+
+    @Test
+    public void testDuplicatingGenerator() throws TimeStampedCacheException {
+
+        final double step = 3600.0;
+
+        TimeStampedGenerator<AbsoluteDate> duplicatingGenerator =
+                new TimeStampedGenerator<AbsoluteDate>() {
+
+            /** {@inheritDoc} */
+            public List<AbsoluteDate> generate(AbsoluteDate existingDate, AbsoluteDate date) {
+                List<AbsoluteDate> list = new ArrayList<AbsoluteDate>();
+                if (existingDate == null) {
+                    list.add(date);
+                } else {
+                    if (date.compareTo(existingDate) > 0) {
+                        AbsoluteDate t = existingDate.shiftedBy(-10 * step);
+                        do {
+                            t = t.shiftedBy(step);
+                            list.add(list.size(), t);
+                        } while (t.compareTo(date) <= 0);
+                    } else {
+                        AbsoluteDate t = existingDate.shiftedBy(10 * step);
+                        do {
+                            t = t.shiftedBy(-step);
+                            list.add(0, t);
+                        } while (t.compareTo(date) >= 0);
+                    }
+                }
+                return list;
+            }
+
+        };
+
+        final C cache =
+                createCache(5, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY,
+                            duplicatingGenerator);
+
+        final AbsoluteDate start = AbsoluteDate.GALILEO_EPOCH;
+        final List<AbsoluteDate> firstSet = cache.getNeighbors(start).collect(Collectors.toList());
+        Assert.assertEquals(5, firstSet.size());
+        Assert.assertEquals(4, getGenerateCalls(cache));
+        Assert.assertEquals(8, getEntries(cache));
+        for (int i = 1; i < firstSet.size(); ++i) {
+            Assert.assertEquals(step, firstSet.get(i).durationFrom(firstSet.get(i - 1)), 1.0e-10);
+        }
+
+        final List<AbsoluteDate> secondSet = cache.getNeighbors(getLatest(cache).shiftedBy(10 * step)).collect(Collectors.toList());
+        Assert.assertEquals(5, secondSet.size());
+        Assert.assertEquals(7, getGenerateCalls(cache));
+        Assert.assertEquals(20, getEntries(cache));
+        for (int i = 1; i < secondSet.size(); ++i) {
+            Assert.assertEquals(step, firstSet.get(i).durationFrom(firstSet.get(i - 1)), 1.0e-10);
+        }
+
+    }
+
+    private int testMultipleSingleThread(C cache, Mode mode, int slots)
+        throws TimeStampedCacheException {
+        double step = ((Generator) getGenerator(cache)).getStep();
+        AbsoluteDate[] base = new AbsoluteDate[slots];
+        base[0] = AbsoluteDate.GALILEO_EPOCH;
+        for (int i = 1; i < base.length; ++i) {
+            base[i] = base[i - 1].shiftedBy(10 * Constants.JULIAN_DAY);
+        }
+        return checkDatesSingleThread(mode.generateDates(base, 25 * step, 0.025 * step), cache);
+    }
+
+    protected int testMultipleMultiThread(C cache, Mode mode,
+                                          int slots, int threadPoolSize)
+        throws TimeStampedCacheException {
+        double step = ((Generator) getGenerator(cache)).getStep();
+        AbsoluteDate[] base = new AbsoluteDate[slots];
+        base[0] = AbsoluteDate.GALILEO_EPOCH;
+        for (int i = 1; i < base.length; ++i) {
+            base[i] = base[i - 1].shiftedBy(10 * Constants.JULIAN_DAY);
+        }
+        return checkDatesMultiThread(mode.generateDates(base, 25 * step, 0.025 * step), cache, threadPoolSize);
+    }
+
+    protected C createCache(int maxSlots, double step, int neighborsSize) {
+        Generator generator =
+                new Generator(AbsoluteDate.J2000_EPOCH.shiftedBy(-Constants.JULIAN_CENTURY),
+                              AbsoluteDate.J2000_EPOCH.shiftedBy(+Constants.JULIAN_CENTURY),
+                              step);
+        return createCache(neighborsSize, maxSlots, Constants.JULIAN_YEAR,
+                           Constants.JULIAN_DAY, generator);
+    }
+
+    private int checkDatesSingleThread(final List<AbsoluteDate> centralDates,
+                                       final C cache)
+        throws TimeStampedCacheException {
+
+        final int n = cache.getNeighborsSize();
+        final double step = ((Generator) getGenerator(cache)).getStep();
+
+        for (final AbsoluteDate central : centralDates) {
+            final List<AbsoluteDate> neighbors = cache.getNeighbors(central).collect(Collectors.toList());
+            Assert.assertEquals(n, neighbors.size());
+            for (final AbsoluteDate date : neighbors) {
+                Assert.assertTrue(date.durationFrom(central) >= -(n + 1) * step);
+                Assert.assertTrue(date.durationFrom(central) <= n * step);
+            }
+        }
+
+        return centralDates.size();
+
+    }
+
+    private int checkDatesMultiThread(final List<AbsoluteDate> centralDates,
+                                      final C cache,
+                                      final int threadPoolSize)
+        throws TimeStampedCacheException {
+
+        final int n = cache.getNeighborsSize();
+        final double step = ((Generator) getGenerator(cache)).getStep();
+        final AtomicReference<AbsoluteDate[]> failedDates = new AtomicReference<AbsoluteDate[]>();
+        final AtomicReference<TimeStampedCacheException> caught = new AtomicReference<TimeStampedCacheException>();
+        ExecutorService executorService = Executors.newFixedThreadPool(threadPoolSize);
+
+        for (final AbsoluteDate central : centralDates) {
+            executorService.execute(new Runnable() {
+                public void run() {
+                    try {
+                        final List<AbsoluteDate> neighbors = cache.getNeighbors(central).collect(Collectors.toList());
+                        Assert.assertEquals(n, neighbors.size());
+                        for (final AbsoluteDate date : neighbors) {
+                            if (date.durationFrom(central) < -(n + 1) * step ||
+                                date.durationFrom(central) > n * step) {
+                                AbsoluteDate[] dates = new AbsoluteDate[n + 1];
+                                dates[0] = central;
+                                System.arraycopy(neighbors, 0, dates, 1, n);
+                                failedDates.set(dates);
+                            }
+                        }
+                    } catch (TimeStampedCacheException tce) {
+                        caught.set(tce);
+                    }
+                }
+            });
+        }
+
+        try {
+            executorService.shutdown();
+            Assert.assertTrue(
+                    "Not enough time for all threads to complete, try increasing the timeout",
+                    executorService.awaitTermination(10, TimeUnit.MINUTES));
+        } catch (InterruptedException ie) {
+            Assert.fail(ie.getLocalizedMessage());
+        }
+
+        if (caught.get() != null) {
+            throw caught.get();
+        }
+
+        if (failedDates.get() != null) {
+            AbsoluteDate[] dates = failedDates.get();
+            StringBuilder builder = new StringBuilder();
+            String eol = System.getProperty("line.separator");
+            builder.append("central = ").append(dates[0]).append(eol);
+            builder.append("step = ").append(step).append(eol);
+            builder.append("neighbors =").append(eol);
+            for (int i = 1; i < dates.length; ++i) {
+                builder.append("    ").append(dates[i]).append(eol);
+            }
+            Assert.fail(builder.toString());
+        }
+
+        return centralDates.size();
+
+    }
+
+    protected static class Generator implements TimeStampedGenerator<AbsoluteDate> {
+
+        private final AbsoluteDate earliest;
+        private final AbsoluteDate latest;
+        private final double step;
+
+        public Generator(final AbsoluteDate earliest, final AbsoluteDate latest, final double step) {
+            this.earliest = earliest;
+            this.latest   = latest;
+            this.step     = step;
+        }
+
+        public double getStep() {
+            return step;
+        }
+
+        public List<AbsoluteDate> generate(AbsoluteDate existingDate, AbsoluteDate date) {
+            List<AbsoluteDate> dates = new ArrayList<AbsoluteDate>();
+            if (existingDate == null) {
+                dates.add(date);
+            } else if (date.compareTo(existingDate) >= 0) {
+                AbsoluteDate previous = existingDate;
+                while (date.compareTo(previous) > 0) {
+                    previous = previous.shiftedBy(step);
+                    if (previous.compareTo(earliest) >= 0 && previous.compareTo(latest) <= 0) {
+                        dates.add(dates.size(), previous);
+                    }
+                }
+            } else {
+                AbsoluteDate previous = existingDate;
+                while (date.compareTo(previous) < 0) {
+                    previous = previous.shiftedBy(-step);
+                    if (previous.compareTo(earliest) >= 0 && previous.compareTo(latest) <= 0) {
+                        dates.add(0, previous);
+                    }
+                }
+            }
+            return dates;
+        }
+
+    }
+
+    protected interface Mode {
+        List<AbsoluteDate> generateDates(AbsoluteDate[] base, double duration, double step);
+    }
+
+    private class SequentialMode implements Mode {
+
+        public List<AbsoluteDate> generateDates(AbsoluteDate[] base, double duration, double step) {
+            List<AbsoluteDate> list = new ArrayList<AbsoluteDate>();
+            for (final AbsoluteDate initial : base) {
+                for (double dt = 0; dt < duration; dt += step) {
+                    list.add(initial.shiftedBy(dt));
+                }
+            }
+            return list;
+        }
+
+    }
+
+    protected class AlternateMode implements Mode {
+
+        public List<AbsoluteDate> generateDates(AbsoluteDate[] base, double duration, double step) {
+            List<AbsoluteDate> list = new ArrayList<AbsoluteDate>();
+            for (double dt = 0; dt < duration; dt += step) {
+                for (final AbsoluteDate initial : base) {
+                    list.add(initial.shiftedBy(dt));
+                }
+            }
+            return list;
+        }
+
+    }
+
+    private class RandomMode implements Mode {
+
+        private RandomGenerator random;
+
+        public RandomMode(long seed) {
+            random = new Well1024a(seed);
+        }
+
+        public List<AbsoluteDate> generateDates(AbsoluteDate[] base, double duration, double step) {
+            List<AbsoluteDate> list = new ArrayList<AbsoluteDate>();
+            for (int i = 0; i < base.length * duration / step; ++i) {
+                int j     = random.nextInt(base.length);
+                double dt = random.nextDouble() * duration;
+                    list.add(base[j].shiftedBy(dt));
+            }
+            return list;
+        }
+
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+}
@@ -0,0 +1,218 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils;
+
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well1024a;
+import org.junit.Assert;
+import org.junit.Test;
+import org.orekit.errors.TimeStampedCacheException;
+import org.orekit.time.AbsoluteDate;
+
+
+public class ConcurrentTimeStampedCacheTest
+    extends AbstractTimeStampedCacheTest<ConcurrentTimeStampedCache<AbsoluteDate>> {
+
+    @Test
+    public void testLockFreeReads() throws TimeStampedCacheException {
+        ConcurrentTimeStampedCache<AbsoluteDate> cache = createCache(10, 3600, 13);
+        final AbsoluteDate start = AbsoluteDate.GALILEO_EPOCH;
+        cache.getNeighbors(start);
+        Assert.assertEquals(1, cache.getLockedCalls());
+        Assert.assertEquals(0, cache.getContentions());
+        for (int i = 0; i < 100; ++i) {
+            // all these dates are already well covered by the slot
+            cache.getNeighbors(start.shiftedBy(-3600.0 + i * 60.0));
+        }
+        Assert.assertEquals(101, cache.getGetNeighborsCalls());
+        Assert.assertEquals(1, cache.getLockedCalls());
+        Assert.assertEquals(4, cache.getGenerateCalls());
+        cache.getNeighbors(start.shiftedBy(7 * 3600));
+        Assert.assertEquals(2, cache.getLockedCalls());
+        Assert.assertEquals(5, cache.getGenerateCalls());
+    }
+
+    @Test
+    public void testMultithreadedLockedCalls() throws TimeStampedCacheException {
+        ConcurrentTimeStampedCache<AbsoluteDate> cache = createCache(50, 3600, 13);
+        int n = testMultipleMultiThread(cache, new AlternateMode(), 50, 30);
+        Assert.assertEquals(n, cache.getGetNeighborsCalls());
+        Assert.assertTrue(cache.getLockedCalls() >= cache.getContentions());
+        Assert.assertTrue("this test may fail randomly due to multi-threading non-determinism" +
+                          " (n = " + n + ", locked calls = " + cache.getLockedCalls() + ")",
+                          cache.getLockedCalls() < n / 10);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() throws TimeStampedCacheException {
+        ConcurrentTimeStampedCache<AbsoluteDate> cache = createCache(3, 3600, 13);
+        final AbsoluteDate a = AbsoluteDate.GALILEO_EPOCH;
+        final AbsoluteDate b = a.shiftedBy(10 * Constants.JULIAN_DAY);
+        final AbsoluteDate c = b.shiftedBy(10 * Constants.JULIAN_DAY);
+        final AbsoluteDate d = c.shiftedBy(10 * Constants.JULIAN_DAY);
+
+        // create three slots, in chronological order
+        cache.getNeighbors(a);
+        cache.getNeighbors(b);
+        cache.getNeighbors(c);
+        Assert.assertEquals(3, cache.getSlots());
+        Assert.assertEquals(0, cache.getSlotsEvictions());
+
+        // access again the oldest created slot, through the lock-free path
+        final int lockedCalls = cache.getLockedCalls();
+        cache.getNeighbors(a.shiftedBy(60.0));
+        Assert.assertEquals(lockedCalls, cache.getLockedCalls());
+
+        // creating a fourth slot must evict the least recently used one, i.e. b
+        cache.getNeighbors(d);
+        Assert.assertEquals(3, cache.getSlots());
+        Assert.assertEquals(1, cache.getSlotsEvictions());
+        final int generateCalls = cache.getGenerateCalls();
+        cache.getNeighbors(a.shiftedBy(120.0));
+        cache.getNeighbors(c.shiftedBy(120.0));
+        cache.getNeighbors(d.shiftedBy(120.0));
+        Assert.assertEquals(generateCalls, cache.getGenerateCalls());
+        Assert.assertEquals(1, cache.getSlotsEvictions());
+
+        // b must be regenerated, evicting now the least recently used a
+        cache.getNeighbors(b);
+        Assert.assertTrue(cache.getGenerateCalls() > generateCalls);
+        Assert.assertEquals(2, cache.getSlotsEvictions());
+        final int regenerateCalls = cache.getGenerateCalls();
+        cache.getNeighbors(c);
+        cache.getNeighbors(d);
+        Assert.assertEquals(regenerateCalls, cache.getGenerateCalls());
+
+    }
+
+    @Test
+    public void testConcurrentReadsDuringGeneration() throws InterruptedException {
+        final ConcurrentTimeStampedCache<AbsoluteDate> cache = createCache(4, 3600, 13);
+        final double step = ((Generator) cache.getGenerator()).getStep();
+        final int    n    = cache.getNeighborsSize();
+        final AbsoluteDate[] base = new AbsoluteDate[6];
+        base[0] = AbsoluteDate.GALILEO_EPOCH;
+        for (int i = 1; i < base.length; ++i) {
+            base[i] = base[i - 1].shiftedBy(10 * Constants.JULIAN_DAY);
+        }
+
+        // readers and generators run concurrently, with more bases than slots
+        // so slots are continuously extended, created and evicted
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final ExecutorService executorService = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; ++t) {
+            final RandomGenerator random = new Well1024a(0x5c1e4a7f9e2d3b10L + t);
+            executorService.execute(() -> {
+                try {
+                    for (int i = 0; i < 2000; ++i) {
+                        final AbsoluteDate central = base[random.nextInt(base.length)].
+                                                     shiftedBy(random.nextDouble() * 48 * step);
+                        final List<AbsoluteDate> neighbors = cache.getNeighbors(central).collect(Collectors.toList());
+                        Assert.assertEquals(n, neighbors.size());
+                        for (int k = 1; k < neighbors.size(); ++k) {
+                            // published slots are consistent snapshots
+                            Assert.assertEquals(step, neighbors.get(k).durationFrom(neighbors.get(k - 1)), 1.0e-6);
+                        }
+                        Assert.assertTrue(central.durationFrom(neighbors.get(0)) >= -step);
+                        Assert.assertTrue(neighbors.get(n - 1).durationFrom(central) >= -step);
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+        }
+        executorService.shutdown();
+        Assert.assertTrue(executorService.awaitTermination(10, TimeUnit.MINUTES));
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        Assert.assertEquals(8 * 2000, cache.getGetNeighborsCalls());
+        Assert.assertTrue(cache.getSlots() <= 4);
+        Assert.assertTrue(cache.getSlotsEvictions() > 0);
+    }
+
+    @Override
+    protected ConcurrentTimeStampedCache<AbsoluteDate> createCache(int neighborsSize, int maxSlots, double maxSpan,
+                                                                 double newSlotInterval,
+                                                                 TimeStampedGenerator<AbsoluteDate> generator) {
+        return new ConcurrentTimeStampedCache<>(neighborsSize, maxSlots, maxSpan, newSlotInterval, generator);
+    }
+
+    @Override
+    protected TimeStampedGenerator<AbsoluteDate> getGenerator(ConcurrentTimeStampedCache<AbsoluteDate> cache) {
+        return cache.getGenerator();
+    }
+
+    @Override
+    protected int getMaxSlots(ConcurrentTimeStampedCache<AbsoluteDate> cache) {
+        return cache.getMaxSlots();
+    }
+
+    @Override
+    protected double getMaxSpan(ConcurrentTimeStampedCache<AbsoluteDate> cache) {
+        return cache.getMaxSpan();
+    }
+
+    @Override
+    protected double getNewSlotQuantumGap(ConcurrentTimeStampedCache<AbsoluteDate> cache) {
+        return cache.getNewSlotQuantumGap();
+    }
+
+    @Override
+    protected int getGetNeighborsCalls(ConcurrentTimeStampedCache<AbsoluteDate> cache) {
+        return cache.getGetNeighborsCalls();
+    }
+
+    @Override
+    protected int getGenerateCalls(ConcurrentTimeStampedCache<AbsoluteDate> cache) {
+        return cache.getGenerateCalls();
+    }
+
+    @Override
+    protected int getSlotsEvictions(ConcurrentTimeStampedCache<AbsoluteDate> cache) {
+        return cache.getSlotsEvictions();
+    }
+
+    @Override
+    protected int getSlots(ConcurrentTimeStampedCache<AbsoluteDate> cache) {
+        return cache.getSlots();
+    }
+
+    @Override
+    protected int getEntries(ConcurrentTimeStampedCache<AbsoluteDate> cache) {
+        return cache.getEntries();
+    }
+
+    @Override
+    protected AbsoluteDate getEarliest(ConcurrentTimeStampedCache<AbsoluteDate> cache) {
+        return cache.getEarliest();
+    }
+
+    @Override
+    protected AbsoluteDate getLatest(ConcurrentTimeStampedCache<AbsoluteDate> cache) {
+        return cache.getLatest();
+    }
+
+}
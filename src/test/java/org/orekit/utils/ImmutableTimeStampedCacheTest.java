@@ -31,6 +31,7 @@ import org.junit.Test;
 import org.orekit.Utils;
 import org.orekit.errors.TimeStampedCacheException;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.time.PackedDate;
 
 /**
  * Unit tests for {@link ImmutableTimeStampedCache}.
@@ -169,6 +170,48 @@ public class ImmutableTimeStampedCacheTest {
         }
     }
 
+    /**
+     * check {@link ImmutableTimeStampedCache#getNeighbors(long)}
+     */
+    @Test
+    public void testGetNeighborsPacked() {
+        int size = data.size();
+
+        // before first date
+        try {
+            cache.getNeighbors(PackedDate.pack(data.get(0).shiftedBy(-1)));
+            Assert.fail("Expected Exception");
+        } catch (TimeStampedCacheException e) {
+            // expected
+        }
+
+        // same neighbors as with regular dates everywhere within the cache
+        for (double dt = 0; dt <= size - 1; dt += 0.25) {
+            final AbsoluteDate central = data.get(0).shiftedBy(dt);
+            Assert.assertArrayEquals(cache.getNeighbors(central).toArray(),
+                                     cache.getNeighbors(PackedDate.pack(central)).toArray());
+        }
+
+        // after last date
+        AbsoluteDate central = data.get(size - 1).shiftedBy(1);
+        try {
+            cache.getNeighbors(PackedDate.pack(central));
+            Assert.fail("Expected Exception");
+        } catch (TimeStampedCacheException e) {
+            // expected
+            MatcherAssert.assertThat(e.getMessage(),
+                    CoreMatchers.containsString(central.toString()));
+        }
+
+        // empty cache
+        try {
+            ImmutableTimeStampedCache.<AbsoluteDate>emptyCache().getNeighbors(PackedDate.pack(date));
+            Assert.fail("Expected Exception");
+        } catch (TimeStampedCacheException e) {
+            // expected
+        }
+    }
+
     /**
      * check {@link ImmutableTimeStampedCache#getNeighborsSize()}
      */
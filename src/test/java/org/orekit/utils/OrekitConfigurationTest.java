@@ -43,4 +43,21 @@ public class OrekitConfigurationTest {
         Assert.assertEquals(getSlots, setSlots);
 
     }
+
+    @Test
+    public void testLockFreeCaches() {
+        final boolean defaultLockFree = OrekitConfiguration.isLockFreeCaches();
+        try {
+            Assert.assertFalse(defaultLockFree);
+            Assert.assertTrue(OrekitConfiguration.createTimeStampedCache(2, 10, 100.0, 10.0, (existing, date) -> null)
+                              instanceof GenericTimeStampedCache);
+            OrekitConfiguration.setLockFreeCaches(true);
+            Assert.assertTrue(OrekitConfiguration.isLockFreeCaches());
+            Assert.assertTrue(OrekitConfiguration.createTimeStampedCache(2, 10, 100.0, 10.0, (existing, date) -> null)
+                              instanceof ConcurrentTimeStampedCache);
+        } finally {
+            OrekitConfiguration.setLockFreeCaches(defaultLockFree);
+        }
+    }
+
 }
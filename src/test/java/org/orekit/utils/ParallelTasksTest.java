@@ -0,0 +1,140 @@
+/* Copyright 2002-2022 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.errors.OrekitException;
+
+public class ParallelTasksTest {
+
+    private ExecutorService executor;
+
+    @Test
+    public void testOrder() {
+        final List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; ++i) {
+            final int index = i;
+            futures.add(executor.submit(() -> {
+                // later tasks complete first
+                Thread.sleep(20 - index);
+                return index;
+            }));
+        }
+        final List<Integer> results = ParallelTasks.getAll(futures);
+        Assert.assertEquals(futures.size(), results.size());
+        for (int i = 0; i < results.size(); ++i) {
+            Assert.assertEquals(i, results.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void testRuntimeException() {
+        final CountDownLatch never = new CountDownLatch(1);
+        final List<Future<Integer>> futures = new ArrayList<>();
+        futures.add(executor.submit(() -> {
+            throw new IllegalStateException("dummy error");
+        }));
+        futures.add(executor.submit(() -> {
+            never.await();
+            return 1;
+        }));
+        try {
+            ParallelTasks.getAll(futures);
+            Assert.fail("an exception should have been thrown");
+        } catch (IllegalStateException ise) {
+            Assert.assertEquals("dummy error", ise.getMessage());
+        }
+        // the pending task has been cancelled
+        Assert.assertTrue(futures.get(1).isCancelled());
+    }
+
+    @Test
+    public void testCheckedException() {
+        final List<Future<Integer>> futures = new ArrayList<>();
+        futures.add(executor.submit(() -> {
+            throw new IOException("dummy error");
+        }));
+        try {
+            ParallelTasks.getAll(futures);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(LocalizedCoreFormats.SIMPLE_MESSAGE, oe.getSpecifier());
+            Assert.assertTrue(oe.getCause() instanceof IOException);
+            Assert.assertEquals("dummy error", oe.getMessage());
+        }
+    }
+
+    @Test
+    public void testError() {
+        final List<Future<Integer>> futures = new ArrayList<>();
+        futures.add(executor.submit(() -> {
+            throw new InternalError("dummy error");
+        }));
+        try {
+            ParallelTasks.getAll(futures);
+            Assert.fail("an exception should have been thrown");
+        } catch (InternalError ie) {
+            Assert.assertEquals("dummy error", ie.getMessage());
+        }
+    }
+
+    @Test
+    public void testInterrupted() {
+        final CountDownLatch never = new CountDownLatch(1);
+        final List<Future<Integer>> futures = new ArrayList<>();
+        futures.add(executor.submit(() -> {
+            never.await();
+            return 1;
+        }));
+        Thread.currentThread().interrupt();
+        try {
+            ParallelTasks.getAll(futures);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(LocalizedCoreFormats.SIMPLE_MESSAGE, oe.getSpecifier());
+            Assert.assertTrue(oe.getCause() instanceof InterruptedException);
+            // interrupted status has been restored (and is cleared here)
+            Assert.assertTrue(Thread.interrupted());
+        }
+        Assert.assertTrue(futures.get(0).isCancelled());
+    }
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+}
@@ -22,6 +22,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.orekit.Utils;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.time.PackedDate;
 
 public class TimeSpanMapTest {
 
@@ -113,6 +114,30 @@ public class TimeSpanMapTest {
         Assert.assertEquals(10, map.get(ref.shiftedBy(100.0)).intValue());
     }
 
+    @Test
+    public void testPackedDates() {
+        final AbsoluteDate ref = AbsoluteDate.J2000_EPOCH;
+        TimeSpanMap<Integer> map = new TimeSpanMap<Integer>(Integer.valueOf(0));
+        Assert.assertEquals(0, map.get(PackedDate.pack(ref)).intValue());
+        map.addValidAfter(Integer.valueOf(10), ref.shiftedBy(10.0));
+        map.addValidAfter(Integer.valueOf( 3), ref.shiftedBy( 2.0));
+        map.addValidAfter(Integer.valueOf( 9), ref.shiftedBy( 5.0));
+        checkPacked(map, ref);
+        // modifying the map must invalidate the index used for packed dates
+        map.addValidBefore(Integer.valueOf( 2), ref.shiftedBy( 3.0));
+        map.addValidBefore(Integer.valueOf( 5), ref.shiftedBy( 9.0));
+        checkPacked(map, ref);
+        Assert.assertEquals( 0, map.get(PackedDate.PAST_INFINITY).intValue());
+        Assert.assertEquals(10, map.get(PackedDate.FUTURE_INFINITY).intValue());
+    }
+
+    private void checkPacked(final TimeSpanMap<Integer> map, final AbsoluteDate ref) {
+        for (double dt = -2.0; dt <= 12.0; dt += 0.125) {
+            final AbsoluteDate date = ref.shiftedBy(dt);
+            Assert.assertEquals(map.get(date), map.get(PackedDate.pack(date)));
+        }
+    }
+
     @Test
     public void testExtractRangeInfinity() {
         final AbsoluteDate ref = AbsoluteDate.J2000_EPOCH;